@@ -0,0 +1,119 @@
+package com.nemesis.mathcore.benchmarks;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Expression;
+import com.nemesis.mathcore.expressionsolver.models.Polynomial;
+import com.nemesis.mathcore.utils.ExpressionCorpus;
+import com.nemesis.mathcore.utils.ExpressionGenerator;
+import com.nemesis.mathcore.utils.ExpressionGenerator.FactorType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/*
+    Corpora of expressions in x, identified by kind, seed and depth.
+    Corpora persisted under /corpora in the classpath (see main) are replayed as they are, so that results of different
+    runs and of different versions of math-core are measured on identical input even if the generator changes.
+    Missing corpora are generated by ExpressionGenerator, which gives the same expressions for the same seed.
+ */
+public class Corpus {
+
+    private static final String EXPRESSIONS = "expressions";
+    private static final String POLYNOMIALS = "polynomials";
+
+    private static final int PERSISTED_SIZE = 50;
+    private static final long PERSISTED_SEED = 42;
+    private static final int[] PERSISTED_DEPTHS = {0, 1, 2, 3};
+
+    /*
+        Expressions with powers, quotients and unary functions
+     */
+    public static List<String> expressions(long seed, int depth, int size) {
+        return load(EXPRESSIONS, seed, depth, size);
+    }
+
+    /*
+        Polynomials: sums and products of constants and powers of x
+     */
+    public static List<String> polynomials(long seed, int depth, int size) {
+        return load(POLYNOMIALS, seed, depth, size);
+    }
+
+    /*
+        The expressions of the corpus on which the operation succeeds: a benchmark must not measure error paths
+     */
+    public static List<String> accepted(List<String> corpus, Predicate<String> operation) {
+        List<String> accepted = new ArrayList<>();
+        for (String expression : corpus) {
+            try {
+                if (operation.test(expression)) {
+                    accepted.add(expression);
+                }
+            } catch (RuntimeException e) {
+                // Not supported by the engine, skipped
+            }
+        }
+        if (accepted.isEmpty()) {
+            throw new IllegalStateException("No expression of the corpus is accepted");
+        }
+        return Collections.unmodifiableList(accepted);
+    }
+
+    /*
+        Writes the persisted corpora to the given directory (src/main/resources/corpora to update the ones in the jar)
+     */
+    public static void main(String[] args) throws IOException {
+        final Path directory = Path.of(args.length > 0 ? args[0] : "src/main/resources/corpora");
+        for (String kind : List.of(EXPRESSIONS, POLYNOMIALS)) {
+            for (int depth : PERSISTED_DEPTHS) {
+                final ExpressionGenerator generator = generator(kind, PERSISTED_SEED, depth);
+                ExpressionCorpus.write(directory.resolve(fileName(kind, PERSISTED_SEED, depth)), generator.generate(PERSISTED_SIZE), generator.toString());
+            }
+        }
+    }
+
+    private static List<String> load(String kind, long seed, int depth, int size) {
+        try (InputStream input = Corpus.class.getResourceAsStream("/corpora/" + fileName(kind, seed, depth))) {
+            if (input != null) {
+                final List<String> persisted = ExpressionCorpus.read(input, false);
+                if (persisted.size() >= size) {
+                    return Collections.unmodifiableList(persisted.subList(0, size));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return generator(kind, seed, depth).generate(size).stream().map(Expression::toString).toList();
+    }
+
+    private static ExpressionGenerator generator(String kind, long seed, int depth) {
+        final ExpressionGenerator generator = ExpressionGenerator.DEFAULT.withSeed(seed).withDepth(depth).withVariables('x');
+        if (kind.equals(POLYNOMIALS)) {
+            return generator
+                    .withWeights(Map.of(FactorType.CONSTANT, 2, FactorType.VARIABLE, 4, FactorType.EXPONENTIAL, 2, FactorType.PARENTHESIZED, 2))
+                    .withFilter(expression -> ExpressionGenerator.isValid(expression) && isPolynomial(expression));
+        }
+        return generator;
+    }
+
+    private static boolean isPolynomial(Expression expression) {
+        try {
+            final Component simplifiedExpression = ExpressionUtils.simplify(expression.getClone());
+            return Polynomial.getPolynomial(simplifiedExpression) != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String fileName(String kind, long seed, int depth) {
+        return kind + "-" + seed + "-" + depth + ".txt";
+    }
+}
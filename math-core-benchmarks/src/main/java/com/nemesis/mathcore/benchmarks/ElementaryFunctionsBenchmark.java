@@ -0,0 +1,112 @@
+package com.nemesis.mathcore.benchmarks;
+
+import com.nemesis.mathcore.utils.ElementaryFunctions;
+import com.nemesis.mathcore.utils.ExponentialFunctions;
+import com.nemesis.mathcore.utils.MathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Time of each elementary function at the given number of digits, computed by the engine and by the series it was
+    computed with before (kept below as reference): digits per second are the digits divided by the score.
+    The argument has all the requested digits; expLarge takes an argument 50 times larger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ElementaryFunctionsBenchmark {
+
+    @Param({"exp", "expLarge", "ln", "sin"})
+    private String function;
+
+    @Param({"16", "50", "100"})
+    private int digits;
+
+    private MathContext mc;
+    private BigDecimal x;
+
+    @Setup
+    public void setUp() {
+        mc = new MathContext(digits, RoundingMode.HALF_EVEN);
+        final BigDecimal argument = ElementaryFunctions.pi(mc).divide(BigDecimal.valueOf(5), mc);
+        x = function.equals("expLarge") ? argument.multiply(BigDecimal.valueOf(50)) : argument;
+    }
+
+    @Benchmark
+    public BigDecimal engine() {
+        return switch (function) {
+            case "exp", "expLarge" -> ExponentialFunctions.exp(x, digits);
+            case "ln" -> ExponentialFunctions.ln(x, digits);
+            case "sin" -> ElementaryFunctions.sin(x, mc);
+            default -> throw new IllegalArgumentException("Unknown function [" + function + "]");
+        };
+    }
+
+    @Benchmark
+    public BigDecimal legacy() {
+        return switch (function) {
+            case "exp", "expLarge" -> LegacyFunctions.exp(x, digits);
+            case "ln" -> LegacyFunctions.ln(x, digits);
+            case "sin" -> LegacyFunctions.sin(x, digits);
+            default -> throw new IllegalArgumentException("Unknown function [" + function + "]");
+        };
+    }
+
+    private static class LegacyFunctions {
+
+        // Σ x^n/n!, on the whole argument
+        private static BigDecimal exp(BigDecimal x, int scale) {
+            BigDecimal factorial = BigDecimal.ONE;
+            BigDecimal xPower = x;
+            BigDecimal sumPrev;
+            BigDecimal sum = x.add(BigDecimal.ONE);
+            int i = 2;
+            do {
+                xPower = xPower.multiply(x).setScale(scale, RoundingMode.HALF_EVEN);
+                factorial = factorial.multiply(BigDecimal.valueOf(i));
+                sumPrev = sum;
+                sum = sum.add(xPower.divide(factorial, scale, RoundingMode.HALF_EVEN));
+                ++i;
+            } while (sum.compareTo(sumPrev) != 0);
+            return sum;
+        }
+
+        // Newton's iteration on exp
+        private static BigDecimal ln(BigDecimal x, int scale) {
+            final int sp1 = scale + 1;
+            final BigDecimal tolerance = BigDecimal.valueOf(5).movePointLeft(sp1);
+            BigDecimal y = x;
+            BigDecimal term;
+            do {
+                final BigDecimal eToY = exp(y, sp1);
+                term = eToY.subtract(x).divide(eToY, sp1, RoundingMode.DOWN);
+                y = y.subtract(term);
+            } while (term.compareTo(tolerance) > 0);
+            return y.setScale(scale, RoundingMode.HALF_EVEN);
+        }
+
+        // Σ (-1)^n x^(2n+1)/(2n+1)!, with powers and factorials computed from scratch for each term
+        private static BigDecimal sin(BigDecimal x, int scale) {
+            final MathContext mc = new MathContext(scale, RoundingMode.HALF_EVEN);
+            final BigDecimal error = BigDecimal.ONE.movePointLeft(scale);
+            BigDecimal result = BigDecimal.ZERO;
+            BigDecimal term;
+            int n = 0;
+            do {
+                final BigDecimal factorial = new BigDecimal(MathUtils.factorial(BigInteger.valueOf(2L * n + 1)));
+                term = BigDecimal.ONE.negate().pow(n).divide(factorial, scale, RoundingMode.HALF_EVEN).multiply(x.pow(2 * n + 1), mc);
+                result = result.add(term).setScale(scale, RoundingMode.HALF_EVEN);
+                n++;
+            } while (term.abs().compareTo(error) > 0);
+            return result;
+        }
+    }
+}
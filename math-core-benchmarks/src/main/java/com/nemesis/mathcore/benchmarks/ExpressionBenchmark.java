@@ -0,0 +1,88 @@
+package com.nemesis.mathcore.benchmarks;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Each invocation processes the whole corpus: scores are the time per corpus, at each depth.
+    Simplification rewrites the component in place, so simplify and getDerivative work on a clone of the parsed
+    expression (cloning is a small fraction of the measured time). getDomain is measured on the parsed expressions,
+    as ExpressionUtils.getDomain does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ExpressionBenchmark {
+
+    private static final Variable X = new Variable('x');
+
+    @Param({"1", "2", "3"})
+    private int depth;
+
+    @Param({"42"})
+    private long seed;
+
+    @Param({"50"})
+    private int corpusSize;
+
+    @Param({"DECIMAL", "FRACTIONAL"})
+    private MathCoreContext.Mode mode;
+
+    private MathCoreContext context;
+    private List<String> expressions;
+    private Component[] simplified;
+    private Component[] derivable;
+    private Component[] domains;
+
+    @Setup
+    public void setUp() {
+        context = MathCoreContext.of(mode);
+        expressions = Corpus.accepted(Corpus.expressions(seed, depth, corpusSize), e -> ExpressionParser.parse(e, context) != null);
+        simplified = parseAll(Corpus.accepted(expressions, e -> ExpressionUtils.simplify(e, context) != null));
+        derivable = parseAll(Corpus.accepted(expressions, e -> ExpressionUtils.getDerivative(e, X, context) != null));
+        domains = parseAll(Corpus.accepted(expressions, e -> ExpressionUtils.getDomain(e, X, context) != null));
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String expression : expressions) {
+            blackhole.consume(ExpressionParser.parse(expression, context));
+        }
+    }
+
+    @Benchmark
+    public void simplify(Blackhole blackhole) {
+        for (Component component : simplified) {
+            blackhole.consume(ExpressionUtils.simplify(component.getClone(), context));
+        }
+    }
+
+    @Benchmark
+    public void getDerivative(Blackhole blackhole) {
+        for (Component component : derivable) {
+            blackhole.consume(ExpressionUtils.getDerivative(component.getClone(), X, context));
+        }
+    }
+
+    @Benchmark
+    public void getDomain(Blackhole blackhole) {
+        for (Component component : domains) {
+            blackhole.consume(context.call(() -> component.getDomain(X)));
+        }
+    }
+
+    private Component[] parseAll(List<String> corpus) {
+        return corpus.stream().map(e -> ExpressionParser.parse(e, context)).toArray(Component[]::new);
+    }
+}
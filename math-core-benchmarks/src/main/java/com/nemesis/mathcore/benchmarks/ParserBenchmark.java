@@ -0,0 +1,46 @@
+package com.nemesis.mathcore.benchmarks;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    Parsing time of inputs of growing length, for each shape of input: the parser is linear if the score divided by
+    the length stays flat across lengths (a quadratic parser would be 32 times slower per char at the largest length).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ParserBenchmark {
+
+    @Param({"sum", "product", "abs", "functions"})
+    private String shape;
+
+    @Param({"100", "200", "400", "800", "1600", "3200"})
+    private int length;
+
+    private MathCoreContext context;
+    private String input;
+
+    @Setup
+    public void setUp() {
+        context = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+        input = switch (shape) {
+            case "sum" -> "x" + "+2*x^3-x/4".repeat(length / 10);
+            case "product" -> "x" + "*(x+1)".repeat(length / 6);
+            case "abs" -> "x" + "+|x-1|*2".repeat(length / 8);
+            case "functions" -> "x" + "+log(2,x!)*√(x+1)^2-sin(x)/root(3-th,x)".repeat(length / 40);
+            default -> throw new IllegalArgumentException("Unknown input shape [" + shape + "]");
+        };
+    }
+
+    @Benchmark
+    public Object parse() {
+        return ExpressionParser.parse(input, context);
+    }
+}
@@ -0,0 +1,49 @@
+package com.nemesis.mathcore.benchmarks;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.models.Polynomial;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    Polynomial.getPolynomial on the simplified forms of a corpus of polynomials (computed during setup):
+    scores are the time per corpus, at each depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PolynomialBenchmark {
+
+    @Param({"1", "2", "3"})
+    private int depth;
+
+    @Param({"42"})
+    private long seed;
+
+    @Param({"50"})
+    private int corpusSize;
+
+    private Component[] polynomials;
+
+    @Setup
+    public void setUp() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        polynomials = Corpus.accepted(Corpus.polynomials(seed, depth, corpusSize), e -> Polynomial.getPolynomial(ExpressionUtils.simplify(e, context)) != null).stream()
+                .map(e -> ExpressionUtils.simplify(e, context))
+                .toArray(Component[]::new);
+    }
+
+    @Benchmark
+    public void getPolynomial(Blackhole blackhole) {
+        for (Component polynomial : polynomials) {
+            blackhole.consume(Polynomial.getPolynomial(polynomial));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.nemesis.mathcore.benchmarks;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Constant;
+import com.nemesis.mathcore.matrix.SquareMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Strassen multiplication of square matrices (sizes are powers of 2), with constant entries or with polynomials in x.
+    Products of polynomial matrices are simplified entry by entry, so they are measured on smaller sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SquareMatrixBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ConstantMatrices {
+
+        @Param({"2", "4", "8", "16"})
+        private int size;
+
+        @Param({"42"})
+        private long seed;
+
+        private SquareMatrix a;
+        private SquareMatrix b;
+
+        @Setup
+        public void setUp() {
+            a = new SquareMatrix(constants(size, seed));
+            b = new SquareMatrix(constants(size, seed + 1));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PolynomialMatrices {
+
+        @Param({"2", "4"})
+        private int size;
+
+        @Param({"42"})
+        private long seed;
+
+        private SquareMatrix a;
+        private SquareMatrix b;
+
+        @Setup
+        public void setUp() {
+            a = new SquareMatrix(polynomials(size, seed));
+            b = new SquareMatrix(polynomials(size, seed + 1));
+        }
+    }
+
+    @Benchmark
+    public SquareMatrix multiplyConstants(ConstantMatrices matrices) {
+        return matrices.a.multiply(matrices.b);
+    }
+
+    @Benchmark
+    public SquareMatrix multiplyPolynomials(PolynomialMatrices matrices) {
+        return matrices.a.multiply(matrices.b);
+    }
+
+    private static Component[][] constants(int size, long seed) {
+        final Random random = new Random(seed);
+        Component[][] data = new Component[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                data[r][c] = new Constant(random.nextInt(1000) - 500);
+            }
+        }
+        return data;
+    }
+
+    private static Component[][] polynomials(int size, long seed) {
+        final List<String> polynomials = Corpus.polynomials(seed, 0, size * size);
+        Component[][] data = new Component[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                data[r][c] = ExpressionParser.parse(polynomials.get(r * size + c));
+            }
+        }
+        return data;
+    }
+}
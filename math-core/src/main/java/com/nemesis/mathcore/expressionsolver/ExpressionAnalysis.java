@@ -0,0 +1,98 @@
+package com.nemesis.mathcore.expressionsolver;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.models.Domain;
+import com.nemesis.mathcore.expressionsolver.rewritting.NormalForms;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    Analysis of a single expression: each result is computed on first request and then reused.
+    The expression is simplified once, and the simplified tree feeds the derivatives. Domains are computed on the
+    expression as written, since the simplification may cancel factors of a denominator along with their zeros.
+    All the simplifications of the session share the same normal forms, so subtrees common to the expression
+    and to its derivatives are normalized once.
+    Returned components are owned by the session and must be treated as read-only. Not thread-safe.
+ */
+@Slf4j
+public class ExpressionAnalysis {
+
+    private final Component expression;
+    private final MathCoreContext context;
+    private final NormalForms normalForms;
+
+    private Component simplifiedForm;
+    private BigDecimal value;
+    private final Map<Variable, Component> derivatives = new HashMap<>();
+    private final Map<Variable, Domain> domains = new HashMap<>();
+
+    /*
+        The session takes ownership of the given expression
+     */
+    ExpressionAnalysis(Component expression, MathCoreContext context) {
+        this.expression = expression;
+        this.context = context;
+        this.normalForms = new NormalForms(context);
+    }
+
+    public Component getExpression() {
+        return expression;
+    }
+
+    public MathCoreContext getContext() {
+        return context;
+    }
+
+    public Component getSimplifiedForm() {
+        if (simplifiedForm == null) {
+            // Rules rewrite the component in place
+            simplifiedForm = ExpressionUtils.simplify(expression.getClone(), context, normalForms);
+        }
+        return simplifiedForm;
+    }
+
+    public Set<Variable> getVariables() {
+        return getSimplifiedForm().getVariables();
+    }
+
+    public Component getDerivative(Variable variable) {
+        Component derivative = derivatives.get(variable);
+        if (derivative == null) {
+            final Component function = getSimplifiedForm().getClone();
+            derivative = context.call(() -> function.getDerivative(variable));
+            log.info("Calculated derivative of [{}] for variable [{}]. Raw result: [{}]", function, variable, derivative);
+            derivative = ExpressionUtils.simplify(derivative, context, normalForms);
+            derivatives.put(variable, derivative);
+        }
+        return derivative;
+    }
+
+    public Domain getDomain(Variable variable) {
+        Domain domain = domains.get(variable);
+        if (domain == null) {
+            domain = context.call(() -> expression.getDomain(variable));
+            domains.put(variable, domain);
+        }
+        return domain;
+    }
+
+    public boolean isScalar() {
+        return getSimplifiedForm().isScalar();
+    }
+
+    /*
+        Value of the expression as written (the parsed tree, not the simplified form)
+     */
+    public BigDecimal getValue() {
+        if (value == null) {
+            value = expression.getValue(context);
+        }
+        return value;
+    }
+}
@@ -1,25 +1,18 @@
 package com.nemesis.mathcore.expressionsolver;
 
 import com.nemesis.mathcore.expressionsolver.components.*;
+import com.nemesis.mathcore.expressionsolver.functions.UnaryFunctions;
 import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
 import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
-import com.nemesis.mathcore.expressionsolver.utils.Constants;
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
 import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import com.nemesis.mathcore.expressionsolver.utils.ParsingResult;
-import com.nemesis.mathcore.expressionsolver.utils.SyntaxUtils;
-import com.nemesis.mathcore.utils.TrigonometricFunctions;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.function.Function;
-import java.util.function.UnaryOperator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.CharBuffer;
+import java.util.*;
 
 import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
 import static com.nemesis.mathcore.expressionsolver.operators.Sign.PLUS;
@@ -63,80 +56,191 @@ import static com.nemesis.mathcore.expressionsolver.utils.Constants.*;
 
 */
 
+
 @Slf4j
 public class ExpressionParser {
 
+    private final String input;
+    private final ComputationBudget budget;
+
+    /*
+        Indexes precomputed by a single scan of the input, so that no rule needs to search or copy the remaining text:
+        - closedParenthesisIndexes[i]: index of the parenthesis closing the one opened at i (-1 if it isn't closed)
+        - lastFactorialIndexes[i]: index of the last '!' before i (-1 if there isn't any)
+        - lastClosedParenthesisIndexes[i]: index of the last ')' before i (-1 if there isn't any)
+        - baseBounds[i]: index that no base starting at i can reach, that is the first '+', '*', '/', ',' outside of the parentheses
+          opened after i, or the parenthesis closing the one that contains i (the input length if it contains pipes, since the
+          content of an absolute value can't be known in advance, or unbalanced parentheses, which root(n-th,Factor) may consume)
+     */
+    private final int[] closedParenthesisIndexes;
+    private final int[] lastFactorialIndexes;
+    private final int[] lastClosedParenthesisIndexes;
+    private final int[] baseBounds;
+
+    /*
+        Parenthesized expressions don't depend on the end of the parsed range, so they are parsed once per opening parenthesis
+     */
+    private final Map<Integer, ParsingResult<ParenthesizedExpression>> parenthesizedExpressions = new HashMap<>();
+
+    private final List<BaseParser> baseParsers = List.of(this::getFactorial, this::getWrappedExpr, this::getMathFunction, this::getConstant, this::getVariable);
+    private final List<BaseParser> mathFunctionParsers = List.of(this::getRoot, this::getLogarithm, this::getUnaryFunction);
+
+    private ExpressionParser(String input, ComputationBudget budget) {
+        this.input = input;
+        this.budget = budget;
+        final int length = input.length();
+        this.closedParenthesisIndexes = new int[length];
+        this.lastFactorialIndexes = new int[length + 1];
+        this.lastClosedParenthesisIndexes = new int[length + 1];
+
+        final Deque<Integer> openParenthesisIndexes = new ArrayDeque<>();
+        int lastFactorialIndex = -1;
+        int lastClosedParenthesisIndex = -1;
+        for (int i = 0; i < length; i++) {
+            lastFactorialIndexes[i] = lastFactorialIndex;
+            lastClosedParenthesisIndexes[i] = lastClosedParenthesisIndex;
+            closedParenthesisIndexes[i] = -1;
+            switch (input.charAt(i)) {
+                case '(' -> openParenthesisIndexes.push(i);
+                case ')' -> {
+                    if (!openParenthesisIndexes.isEmpty()) {
+                        closedParenthesisIndexes[openParenthesisIndexes.pop()] = i;
+                    }
+                    lastClosedParenthesisIndex = i;
+                }
+                case '!' -> lastFactorialIndex = i;
+            }
+        }
+        lastFactorialIndexes[length] = lastFactorialIndex;
+        lastClosedParenthesisIndexes[length] = lastClosedParenthesisIndex;
+
+        this.baseBounds = getBaseBounds(input);
+    }
+
+    private static int[] getBaseBounds(String input) {
+        final int length = input.length();
+        final int[] baseBounds = new int[length];
+        final int[] depths = new int[length];
+        int depth = 0;
+        int minDepth = 0;
+        for (int i = 0; i < length; i++) {
+            depths[i] = depth;
+            switch (input.charAt(i)) {
+                case '(' -> depth++;
+                case ')' -> minDepth = Math.min(minDepth, --depth);
+            }
+        }
+        if (input.indexOf('|') != -1 || depth != 0 || minDepth < 0) {
+            Arrays.fill(baseBounds, length);
+        } else {
+            // Scanning backwards, nextBounds[depth] is the first bound found at the given parenthesis depth
+            final int[] nextBounds = new int[length + 1];
+            Arrays.fill(nextBounds, length);
+            for (int i = length - 1; i >= 0; i--) {
+                switch (input.charAt(i)) {
+                    case '+', '*', '/', ',', ')' -> nextBounds[depths[i]] = i;
+                }
+                baseBounds[i] = nextBounds[depths[i]];
+            }
+        }
+        return baseBounds;
+    }
+
     public static Expression parse(String input) {
-        if (MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL && input.contains(".")) {
+        return parse(input, MathCoreContext.current());
+    }
+
+    public static Expression parse(String input, MathCoreContext context) {
+        if (context.getMode() == MathCoreContext.Mode.FRACTIONAL && input.contains(".")) {
             throw new IllegalArgumentException("Decimal numbers is not allowed in fractional mode");
         }
-        ParsingResult<Expression> parsingResult = getExpression(input);
+        context.getBudget().checkTreeSize(input.length());
+        final ExpressionParser parser = new ExpressionParser(input, context.getBudget());
+        ParsingResult<Expression> parsingResult = context.call(() -> parser.getExpression(0, input.length()));
         if (parsingResult == null) {
             return null;
         }
+        // The expression must cover the whole input, otherwise the remaining characters would be silently dropped
+        if (parsingResult.getParsedChars() >= 0 && parsingResult.getParsedChars() < input.length()) {
+            throw new IllegalArgumentException("Invalid string [" + input + "]: unexpected character at index [" + parsingResult.getParsedChars() + "]");
+        }
         final Expression expression = parsingResult.getComponent();
         log.info("Parsed expression [{}] from string [{}]", expression, input);
         return expression;
     }
 
+    /*
+        Every rule parses the characters of the input in the range [from, to), returning the number of parsed characters
+     */
 
     /*
      Expression ::= Term+Expression
      Expression ::= Term-Expression
      Expression ::= Term
+
+     The chain of terms is parsed iteratively and built from the last term, so that long sums don't need deep recursion
     */
-    private static ParsingResult<Expression> getExpression(String input) {
+    private ParsingResult<Expression> getExpression(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string, parsed as '0'");
-            return new ParsingResult<>(new Expression(new Term(new Constant("0"))), -1);
+            return new ParsingResult<>(Expression.ofOwned(new Term(new Constant("0")), ExpressionOperator.NONE, null), -1);
         }
 
-        ParsingResult<Term> parsedTerm = getTerm(input);
-
-        if (parsedTerm == null) {
-            log.trace("Unrecognized string [{}] as expression", input);
-            return null;
-        }
-
-        Term term = parsedTerm.getComponent();
-        Integer parsedChars = parsedTerm.getParsedChars();
-
-        // Expression ::= Term
-        if (!moreCharsToParse(parsedChars, input)) {
-            log.debug("Recognized expression as term [{}] from string [{}]", term, input);
-            return new ParsingResult<>(new Expression(term), parsedChars);
-        }
+        final List<Term> terms = new ArrayList<>();
+        final List<ExpressionOperator> operators = new ArrayList<>();
+        int position = from;
+        Expression subExpression = null;
+        int subExpressionParsedChars = 0;
 
-        ExpressionOperator expressionOperator;
+        while (true) {
+            ParsingResult<Term> parsedTerm = getTerm(position, to);
+            if (parsedTerm == null) {
+                log.trace("Unrecognized string [{}] as expression", region(from, to));
+                return null;
+            }
+            terms.add(parsedTerm.getComponent());
+            position += parsedTerm.getParsedChars();
 
-        // Expression ::= Term + Expression
-        // Expression ::= Term - Expression
-        char expressionOperatorChar = input.charAt(parsedChars);
+            // Expression ::= Term
+            if (position >= to) {
+                break;
+            }
 
-        switch (expressionOperatorChar) {
-            case '+' -> expressionOperator = ExpressionOperator.SUM;
-            case '-' -> expressionOperator = ExpressionOperator.SUBTRACT;
-            default -> {
-                log.debug("Recognized expression as term [{}] from string [{}]", term, input);
-                return new ParsingResult<>(new Expression(term), parsedChars);
+            // Expression ::= Term + Expression
+            // Expression ::= Term - Expression
+            final ExpressionOperator expressionOperator = switch (input.charAt(position)) {
+                case '+' -> ExpressionOperator.SUM;
+                case '-' -> ExpressionOperator.SUBTRACT;
+                default -> null;
+            };
+            if (expressionOperator == null) {
+                break;
+            }
+            operators.add(expressionOperator);
+            position++;
+
+            if (position >= to) {
+                // Trailing operator: the sub-expression is the void string, parsed as '0'
+                final ParsingResult<Expression> voidExpression = getExpression(position, to);
+                subExpression = voidExpression.getComponent();
+                subExpressionParsedChars = voidExpression.getParsedChars();
+                break;
             }
         }
 
-        parsedChars++;
-
-        ParsingResult<Expression> parsedSubExpression = getExpression(input.substring(parsedChars));
-        if (parsedSubExpression == null) {
-            log.trace("Unrecognized string [{}] as expression", input);
-            return null;
+        int lastTerm = terms.size() - 1;
+        Expression expression = subExpression;
+        if (expression == null) {
+            expression = Expression.ofOwned(terms.get(lastTerm--), ExpressionOperator.NONE, null);
+        }
+        for (int i = lastTerm; i >= 0; i--) {
+            expression = Expression.ofOwned(terms.get(i), operators.get(i), expression);
         }
-        Expression subExpression = parsedSubExpression.getComponent();
-        parsedChars += parsedSubExpression.getParsedChars();
-
-        final Expression parsedExpression = new Expression(term, expressionOperator, subExpression);
-        log.debug("Recognized expression [{}] from string [{}]", parsedExpression, input);
-        return new ParsingResult<>(parsedExpression, parsedChars);
 
+        final int parsedChars = position - from + subExpressionParsedChars;
+        log.debug("Recognized expression [{}] from string [{}]", expression, region(from, to));
+        return new ParsingResult<>(expression, parsedChars);
     }
 
 
@@ -145,120 +249,132 @@ public class ExpressionParser {
      Term ::= Factor/Term
      Term ::= Factor Term
      Term ::= Factor
+
+     The chain of factors is parsed iteratively and built from the last factor, so that long products don't need deep recursion
     */
-    private static ParsingResult<Term> getTerm(String input) {
+    private ParsingResult<Term> getTerm(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse term");
             return null;
         }
 
-        ParsingResult<Factor> parsedFactor = getFactor(input);
+        ParsingResult<Factor> parsedFactor = getFactor(from, to);
 
         if (parsedFactor == null) {
-            log.trace("Unrecognized string [{}] as term", input);
+            log.trace("Unrecognized string [{}] as term", region(from, to));
             return null;
         }
 
-        Factor factor = parsedFactor.getComponent();
-        Integer parsedChars = parsedFactor.getParsedChars();
-
-        // Term ::= Factor
-        if (!moreCharsToParse(parsedChars, input)) {
-            log.debug("Recognized term as factor [{}] from string [{}]", factor, input);
-            return new ParsingResult<>(new Term(factor), parsedChars);
-        }
-
-        ParsingResult<Term> parsedSubTerm = null;
-        TermOperator termOperator;
-
-        // Term ::= Factor * Term
-        // Term ::= Factor / Term
-        // Term ::= Factor Term
-        char termOperatorChar = input.charAt(parsedChars);
-        switch (termOperatorChar) {
-            case '*' -> {
-                termOperator = TermOperator.MULTIPLY;
-                parsedChars++;
+        final List<Factor> factors = new ArrayList<>();
+        final List<Integer> factorStarts = new ArrayList<>();
+        final List<Integer> factorEnds = new ArrayList<>();
+        final List<TermOperator> operators = new ArrayList<>();
+        final List<Boolean> explicitOperators = new ArrayList<>();
+        factors.add(parsedFactor.getComponent());
+        factorStarts.add(from);
+        factorEnds.add(from + parsedFactor.getParsedChars());
+
+        while (factorEnds.get(factorEnds.size() - 1) < to) {
+
+            final int position = factorEnds.get(factorEnds.size() - 1);
+
+            // Term ::= Factor * Term
+            // Term ::= Factor / Term
+            // Term ::= Factor Term
+            final char termOperatorChar = input.charAt(position);
+            final TermOperator termOperator;
+            final boolean isExplicitOperator = termOperatorChar == '*' || termOperatorChar == '/';
+            switch (termOperatorChar) {
+                case '*' -> termOperator = TermOperator.MULTIPLY;
+                case '/' -> termOperator = TermOperator.DIVIDE;
+                case ',', '+', '-' -> termOperator = null;
+                default -> termOperator = TermOperator.MULTIPLY;
             }
-            case '/' -> {
-                termOperator = TermOperator.DIVIDE;
-                parsedChars++;
+
+            if (termOperatorChar == ',') {
+                // The term starting with the last factor is not valid
+                if (factors.size() == 1) {
+                    log.trace("Unrecognized string [{}] as term", region(from, to));
+                    return null;
+                }
+                removeLastFactor(factors, factorStarts, factorEnds, operators, explicitOperators, to);
+                break;
             }
-            case ',' -> {
-                log.trace("Unrecognized string [{}] as term", input);
-                return null;
+
+            if (termOperator == null) {
+                break;
             }
-            default -> {
-                if (termOperatorChar == '+' || termOperatorChar == '-') {
-                    log.debug("Recognized term as factor [{}] from string [{}]", factor, input);
-                    return new ParsingResult<>(new Term(factor), parsedChars);
-                } else {
-                    parsedSubTerm = getTerm(input.substring(parsedChars));
-                    if (parsedSubTerm == null) {
-                        log.debug("Recognized term as factor [{}] from string [{}]", factor, input);
-                        return new ParsingResult<>(new Term(factor), parsedChars);
-                    }
+
+            final int subTermPosition = isExplicitOperator ? position + 1 : position;
+            final ParsingResult<Factor> parsedSubFactor = subTermPosition < to ? getFactor(subTermPosition, to) : null;
+            if (parsedSubFactor == null) {
+                if (isExplicitOperator) {
+                    throw new UnsupportedOperationException("Expression [" + region(factorStarts.get(factorStarts.size() - 1), to) + "] is not supported");
                 }
-                termOperator = TermOperator.MULTIPLY;
+                break;
             }
-        }
 
-        if (parsedSubTerm == null) {
-            parsedSubTerm = getTerm(input.substring(parsedChars));
+            operators.add(termOperator);
+            explicitOperators.add(isExplicitOperator);
+            factors.add(parsedSubFactor.getComponent());
+            factorStarts.add(subTermPosition);
+            factorEnds.add(subTermPosition + parsedSubFactor.getParsedChars());
         }
 
-        if (parsedSubTerm == null) {
-            throw new UnsupportedOperationException("Expression [" + input + "] is not supported");
+        int lastFactor = factors.size() - 1;
+        Term term = Term.ofOwned(Factor.getFactor(factors.get(lastFactor)), TermOperator.NONE, null);
+        for (int i = lastFactor - 1; i >= 0; i--) {
+            term = Term.ofOwned(factors.get(i), operators.get(i), term);
         }
 
-        Term subTerm = parsedSubTerm.getComponent();
-        parsedChars += parsedSubTerm.getParsedChars();
-
-        final Term parsedTerm = new Term(factor, termOperator, subTerm);
-        log.debug("Recognized term [{}] from string [{}]", parsedTerm, input);
-        return new ParsingResult<>(parsedTerm, parsedChars);
+        final int parsedChars = factorEnds.get(lastFactor) - from;
+        log.debug("Recognized term [{}] from string [{}]", term, region(from, to));
+        return new ParsingResult<>(term, parsedChars);
     }
 
+    /*
+        The term starting with the last factor is not valid: an implicit product ends with the previous factor,
+        while an explicit operator must be followed by a valid term
+     */
+    private void removeLastFactor(List<Factor> factors, List<Integer> factorStarts, List<Integer> factorEnds, List<TermOperator> operators, List<Boolean> explicitOperators, int to) {
+        if (explicitOperators.get(explicitOperators.size() - 1)) {
+            throw new UnsupportedOperationException("Expression [" + region(factorStarts.get(factorStarts.size() - 2), to) + "] is not supported");
+        }
+        factors.remove(factors.size() - 1);
+        factorStarts.remove(factorStarts.size() - 1);
+        factorEnds.remove(factorEnds.size() - 1);
+        operators.remove(operators.size() - 1);
+        explicitOperators.remove(explicitOperators.size() - 1);
+    }
 
     /*
         Factor ::=  {-} { Exponential | Base }
     */
-    private static ParsingResult<Factor> getFactor(String input) {
+    private ParsingResult<Factor> getFactor(int from, int to) {
 
-        if (input.isEmpty()) {
+        // Every nested construct (wrapped expressions, functions, exponentials) is parsed through a factor
+        budget.checkDeadline();
+
+        if (from >= to) {
             log.trace("Found void string trying to parse factor");
             return null;
         }
 
         Sign sign;
         int parsedChars = 0;
-        String toParse;
 
-        if (input.startsWith("-")) {
+        if (input.charAt(from) == '-') {
             sign = MINUS;
-            toParse = input.substring(1);
             parsedChars++;
         } else {
             sign = PLUS;
-            toParse = input;
         }
 
-        ParsingResult<? extends Factor> parsedFactor = null;
-
-        List<FactorParser> parsers = new LinkedList<>();
-        parsers.add(ExpressionParser::getExponential);
-        parsers.add(ExpressionParser::getBase);
-
-        for (FactorParser parser : parsers) {
-            parsedFactor = parser.parse(toParse);
-            if (parsedFactor != null) {
-                break;
-            }
-        }
+        ParsingResult<? extends Factor> parsedFactor = getExponentialOrBase(from + parsedChars, to);
 
         if (parsedFactor == null) {
-            log.trace("Unrecognized string [{}] as factor", input);
+            log.trace("Unrecognized string [{}] as factor", region(from, to));
             return null;
         }
 
@@ -267,85 +383,65 @@ public class ExpressionParser {
 
         parsedChars += parsedFactor.getParsedChars();
 
-        log.trace("Recognized factor [{}] from string [{}]", factor, input);
+        log.trace("Recognized factor [{}] from string [{}]", factor, region(from, to));
         return new ParsingResult<>(factor, parsedChars);
 
     }
 
     /*
       Exponential ::=  Base^Factor
-    */
-    private static ParsingResult<Exponential> getExponential(String input) {
-
-        if (input.isEmpty()) {
-            log.trace("Found void string trying to parse exponential");
-            return null;
-        }
 
-        final String unrecognizedInputMessage = "Unrecognized string [{}] as exponential";
-
-        if (!input.contains("^")) {
-            log.trace(unrecognizedInputMessage, input);
-            return null;
-        }
+      The base is parsed once: it's either followed by the exponent or it's the factor itself
+    */
+    private ParsingResult<? extends Factor> getExponentialOrBase(int from, int to) {
 
-        ParsingResult<? extends Base> parsedBase = getBase(input);
+        ParsingResult<? extends Base> parsedBase = getBase(from, to);
 
         if (parsedBase == null) {
-            log.trace(unrecognizedInputMessage, input);
             return null;
         }
 
-        Integer parsedChars = parsedBase.getParsedChars();
+        int parsedChars = parsedBase.getParsedChars();
 
-        if (moreCharsToParse(parsedChars, input) && input.charAt(parsedChars) == '^') {
+        if (from + parsedChars < to && input.charAt(from + parsedChars) == '^') {
             parsedChars++;
-            ParsingResult<? extends Factor> parsedExponent = getFactor(input.substring(parsedChars));
-            if (parsedExponent == null) {
-                log.trace(unrecognizedInputMessage, input);
-                return null;
+            ParsingResult<? extends Factor> parsedExponent = getFactor(from + parsedChars, to);
+            if (parsedExponent != null) {
+                Factor exponent = parsedExponent.getComponent();
+                Exponential exponential = new Exponential(parsedBase.getComponent(), exponent);
+                log.debug("Recognized exponential [{}] from string [{}]", exponential, region(from, to));
+                return new ParsingResult<>(exponential, parsedChars + parsedExponent.getParsedChars());
             }
-            Factor exponent = parsedExponent.getComponent();
-            Exponential exponential = new Exponential(parsedBase.getComponent(), exponent);
-            log.debug("Recognized exponential [{}] from string [{}]", exponential, input);
-            return new ParsingResult<>(exponential, parsedChars + parsedExponent.getParsedChars());
+            log.trace("Unrecognized string [{}] as exponential", region(from, to));
         }
 
-        log.trace(unrecognizedInputMessage, input);
-        return null;
+        return parsedBase;
     }
 
 
     /*
         Base    ::=  Factorial | WrappedExpression | MathFunction | Constant | Variable
     */
-    private static ParsingResult<? extends Base> getBase(String input) {
+    private ParsingResult<? extends Base> getBase(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse base");
             return null;
         }
 
         ParsingResult<? extends Base> parsedBase = null;
 
-        List<BaseParser> parsers = new LinkedList<>();
-        parsers.add(ExpressionParser::getFactorial);
-        parsers.add(ExpressionParser::getWrappedExpr);
-        parsers.add(ExpressionParser::getMathFunction);
-        parsers.add(ExpressionParser::getConstant);
-        parsers.add(ExpressionParser::getVariable);
-
-        for (BaseParser parser : parsers) {
-            parsedBase = parser.parse(input);
+        for (BaseParser parser : baseParsers) {
+            parsedBase = parser.parse(from, to);
             if (parsedBase != null) {
                 break;
             }
         }
 
         if (parsedBase != null) {
-            log.trace("Recognized base [{}] as [{}] from string [{}]", parsedBase.getComponent(), parsedBase.getComponent().getClass().getSimpleName(), input);
+            log.trace("Recognized base [{}] as [{}] from string [{}]", parsedBase.getComponent(), parsedBase.getComponent().getClass().getSimpleName(), region(from, to));
         } else {
-            log.trace("Unrecognized string [{}] as base", input);
+            log.trace("Unrecognized string [{}] as base", region(from, to));
         }
 
         return parsedBase;
@@ -354,176 +450,160 @@ public class ExpressionParser {
     /*
         Factorial  ::= Base!
     */
-    private static ParsingResult<Factorial> getFactorial(String input) {
+    private ParsingResult<Factorial> getFactorial(int from, int to) {
 
-        if (input.contains("!")) {
-            // Factorial operator is postfix, them will be parsed from the outside, inwards (then is used "lastIndexOf" method instead of "indexOf")
-            final ParsingResult<? extends Base> parsedBase = getBase(input.substring(0, input.lastIndexOf('!')));
+        // Factorial operator is postfix, them will be parsed from the outside, inwards (then the last '!' is searched first)
+        final int lastFactorialIndex = lastFactorialIndexes[Math.min(to, baseBounds[from])];
+        if (lastFactorialIndex >= from) {
+            final ParsingResult<? extends Base> parsedBase = getBase(from, lastFactorialIndex);
             if (parsedBase != null) {
                 Base base = parsedBase.getComponent();
                 Integer parsedChars = parsedBase.getParsedChars();
-                if (moreCharsToParse(parsedChars, input) && input.charAt(parsedChars) == '!') {
+                if (from + parsedChars < to && input.charAt(from + parsedChars) == '!') {
                     Factorial factorial = new Factorial(base);
-                    log.debug("Recognized factorial [{}] from string [{}]", factorial, input);
+                    log.debug("Recognized factorial [{}] from string [{}]", factorial, region(from, to));
                     return new ParsingResult<>(factorial, ++parsedChars);
                 }
                 if (base instanceof Factorial factorial) {
-                    log.debug("Recognized factorial [{}] from string [{}]", factorial, input);
+                    log.debug("Recognized factorial [{}] from string [{}]", factorial, region(from, to));
                     return new ParsingResult<>(factorial, parsedChars);
                 }
             }
         }
 
-        log.trace("Unrecognized string [{}] as factorial", input);
+        log.trace("Unrecognized string [{}] as factorial", region(from, to));
         return null;
     }
 
     /*
-        MathFunction  ::=  Root | Logarithm | Trigonometric | InvTrigonometric | Hyperbolic | InvHyperbolic
+        MathFunction  ::=  Root | Logarithm | MathUnaryFunction
     */
-    private static ParsingResult<? extends MathFunction> getMathFunction(String input) {
+    private ParsingResult<? extends Base> getMathFunction(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse math function");
             return null;
         }
 
-        ParsingResult<? extends MathFunction> parsedFunction;
+        ParsingResult<? extends Base> parsedFunction;
 
-        List<MathFunctionParser> parsers = new LinkedList<>();
-        parsers.add(ExpressionParser::getRoot);
-        parsers.add(ExpressionParser::getLogarithm);
-        parsers.add(ExpressionParser::getTrigonometricFunction);
-
-        for (MathFunctionParser parser : parsers) {
-            parsedFunction = parser.parse(input);
+        for (BaseParser parser : mathFunctionParsers) {
+            parsedFunction = parser.parse(from, to);
             if (parsedFunction != null) {
-                log.trace("Recognized math function [{}] as [{}] from string [{}]", parsedFunction.getComponent(), parsedFunction.getComponent().getClass().getSimpleName(), input);
+                log.trace("Recognized math function [{}] as [{}] from string [{}]", parsedFunction.getComponent(), parsedFunction.getComponent().getClass().getSimpleName(), region(from, to));
                 return parsedFunction;
             }
         }
 
-        log.trace("Unrecognized string [{}] as math function", input);
+        log.trace("Unrecognized string [{}] as math function", region(from, to));
         return null;
     }
 
     /*
         Logarithm  ::=  log WrappedExpression | ln WrappedExpression | log(Constant,Expression)
     */
-    private static ParsingResult<Logarithm> getLogarithm(String input) {
+    private ParsingResult<Logarithm> getLogarithm(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse logarithm");
             return null;
         }
 
         int parsedChars = 0;
 
-        if (input.startsWith("log")) {
+        if (input.startsWith("log", from) && from + 3 <= to) {
             parsedChars = 3;
         }
-        if (input.startsWith("ln")) {
+        if (input.startsWith("ln", from) && from + 2 <= to) {
             parsedChars = 2;
         }
 
         if (parsedChars == 0) {
-            log.trace("Unrecognized string [{}] as logarithm", input);
+            log.trace("Unrecognized string [{}] as logarithm", region(from, to));
             return null;
         }
 
-        String toParse = input.substring(parsedChars);
+        final int argumentIndex = from + parsedChars;
 
-        ParsingResult<? extends WrappedExpression> parsedArgument = getWrappedExpr(toParse);
+        ParsingResult<? extends WrappedExpression> parsedArgument = getWrappedExpr(argumentIndex, to);
         if (parsedArgument != null) {
             parsedChars += parsedArgument.getParsedChars();
             final Logarithm logarithm = new Logarithm(NEP_NUMBER, parsedArgument.getComponent());
-            log.debug("Recognized natural logarithm [{}] from string [{}]", logarithm, input);
+            log.debug("Recognized natural logarithm [{}] from string [{}]", logarithm, region(from, to));
             return new ParsingResult<>(logarithm, parsedChars);
         }
 
-        Matcher isParenthesizedExprMatcher = Pattern.compile(START_WITH_PARENTHESIS_REGEX).matcher(toParse);
-
-        if (isParenthesizedExprMatcher.matches()) {
-            int indexOfClosedPar = SyntaxUtils.getClosedParenthesisIndex(toParse, 0);
+        // Logarithm ::= log(Constant,Expression)
+        if (argumentIndex < to && input.charAt(argumentIndex) == '(') {
+            int indexOfClosedPar = getClosedParenthesisIndex(argumentIndex, to);
             if (indexOfClosedPar == -1) {
                 return null;
             }
-            String content = toParse.substring(1, indexOfClosedPar);
-            Matcher logArgumentMatcher = Pattern.compile(START_WITH_LOG_ARGUMENT_REGEX).matcher(content);
-            if (logArgumentMatcher.matches()) {
-                int baseGroup = 1, argumentGroup = 2;
-                String base = logArgumentMatcher.group(baseGroup);
-                String argument = logArgumentMatcher.group(argumentGroup);
-                ParsingResult<Constant> constantParsingResult = getConstant(base);
+            final int contentStart = argumentIndex + 1;
+            // The base ends with the first comma, both the base and the argument must not be empty
+            int commaIndex = contentStart + 1;
+            while (commaIndex < indexOfClosedPar && input.charAt(commaIndex) != ',') {
+                commaIndex++;
+            }
+            if (commaIndex + 1 < indexOfClosedPar) {
+                ParsingResult<Constant> constantParsingResult = getConstant(contentStart, commaIndex);
                 if (constantParsingResult != null) {
-                    ParsingResult<Expression> expressionParsingResult = getExpression(argument);
+                    ParsingResult<Expression> expressionParsingResult = getExpression(commaIndex + 1, indexOfClosedPar);
                     if (expressionParsingResult != null) {
-                        parsedChars += logArgumentMatcher.end(argumentGroup) + 2; // parsed function name, parenthesis and its content
+                        parsedChars += indexOfClosedPar - argumentIndex + 1; // parenthesis and its content
                         BigDecimal logBase = constantParsingResult.getComponent().getValue();
                         final Logarithm logarithm = new Logarithm(logBase, new ParenthesizedExpression(expressionParsingResult.getComponent()));
-                        log.debug("Recognized logarithm [{}] from string [{}]", logarithm, input);
+                        log.debug("Recognized logarithm [{}] from string [{}]", logarithm, region(from, to));
                         return new ParsingResult<>(logarithm, parsedChars);
                     }
                 } else {
-                    throw new UnsupportedOperationException("Unexpected logarithm base [" + base + "]. Only constants are supported.");
+                    throw new UnsupportedOperationException("Unexpected logarithm base [" + region(contentStart, commaIndex) + "]. Only constants are supported.");
                 }
             }
         }
 
-        throw new IllegalArgumentException("Invalid string [" + input + "]");
+        throw new IllegalArgumentException("Invalid string [" + region(from, to) + "]");
     }
 
     /*
-         Trigonometric     ::=  { sin | cos | sec | tan | tg | cotan | cot | cotg | ctg | csc | cosec } Parenthesized
-         InvTrigonometric  ::=  arc Trigonometric
-         Hyperbolic        ::=  Trigonometric h
-         InvHyperbolic     ::=  ar Hyperbolic
+         MathUnaryFunction  ::=  FunctionName WrappedExpression
+         FunctionName       ::=  any name registered in UnaryFunctions (e.g. sin, cos, tan)
     */
-    private static ParsingResult<MathUnaryFunction> getTrigonometricFunction(String input) {
+    private ParsingResult<MathUnaryFunction> getUnaryFunction(int from, int to) {
 
-        if (input.isEmpty()) {
-            log.trace("Found void string trying to parse trigonometric function");
+        if (from >= to) {
+            log.trace("Found void string trying to parse unary function");
             return null;
         }
 
-        final String unrecognizedInputMessage = "Unrecognized string [{}] as trigonometric function";
+        final String unrecognizedInputMessage = "Unrecognized string [{}] as unary function";
 
-        int parsedChars = 0;
-
-        int argumentParIndex;
-        if ((argumentParIndex = input.indexOf('(')) == -1) {
-            log.trace(unrecognizedInputMessage, input);
+        int argumentParIndex = from;
+        while (argumentParIndex < to && UnaryFunctions.isNameChar(input.charAt(argumentParIndex))) {
+            argumentParIndex++;
+        }
+        if (argumentParIndex == from || argumentParIndex >= to || input.charAt(argumentParIndex) != '(') {
+            log.trace(unrecognizedInputMessage, region(from, to));
             return null;
         }
 
-        String functionName = input.substring(0, argumentParIndex);
-        parsedChars += functionName.length();
+        String functionName = input.substring(from, argumentParIndex);
+        int parsedChars = functionName.length();
 
-        Method trigonometricMethod;
-        try {
-            trigonometricMethod = TrigonometricFunctions.class.getMethod(functionName, BigDecimal.class);
-        } catch (NoSuchMethodException e) {
-            log.trace(unrecognizedInputMessage, input);
+        if (!UnaryFunctions.isRegistered(functionName)) {
+            log.trace(unrecognizedInputMessage, region(from, to));
             return null;
         }
 
-        UnaryOperator<BigDecimal> unaryFunction = arg -> {
-            try {
-                return (BigDecimal) trigonometricMethod.invoke(arg);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new ArithmeticException(e.getMessage());
-            }
-        };
-
-        ParsingResult<? extends WrappedExpression> parsedArgument = getWrappedExpr(input.substring(parsedChars));
+        ParsingResult<? extends WrappedExpression> parsedArgument = getWrappedExpr(argumentParIndex, to);
         if (parsedArgument != null) {
             parsedChars += parsedArgument.getParsedChars();
-            final MathUnaryFunction trigonometricFunction = new MathUnaryFunction(unaryFunction, functionName, parsedArgument.getComponent());
-            log.debug("Recognized trigonometric function [{}] from string [{}]", trigonometricFunction, input);
-            return new ParsingResult<>(trigonometricFunction, parsedChars);
+            final MathUnaryFunction unaryFunction = new MathUnaryFunction(functionName, parsedArgument.getComponent());
+            log.debug("Recognized unary function [{}] from string [{}]", unaryFunction, region(from, to));
+            return new ParsingResult<>(unaryFunction, parsedChars);
         }
 
-        log.trace(unrecognizedInputMessage, input);
+        log.trace(unrecognizedInputMessage, region(from, to));
         return null;
     }
 
@@ -531,9 +611,9 @@ public class ExpressionParser {
         Root       ::=  RootSymbol Factor  |  root(IntegerNumber-th,Factor)
         RootSymbol ::=  √ | ∛ | ∜
     */
-    private static ParsingResult<RootFunction> getRoot(String input) {
+    private ParsingResult<RootFunction> getRoot(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse root function");
             return null;
         }
@@ -544,7 +624,7 @@ public class ExpressionParser {
         int parsedChars = 0;
         Integer rootIndex = null;
 
-        switch (input.charAt(0)) {
+        switch (input.charAt(from)) {
             case SQUARE_ROOT_CHAR -> {
                 parsedChars++;
                 rootIndex = 2;
@@ -560,142 +640,161 @@ public class ExpressionParser {
         }
 
         if (rootIndex != null) {
-            ParsingResult<Factor> parsedArgument = getFactor(input.substring(parsedChars));
+            ParsingResult<Factor> parsedArgument = getFactor(from + parsedChars, to);
             if (parsedArgument == null) {
-                log.trace(unrecognizedInputMessage, input);
+                log.trace(unrecognizedInputMessage, region(from, to));
                 return null;
             }
             Factor argument = parsedArgument.getComponent();
             parsedChars += parsedArgument.getParsedChars();
             final RootFunction rootFunction = new RootFunction(rootIndex, argument);
-            log.debug(parsedFunctionMessage, rootFunction, input);
+            log.debug(parsedFunctionMessage, rootFunction, region(from, to));
             return new ParsingResult<>(rootFunction, parsedChars);
         }
 
         // Root     ::=  root(IntegerNumber-th,Factor)
-        Matcher rootFunctionMatcher = Pattern.compile(START_WITH_ROOT_FUNCTION_REGEX).matcher(input);
-        if (rootFunctionMatcher.matches()) {
-            parsedChars += (rootFunctionMatcher.end(2) + "-th,".length());
-            rootIndex = Integer.parseInt(rootFunctionMatcher.group(2));
-            ParsingResult<Factor> parsedArgument = getFactor(input.substring(parsedChars));
-            if (parsedArgument == null) {
-                log.trace(unrecognizedInputMessage, input);
-                return null;
+        final int rootIndexStart = from + "root(".length();
+        if (input.startsWith("root(", from) && rootIndexStart <= to) {
+            int rootIndexEnd = rootIndexStart;
+            while (rootIndexEnd < to && isDigit(input.charAt(rootIndexEnd))) {
+                rootIndexEnd++;
+            }
+            final int argumentStart = rootIndexEnd + "-th,".length();
+            // The argument must be followed by a closed parenthesis
+            if (rootIndexEnd > rootIndexStart && input.startsWith("-th,", rootIndexEnd) && lastClosedParenthesisIndexes[to] > argumentStart) {
+                rootIndex = Integer.parseInt(input, rootIndexStart, rootIndexEnd, 10);
+                parsedChars = argumentStart - from;
+                ParsingResult<Factor> parsedArgument = getFactor(argumentStart, to);
+                if (parsedArgument == null) {
+                    log.trace(unrecognizedInputMessage, region(from, to));
+                    return null;
+                }
+                Factor argument = parsedArgument.getComponent();
+                parsedChars += parsedArgument.getParsedChars();
+                parsedChars++; // closed root parenthesis
+                final RootFunction rootFunction = new RootFunction(rootIndex, argument);
+                log.debug(parsedFunctionMessage, rootFunction, region(from, to));
+                return new ParsingResult<>(rootFunction, parsedChars);
             }
-            Factor argument = parsedArgument.getComponent();
-            parsedChars += parsedArgument.getParsedChars();
-            parsedChars++; // closed root parenthesis
-            final RootFunction rootFunction = new RootFunction(rootIndex, argument);
-            log.debug(parsedFunctionMessage, rootFunction, input);
-            return new ParsingResult<>(rootFunction, parsedChars);
         }
 
-        log.trace(unrecognizedInputMessage, input);
+        log.trace(unrecognizedInputMessage, region(from, to));
         return null;
     }
 
     /*
         WrappedExpression ::= (Expression) | <pipe> Expression <pipe>
     */
-    private static ParsingResult<? extends WrappedExpression> getWrappedExpr(String input) {
+    private ParsingResult<? extends WrappedExpression> getWrappedExpr(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse wrapped expression");
             return null;
         }
 
         final String unrecognizedInputMessage = "Unrecognized string [{}] as wrapped expression";
 
-        int parsedChars = 0;
-
         // WrappedExpression ::= (Expression)
 
-        Matcher isParenthesizedExprMatcher = Pattern.compile(START_WITH_PARENTHESIS_REGEX).matcher(input);
-
-        if (isParenthesizedExprMatcher.matches()) {
-            int indexOfClosedPar = SyntaxUtils.getClosedParenthesisIndex(input, 0);
+        if (input.charAt(from) == '(') {
+            int indexOfClosedPar = getClosedParenthesisIndex(from, to);
             if (indexOfClosedPar == -1) {
                 return null;
             }
-            String content = input.substring(1, indexOfClosedPar);
-            ParsingResult<Expression> expression = getExpression(content);
-            if (expression == null) {
-                log.trace(unrecognizedInputMessage, input);
-                return null;
+            if (parenthesizedExpressions.containsKey(from)) {
+                return parenthesizedExpressions.get(from);
+            }
+            final ParsingResult<ParenthesizedExpression> parsedParExpression = getParenthesizedExpr(from, indexOfClosedPar);
+            if (parsedParExpression == null) {
+                log.trace(unrecognizedInputMessage, region(from, to));
             }
-            parsedChars += expression.getParsedChars() + 2;
-            final ParenthesizedExpression parExpression = new ParenthesizedExpression(expression.getComponent());
-            log.debug("Recognized parenthesized expression [{}] from string [{}]", parExpression, input);
-            return new ParsingResult<>(parExpression, parsedChars);
+            parenthesizedExpressions.put(from, parsedParExpression);
+            return parsedParExpression;
         }
 
         // WrappedExpression ::= <pipe>Expression<pipe>
 
-        if (input.charAt(0) == '|') {
-            String toParse = input.substring(1);
-            if (toParse.isEmpty()) {
-                log.trace(unrecognizedInputMessage, input);
+        if (input.charAt(from) == '|') {
+            final int contentStart = from + 1;
+            if (contentStart >= to) {
+                log.trace(unrecognizedInputMessage, region(from, to));
                 return null;
             }
-            ParsingResult<Expression> expression = getExpression(toParse);
+            ParsingResult<Expression> expression = getExpression(contentStart, to);
 
             if (expression == null) {
-                log.trace(unrecognizedInputMessage, input);
+                log.trace(unrecognizedInputMessage, region(from, to));
                 return null;
             }
 
             Integer absContentParsedChars = expression.getParsedChars();
-            if (absContentParsedChars >= toParse.length()) {
-                log.trace(unrecognizedInputMessage, input);
+            if (contentStart + absContentParsedChars >= to) {
+                log.trace(unrecognizedInputMessage, region(from, to));
                 return null;
             }
-            if (toParse.charAt(absContentParsedChars) != '|') {
+            if (input.charAt(contentStart + absContentParsedChars) != '|') {
                 throw new IllegalArgumentException("Expected closing pipe char at index [" + absContentParsedChars + "]");
             }
-            parsedChars += expression.getParsedChars() + 2;
+            int parsedChars = expression.getParsedChars() + 2;
             final AbsExpression absExpression = new AbsExpression(expression.getComponent());
-            log.debug("Recognized absolute value expression [{}] from string [{}]", absExpression, input);
+            log.debug("Recognized absolute value expression [{}] from string [{}]", absExpression, region(from, to));
             return new ParsingResult<>(absExpression, parsedChars);
         }
 
-        log.trace(unrecognizedInputMessage, input);
+        log.trace(unrecognizedInputMessage, region(from, to));
         return null;
     }
 
+    private ParsingResult<ParenthesizedExpression> getParenthesizedExpr(int openParIndex, int closedParIndex) {
+        ParsingResult<Expression> expression = getExpression(openParIndex + 1, closedParIndex);
+        if (expression == null) {
+            return null;
+        }
+        final ParenthesizedExpression parExpression = new ParenthesizedExpression(expression.getComponent());
+        log.debug("Recognized parenthesized expression [{}] from string [{}]", parExpression, region(openParIndex, closedParIndex + 1));
+        return new ParsingResult<>(parExpression, expression.getParsedChars() + 2);
+    }
+
     /*
         Constant           ::=  Number | ⅇ | π | ∞
         Number             ::=  IntegerNumber [.IntegerNumber]
         IntegerNumber      ::=  IntegerNumber Digit
         Digit              ::=  1 | 2 | 3 | 4 | 5 | 6 | 7 | 8 | 9 | 0 | ε
     */
-    private static ParsingResult<Constant> getConstant(String input) {
+    private ParsingResult<Constant> getConstant(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse constant");
             return null;
         }
 
-        int parsedChars = 0;
-
-        Matcher startWithNumberMatcher = Pattern.compile(Constants.START_WITH_GENERIC_NUM_REGEX).matcher(input);
-        if (startWithNumberMatcher.matches()) {
-            parsedChars += startWithNumberMatcher.end(1);
-            final Constant constant = new Constant(new BigDecimal(startWithNumberMatcher.group(1)));
-            log.debug("Recognized constant [{}] from string [{}]", constant, input);
-            return new ParsingResult<>(constant, parsedChars);
+        int numberEnd = from;
+        while (numberEnd < to && isDigit(input.charAt(numberEnd))) {
+            numberEnd++;
+        }
+        if (numberEnd > from) {
+            if (numberEnd + 1 < to && input.charAt(numberEnd) == '.' && isDigit(input.charAt(numberEnd + 1))) {
+                numberEnd++;
+                while (numberEnd < to && isDigit(input.charAt(numberEnd))) {
+                    numberEnd++;
+                }
+            }
+            final Constant constant = new Constant(new BigDecimal(input.substring(from, numberEnd)));
+            log.debug("Recognized constant [{}] from string [{}]", constant, region(from, to));
+            return new ParsingResult<>(constant, numberEnd - from);
         }
 
-        final ParsingResult<Constant> constantParsingResult = switch (input.charAt(parsedChars)) {
-            case E_CHAR -> new ParsingResult<>(new Constant(NEP_NUMBER), ++parsedChars);
-            case PI_CHAR -> new ParsingResult<>(new Constant(PI), ++parsedChars);
-            case INFINITY -> new ParsingResult<>(new Infinity(), ++parsedChars);
+        final ParsingResult<Constant> constantParsingResult = switch (input.charAt(from)) {
+            case E_CHAR -> new ParsingResult<>(new Constant(E_CHAR), 1);
+            case PI_CHAR -> new ParsingResult<>(new Constant(PI_CHAR), 1);
+            case INFINITY -> new ParsingResult<>(new Infinity(), 1);
             default -> null;
         };
 
         if (constantParsingResult != null) {
-            log.debug("Recognized constant [{}] from string [{}]", constantParsingResult.getComponent(), input);
+            log.debug("Recognized constant [{}] from string [{}]", constantParsingResult.getComponent(), region(from, to));
         } else {
-            log.trace("Unrecognized string [{}] as constant", input);
+            log.trace("Unrecognized string [{}] as constant", region(from, to));
         }
 
         return constantParsingResult;
@@ -704,54 +803,53 @@ public class ExpressionParser {
     /*
         Variable  ::=  [a-z]
     */
-    private static ParsingResult<Variable> getVariable(String input) {
+    private ParsingResult<Variable> getVariable(int from, int to) {
 
-        if (input.isEmpty()) {
+        if (from >= to) {
             log.trace("Found void string trying to parse variable");
             return null;
         }
 
         final String unrecognizedInputMessage = "Unrecognized string [{}] as variable";
-        int parsedChars = 0;
-        char var = input.charAt(parsedChars);
-
-        if (String.valueOf(var).matches("^[a-z]")) {
-            if (moreCharsToParse(parsedChars + 1, input)) {
-                char nextChar = input.charAt(parsedChars + 1);
-                if (String.valueOf(nextChar).matches("^[a-z]")) {
-                    log.trace(unrecognizedInputMessage, input);
-                    return null; // 'var' is not a variable, but potentially a function name or something else
-                }
+        char var = input.charAt(from);
+
+        if (isVariableName(var)) {
+            if (from + 1 < to && isVariableName(input.charAt(from + 1))) {
+                log.trace(unrecognizedInputMessage, region(from, to));
+                return null; // 'var' is not a variable, but potentially a function name or something else
             }
-            log.debug("Recognized variable [{}] from string [{}]", var, input);
-            return new ParsingResult<>(new Variable(var), ++parsedChars);
+            log.debug("Recognized variable [{}] from string [{}]", var, region(from, to));
+            return new ParsingResult<>(new Variable(var), 1);
         }
 
-        log.trace(unrecognizedInputMessage, input);
+        log.trace(unrecognizedInputMessage, region(from, to));
         return null;
     }
 
+    /*
+        Index of the parenthesis closing the one opened at the given index, -1 if it isn't closed before the end of the range
+     */
+    private int getClosedParenthesisIndex(int openParIndex, int to) {
+        final int closedParIndex = closedParenthesisIndexes[openParIndex];
+        return closedParIndex < to ? closedParIndex : -1;
+    }
 
-    private static boolean moreCharsToParse(Integer parsedChars, String expression) {
-        return parsedChars < expression.length();
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
-    private interface FactorParser extends Function<String, ParsingResult<? extends Factor>> {
-        default ParsingResult<? extends Factor> parse(String expression) {
-            return apply(expression);
-        }
+    private static boolean isVariableName(char c) {
+        return c >= 'a' && c <= 'z';
     }
 
-    private interface BaseParser extends Function<String, ParsingResult<? extends Base>> {
-        default ParsingResult<? extends Base> parse(String expression) {
-            return apply(expression);
-        }
+    /*
+        View of the given range of the input, for logging purposes (no characters are copied)
+     */
+    private CharSequence region(int from, int to) {
+        return CharBuffer.wrap(input, from, to);
     }
 
-    private interface MathFunctionParser extends Function<String, ParsingResult<? extends MathFunction>> {
-        default ParsingResult<? extends MathFunction> parse(String expression) {
-            return apply(expression);
-        }
+    private interface BaseParser {
+        ParsingResult<? extends Base> parse(int from, int to);
     }
 }
-
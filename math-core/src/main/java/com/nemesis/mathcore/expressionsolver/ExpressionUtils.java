@@ -4,13 +4,18 @@ import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.components.Expression;
 import com.nemesis.mathcore.expressionsolver.components.Variable;
 import com.nemesis.mathcore.expressionsolver.equations.LinearEquationResolver;
+import com.nemesis.mathcore.expressionsolver.equations.PolynomialEquationResolver;
 import com.nemesis.mathcore.expressionsolver.equations.QuadraticEquationResolver;
 import com.nemesis.mathcore.expressionsolver.intervals.model.Union;
 import com.nemesis.mathcore.expressionsolver.models.Domain;
 import com.nemesis.mathcore.expressionsolver.models.Polynomial;
 import com.nemesis.mathcore.expressionsolver.models.RelationalOperator;
+import com.nemesis.mathcore.expressionsolver.rewritting.NormalForms;
+import com.nemesis.mathcore.expressionsolver.rewritting.NormalizationPass;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
-import com.nemesis.mathcore.expressionsolver.rewritting.Rules;
+import com.nemesis.mathcore.expressionsolver.rewritting.RuleListener;
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import com.nemesis.mathcore.expressionsolver.utils.SyntaxUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -25,78 +30,200 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 public class ExpressionUtils {
 
     private static final String EXECUTION_CHAIN_MDC_PARAM = "executionId";
-    private static int currentDepth = 0;
 
-    private static Map<String, Map<Integer, String>> lastFinishedExecutionByThread = new HashMap<>();
+    /*
+        Bookkeeping for the execution chain logged in MDC. It is created by the outermost simplify() call
+        and discarded when that call returns, so it is never shared between threads or requests.
+     */
+    private static final ThreadLocal<ExecutionTrace> executionTrace = new ThreadLocal<>();
 
 
     public static BigDecimal evaluate(String expression) {
-        final Expression parsedExpression = ExpressionParser.parse(expression);
-        BigDecimal rawResult = parsedExpression.getValue();
-        return SyntaxUtils.removeNonSignificantZeros(rawResult);
+        return evaluate(expression, MathCoreContext.current());
+    }
+
+    public static BigDecimal evaluate(String expression, MathCoreContext context) {
+        return context.call(() -> {
+            final Expression parsedExpression = ExpressionParser.parse(expression, context);
+            BigDecimal rawResult = parsedExpression.getValue();
+            return SyntaxUtils.removeNonSignificantZeros(rawResult);
+        });
     }
 
     public static Component getDerivative(String expression, Variable var) {
-        Expression parsedExpr = ExpressionParser.parse(expression);
-        Component simplifiedDerivative = getDerivative(parsedExpr, var);
-        return simplifiedDerivative;
+        return getDerivative(expression, var, MathCoreContext.current());
+    }
+
+    public static Component getDerivative(String expression, Variable var, MathCoreContext context) {
+        return context.call(() -> {
+            Expression parsedExpr = ExpressionParser.parse(expression, context);
+            return getDerivative(parsedExpr, var, context);
+        });
     }
 
     public static Component getDerivative(Component function, Variable var) {
-        Component derivative = function.getDerivative(var);
-        log.info("Calculated derivative of [{}] for variable [{}]. Raw result: [{}]", function, var, derivative);
-        Component simplifiedDerivative = ExpressionUtils.simplify(derivative);
-        return simplifiedDerivative;
+        return getDerivative(function, var, MathCoreContext.current());
+    }
+
+    public static Component getDerivative(Component function, Variable var, MathCoreContext context) {
+        return context.call(() -> {
+            Component derivative = function.getDerivative(var);
+            log.info("Calculated derivative of [{}] for variable [{}]. Raw result: [{}]", function, var, derivative);
+            return ExpressionUtils.simplify(derivative, context);
+        });
     }
 
     public static Component simplify(String expression) {
-        Component parsedExpr = ExpressionParser.parse(expression);
-        return simplify(parsedExpr);
+        return simplify(expression, MathCoreContext.current());
+    }
+
+    public static Component simplify(String expression, MathCoreContext context) {
+        return context.call(() -> {
+            Component parsedExpr = ExpressionParser.parse(expression, context);
+            return simplify(parsedExpr, context);
+        });
     }
 
     public static Component simplify(Component component) {
+        return simplify(component, MathCoreContext.current());
+    }
+
+    public static Component simplify(Component component, MathCoreContext context) {
+        return context.call(() -> doSimplify(component, context, null));
+    }
+
+    /*
+        Simplifies the component reusing (and extending) the given normal forms, which may come from previous simplifications
+     */
+    static Component simplify(Component component, MathCoreContext context, NormalForms normalForms) {
+        return context.call(() -> doSimplify(component, context, normalForms));
+    }
+
+    /*
+        Starts an analysis session on the given expression, parsing it once
+     */
+    public static ExpressionAnalysis analyze(String expression) {
+        return analyze(expression, MathCoreContext.current());
+    }
+
+    public static ExpressionAnalysis analyze(String expression, MathCoreContext context) {
+        return new ExpressionAnalysis(ExpressionParser.parse(expression, context), context);
+    }
+
+    public static ExpressionAnalysis analyze(Component component) {
+        return analyze(component, MathCoreContext.current());
+    }
+
+    public static ExpressionAnalysis analyze(Component component, MathCoreContext context) {
+        return new ExpressionAnalysis(component.getClone(), context);
+    }
+
+    private static Component doSimplify(Component component, MathCoreContext context, NormalForms sessionNormalForms) {
+
+        ExecutionTrace trace = executionTrace.get();
+        if (trace == null) {
+            trace = new ExecutionTrace(sessionNormalForms != null && sessionNormalForms.isValidFor(context) ? sessionNormalForms : new NormalForms(context));
+            executionTrace.set(trace);
+        }
+
+        /*
+            Nested simplifications (issued by rules on exponents, coefficients, ...) often normalize the same subtree
+            over and over across the iterations of the outer loop: reuse the normal form computed the first time.
+         */
+        final NormalForms normalForms = trace.normalForms.isValidFor(context) ? trace.normalForms : null;
+        Component subtreeSnapshot = null;
+        if (normalForms != null && trace.currentDepth > 0) {
+            final Component normalForm = normalForms.lookup(component);
+            if (normalForm != null) {
+                log.debug("Subtree [{}] already normalized as [{}]", component, normalForm);
+                return normalForm;
+            }
+            subtreeSnapshot = component.getClone();
+        }
 
-        currentDepth++;
-        updateMDC();
+        trace.currentDepth++;
+        updateMDC(trace);
 
         try {
             int iteration = 0;
             boolean componentHasChanged;
             Component rewrittenComponent;
+
+            /*
+                Each rule rewrites the tree bottom-up, skipping the subtrees it already left untouched (see NormalizationPass):
+                a fixpoint reached after skipping some subtrees is confirmed by an iteration without skips.
+                Change detection works on structural hashes, so rules that leave the tree untouched (the vast majority)
+                cost one tree walk and no string building. Equal hashes are confirmed by comparing the tree with a snapshot
+                taken at the last change, so that a collision is never taken for a fixpoint.
+                The rendered form is computed only when the structure changed: structurally different trees that print
+                the same (e.g. 'e' and the fraction 'e/1') are not a change, and loops are detected on the rendered form.
+             */
+            final ComputationBudget budget = context.getBudget();
+            final RuleListener ruleListener = context.getRuleListener();
+            final boolean rulesTimed = ruleListener != RuleListener.NONE;
+            final List<Rule> rules = List.copyOf(context.getRules());
+            final NormalizationPass pass = new NormalizationPass(rules);
+            Snapshot snapshot = Snapshot.of(component);
+            String componentAsString = component.toString();
+            budget.checkTreeSize(componentAsString.length());
             Set<String> componentTransformationHistory = new HashSet<>();
-            componentTransformationHistory.add(component.toString());
+            componentTransformationHistory.add(componentAsString);
 
             do {
                 updateMDC(++iteration);
-                log.info("Simplifying [{}]...", component);
+                budget.checkRewriteIterations(++trace.rewriteIterations);
+                log.info("Simplifying [{}]...", componentAsString);
                 componentHasChanged = false;
-                String originalComponentAsString;
-                for (Rule rule : Rules.rules) {
-                    originalComponentAsString = component.toString();
-                    rewrittenComponent = component.rewrite(rule);
-                    final String rewrittenComponentAsString = rewrittenComponent.toString();
-                    final boolean componentHasChangedByCurrentRule = !Objects.equals(rewrittenComponentAsString, originalComponentAsString);
-                    if (componentHasChangedByCurrentRule) {
-                        if (componentTransformationHistory.contains(rewrittenComponentAsString)) {
-                            log.info("Loop detected with rewritten component [{}]: no more rules will be applied", rewrittenComponentAsString);
-                            return rewrittenComponent;
-                        } else {
-                            componentTransformationHistory.add(rewrittenComponentAsString);
+                final int skippedSubtrees = pass.getSkippedSubtrees();
+                for (Rule rule : rules) {
+                    budget.checkDeadline();
+                    final long rewriteStart = rulesTimed ? System.nanoTime() : 0;
+                    rewrittenComponent = pass.rewrite(rule, component);
+                    final boolean unchanged = snapshot.matches(rewrittenComponent);
+                    if (rulesTimed) {
+                        ruleListener.onRewrite(rule, System.nanoTime() - rewriteStart, !unchanged);
+                    }
+                    if (!unchanged) {
+                        final String rewrittenComponentAsString = rewrittenComponent.toString();
+                        budget.checkTreeSize(rewrittenComponentAsString.length());
+                        if (!Objects.equals(rewrittenComponentAsString, componentAsString)) {
+                            if (!componentTransformationHistory.add(rewrittenComponentAsString)) {
+                                log.info("Loop detected with rewritten component [{}]: no more rules will be applied", rewrittenComponentAsString);
+                                return recordNormalForm(normalForms, subtreeSnapshot, rewrittenComponent);
+                            }
+                            componentHasChanged = true;
                         }
+                        componentAsString = rewrittenComponentAsString;
+                        snapshot = Snapshot.of(rewrittenComponent);
                     }
-                    componentHasChanged |= componentHasChangedByCurrentRule;
                     component = rewrittenComponent;
                 }
+                if (!componentHasChanged && pass.getSkippedSubtrees() > skippedSubtrees) {
+                    log.debug("Confirming the normal form without skipping subtrees");
+                    pass.forgetNormalizedSubtrees();
+                    componentHasChanged = true;
+                }
                 log.info("Finished");
             } while (componentHasChanged);
-            return component;
+            return recordNormalForm(normalForms, subtreeSnapshot, component);
         } finally {
             removeLastExecutionFromMDC();
-            lastFinishedExecutionByThread.get(Thread.currentThread().getName()).remove(currentDepth + 1);
-            currentDepth--;
+            trace.lastFinishedExecutionByDepth.remove(trace.currentDepth + 1);
+            trace.currentDepth--;
+            if (trace.currentDepth == 0) {
+                log.debug("Normalized subtrees: [{}], distinct normal forms: [{}], reused: [{}]", trace.normalForms.size(), trace.normalForms.distinctNormalForms(), trace.normalForms.getHits());
+                executionTrace.remove();
+            }
         }
     }
 
+    private static Component recordNormalForm(NormalForms normalForms, Component subtreeSnapshot, Component normalForm) {
+        if (normalForms != null && subtreeSnapshot != null) {
+            normalForms.record(subtreeSnapshot, normalForm);
+        }
+        return normalForm;
+    }
+
     private static void removeLastExecutionFromMDC() {
         final String executionChainInMDC = MDC.get(EXECUTION_CHAIN_MDC_PARAM);
         LinkedList<String> executionChain = new LinkedList<>(Arrays.asList(executionChainInMDC.split("->")));
@@ -104,13 +231,13 @@ public class ExpressionUtils {
         MDC.put(EXECUTION_CHAIN_MDC_PARAM, String.join("->", executionChain));
     }
 
-    private static void updateMDC() {
+    private static void updateMDC(ExecutionTrace trace) {
 
-        Map<Integer, String> executionsByDepth = lastFinishedExecutionByThread.computeIfAbsent(Thread.currentThread().getName(), k -> new HashMap<>());
+        Map<Integer, String> executionsByDepth = trace.lastFinishedExecutionByDepth;
 
         final String executionChainInMDC = MDC.get(EXECUTION_CHAIN_MDC_PARAM);
 
-        final String lastExecutionForCurrentDepth = executionsByDepth.get(currentDepth);
+        final String lastExecutionForCurrentDepth = executionsByDepth.get(trace.currentDepth);
         final String newExecutionForCurrentDepth;
 
         if (lastExecutionForCurrentDepth == null) {
@@ -122,7 +249,7 @@ public class ExpressionUtils {
             newExecutionForCurrentDepth = String.valueOf(Integer.parseInt(execution) + 1).concat(".").concat(iteration);
         }
 
-        executionsByDepth.put(currentDepth, newExecutionForCurrentDepth);
+        executionsByDepth.put(trace.currentDepth, newExecutionForCurrentDepth);
 
         if (isEmpty(executionChainInMDC)) {
             MDC.put(EXECUTION_CHAIN_MDC_PARAM, newExecutionForCurrentDepth);
@@ -139,31 +266,70 @@ public class ExpressionUtils {
     }
 
     public static Domain getDomain(String expression, Variable variable) {
-        return simplify(expression).getDomain(variable);
+        return getDomain(expression, variable, MathCoreContext.current());
+    }
+
+    public static Domain getDomain(String expression, Variable variable, MathCoreContext context) {
+        // The domain of the expression as written: simplifying first could cancel factors (e.g. (x^2-1)/(x-1) = x+1) and drop their zeros
+        return context.call(() -> ExpressionParser.parse(expression, context).getDomain(variable));
     }
 
     public static Union resolve(Component leftComponent, RelationalOperator operator, Component rightComponent, Variable variable) {
+        return resolve(leftComponent, operator, rightComponent, variable, MathCoreContext.current());
+    }
+
+    public static Union resolve(Component leftComponent, RelationalOperator operator, Component rightComponent, Variable variable, MathCoreContext context) {
+        return context.call(() -> doResolve(leftComponent, operator, rightComponent, variable));
+    }
+
+    private static Union doResolve(Component leftComponent, RelationalOperator operator, Component rightComponent, Variable variable) {
 
         if (!isZero(rightComponent)) {
             throw new UnsupportedOperationException("Only equation in normal form are supported (f(" + variable.getName() + ")=0)");
         }
 
-        final Polynomial polynomial = Polynomial.getPolynomial(leftComponent);
+        Polynomial polynomial = Polynomial.getPolynomial(leftComponent);
+        if (polynomial == null) {
+            // Components taken from a parsed tree (e.g. parenthesized sums) become polynomials once simplified
+            polynomial = Polynomial.getPolynomial(simplify(leftComponent.getClone()));
+        }
         if (polynomial != null) {
-            Integer degree = polynomial.getDegree(variable);
-            if (degree != null) {
-                return switch (degree) {
-                    case 0 -> throw new UnsupportedOperationException("Not implemented"); // TODO
-                    case 1 -> LinearEquationResolver.resolve(polynomial, operator, variable);
-                    case 2 -> QuadraticEquationResolver.resolve(polynomial, operator, variable);
-                    default -> throw new UnsupportedOperationException("Resolution of equation with degree > 2 is not supported yet");
-                };
-            } else {
-                throw new UnsupportedOperationException();
-            }
+            // A polynomial without the variable has degree 0. Powers of polynomials (e.g. (x-1)^2) are expanded by the generic resolver
+            final int degree = polynomial.isExpanded() ? Objects.requireNonNullElse(polynomial.getDegree(variable), 0) : -1;
+            return switch (degree) {
+                case 1 -> LinearEquationResolver.resolve(polynomial, operator, variable);
+                case 2 -> QuadraticEquationResolver.resolve(polynomial, operator, variable);
+                default -> PolynomialEquationResolver.resolve(polynomial, operator, variable);
+            };
         } else {
             throw new UnsupportedOperationException("Equation resolution is supported only for polynomials");
         }
 
     }
+
+    /*
+        Copy of a tree with its structural hash, to compare the hashes before the trees
+     */
+    private record Snapshot(long hash, Component tree) {
+
+        static Snapshot of(Component component) {
+            // Rules rewrite the component in place
+            return new Snapshot(component.structuralHash(), component.getClone());
+        }
+
+        boolean matches(Component component) {
+            return component.structuralHash() == hash && component.equals(tree);
+        }
+    }
+
+    private static class ExecutionTrace {
+        private int currentDepth = 0;
+        private int rewriteIterations = 0;
+        private final Map<Integer, String> lastFinishedExecutionByDepth = new HashMap<>();
+        private final NormalForms normalForms;
+
+        private ExecutionTrace(NormalForms normalForms) {
+            this.normalForms = normalForms;
+        }
+    }
 }
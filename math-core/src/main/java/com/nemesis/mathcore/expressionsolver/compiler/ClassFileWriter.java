@@ -0,0 +1,268 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    Minimal class file writer, just enough for EvaluatorGenerator: one class with fields and straight-line methods.
+    Methods must not contain branches, since no StackMapTable is written.
+ */
+class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    private static final int JAVA_17 = 61;
+
+    private static final byte CONSTANT_UTF8 = 1;
+    private static final byte CONSTANT_DOUBLE = 6;
+    private static final byte CONSTANT_CLASS = 7;
+    private static final byte CONSTANT_FIELDREF = 9;
+    private static final byte CONSTANT_METHODREF = 10;
+    private static final byte CONSTANT_INTERFACE_METHODREF = 11;
+    private static final byte CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constantIndexes = new HashMap<>();
+    private int constantPoolCount = 1;
+
+    private final int thisClass;
+    private final int superClass;
+    private final List<Integer> interfaces = new ArrayList<>();
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+
+    ClassFileWriter(String className, String superClassName, String... interfaceNames) {
+        this.thisClass = classConstant(className);
+        this.superClass = classConstant(superClassName);
+        for (String interfaceName : interfaceNames) {
+            interfaces.add(classConstant(interfaceName));
+        }
+    }
+
+    void addField(int access, String name, String descriptor) {
+        fields.add(write(out -> {
+            out.writeShort(access);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(0);
+        }));
+    }
+
+    void addMethod(int access, String name, String descriptor, Code code) {
+        final int codeAttributeName = utf8Constant("Code");
+        methods.add(write(out -> {
+            out.writeShort(access);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(1);
+            out.writeShort(codeAttributeName);
+            final byte[] bytecode = code.bytes.toByteArray();
+            out.writeInt(12 + bytecode.length);
+            out.writeShort(code.maxStack);
+            out.writeShort(code.maxLocals);
+            out.writeInt(bytecode.length);
+            out.write(bytecode);
+            out.writeShort(0); // exception table
+            out.writeShort(0); // attributes
+        }));
+    }
+
+    byte[] toByteArray() {
+        return write(out -> {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(JAVA_17);
+            out.writeShort(constantPoolCount);
+            out.write(constantPoolBytes.toByteArray());
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.size());
+            for (int anInterface : interfaces) {
+                out.writeShort(anInterface);
+            }
+            out.writeShort(fields.size());
+            for (byte[] field : fields) {
+                out.write(field);
+            }
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        });
+    }
+
+    int getConstantPoolCount() {
+        return constantPoolCount;
+    }
+
+    int utf8Constant(String value) {
+        return constant("U" + value, 1, out -> {
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(value);
+        });
+    }
+
+    int doubleConstant(double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        return constant("D" + bits, 2, out -> {
+            out.writeByte(CONSTANT_DOUBLE);
+            out.writeLong(bits);
+        });
+    }
+
+    int classConstant(String internalName) {
+        final int name = utf8Constant(internalName);
+        return constant("C" + internalName, 1, out -> {
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(name);
+        });
+    }
+
+    int fieldConstant(String owner, String name, String descriptor) {
+        return memberConstant(CONSTANT_FIELDREF, owner, name, descriptor);
+    }
+
+    int methodConstant(String owner, String name, String descriptor) {
+        return memberConstant(CONSTANT_METHODREF, owner, name, descriptor);
+    }
+
+    int interfaceMethodConstant(String owner, String name, String descriptor) {
+        return memberConstant(CONSTANT_INTERFACE_METHODREF, owner, name, descriptor);
+    }
+
+    private int memberConstant(byte tag, String owner, String name, String descriptor) {
+        final int ownerClass = classConstant(owner);
+        final int nameIndex = utf8Constant(name);
+        final int descriptorIndex = utf8Constant(descriptor);
+        final int nameAndType = constant("N" + name + ":" + descriptor, 1, out -> {
+            out.writeByte(CONSTANT_NAME_AND_TYPE);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+        return constant("M" + tag + owner + "." + name + ":" + descriptor, 1, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerClass);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    private int constant(String key, int slots, Writer writer) {
+        final Integer existing = constantIndexes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            writer.write(constantPool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final int index = constantPoolCount;
+        constantPoolCount += slots;
+        constantIndexes.put(key, index);
+        return index;
+    }
+
+    private static byte[] write(Writer writer) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writer.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /*
+        Bytecode of a single method
+     */
+    static class Code {
+
+        static final int ICONST_0 = 0x03;
+        static final int BIPUSH = 0x10;
+        static final int SIPUSH = 0x11;
+        static final int LDC2_W = 0x14;
+        static final int DLOAD = 0x18;
+        static final int ALOAD = 0x19;
+        static final int DALOAD = 0x31;
+        static final int AALOAD = 0x32;
+        static final int DSTORE = 0x39;
+        static final int DADD = 0x63;
+        static final int DMUL = 0x6B;
+        static final int DDIV = 0x6F;
+        static final int DNEG = 0x77;
+        static final int DRETURN = 0xAF;
+        static final int RETURN = 0xB1;
+        static final int GETFIELD = 0xB4;
+        static final int PUTFIELD = 0xB5;
+        static final int INVOKESPECIAL = 0xB7;
+        static final int INVOKESTATIC = 0xB8;
+        static final int INVOKEINTERFACE = 0xB9;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int maxStack;
+        private final int maxLocals;
+
+        Code(int maxStack, int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        int length() {
+            return bytes.size();
+        }
+
+        int getMaxStack() {
+            return maxStack;
+        }
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code op(int opcode, int u1) {
+            bytes.write(opcode);
+            bytes.write(u1);
+            return this;
+        }
+
+        Code opWide(int opcode, int u2) {
+            bytes.write(opcode);
+            bytes.write(u2 >>> 8);
+            bytes.write(u2);
+            return this;
+        }
+
+        Code pushInt(int value) {
+            if (value >= 0 && value <= 5) {
+                return op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                return op(BIPUSH, value);
+            }
+            return opWide(SIPUSH, value);
+        }
+
+        Code invokeInterface(int methodRef, int argumentSlots) {
+            opWide(INVOKEINTERFACE, methodRef);
+            bytes.write(argumentSlots + 1);
+            bytes.write(0);
+            return this;
+        }
+    }
+}
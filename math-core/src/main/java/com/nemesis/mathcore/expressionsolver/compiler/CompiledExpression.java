@@ -0,0 +1,302 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/*
+    Flat, stack-based double program produced by ExpressionCompiler.
+    Variables are read from slots: the value of the i-th variable of getVariables() is expected at index i.
+    Instances are immutable and thread-safe; scalar evaluation uses a per-thread operand stack, so it doesn't allocate.
+ */
+public final class CompiledExpression implements DoubleEvaluator {
+
+    static final int CONST = 0;
+    static final int LOAD = 1;
+    static final int ADD = 2;
+    static final int MULTIPLY = 3;
+    static final int DIVIDE = 4;
+    static final int NEGATE = 5;
+    static final int POW = 6;
+    static final int LN = 7;
+    static final int LOG10 = 8;
+    static final int SQRT = 9;
+    static final int ROOT = 10;
+    static final int FACTORIAL = 11;
+    static final int ABS = 12;
+    static final int CALL = 13;
+
+    private static final String[] OPCODE_NAMES = {"CONST", "LOAD", "ADD", "MULTIPLY", "DIVIDE", "NEGATE", "POW", "LN", "LOG10", "SQRT", "ROOT", "FACTORIAL", "ABS", "CALL"};
+
+    // 170! is the largest factorial representable as a double
+    private static final double[] FACTORIALS = new double[171];
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i < FACTORIALS.length; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    private final int[] code;
+    private final double[] constants;
+    private final DoubleUnaryOperator[] functions;
+    private final char[] variables;
+    private final int maxStackSize;
+    private final ThreadLocal<double[]> stack;
+
+    CompiledExpression(int[] code, double[] constants, DoubleUnaryOperator[] functions, char[] variables, int maxStackSize) {
+        this.code = code;
+        this.constants = constants;
+        this.functions = functions;
+        this.variables = variables;
+        this.maxStackSize = maxStackSize;
+        this.stack = ThreadLocal.withInitial(() -> new double[maxStackSize]);
+    }
+
+    public List<Character> getVariables() {
+        List<Character> names = new ArrayList<>(variables.length);
+        for (char variable : variables) {
+            names.add(variable);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    public int slotOf(char variable) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i] == variable) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+        Evaluates the program with the given slot values
+     */
+    @Override
+    public double evaluate(double... values) {
+        checkSlots(values.length);
+        final double[] stack = this.stack.get();
+        int top = -1;
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case CONST -> stack[++top] = constants[code[pc++]];
+                case LOAD -> stack[++top] = values[code[pc++]];
+                case ADD -> {
+                    final double right = stack[top--];
+                    stack[top] += right;
+                }
+                case MULTIPLY -> {
+                    final double right = stack[top--];
+                    stack[top] *= right;
+                }
+                case DIVIDE -> {
+                    final double right = stack[top--];
+                    stack[top] /= right;
+                }
+                case NEGATE -> stack[top] = -stack[top];
+                case POW -> {
+                    final double exponent = stack[top--];
+                    stack[top] = Math.pow(stack[top], exponent);
+                }
+                case LN -> stack[top] = Math.log(stack[top]);
+                case LOG10 -> stack[top] = Math.log10(stack[top]);
+                case SQRT -> stack[top] = Math.sqrt(stack[top]);
+                case ROOT -> stack[top] = root(stack[top], code[pc++]);
+                case FACTORIAL -> stack[top] = factorial(stack[top]);
+                case ABS -> stack[top] = Math.abs(stack[top]);
+                case CALL -> stack[top] = functions[code[pc++]].applyAsDouble(stack[top]);
+                default -> throw new IllegalStateException("Illegal opcode [" + code[pc - 1] + "]");
+            }
+        }
+        return stack[0];
+    }
+
+    @Override
+    public double applyAsDouble(double value) {
+        if (variables.length > 1) {
+            throw new UnsupportedOperationException("Expression depends on variables " + getVariables());
+        }
+        return variables.length == 0 ? evaluate() : evaluate(value);
+    }
+
+    /*
+        Vectorized evaluation: columns[slot][i] is the value of the slot-th variable for the i-th point, results[i] receives its value.
+        Every instruction is applied to the whole column before moving to the next one.
+     */
+    public void evaluate(double[][] columns, double[] results) {
+        checkSlots(columns.length);
+        final int size = results.length;
+        final double[][] stack = new double[maxStackSize][];
+        stack[0] = results;
+        for (int i = 1; i < maxStackSize; i++) {
+            stack[i] = new double[size];
+        }
+
+        int top = -1;
+        int pc = 0;
+        while (pc < code.length) {
+            final int opcode = code[pc++];
+            switch (opcode) {
+                case CONST -> {
+                    final double constant = constants[code[pc++]];
+                    final double[] target = stack[++top];
+                    for (int i = 0; i < size; i++) {
+                        target[i] = constant;
+                    }
+                }
+                case LOAD -> System.arraycopy(columns[code[pc++]], 0, stack[++top], 0, size);
+                case ADD -> {
+                    final double[] right = stack[top--];
+                    final double[] left = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        left[i] += right[i];
+                    }
+                }
+                case MULTIPLY -> {
+                    final double[] right = stack[top--];
+                    final double[] left = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        left[i] *= right[i];
+                    }
+                }
+                case DIVIDE -> {
+                    final double[] right = stack[top--];
+                    final double[] left = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        left[i] /= right[i];
+                    }
+                }
+                case POW -> {
+                    final double[] right = stack[top--];
+                    final double[] left = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        left[i] = Math.pow(left[i], right[i]);
+                    }
+                }
+                case NEGATE -> {
+                    final double[] target = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        target[i] = -target[i];
+                    }
+                }
+                case ROOT -> {
+                    final int rootIndex = code[pc++];
+                    final double[] target = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        target[i] = root(target[i], rootIndex);
+                    }
+                }
+                case CALL -> {
+                    final DoubleUnaryOperator function = functions[code[pc++]];
+                    final double[] target = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        target[i] = function.applyAsDouble(target[i]);
+                    }
+                }
+                default -> {
+                    final DoubleUnaryOperator function = unaryOperatorOf(opcode);
+                    final double[] target = stack[top];
+                    for (int i = 0; i < size; i++) {
+                        target[i] = function.applyAsDouble(target[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+        Convenience for single-variable programs: evaluates the expression on every point of the given grid
+     */
+    public double[] evaluateAll(double[] points) {
+        if (variables.length > 1) {
+            throw new IllegalArgumentException("Expression depends on variables " + getVariables() + ", use evaluate(double[][], double[])");
+        }
+        final double[] results = new double[points.length];
+        evaluate(variables.length == 0 ? new double[0][] : new double[][]{points}, results);
+        return results;
+    }
+
+    /*
+        Textual form of the program, e.g. "LOAD 0, CONST 2.0, POW". Programs with the same canonical form compute the same function.
+     */
+    String canonicalForm() {
+        final StringBuilder canonicalForm = new StringBuilder();
+        int pc = 0;
+        while (pc < code.length) {
+            if (pc > 0) {
+                canonicalForm.append(", ");
+            }
+            final int opcode = code[pc++];
+            canonicalForm.append(OPCODE_NAMES[opcode]);
+            switch (opcode) {
+                case CONST -> canonicalForm.append(' ').append(constants[code[pc++]]);
+                case LOAD, ROOT, CALL -> canonicalForm.append(' ').append(code[pc++]);
+                default -> {
+                }
+            }
+        }
+        return canonicalForm.append(" (").append(variables.length).append(" slots)").toString();
+    }
+
+    int[] getCode() {
+        return code;
+    }
+
+    double[] getConstants() {
+        return constants;
+    }
+
+    DoubleUnaryOperator[] getFunctions() {
+        return functions;
+    }
+
+    int getMaxStackSize() {
+        return maxStackSize;
+    }
+
+    @Override
+    public String toString() {
+        return canonicalForm();
+    }
+
+    private void checkSlots(int provided) {
+        if (provided != variables.length) {
+            throw new IllegalArgumentException("Expected values for variables " + getVariables() + ", found " + provided + " slots");
+        }
+    }
+
+    private static DoubleUnaryOperator unaryOperatorOf(int opcode) {
+        return switch (opcode) {
+            case LN -> Math::log;
+            case LOG10 -> Math::log10;
+            case SQRT -> Math::sqrt;
+            case FACTORIAL -> CompiledExpression::factorial;
+            case ABS -> Math::abs;
+            default -> throw new IllegalStateException("Illegal opcode [" + opcode + "]");
+        };
+    }
+
+    static double root(double argument, int rootIndex) {
+        if (rootIndex == 3) {
+            return Math.cbrt(argument);
+        }
+        if (argument < 0) {
+            return rootIndex % 2 == 0 ? Double.NaN : -Math.pow(-argument, 1.0 / rootIndex);
+        }
+        return Math.pow(argument, 1.0 / rootIndex);
+    }
+
+    static double factorial(double argument) {
+        if (argument < 0 || argument != Math.rint(argument)) {
+            return Double.NaN;
+        }
+        if (argument >= FACTORIALS.length) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return FACTORIALS[(int) argument];
+    }
+}
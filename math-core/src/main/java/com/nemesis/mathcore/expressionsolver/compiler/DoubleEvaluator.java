@@ -0,0 +1,17 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import java.util.function.DoubleUnaryOperator;
+
+/*
+    Evaluator of a compiled expression: values[i] is the value of the i-th variable of the compiled expression.
+    Single-variable evaluators can also be used as DoubleUnaryOperator.
+ */
+public interface DoubleEvaluator extends DoubleUnaryOperator {
+
+    double evaluate(double... values);
+
+    @Override
+    default double applyAsDouble(double value) {
+        throw new UnsupportedOperationException("Evaluator depends on more than one variable");
+    }
+}
@@ -0,0 +1,197 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.nemesis.mathcore.expressionsolver.compiler.ClassFileWriter.*;
+import static com.nemesis.mathcore.expressionsolver.compiler.ClassFileWriter.Code.*;
+import static com.nemesis.mathcore.expressionsolver.compiler.CompiledExpression.*;
+
+/*
+    Translates a CompiledExpression to a hidden class whose evaluate method is the straight-line JVM bytecode of the program,
+    so that the JIT compiles (and inlines into its callers) the whole formula like hand-written Java code.
+    Generated classes are cached by the canonical form of the program: expressions that compile to the same program share
+    the same class, and unused classes can be unloaded once evicted. Programs too large for a JVM method are returned
+    as they are, evaluated by the interpreter of CompiledExpression.
+ */
+@Slf4j
+public class EvaluatorGenerator {
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final String CLASS_NAME = "com/nemesis/mathcore/expressionsolver/compiler/GeneratedEvaluator";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String MATH = "java/lang/Math";
+    private static final String COMPILED_EXPRESSION = "com/nemesis/mathcore/expressionsolver/compiler/CompiledExpression";
+    private static final String DOUBLE_EVALUATOR = "com/nemesis/mathcore/expressionsolver/compiler/DoubleEvaluator";
+    private static final String DOUBLE_UNARY_OPERATOR = "java/util/function/DoubleUnaryOperator";
+    private static final String FUNCTIONS_FIELD = "functions";
+    private static final String FUNCTIONS_DESCRIPTOR = "[Ljava/util/function/DoubleUnaryOperator;";
+
+    // Limits of the class file format: bytes of code in a method, entries of the constant pool, operand stack size
+    private static final int MAX_CODE_LENGTH = 65535;
+    private static final int MAX_CONSTANT_POOL_COUNT = 65535;
+    private static final int MAX_STACK = 65535;
+
+    /*
+        A class is generated once per canonical form: the first caller generates it outside the lock, while the others
+        wait on its future. A null constructor means the program is too large for a class, then it's interpreted.
+     */
+    private static final Map<String, CompletableFuture<MethodHandle>> constructorsByCanonicalForm = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<MethodHandle>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public static DoubleEvaluator generate(CompiledExpression compiledExpression) {
+        final MethodHandle constructor = getConstructor(compiledExpression);
+        if (constructor == null) {
+            return compiledExpression;
+        }
+        try {
+            return (DoubleEvaluator) constructor.invoke(compiledExpression.getFunctions());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot instantiate evaluator for [" + compiledExpression + "]", e);
+        }
+    }
+
+    private static MethodHandle getConstructor(CompiledExpression compiledExpression) {
+        final String canonicalForm = compiledExpression.canonicalForm();
+        final CompletableFuture<MethodHandle> future;
+        final boolean generating;
+        synchronized (constructorsByCanonicalForm) {
+            final CompletableFuture<MethodHandle> existing = constructorsByCanonicalForm.get(canonicalForm);
+            generating = existing == null;
+            future = generating ? new CompletableFuture<>() : existing;
+            if (generating) {
+                constructorsByCanonicalForm.put(canonicalForm, future);
+            }
+        }
+
+        if (generating) {
+            try {
+                future.complete(defineClass(compiledExpression));
+                log.debug("Generated evaluator class for [{}]", canonicalForm);
+            } catch (RuntimeException e) {
+                // Not cached: the next request tries again
+                synchronized (constructorsByCanonicalForm) {
+                    constructorsByCanonicalForm.remove(canonicalForm, future);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            log.trace("Reusing evaluator class for [{}]", canonicalForm);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static MethodHandle defineClass(CompiledExpression compiledExpression) {
+        final byte[] classFile = generateClassFile(compiledExpression);
+        if (classFile == null) {
+            log.debug("Program of {} instructions exceeds the limits of a class file, it will be interpreted", compiledExpression.getCode().length);
+            return null;
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            return lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, DoubleUnaryOperator[].class));
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Cannot define evaluator class for [" + compiledExpression + "]", e);
+        }
+    }
+
+    /*
+        The class file of the evaluator, or null if the program exceeds the limits of the class file format
+     */
+    static byte[] generateClassFile(CompiledExpression compiledExpression) {
+        final ClassFileWriter writer = new ClassFileWriter(CLASS_NAME, OBJECT, DOUBLE_EVALUATOR);
+        final int functionsField = writer.fieldConstant(CLASS_NAME, FUNCTIONS_FIELD, FUNCTIONS_DESCRIPTOR);
+        final int slots = compiledExpression.getVariables().size();
+        final int maxStack = 2 * compiledExpression.getMaxStackSize() + 4;
+
+        writer.addField(ACC_PRIVATE | ACC_FINAL, FUNCTIONS_FIELD, FUNCTIONS_DESCRIPTOR);
+
+        // GeneratedEvaluator(DoubleUnaryOperator[] functions)
+        writer.addMethod(ACC_PUBLIC, "<init>", "(" + FUNCTIONS_DESCRIPTOR + ")V", new Code(2, 2)
+                .op(ALOAD, 0)
+                .opWide(INVOKESPECIAL, writer.methodConstant(OBJECT, "<init>", "()V"))
+                .op(ALOAD, 0)
+                .op(ALOAD, 1)
+                .opWide(PUTFIELD, functionsField)
+                .op(RETURN));
+
+        // double evaluate(double[] values): values in local 1, temporary in locals 2-3
+        final Code evaluate = new Code(maxStack, 4);
+        emitProgram(writer, evaluate, compiledExpression, functionsField, 2, slot -> evaluate.op(ALOAD, 1).pushInt(slot).op(DALOAD));
+        if (exceedsLimits(writer, evaluate)) {
+            return null;
+        }
+        writer.addMethod(ACC_PUBLIC, "evaluate", "([D)D", evaluate);
+
+        if (slots <= 1) {
+            // double applyAsDouble(double value): value in locals 1-2, temporary in locals 3-4
+            final Code applyAsDouble = new Code(maxStack, 5);
+            emitProgram(writer, applyAsDouble, compiledExpression, functionsField, 3, slot -> applyAsDouble.op(DLOAD, 1));
+            if (exceedsLimits(writer, applyAsDouble)) {
+                return null;
+            }
+            writer.addMethod(ACC_PUBLIC, "applyAsDouble", "(D)D", applyAsDouble);
+        }
+
+        return writer.toByteArray();
+    }
+
+    private static boolean exceedsLimits(ClassFileWriter writer, Code method) {
+        return method.length() > MAX_CODE_LENGTH || method.getMaxStack() > MAX_STACK || writer.getConstantPoolCount() > MAX_CONSTANT_POOL_COUNT;
+    }
+
+    private static void emitProgram(ClassFileWriter writer, Code method, CompiledExpression compiledExpression, int functionsField, int temporaryLocal, SlotLoader slotLoader) {
+        final int[] code = compiledExpression.getCode();
+        final double[] constants = compiledExpression.getConstants();
+        int pc = 0;
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case CONST -> method.opWide(LDC2_W, writer.doubleConstant(constants[code[pc++]]));
+                case LOAD -> slotLoader.load(code[pc++]);
+                case ADD -> method.op(DADD);
+                case MULTIPLY -> method.op(DMUL);
+                case DIVIDE -> method.op(DDIV);
+                case NEGATE -> method.op(DNEG);
+                case POW -> method.opWide(INVOKESTATIC, writer.methodConstant(MATH, "pow", "(DD)D"));
+                case LN -> method.opWide(INVOKESTATIC, writer.methodConstant(MATH, "log", "(D)D"));
+                case LOG10 -> method.opWide(INVOKESTATIC, writer.methodConstant(MATH, "log10", "(D)D"));
+                case SQRT -> method.opWide(INVOKESTATIC, writer.methodConstant(MATH, "sqrt", "(D)D"));
+                case ABS -> method.opWide(INVOKESTATIC, writer.methodConstant(MATH, "abs", "(D)D"));
+                case ROOT -> method.pushInt(code[pc++]).opWide(INVOKESTATIC, writer.methodConstant(COMPILED_EXPRESSION, "root", "(DI)D"));
+                case FACTORIAL -> method.opWide(INVOKESTATIC, writer.methodConstant(COMPILED_EXPRESSION, "factorial", "(D)D"));
+                case CALL -> method.op(DSTORE, temporaryLocal)
+                        .op(ALOAD, 0)
+                        .opWide(GETFIELD, functionsField)
+                        .pushInt(code[pc++])
+                        .op(AALOAD)
+                        .op(DLOAD, temporaryLocal)
+                        .invokeInterface(writer.interfaceMethodConstant(DOUBLE_UNARY_OPERATOR, "applyAsDouble", "(D)D"), 2);
+                default -> throw new IllegalStateException("Illegal opcode [" + code[pc - 1] + "]");
+            }
+        }
+        method.op(DRETURN);
+    }
+
+    private interface SlotLoader {
+        void load(int slot);
+    }
+}
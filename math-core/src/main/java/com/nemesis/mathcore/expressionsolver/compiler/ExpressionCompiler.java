@@ -0,0 +1,265 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import com.nemesis.mathcore.expressionsolver.components.*;
+import com.nemesis.mathcore.expressionsolver.exception.NoValueException;
+import com.nemesis.mathcore.expressionsolver.functions.UnaryFunctionDefinition;
+import com.nemesis.mathcore.expressionsolver.functions.UnaryFunctions;
+import com.nemesis.mathcore.expressionsolver.monomial.Monomial;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.nemesis.mathcore.expressionsolver.compiler.CompiledExpression.*;
+import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
+import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.DIVIDE;
+import static com.nemesis.mathcore.expressionsolver.utils.Constants.NEP_NUMBER;
+
+/*
+    Compiles a component tree to a CompiledExpression, a flat double program that can be evaluated many times
+    (e.g. for plotting or sampling) without walking the tree and without BigDecimal arithmetic.
+    Scalar subtrees are folded to constants at compile time, using the BigDecimal evaluation of the current context.
+    The result follows double semantics: invalid operations (e.g. log of a negative number) give NaN instead of throwing.
+ */
+@Slf4j
+public class ExpressionCompiler {
+
+    /*
+        Compiles the given component, assigning variable slots in alphabetical order
+     */
+    public static CompiledExpression compile(Component component) {
+        final char[] variables = component.getVariables().stream()
+                .map(Variable::getName)
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .reduce("", String::concat)
+                .toCharArray();
+        return compile(component, variables);
+    }
+
+    /*
+        Compiles the given component, the i-th given variable being read from the i-th slot
+     */
+    public static CompiledExpression compile(Component component, char... variables) {
+        final ProgramBuilder builder = new ProgramBuilder(variables);
+        builder.emit(component);
+        final CompiledExpression compiledExpression = builder.build();
+        log.debug("Compiled [{}] to [{}] instructions, variables {}", component, builder.instructions, compiledExpression.getVariables());
+        return compiledExpression;
+    }
+
+    /*
+        Compiles the given component to a generated JVM class (see EvaluatorGenerator), for expressions evaluated millions of times
+     */
+    public static DoubleEvaluator compileToBytecode(Component component) {
+        return EvaluatorGenerator.generate(compile(component));
+    }
+
+    public static DoubleEvaluator compileToBytecode(Component component, char... variables) {
+        return EvaluatorGenerator.generate(compile(component, variables));
+    }
+
+    private static class ProgramBuilder {
+
+        private final char[] variables;
+        private final List<Integer> code = new ArrayList<>();
+        private final List<Double> constants = new ArrayList<>();
+        private final List<DoubleUnaryOperator> functions = new ArrayList<>();
+        private int stackSize = 0;
+        private int maxStackSize = 0;
+        private int instructions = 0;
+
+        private ProgramBuilder(char[] variables) {
+            this.variables = variables.clone();
+        }
+
+        private CompiledExpression build() {
+            final int[] code = this.code.stream().mapToInt(Integer::intValue).toArray();
+            final double[] constants = this.constants.stream().mapToDouble(Double::doubleValue).toArray();
+            return new CompiledExpression(code, constants, functions.toArray(new DoubleUnaryOperator[0]), variables, Math.max(maxStackSize, 1));
+        }
+
+        private void emit(Component component) {
+
+            if (component instanceof Infinity infinity) {
+                emitConstant(infinity.getSign() == MINUS ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+                return;
+            }
+
+            if (component instanceof Monomial monomial) {
+                emitMonomial(monomial);
+                return;
+            }
+
+            if (component.isScalar() && emitFolded(component)) {
+                return;
+            }
+
+            if (component instanceof Expression expression) {
+                emitExpression(expression);
+            } else if (component instanceof Term term) {
+                emitTerm(term);
+            } else if (component instanceof Factor factor) {
+                emitFactor(factor);
+                if (factor.getSign() == MINUS) {
+                    emit(NEGATE, 0);
+                }
+            } else {
+                throw new UnsupportedOperationException("Cannot compile component of type [" + component.getClass().getSimpleName() + "]");
+            }
+        }
+
+        /*
+            Replaces a scalar subtree with its value. Subtrees without a value (e.g. ln(-1)) are compiled as they are.
+         */
+        private boolean emitFolded(Component component) {
+            final BigDecimal value;
+            try {
+                value = component.getValue();
+            } catch (ArithmeticException | NoValueException | IllegalArgumentException | UnsupportedOperationException e) {
+                log.trace("Cannot fold scalar [{}]: {}", component, e.getMessage());
+                return false;
+            }
+            emitConstant(value.doubleValue());
+            return true;
+        }
+
+        private void emitExpression(Expression expression) {
+            emit(expression.getTerm());
+            switch (expression.getOperator()) {
+                case NONE -> {
+                }
+                case SUM -> {
+                    emit(expression.getSubExpression());
+                    emit(ADD, -1);
+                }
+                case SUBTRACT -> throw new IllegalStateException("SUBTRACT must be considered as SUM with negative number");
+            }
+        }
+
+        private void emitTerm(Term term) {
+            emit(term.getFactor());
+            switch (term.getOperator()) {
+                case NONE -> {
+                }
+                case MULTIPLY -> {
+                    emit(term.getSubTerm());
+                    emit(CompiledExpression.MULTIPLY, -1);
+                }
+                case DIVIDE -> {
+                    final Term subTerm = term.getSubTerm();
+                    if (subTerm.getOperator() == DIVIDE) { // Particular case: a/b/c = (a/b)/c
+                        emit(subTerm.getFactor());
+                        emit(CompiledExpression.DIVIDE, -1);
+                        emit(subTerm.getSubTerm());
+                    } else {
+                        emit(subTerm);
+                    }
+                    emit(CompiledExpression.DIVIDE, -1);
+                }
+            }
+        }
+
+        /*
+            Emits the absolute value of the factor, the caller applies its sign
+         */
+        private void emitFactor(Factor factor) {
+            if (factor instanceof Variable variable) {
+                emitLoad(variable.getName());
+            } else if (factor instanceof Constant constant) {
+                emitConstant(constant.getValue().abs().doubleValue());
+            } else if (factor instanceof WrappedExpression wrappedExpression) {
+                emit(wrappedExpression.getExpression());
+                if (wrappedExpression instanceof AbsExpression) {
+                    emit(ABS, 0);
+                }
+            } else if (factor instanceof Exponential exponential) {
+                emit(exponential.getBase());
+                emit(exponential.getExponent());
+                emit(POW, -1);
+            } else if (factor instanceof Logarithm logarithm) {
+                emit(logarithm.getArgument());
+                if (logarithm.getBase().equals(NEP_NUMBER)) {
+                    emit(LN, 0);
+                } else if (logarithm.getBase().equals(BigDecimal.TEN)) {
+                    emit(LOG10, 0);
+                } else {
+                    throw new UnsupportedOperationException("Logarithm base [" + logarithm.getBase().toPlainString() + "] is not supported yet");
+                }
+            } else if (factor instanceof RootFunction rootFunction) {
+                emitRoot(rootFunction);
+            } else if (factor instanceof Factorial factorial) {
+                emit(factorial.getArgument());
+                emit(FACTORIAL, 0);
+            } else if (factor instanceof MathUnaryFunction unaryFunction) {
+                emit(unaryFunction.getArgument());
+                emitCall(unaryFunction);
+            } else {
+                throw new UnsupportedOperationException("Cannot compile factor of type [" + factor.getClass().getSimpleName() + "]");
+            }
+        }
+
+        private void emitRoot(RootFunction rootFunction) {
+            final Integer rootIndex = rootFunction.getRootIndex();
+            if (rootIndex <= 0) {
+                throw new IllegalArgumentException("Root index [" + rootIndex + "] is invalid");
+            }
+            emit(rootFunction.getArgument());
+            if (rootIndex == 2) {
+                emit(SQRT, 0);
+            } else if (rootIndex > 2) {
+                emit(ROOT, 0);
+                code.add(rootIndex);
+            }
+        }
+
+        /*
+            Functions without a double counterpart are evaluated through their BigDecimal implementation
+         */
+        private void emitCall(MathUnaryFunction unaryFunction) {
+            final UnaryFunctionDefinition definition = UnaryFunctions.get(unaryFunction.getFunctionName());
+            DoubleUnaryOperator function = definition != null ? definition.getDoubleFunction() : null;
+            if (function == null) {
+                final var bigDecimalFunction = unaryFunction.getFunction();
+                function = x -> bigDecimalFunction.apply(BigDecimal.valueOf(x)).doubleValue();
+            }
+            emit(CALL, 0);
+            code.add(functions.size());
+            functions.add(function);
+        }
+
+        private void emitMonomial(Monomial monomial) {
+            emit(monomial.getCoefficient());
+            for (Exponential exponential : monomial.getLiteralPart()) {
+                emit(exponential);
+                emit(CompiledExpression.MULTIPLY, -1);
+            }
+        }
+
+        private void emitConstant(double value) {
+            emit(CONST, 1);
+            code.add(constants.size());
+            constants.add(value);
+        }
+
+        private void emitLoad(char variable) {
+            for (int slot = 0; slot < variables.length; slot++) {
+                if (variables[slot] == variable) {
+                    emit(LOAD, 1);
+                    code.add(slot);
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Variable [" + variable + "] has no slot in " + Arrays.toString(variables));
+        }
+
+        private void emit(int opcode, int stackEffect) {
+            code.add(opcode);
+            instructions++;
+            stackSize += stackEffect;
+            maxStackSize = Math.max(maxStackSize, stackSize);
+        }
+    }
+}
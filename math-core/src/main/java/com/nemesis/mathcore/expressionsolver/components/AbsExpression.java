@@ -4,6 +4,7 @@ import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.ExpressionBuilder;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.LatexBuilder;
+import com.nemesis.mathcore.utils.Rational;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -76,6 +77,15 @@ public class AbsExpression extends WrappedExpression {
         return sign.equals(PLUS) ? expressionAbsValue : expressionAbsValue.multiply(MINUS_ONE_DECIMAL);
     }
 
+    @Override
+    public Rational getRationalValue() {
+        final Rational expressionValue = super.getExpression().getRationalValue();
+        if (expressionValue == null) {
+            return null;
+        }
+        return sign.equals(PLUS) ? expressionValue.abs() : expressionValue.abs().negate();
+    }
+
     @Override
     public String toString() {
 
@@ -138,7 +148,7 @@ public class AbsExpression extends WrappedExpression {
 
     @Override
     public AbsExpression getClone() {
-        return new AbsExpression(super.sign, super.getExpression().getClone());
+        return new AbsExpression(super.sign, super.getExpression()); // the constructor copies the expression
     }
 
     @Override
@@ -163,6 +173,11 @@ public class AbsExpression extends WrappedExpression {
         return new AbsExpressionClassifier(this.getExpression());
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(signedClassHash(), structuralHashOf(expression));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
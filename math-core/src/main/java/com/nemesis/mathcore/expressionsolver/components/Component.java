@@ -6,6 +6,7 @@ import com.nemesis.mathcore.expressionsolver.models.Stringable;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import com.nemesis.mathcore.utils.MathUtils;
+import com.nemesis.mathcore.utils.Rational;
 
 import java.math.BigDecimal;
 import java.util.Set;
@@ -16,10 +17,18 @@ public abstract class Component implements Stringable, Comparable<Component> {
 
     public abstract BigDecimal getValue();
 
+    public BigDecimal getValue(MathCoreContext context) {
+        return context.call(this::getValue);
+    }
+
     public abstract Component getDerivative(Variable var);
 
     public abstract Component rewrite(Rule rule);
 
+    public Component rewrite(Rule rule, MathCoreContext context) {
+        return context.call(() -> this.rewrite(rule));
+    }
+
     public abstract Boolean isScalar();
 
     public Constant getValueAsConstant() {
@@ -28,6 +37,13 @@ public abstract class Component implements Stringable, Comparable<Component> {
             throw new NoValueException("This component is not a scalar");
         }
 
+        if (MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
+            final Rational rationalValue = this.getRationalValue();
+            if (rationalValue != null) {
+                return Constant.getConstant(rationalValue);
+            }
+        }
+
         BigDecimal value = this.getValue();
         if (!MathUtils.isIntegerValue(value) && MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
             return new ConstantFunction(this.getClone());
@@ -36,6 +52,14 @@ public abstract class Component implements Stringable, Comparable<Component> {
         }
     }
 
+    /*
+        Exact value of the component, or null if it isn't a rational number or it can't be computed exactly
+        (e.g. if it isn't scalar or contains functions, roots or approximations of e and π)
+     */
+    public Rational getRationalValue() {
+        return null;
+    }
+
     public abstract boolean contains(Variable variable);
 
     public abstract Component getClone();
@@ -43,4 +67,25 @@ public abstract class Component implements Stringable, Comparable<Component> {
     public abstract Domain getDomain(Variable variable);
 
     public abstract Set<Variable> getVariables();
+
+    /*
+        Hash of the tree structure, consistent with equals(): structurally equal components always have the same value.
+        It walks the tree without building any string, so it is the cheap way to tell whether a rewrite changed something.
+        Components are rewritten in place (children are rebuilt by setters), so the value is recomputed on each call.
+     */
+    public long structuralHash() {
+        return combineHash(classHash(), this.hashCode());
+    }
+
+    protected final long classHash() {
+        return this.getClass().getName().hashCode();
+    }
+
+    protected static long structuralHashOf(Component component) {
+        return component == null ? 0L : component.structuralHash();
+    }
+
+    protected static long combineHash(long seed, long value) {
+        return seed ^ (value + 0x9E3779B97F4A7C15L + (seed << 6) + (seed >>> 2));
+    }
 }
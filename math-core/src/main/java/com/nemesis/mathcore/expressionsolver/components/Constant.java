@@ -9,6 +9,7 @@ import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.ExpressionBuilder;
 import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import com.nemesis.mathcore.expressionsolver.utils.SyntaxUtils;
+import com.nemesis.mathcore.utils.Rational;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -27,9 +28,24 @@ public class Constant extends Base {
     public static final Constant ONE = new Constant(1);
     public static final Constant ZERO = new Constant(0);
 
+    // E_CHAR or PI_CHAR if the constant is e or π, stored as its decimal approximation; null for any other number
+    private Character symbol;
+
     public Constant() {
     }
 
+    /*
+        The irrational constant with the given symbol (E_CHAR or PI_CHAR)
+     */
+    public Constant(char symbol) {
+        value = switch (symbol) {
+            case E_CHAR -> NEP_NUMBER;
+            case PI_CHAR -> PI;
+            default -> throw new IllegalArgumentException("Unknown constant [" + symbol + "]");
+        };
+        this.symbol = symbol;
+    }
+
     public Constant(String number) {
         value = new BigDecimal(number);
     }
@@ -68,6 +84,25 @@ public class Constant extends Base {
         return sign.equals(PLUS) ? value : value.multiply(MINUS_ONE_DECIMAL);
     }
 
+    /*
+        The constant itself if integer, otherwise the fraction in lowest terms
+     */
+    public static Constant getConstant(Rational value) {
+        if (value.isInteger()) {
+            return new Constant(value.getNumerator());
+        }
+        return new Fraction(value.getNumerator(), value.getDenominator());
+    }
+
+    public Character getSymbol() {
+        return symbol;
+    }
+
+    @Override
+    public Rational getRationalValue() {
+        return symbol != null ? null : Rational.of(this.getValue());
+    }
+
     @Override
     public Constant getDerivative(Variable var) {
         return new Constant("0");
@@ -99,7 +134,9 @@ public class Constant extends Base {
 
     @Override
     public Constant getClone() {
-        return new Constant(this.sign, new BigDecimal(value.toPlainString()));
+        final Constant clone = new Constant(this.sign, new BigDecimal(value.toPlainString()));
+        clone.symbol = this.symbol;
+        return clone;
     }
 
     @Override
@@ -114,13 +151,8 @@ public class Constant extends Base {
 
     @Override
     public String toString() {
-        if (MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
-            if (this.value.toPlainString().length() > 8 && this.value.toPlainString().substring(0, 10).equals(NEP_NUMBER.toPlainString().substring(0, 10))) { // TODO
-                return ExpressionBuilder.addSign(sign.toString(), String.valueOf(E_CHAR));
-            }
-            if (this.value.toPlainString().length() > 8 && this.value.toPlainString().substring(0, 10).equals(PI.toPlainString().substring(0, 10))) { // TODO
-                return ExpressionBuilder.addSign(sign.toString(), String.valueOf(PI_CHAR));
-            }
+        if (symbol != null && MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
+            return ExpressionBuilder.addSign(sign.toString(), String.valueOf(symbol));
         }
         String valueAsString = SyntaxUtils.removeNonSignificantZeros(value).toString();
         return ExpressionBuilder.addSign(sign.toString(), valueAsString);
@@ -149,17 +181,24 @@ public class Constant extends Base {
         }
     }
 
+    @Override
+    public long structuralHash() {
+        // Scale is ignored (2 and 2.0 hash the same) to match the rendered form; equals() stays stricter
+        final long hash = combineHash(signedClassHash(), value == null ? 0L : value.stripTrailingZeros().hashCode());
+        return symbol == null ? hash : combineHash(hash, symbol);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         Constant constant = (Constant) o;
-        return Objects.equals(value, constant.value);
+        return Objects.equals(value, constant.value) && Objects.equals(symbol, constant.symbol);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), value);
+        return Objects.hash(super.hashCode(), value, symbol);
     }
 }
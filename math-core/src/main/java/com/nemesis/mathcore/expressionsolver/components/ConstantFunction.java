@@ -2,6 +2,7 @@ package com.nemesis.mathcore.expressionsolver.components;
 
 import com.nemesis.mathcore.expressionsolver.models.Domain;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
+import com.nemesis.mathcore.utils.Rational;
 
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -41,11 +42,21 @@ public class ConstantFunction extends Constant {
         return component.getValue();
     }
 
+    @Override
+    public Rational getRationalValue() {
+        return component.getRationalValue();
+    }
+
     @Override
     public ConstantFunction getClone() {
         return new ConstantFunction(component.getClone());
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(signedClassHash(), structuralHashOf(component));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -72,7 +83,7 @@ public class ConstantFunction extends Constant {
 
     @Override
     public Component rewrite(Rule rule) {
-        this.setComponent(this.getComponent().rewrite(rule));
+        this.setComponent(rule.rewriteSubtree(this.getComponent()));
         return this;
     }
 
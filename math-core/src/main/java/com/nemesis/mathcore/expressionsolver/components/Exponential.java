@@ -10,6 +10,7 @@ import com.nemesis.mathcore.expressionsolver.stringbuilder.ExpressionBuilder;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.LatexBuilder;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.utils.MathUtils;
+import com.nemesis.mathcore.utils.Rational;
 import com.numericalmethod.suanshu.number.big.BigDecimalUtils;
 import lombok.Data;
 
@@ -30,6 +31,9 @@ import static java.math.BigDecimal.ONE;
 @Data
 public class Exponential extends Factor {
 
+    // Beyond this exponent exact powers are too large to be worth computing
+    private static final Rational MAX_EXACT_EXPONENT = Rational.of(4096);
+
     private Base base;
     private Factor exponent;
 
@@ -76,6 +80,21 @@ public class Exponential extends Factor {
         return value;
     }
 
+    @Override
+    public Rational getRationalValue() {
+        final Rational exponentValue = exponent.getRationalValue();
+        if (exponentValue == null || !exponentValue.isInteger() || exponentValue.abs().compareTo(MAX_EXACT_EXPONENT) > 0) {
+            return null;
+        }
+        final Rational baseValue = base.getRationalValue();
+        final int exponentIntValue = exponentValue.getNumerator().intValueExact();
+        if (baseValue == null || (baseValue.signum() == 0 && exponentIntValue < 0)) {
+            return null;
+        }
+        final Rational absValue = baseValue.pow(exponentIntValue);
+        return sign.equals(PLUS) ? absValue : absValue.negate();
+    }
+
     @Override
     public Component getDerivative(Variable var) {
 
@@ -101,8 +120,8 @@ public class Exponential extends Factor {
 
     @Override
     public Component rewrite(Rule rule) {
-        this.setBase(ComponentUtils.getBase(this.getBase().rewrite(rule)));
-        this.setExponent(Factor.getFactor(this.getExponent().rewrite(rule)));
+        this.setBase(ComponentUtils.getBase(rule.rewriteSubtree(this.getBase())));
+        this.setExponent(Factor.getFactor(rule.rewriteSubtree(this.getExponent())));
         return rule.applyTo(this);
     }
 
@@ -142,10 +161,10 @@ public class Exponential extends Factor {
     public Domain getDomain(Variable variable) {
         Domain domain = new Domain();
         if (base.contains(variable)) {
-            domain.intersectWith(base.getDomain(variable).getIntervals());
+            domain.intersectWith(base.getDomain(variable));
         }
         if (exponent.contains(variable)) {
-            domain.intersectWith(exponent.getDomain(variable).getIntervals());
+            domain.intersectWith(exponent.getDomain(variable));
         }
         return domain;
     }
@@ -186,6 +205,11 @@ public class Exponential extends Factor {
         return base.classifier();
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(combineHash(signedClassHash(), structuralHashOf(base)), structuralHashOf(exponent));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
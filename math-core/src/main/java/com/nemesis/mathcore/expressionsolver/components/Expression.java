@@ -13,6 +13,7 @@ import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.ExpressionBuilder;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.expressionsolver.utils.FactorSignInverter;
+import com.nemesis.mathcore.utils.Rational;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -63,6 +64,16 @@ public class Expression extends Component {
         this.build(this.term, this.operator, subExpression);
     }
 
+    /*
+        Builds an expression taking ownership of the given components, without the defensive copies made by the constructors:
+        the caller must not use them afterwards. Meant for code that builds brand-new trees, like the parser.
+     */
+    public static Expression ofOwned(Term term, ExpressionOperator operator, Expression subExpression) {
+        final Expression expression = new Expression();
+        expression.assemble(term, operator, subExpression);
+        return expression;
+    }
+
     private void build(Term term, ExpressionOperator operator, Expression subExpression) {
 
         // Prevent input components to be modified
@@ -71,6 +82,11 @@ public class Expression extends Component {
             subExpression = subExpression.getClone();
         }
 
+        this.assemble(term, operator, subExpression);
+    }
+
+    private void assemble(Term term, ExpressionOperator operator, Expression subExpression) {
+
         if (operator == null) {
             operator = NONE;
         }
@@ -86,7 +102,7 @@ public class Expression extends Component {
             this.operator = NONE;
             this.subExpression = null;
         } else if (term == null || isZero(term)) {
-            this.build(subExpression.getTerm(), subExpression.getOperator(), subExpression.getSubExpression());
+            this.assemble(subExpression.getTerm(), subExpression.getOperator(), subExpression.getSubExpression());
         } else if (subExpression == null || isZero(subExpression)) {
             this.term = term;
             this.operator = NONE;
@@ -108,6 +124,16 @@ public class Expression extends Component {
         return value;
     }
 
+    @Override
+    public Rational getRationalValue() {
+        final Rational termValue = term.getRationalValue();
+        if (termValue == null || operator == ExpressionOperator.NONE) {
+            return termValue;
+        }
+        final Rational subExpressionValue = operator == ExpressionOperator.SUM ? subExpression.getRationalValue() : null;
+        return subExpressionValue != null ? termValue.add(subExpressionValue) : null;
+    }
+
     @Override
     public Component getDerivative(Variable var) {
 
@@ -124,10 +150,10 @@ public class Expression extends Component {
 
     @Override
     public Component rewrite(Rule rule) {
-        final Component rewrittenTerm = this.getTerm().rewrite(rule);
+        final Component rewrittenTerm = rule.rewriteSubtree(this.getTerm());
         this.setTerm(Term.getTerm(rewrittenTerm));
         if (this.getSubExpression() != null) {
-            final Component rewrittenSubExpression = this.getSubExpression().rewrite(rule);
+            final Component rewrittenSubExpression = rule.rewriteSubtree(this.getSubExpression());
             this.setSubExpression(ComponentUtils.getExpression(rewrittenSubExpression));
         }
         return rule.applyTo(this);
@@ -140,17 +166,17 @@ public class Expression extends Component {
 
     @Override
     public Expression getClone() {
-        return new Expression(term.getClone(), operator, subExpression != null ? subExpression.getClone() : null);
+        return new Expression(term, operator, subExpression); // the constructor copies its inputs
     }
 
     @Override
     public Domain getDomain(Variable variable) {
         Domain domain = new Domain();
         if (term.contains(variable)) {
-            domain.intersectWith(term.getDomain(variable).getIntervals());
+            domain.intersectWith(term.getDomain(variable));
         }
         if (subExpression != null && subExpression.contains(variable)) {
-            domain.intersectWith(subExpression.getDomain(variable).getIntervals());
+            domain.intersectWith(subExpression.getDomain(variable));
         }
         return domain;
     }
@@ -233,6 +259,13 @@ public class Expression extends Component {
         return term.contains(variable) || (subExpression != null && subExpression.contains(variable));
     }
 
+    @Override
+    public long structuralHash() {
+        long hash = combineHash(classHash(), structuralHashOf(term));
+        hash = combineHash(hash, operator == null ? 0L : operator.ordinal());
+        return combineHash(hash, structuralHashOf(subExpression));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
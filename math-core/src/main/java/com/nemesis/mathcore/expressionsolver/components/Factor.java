@@ -150,6 +150,10 @@ public abstract class Factor extends Component {
     @Override
     public abstract Factor getClone();
 
+    protected long signedClassHash() {
+        return combineHash(classHash(), sign == null ? 0L : sign.ordinal());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -59,7 +59,7 @@ public class Factorial extends Base {
     @Override
     public Component rewrite(Rule rule) {
 
-        Component simplifiedArg = argument.rewrite(rule);
+        Component simplifiedArg = rule.rewriteSubtree(argument);
 
         if (simplifiedArg instanceof Constant && simplifiedArg.getValue().equals(BigDecimal.ZERO)) {
             return new Constant("1");
@@ -92,7 +92,7 @@ public class Factorial extends Base {
     public Domain getDomain(Variable variable) {
         Domain domain = new Domain();
         if (argument.contains(variable)) {
-            domain.intersectWith(argument.getDomain(variable).getIntervals());
+            domain.intersectWith(argument.getDomain(variable));
             Set<GenericInterval> thisDefinitionSets = ExpressionUtils.resolve(this.argument, RelationalOperator.GTE, new Constant(0), variable);
             domain.intersectWith(thisDefinitionSets);
         }
@@ -155,6 +155,11 @@ public class Factorial extends Base {
         }
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(signedClassHash(), structuralHashOf(argument));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
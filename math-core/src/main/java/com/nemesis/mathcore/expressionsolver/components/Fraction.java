@@ -4,6 +4,7 @@ import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.ExpressionBuilder;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.LatexBuilder;
 import com.nemesis.mathcore.utils.MathUtils;
+import com.nemesis.mathcore.utils.Rational;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -43,13 +44,29 @@ public class Fraction extends Constant {
         return sign.equals(PLUS) ? absValue : absValue.multiply(MINUS_ONE_DECIMAL);
     }
 
+    @Override
+    public Rational getRationalValue() {
+        final Rational numeratorValue = numerator.getRationalValue();
+        final Rational denominatorValue = denominator.getRationalValue();
+        if (numeratorValue == null || denominatorValue == null || denominatorValue.signum() == 0) {
+            return null;
+        }
+        final Rational value = numeratorValue.divide(denominatorValue);
+        return sign.equals(PLUS) ? value : value.negate();
+    }
+
     @Override
     public Component rewrite(Rule rule) {
-        this.numerator = (Constant) this.numerator.rewrite(rule);
-        this.denominator = (Constant) this.denominator.rewrite(rule);
+        this.numerator = (Constant) rule.rewriteSubtree(this.numerator);
+        this.denominator = (Constant) rule.rewriteSubtree(this.denominator);
         return rule.applyTo(this);
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(combineHash(signedClassHash(), structuralHashOf(numerator)), structuralHashOf(denominator));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
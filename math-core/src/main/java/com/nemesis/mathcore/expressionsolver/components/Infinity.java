@@ -3,6 +3,7 @@ package com.nemesis.mathcore.expressionsolver.components;
 import com.nemesis.mathcore.expressionsolver.exception.NoValueException;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
 import com.nemesis.mathcore.expressionsolver.utils.Constants;
+import com.nemesis.mathcore.utils.Rational;
 
 import java.math.BigDecimal;
 
@@ -22,6 +23,11 @@ public class Infinity extends Constant {
         throw new NoValueException("Infinity has no value");
     }
 
+    @Override
+    public Rational getRationalValue() {
+        return null;
+    }
+
     @Override
     public Boolean isScalar() {
         return false;
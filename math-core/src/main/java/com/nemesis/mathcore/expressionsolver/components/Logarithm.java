@@ -88,7 +88,7 @@ public class Logarithm extends MathFunction {
 
     @Override
     public Component rewrite(Rule rule) {
-        this.setArgument(new ParenthesizedExpression(ComponentUtils.getExpression(this.getArgument().rewrite(rule))));
+        this.setArgument(new ParenthesizedExpression(ComponentUtils.getExpression(rule.rewriteSubtree(this.getArgument()))));
         return rule.applyTo(this);
     }
 
@@ -111,7 +111,7 @@ public class Logarithm extends MathFunction {
     public Domain getDomain(Variable variable) {
         Domain domain = new Domain();
         if (argument.contains(variable)) {
-            domain.intersectWith(argument.getDomain(variable).getIntervals());
+            domain.intersectWith(argument.getDomain(variable));
             Set<GenericInterval> thisDefinitionSets = ExpressionUtils.resolve(this.argument, RelationalOperator.GTE, new Constant(0), variable);
             domain.intersectWith(thisDefinitionSets);
         }
@@ -167,6 +167,12 @@ public class Logarithm extends MathFunction {
         return new LogarithmClassifier(this);
     }
 
+    @Override
+    public long structuralHash() {
+        final long baseHash = base == null ? 0L : base.stripTrailingZeros().hashCode();
+        return combineHash(combineHash(signedClassHash(), baseHash), structuralHashOf(argument));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,16 +1,20 @@
 package com.nemesis.mathcore.expressionsolver.components;
 
+import com.nemesis.mathcore.expressionsolver.functions.UnaryFunctionDefinition;
+import com.nemesis.mathcore.expressionsolver.functions.UnaryFunctions;
 import com.nemesis.mathcore.expressionsolver.models.Domain;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.UnaryOperator;
 
 import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
 import static com.nemesis.mathcore.expressionsolver.operators.Sign.PLUS;
+import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.MULTIPLY;
 import static com.nemesis.mathcore.expressionsolver.utils.Constants.MINUS_ONE_DECIMAL;
 
 
@@ -33,6 +37,25 @@ public class MathUnaryFunction extends MathFunction {
         this.argument = argument;
     }
 
+    /*
+        Builds the function registered in UnaryFunctions under the given name
+     */
+    public MathUnaryFunction(Sign sign, String functionName, Factor argument) {
+        this(sign, getDefinition(functionName).getFunction(), functionName, argument);
+    }
+
+    public MathUnaryFunction(String functionName, Factor argument) {
+        this(PLUS, functionName, argument);
+    }
+
+    private static UnaryFunctionDefinition getDefinition(String functionName) {
+        final UnaryFunctionDefinition definition = UnaryFunctions.get(functionName);
+        if (definition == null) {
+            throw new IllegalArgumentException("Unknown function [" + functionName + "]");
+        }
+        return definition;
+    }
+
     public UnaryOperator<BigDecimal> getFunction() {
         return function;
     }
@@ -66,7 +89,13 @@ public class MathUnaryFunction extends MathFunction {
 
     @Override
     public Component getDerivative(Variable var) {
-        throw new UnsupportedOperationException("Not implemented");
+        //  D[f(arg)] = f'(arg) * D[arg]
+        final UnaryFunctionDefinition definition = UnaryFunctions.get(functionName);
+        if (definition == null || definition.getDerivative() == null) {
+            throw new UnsupportedOperationException("Derivative of [" + functionName + "] is not implemented");
+        }
+        final Term derivative = new Term(definition.getDerivative().apply(argument), MULTIPLY, Term.getTerm(argument.getDerivative(var)));
+        return sign.equals(PLUS) ? derivative : new Term(new Constant(-1), MULTIPLY, derivative);
     }
 
     @Override
@@ -94,8 +123,11 @@ public class MathUnaryFunction extends MathFunction {
 
     @Override
     public Domain getDomain(Variable variable) {
-        // TODO
-        throw new UnsupportedOperationException("Not implemented");
+        final UnaryFunctionDefinition definition = UnaryFunctions.get(functionName);
+        if (definition == null || definition.getDomain() == null) {
+            throw new UnsupportedOperationException("Domain of [" + functionName + "] is not implemented");
+        }
+        return definition.getDomain().apply(argument, variable);
     }
 
     @Override
@@ -117,7 +149,24 @@ public class MathUnaryFunction extends MathFunction {
 
     @Override
     public int compareTo(Component c) {
-        throw new UnsupportedOperationException("Not implemented");
+        if (c instanceof Infinity i) {
+            return i.getSign() == PLUS ? -1 : 1;
+        } else if (c instanceof MathUnaryFunction f) {
+            Comparator<MathUnaryFunction> nameComparator = Comparator.comparing(MathUnaryFunction::getFunctionName);
+            Comparator<MathUnaryFunction> functionComparator = nameComparator.thenComparing(MathUnaryFunction::getArgument);
+            return functionComparator.compare(this, f);
+        } else if (c instanceof Base b) {
+            return compare(this, b);
+        } else if (c instanceof Exponential e) {
+            return new Exponential(this, new Constant(1)).compareTo(e);
+        } else {
+            throw new UnsupportedOperationException("Comparison between [" + this.getClass() + "] and [" + c.getClass() + "] is not supported yet");
+        }
+    }
+
+    @Override
+    public long structuralHash() {
+        return combineHash(combineHash(signedClassHash(), Objects.hashCode(functionName)), structuralHashOf(argument));
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.ExpressionBuilder;
 import com.nemesis.mathcore.expressionsolver.stringbuilder.LatexBuilder;
+import com.nemesis.mathcore.utils.Rational;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -77,6 +78,12 @@ public class ParenthesizedExpression extends WrappedExpression {
         return sign.equals(PLUS) ? expressionValue : expressionValue.multiply(MINUS_ONE_DECIMAL);
     }
 
+    @Override
+    public Rational getRationalValue() {
+        final Rational expressionValue = expression.getRationalValue();
+        return expressionValue == null || sign.equals(PLUS) ? expressionValue : expressionValue.negate();
+    }
+
     @Override
     public Component getDerivative(Variable var) {
         Component derivative = expression.getDerivative(var);
@@ -85,7 +92,7 @@ public class ParenthesizedExpression extends WrappedExpression {
 
     @Override
     public ParenthesizedExpression getClone() {
-        return new ParenthesizedExpression(sign, expression.getClone());
+        return new ParenthesizedExpression(sign, expression); // the constructor copies the expression
     }
 
     @Override
@@ -169,6 +176,11 @@ public class ParenthesizedExpression extends WrappedExpression {
         return new ParExpressionClassifier(this.getExpression());
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(signedClassHash(), structuralHashOf(expression));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -7,7 +7,7 @@ import com.nemesis.mathcore.expressionsolver.intervals.model.GenericInterval;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
 import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
-import com.nemesis.mathcore.expressionsolver.utils.Constants;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import com.nemesis.mathcore.utils.ExponentialFunctions;
 import lombok.Data;
 
@@ -49,7 +49,7 @@ public class RootFunction extends MathFunction {
         } else if (rootIndex == 1) {
             value = argument.getValue();
         } else if (rootIndex == 2) {
-            value = argument.getValue().sqrt(Constants.MATH_CONTEXT);
+            value = argument.getValue().sqrt(MathCoreContext.current().getMathContext());
         } else {
             value = nthRoot.apply(argument.getValue(), rootIndex);
         }
@@ -74,7 +74,7 @@ public class RootFunction extends MathFunction {
 
     @Override
     public Component rewrite(Rule rule) {
-        this.setArgument(Factor.getFactor(this.getArgument().rewrite(rule)));
+        this.setArgument(Factor.getFactor(rule.rewriteSubtree(this.getArgument())));
         return rule.applyTo(this);
     }
 
@@ -105,6 +105,11 @@ public class RootFunction extends MathFunction {
         }
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(combineHash(signedClassHash(), Objects.hashCode(rootIndex)), structuralHashOf(argument));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -129,7 +134,7 @@ public class RootFunction extends MathFunction {
     public Domain getDomain(Variable variable) {
         Domain domain = new Domain();
         if (argument.contains(variable)) {
-            domain.intersectWith(argument.getDomain(variable).getIntervals());
+            domain.intersectWith(argument.getDomain(variable));
             Set<GenericInterval> thisDefinitionSets = ExpressionUtils.resolve(this.argument, RelationalOperator.GTE, new Constant(0), variable);
             domain.intersectWith(thisDefinitionSets);
         }
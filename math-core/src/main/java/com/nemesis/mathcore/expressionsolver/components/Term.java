@@ -21,6 +21,7 @@ import com.nemesis.mathcore.expressionsolver.stringbuilder.LatexBuilder;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import com.nemesis.mathcore.utils.MathUtils;
+import com.nemesis.mathcore.utils.Rational;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -75,6 +76,9 @@ public class Term extends Component {
         this.build(Factor.getFactor(factor), NONE, null);
     }
 
+    private Term() {
+    }
+
     public void setSubTerm(Term subTerm) {
         build(this.factor, this.operator, subTerm);
     }
@@ -83,6 +87,16 @@ public class Term extends Component {
         build(factor, this.operator, this.subTerm);
     }
 
+    /*
+        Builds a term taking ownership of the given components, without the defensive copies made by the constructors:
+        the caller must not use them afterwards. Meant for code that builds brand-new trees, like the parser.
+     */
+    public static Term ofOwned(Factor factor, TermOperator operator, Term subTerm) {
+        final Term term = new Term();
+        term.assemble(factor, operator, subTerm);
+        return term;
+    }
+
     private void build(Factor factor, TermOperator operator, Term subTerm) {
 
         // Prevent input components to be modified
@@ -91,12 +105,17 @@ public class Term extends Component {
             subTerm = subTerm.getClone();
         }
 
+        this.assemble(factor, operator, subTerm);
+    }
+
+    private void assemble(Factor factor, TermOperator operator, Term subTerm) {
+
         if (isZero(factor) || (operator == MULTIPLY && isZero(subTerm))) {
             this.factor = new Constant(0);
             this.operator = NONE;
             this.subTerm = null;
         } else if (isOne(factor) && operator == MULTIPLY && subTerm != null) {
-            this.build(subTerm.getFactor(), subTerm.getOperator(), subTerm.getSubTerm());
+            this.assemble(subTerm.getFactor(), subTerm.getOperator(), subTerm.getSubTerm());
         } else if (isOne(subTerm)) {
             this.factor = factor;
             this.operator = NONE;
@@ -230,6 +249,30 @@ public class Term extends Component {
         }
     }
 
+    @Override
+    public Rational getRationalValue() {
+        final Rational factorValue = factor.getRationalValue();
+        if (factorValue == null || operator == NONE) {
+            return factorValue;
+        }
+        if (operator == MULTIPLY) {
+            final Rational subTermValue = subTerm.getRationalValue();
+            return subTermValue != null ? factorValue.multiply(subTermValue) : null;
+        }
+        // As in getValue: a/b/c = (a/b)/c
+        Rational quotient = factorValue;
+        Term divisor = subTerm;
+        if (subTerm.getOperator() == DIVIDE) {
+            quotient = divide(quotient, subTerm.getFactor().getRationalValue());
+            divisor = subTerm.getSubTerm();
+        }
+        return quotient != null ? divide(quotient, divisor.getRationalValue()) : null;
+    }
+
+    private static Rational divide(Rational dividend, Rational divisor) {
+        return divisor == null || divisor.signum() == 0 ? null : dividend.divide(divisor);
+    }
+
     @Override
     public Component getDerivative(Variable var) {
 
@@ -271,9 +314,9 @@ public class Term extends Component {
 
     @Override
     public Component rewrite(Rule rule) {
-        this.setFactor(Factor.getFactor(this.getFactor().rewrite(rule)));
+        this.setFactor(Factor.getFactor(rule.rewriteSubtree(this.getFactor())));
         if (this.getSubTerm() != null) {
-            this.setSubTerm(Term.getTerm(this.getSubTerm().rewrite(rule)));
+            this.setSubTerm(Term.getTerm(rule.rewriteSubtree(this.getSubTerm())));
         }
         return rule.applyTo(this);
     }
@@ -290,6 +333,13 @@ public class Term extends Component {
             throw new NoValueException("This component is not a scalar");
         }
 
+        if (MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
+            final Rational rationalValue = this.getRationalValue();
+            if (rationalValue != null) {
+                return Constant.getConstant(rationalValue);
+            }
+        }
+
         BigDecimal value = this.getValue();
 
         if (MathUtils.isIntegerValue(value)) {
@@ -335,17 +385,17 @@ public class Term extends Component {
 
     @Override
     public Term getClone() {
-        return new Term(factor.getClone(), operator, subTerm != null ? subTerm.getClone() : null);
+        return new Term(factor, operator, subTerm); // the constructor copies its inputs
     }
 
     @Override
     public Domain getDomain(Variable variable) {
         Domain domain = new Domain();
         if (factor.contains(variable)) {
-            domain.intersectWith(factor.getDomain(variable).getIntervals());
+            domain.intersectWith(factor.getDomain(variable));
         }
         if (subTerm != null && subTerm.contains(variable)) {
-            domain.intersectWith(subTerm.getDomain(variable).getIntervals());
+            domain.intersectWith(subTerm.getDomain(variable));
             if (operator == DIVIDE) {
                 Set<GenericInterval> thisDefinitionSets = ExpressionUtils.resolve(this.subTerm, RelationalOperator.NEQ, new Constant(0), variable);
                 domain.intersectWith(thisDefinitionSets);
@@ -433,6 +483,13 @@ public class Term extends Component {
         return factor.contains(variable) || (subTerm != null && subTerm.contains(variable));
     }
 
+    @Override
+    public long structuralHash() {
+        long hash = combineHash(classHash(), structuralHashOf(factor));
+        hash = combineHash(hash, operator == null ? 0L : operator.ordinal());
+        return combineHash(hash, structuralHashOf(subTerm));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
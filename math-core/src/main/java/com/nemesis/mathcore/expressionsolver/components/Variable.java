@@ -105,6 +105,11 @@ public class Variable extends Base {
         }
     }
 
+    @Override
+    public long structuralHash() {
+        return combineHash(signedClassHash(), name);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
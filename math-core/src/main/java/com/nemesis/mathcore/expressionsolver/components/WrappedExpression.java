@@ -106,10 +106,10 @@ public abstract class WrappedExpression extends Base{
 
     @Override
     public Component rewrite(Rule rule) {
-        Component rewrittenTerm = expression.getTerm().rewrite(rule);
+        Component rewrittenTerm = rule.rewriteSubtree(expression.getTerm());
         expression.setTerm(Term.getTerm(rewrittenTerm));
         if (expression.getSubExpression() != null) {
-            expression.setSubExpression(ComponentUtils.getExpression(expression.getSubExpression().rewrite(rule)));
+            expression.setSubExpression(ComponentUtils.getExpression(rule.rewriteSubtree(expression.getSubExpression())));
         }
         return rule.applyTo(this);
     }
@@ -0,0 +1,528 @@
+package com.nemesis.mathcore.expressionsolver.equations;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.*;
+import com.nemesis.mathcore.expressionsolver.intervals.model.*;
+import com.nemesis.mathcore.expressionsolver.models.DensePolynomial;
+import com.nemesis.mathcore.expressionsolver.models.Polynomial;
+import com.nemesis.mathcore.expressionsolver.models.RelationalOperator;
+import com.nemesis.mathcore.expressionsolver.models.SparsePolynomial;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Point;
+import com.nemesis.mathcore.expressionsolver.monomial.Monomial;
+import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import com.nemesis.mathcore.utils.Rational;
+import com.numericalmethod.suanshu.analysis.function.polynomial.root.PolyRoot;
+import com.numericalmethod.suanshu.number.complex.Complex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.*;
+
+import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.SUBTRACT;
+import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.SUM;
+import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.DIVIDE;
+
+/*
+    Resolves equations and inequalities f(x) = 0 (or ≠, >, ≥, <, ≤) where f is a polynomial of any degree in one
+    variable with rational coefficients.
+    The polynomial is split in square-free factors, so that the roots of each factor are simple and their multiplicity
+    (needed to know where f changes sign) is the index of the factor. The real roots of each factor are isolated with
+    its Sturm sequence, starting from the approximations of SuanShu's PolyRoot (Jenkins-Traub beyond the fourth degree),
+    then refined with Newton's method (safeguarded by bisection) up to the scale of the context.
+    Rational roots and the roots of a remaining quadratic factor are given exactly.
+ */
+@Slf4j
+public class PolynomialEquationResolver {
+
+    // Coefficients of a rational root p/q are searched among the divisors of the highest coefficient up to this bound
+    private static final BigInteger MAX_DIVISORS_SEARCH = BigInteger.valueOf(1_000_000_000_000L);
+
+    // Digits computed beyond the scale of the context
+    private static final int GUARD_DIGITS = 4;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private PolynomialEquationResolver() {
+    }
+
+    public static Union resolve(Polynomial polynomial, RelationalOperator operator, Variable variable) {
+
+        final DensePolynomial dense = toDensePolynomial(polynomial, variable);
+        final String variableName = variable.toString();
+
+        if (dense.getDegree() <= 0) {
+            // The relation holds for each value of the variable or for none
+            final GenericInterval interval = holds(dense.getNumerator(0).signum(), operator) ? forEach(variableName) : new NoPointInterval(variableName);
+            return new Union(Collections.singleton(interval));
+        }
+
+        final List<Root> roots = new ArrayList<>();
+        final List<DensePolynomial> squareFreeFactors = dense.squareFreeFactorization();
+        for (int i = 0; i < squareFreeFactors.size(); i++) {
+            final int multiplicity = i + 1;
+            realRoots(squareFreeFactors.get(i).primitivePart()).forEach(root -> roots.add(root.withMultiplicity(multiplicity)));
+        }
+        roots.sort(Comparator.comparing(Root::value));
+
+        log.debug("Real roots of [{}]: {}", polynomial, roots);
+
+        final int leadingSign = dense.getNumerator(dense.getDegree()).signum();
+        return buildSolution(roots, leadingSign, operator, variableName);
+    }
+
+    private static DensePolynomial toDensePolynomial(Polynomial polynomial, Variable variable) {
+
+        if (!polynomial.isExpanded()) {
+            // Products of powers of polynomials, e.g. (x-1)^3*(x+2)^2
+            return expand(polynomial, variable);
+        }
+
+        final Map<Integer, Rational> coefficients = new HashMap<>();
+        for (Monomial monomial : polynomial.getMonomials()) {
+            int degree = 0;
+            for (Exponential exponential : monomial.getLiteralPart()) {
+                if (((Variable) exponential.getBase()).getName() != variable.getName()) {
+                    throw new UnsupportedOperationException("Multiple variable equations is not supported yet");
+                }
+                final Factor exponent = exponential.getExponent();
+                if (!exponent.isScalar() || !ComponentUtils.isInteger(exponent) || exponent.getValue().signum() < 0) {
+                    throw new UnsupportedOperationException("Unexpected exponent [" + exponent + "] in polynomial [" + polynomial + "]");
+                }
+                degree += exponent.getValue().intValueExact();
+            }
+            final Constant coefficient = monomial.getCoefficient();
+            // Decimal coefficients are taken as exact, e and π only through their approximation
+            final Rational value = Objects.requireNonNullElseGet(coefficient.getRationalValue(), () -> Rational.of(coefficient.getValue()));
+            coefficients.merge(degree, value, Rational::add);
+        }
+
+        final int degree = coefficients.keySet().stream().max(Comparator.naturalOrder()).orElse(0);
+        final BigInteger denominator = coefficients.values().stream().map(Rational::getDenominator).reduce(BigInteger.ONE, (a, b) -> a.divide(a.gcd(b)).multiply(b));
+        final BigInteger[] numerators = new BigInteger[degree + 1];
+        for (int i = 0; i <= degree; i++) {
+            final Rational coefficient = coefficients.getOrDefault(i, Rational.ZERO);
+            numerators[i] = coefficient.getNumerator().multiply(denominator.divide(coefficient.getDenominator()));
+        }
+        return DensePolynomial.of(numerators, denominator);
+    }
+
+    private static DensePolynomial expand(Polynomial polynomial, Variable variable) {
+        final SparsePolynomial expansion = SparsePolynomial.of(polynomial);
+        if (expansion == null) {
+            throw new UnsupportedOperationException("Cannot expand [" + polynomial + "] to a polynomial with rational coefficients");
+        }
+        for (char name : expansion.getVariables()) {
+            if (name != variable.getName()) {
+                throw new UnsupportedOperationException("Multiple variable equations is not supported yet");
+            }
+        }
+        return expansion.toDense(variable.getName());
+    }
+
+    /*
+        Real roots of a square-free polynomial with coprime integer coefficients, in ascending order
+     */
+    private static List<Root> realRoots(DensePolynomial polynomial) {
+
+        final int scale = MathCoreContext.current().getScale();
+        final List<Root> roots = new ArrayList<>();
+        final List<BigDecimal> irrationalRoots = new ArrayList<>();
+        DensePolynomial remainingFactor = polynomial;
+        for (BigDecimal[] interval : isolateRoots(polynomial)) {
+            final BigDecimal approximation = refine(polynomial, interval[0], interval[1], interval[2], scale);
+            final Rational rationalRoot = toRationalRoot(polynomial, interval[0], interval[1], approximation, scale);
+            if (rationalRoot != null) {
+                roots.add(new Root(approximation, toComponent(rationalRoot), 1));
+                remainingFactor = remainingFactor.divide(DensePolynomial.of(new BigInteger[]{rationalRoot.getNumerator().negate(), rationalRoot.getDenominator()}, BigInteger.ONE));
+            } else {
+                irrationalRoots.add(approximation);
+            }
+        }
+
+        if (remainingFactor.getDegree() == 2 && irrationalRoots.size() == 2) {
+            // The remaining factor has positive highest coefficient, so (-b-√Δ)/2a is the lower root
+            final List<Component> exactRoots = quadraticRoots(remainingFactor);
+            roots.add(new Root(irrationalRoots.get(0), exactRoots.get(0), 1));
+            roots.add(new Root(irrationalRoots.get(1), exactRoots.get(1), 1));
+        } else {
+            irrationalRoots.forEach(root -> roots.add(new Root(root, new Constant(root.setScale(scale, RoundingMode.HALF_EVEN).stripTrailingZeros()), 1)));
+        }
+        return roots;
+    }
+
+    /*
+        Intervals {a, b, approximation} such that each (a, b] contains exactly one root. The approximations of PolyRoot
+        are accepted as separated by their midpoints only if the Sturm sequence confirms them, otherwise the
+        intervals are found by bisection of the Cauchy bound of the roots.
+     */
+    private static List<BigDecimal[]> isolateRoots(DensePolynomial polynomial) {
+
+        final List<DensePolynomial> sturmSequence = sturmSequence(polynomial);
+
+        // All the real roots are in (-bound, bound)
+        BigInteger maxCoefficient = BigInteger.ZERO;
+        for (int i = 0; i < polynomial.getDegree(); i++) {
+            maxCoefficient = maxCoefficient.max(polynomial.getNumerator(i).abs());
+        }
+        final BigDecimal bound = new BigDecimal(maxCoefficient.divide(polynomial.getNumerator(polynomial.getDegree()).abs()).add(BigInteger.TWO));
+        final int rootsCount = countRoots(sturmSequence, bound.negate(), bound);
+
+        final List<BigDecimal> seeds = approximateRoots(polynomial);
+        final List<BigDecimal[]> intervals = new ArrayList<>();
+        if (seeds.size() == rootsCount) {
+            BigDecimal left = bound.negate();
+            for (int i = 0; i < seeds.size(); i++) {
+                final BigDecimal right = i + 1 < seeds.size() ? middle(seeds.get(i), seeds.get(i + 1)) : bound;
+                if (left.compareTo(right) >= 0 || countRoots(sturmSequence, left, right) != 1) {
+                    break;
+                }
+                intervals.add(new BigDecimal[]{left, right, seeds.get(i)});
+                left = right;
+            }
+            if (intervals.size() == rootsCount) {
+                return intervals;
+            }
+            log.debug("Approximated roots {} of [{}] not confirmed by Sturm's theorem", seeds, polynomial);
+            intervals.clear();
+        }
+
+        bisect(sturmSequence, bound.negate(), bound, rootsCount, intervals);
+        return intervals;
+    }
+
+    private static void bisect(List<DensePolynomial> sturmSequence, BigDecimal left, BigDecimal right, int rootsCount, List<BigDecimal[]> intervals) {
+        if (rootsCount == 0) {
+            return;
+        }
+        if (rootsCount == 1) {
+            intervals.add(new BigDecimal[]{left, right, null});
+            return;
+        }
+        ComputationBudget.current().checkDeadline();
+        final BigDecimal middle = middle(left, right);
+        final int leftRootsCount = countRoots(sturmSequence, left, middle);
+        bisect(sturmSequence, left, middle, leftRootsCount, intervals);
+        bisect(sturmSequence, middle, right, rootsCount - leftRootsCount, intervals);
+    }
+
+    /*
+        Real roots approximated by PolyRoot (empty if they can't be computed in double precision)
+     */
+    private static List<BigDecimal> approximateRoots(DensePolynomial polynomial) {
+
+        final double[] coefficients = new double[polynomial.getDegree() + 1];
+        for (int i = 0; i <= polynomial.getDegree(); i++) {
+            coefficients[polynomial.getDegree() - i] = polynomial.getNumerator(i).doubleValue();
+            if (Double.isInfinite(coefficients[polynomial.getDegree() - i])) {
+                return List.of();
+            }
+        }
+
+        final List<? extends Number> roots;
+        try {
+            roots = new PolyRoot().solve(new com.numericalmethod.suanshu.analysis.function.polynomial.Polynomial(coefficients));
+        } catch (RuntimeException e) {
+            log.debug("PolyRoot failed on [{}]: {}", polynomial, e.getMessage());
+            return List.of();
+        }
+
+        final List<BigDecimal> realRoots = new ArrayList<>();
+        for (Number root : roots) {
+            final double real = root instanceof Complex complex ? complex.real() : root.doubleValue();
+            final double imaginary = root instanceof Complex complex ? complex.imaginary() : 0;
+            if (Double.isFinite(real) && Math.abs(imaginary) <= 1e-7 * Math.max(1, Math.abs(real))) {
+                realRoots.add(new BigDecimal(real));
+            }
+        }
+        Collections.sort(realRoots);
+        return realRoots;
+    }
+
+    /*
+        s0 = p, s1 = p', s(i+1) = -rem(s(i-1), s(i)): the number of roots in (a, b] is V(a) - V(b), where V is the
+        number of sign changes in the sequence
+     */
+    private static List<DensePolynomial> sturmSequence(DensePolynomial polynomial) {
+        final List<DensePolynomial> sequence = new ArrayList<>();
+        sequence.add(polynomial);
+        sequence.add(polynomial.derivative());
+        while (sequence.get(sequence.size() - 1).getDegree() > 0) {
+            ComputationBudget.current().checkDeadline();
+            final DensePolynomial remainder = sequence.get(sequence.size() - 2).divideAndRemainder(sequence.get(sequence.size() - 1))[1];
+            if (remainder.isZero()) {
+                break;
+            }
+            // Only the signs matter: the primitive part (with positive highest coefficient) of -remainder, up to the sign
+            final boolean positive = remainder.getNumerator(remainder.getDegree()).signum() < 0;
+            sequence.add(positive ? remainder.primitivePart() : remainder.primitivePart().negate());
+        }
+        return sequence;
+    }
+
+    private static int countRoots(List<DensePolynomial> sturmSequence, BigDecimal left, BigDecimal right) {
+        return signChanges(sturmSequence, left) - signChanges(sturmSequence, right);
+    }
+
+    private static int signChanges(List<DensePolynomial> sturmSequence, BigDecimal x) {
+        int changes = 0;
+        int previousSign = 0;
+        for (DensePolynomial polynomial : sturmSequence) {
+            final int sign = polynomial.signumAt(x);
+            if (sign != 0) {
+                if (previousSign != 0 && sign != previousSign) {
+                    changes++;
+                }
+                previousSign = sign;
+            }
+        }
+        return changes;
+    }
+
+    /*
+        The only root in (left, right], with scale digits after the point. The root is simple, then the sign of the
+        polynomial at the right of the root is the sign at 'right' (if not zero).
+     */
+    private static BigDecimal refine(DensePolynomial polynomial, BigDecimal left, BigDecimal right, BigDecimal seed, int scale) {
+
+        if (polynomial.signumAt(right) == 0) {
+            return right;
+        }
+
+        final int workingScale = scale + GUARD_DIGITS;
+        final BigDecimal tolerance = BigDecimal.ONE.movePointLeft(workingScale);
+        final MathContext mathContext = new MathContext(workingScale + right.abs().add(BigDecimal.ONE).precision(), RoundingMode.HALF_EVEN);
+        final DensePolynomial derivative = polynomial.derivative();
+        final int leftSign = -polynomial.signumAt(right);
+
+        BigDecimal x = seed != null && seed.compareTo(left) > 0 && seed.compareTo(right) < 0 ? seed : middle(left, right);
+        final int maxIterations = 10 * (workingScale + right.subtract(left).precision()) + 100;
+
+        for (int i = 0; i < maxIterations; i++) {
+
+            ComputationBudget.current().checkDeadline();
+
+            final int sign = polynomial.signumAt(x);
+            if (sign == 0) {
+                return x;
+            }
+            if (sign == leftSign) {
+                left = x;
+            } else {
+                right = x;
+            }
+            if (right.subtract(left).compareTo(tolerance) <= 0) {
+                break;
+            }
+
+            // Newton step, if it stays inside the interval, otherwise bisection
+            BigDecimal next = null;
+            final BigDecimal slope = derivative.evaluate(x, mathContext);
+            if (slope.signum() != 0) {
+                next = x.subtract(polynomial.evaluate(x, mathContext).divide(slope, mathContext)).setScale(workingScale, RoundingMode.HALF_EVEN);
+                if (next.compareTo(left) <= 0 || next.compareTo(right) >= 0) {
+                    next = null;
+                }
+            }
+            if (next == null) {
+                next = middle(left, right);
+            } else if (next.subtract(x).abs().compareTo(tolerance) <= 0) {
+                x = next;
+                break;
+            }
+            x = next;
+        }
+
+        return x;
+    }
+
+    private static BigDecimal middle(BigDecimal left, BigDecimal right) {
+        return left.add(right).divide(TWO);
+    }
+
+    /*
+        The root isolated in (left, right] if it's rational. A rational root p/q must have q dividing the highest
+        coefficient: p is then the nearest integer to q*root. A candidate is accepted only if it's close to the
+        approximation and inside the interval, since it could be another root of the polynomial.
+     */
+    private static Rational toRationalRoot(DensePolynomial polynomial, BigDecimal left, BigDecimal right, BigDecimal approximation, int scale) {
+        final BigInteger highestCoefficient = polynomial.getNumerator(polynomial.getDegree()).abs();
+        if (highestCoefficient.compareTo(MAX_DIVISORS_SEARCH) > 0) {
+            return null;
+        }
+        final BigDecimal tolerance = BigDecimal.ONE.movePointLeft(scale);
+        for (BigInteger denominator : divisors(highestCoefficient.longValueExact())) {
+            final BigInteger numerator = approximation.multiply(new BigDecimal(denominator)).setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+            final Rational candidate = Rational.of(numerator, denominator);
+            final BigDecimal value = new BigDecimal(numerator).divide(new BigDecimal(denominator), new MathContext(scale + approximation.precision() + GUARD_DIGITS));
+            if (value.compareTo(left) > 0 && value.compareTo(right) <= 0 && value.subtract(approximation).abs().compareTo(tolerance) <= 0
+                    && isRoot(polynomial, candidate.getNumerator(), candidate.getDenominator())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /*
+        p(n/d) = 0 if and only if the sum of a_i * n^i * d^(deg-i) is zero
+     */
+    private static boolean isRoot(DensePolynomial polynomial, BigInteger numerator, BigInteger denominator) {
+        BigInteger value = BigInteger.ZERO;
+        BigInteger denominatorPower = BigInteger.ONE;
+        for (int i = polynomial.getDegree(); i >= 0; i--) {
+            value = value.add(polynomial.getNumerator(i).multiply(numerator.pow(i)).multiply(denominatorPower));
+            denominatorPower = denominatorPower.multiply(denominator);
+        }
+        return value.signum() == 0;
+    }
+
+    private static List<BigInteger> divisors(long n) {
+        final List<BigInteger> divisors = new ArrayList<>();
+        for (long d = 1; d * d <= n; d++) {
+            if (n % d == 0) {
+                divisors.add(BigInteger.valueOf(d));
+                if (d * d != n) {
+                    divisors.add(BigInteger.valueOf(n / d));
+                }
+            }
+        }
+        return divisors;
+    }
+
+    private static Component toComponent(Rational rational) {
+        if (rational.isInteger() || MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
+            return Constant.getConstant(rational);
+        }
+        return new Constant(rational.toBigDecimal());
+    }
+
+    /*
+        (-b-√Δ)/2a and (-b+√Δ)/2a, built as in QuadraticEquationResolver
+     */
+    private static List<Component> quadraticRoots(DensePolynomial quadratic) {
+        final BigInteger a = quadratic.getNumerator(2);
+        final BigInteger b = quadratic.getNumerator(1);
+        final BigInteger c = quadratic.getNumerator(0);
+        final BigInteger delta = b.pow(2).subtract(BigInteger.valueOf(4).multiply(a).multiply(c));
+
+        final Term minusB = new Term(new Constant(b.negate()));
+        final Term deltaSquareRoot = new Term(new RootFunction(2, new Constant(delta)));
+        final Constant twoA = new Constant(a.shiftLeft(1));
+
+        final Component s1 = new Term(new ParenthesizedExpression(minusB, SUBTRACT, deltaSquareRoot), DIVIDE, twoA);
+        final Component s2 = new Term(new ParenthesizedExpression(minusB, SUM, deltaSquareRoot), DIVIDE, twoA);
+        return List.of(ExpressionUtils.simplify(s1).getValueAsConstant(), ExpressionUtils.simplify(s2).getValueAsConstant());
+    }
+
+    /*
+        Let r1 < ... < rk be the roots: the sign of the polynomial is the sign of the highest coefficient after rk and
+        changes crossing each root of odd multiplicity. The solution is made by the maximal runs of consecutive
+        intervals (ri, ri+1) and roots where the relation holds.
+     */
+    private static Union buildSolution(List<Root> roots, int leadingSign, RelationalOperator operator, String variableName) {
+
+        final Set<GenericInterval> solutions = new TreeSet<>();
+
+        if (operator == RelationalOperator.EQ) {
+            if (roots.isEmpty()) {
+                return new Union(Collections.singleton(new NoPointInterval(variableName)));
+            }
+            roots.forEach(root -> solutions.add(new SinglePointInterval(variableName, new Point(root.component()), SinglePointInterval.Type.EQUALS)));
+            return new Union(solutions);
+        }
+
+        // Sign of the polynomial in (r(i-1), r(i)), where r(-1) = -∞ and r(k) = +∞
+        final int k = roots.size();
+        final int[] intervalSigns = new int[k + 1];
+        intervalSigns[k] = leadingSign;
+        for (int i = k - 1; i >= 0; i--) {
+            intervalSigns[i] = roots.get(i).multiplicity() % 2 == 1 ? -intervalSigns[i + 1] : intervalSigns[i + 1];
+        }
+
+        final boolean rootsIncluded = holds(0, operator);
+        if (k == 1 && !rootsIncluded && Arrays.stream(intervalSigns).allMatch(sign -> holds(sign, operator))) {
+            // Each value but the root, e.g. (x-1)^2(x^2+1) > 0. Many excluded roots are kept as open intervals, since
+            // x ≠ a ∪ x ≠ b would be the whole ℝ
+            return new Union(new SinglePointInterval(variableName, new Point(roots.get(0).component()), SinglePointInterval.Type.NOT_EQUALS));
+        }
+
+        // Runs over the sequence (-∞, r0), r0, (r0, r1), r1, ..., rk-1, (rk-1, +∞): even positions are intervals, odd ones are roots
+        int runStart = -1;
+        for (int position = 0; position <= 2 * k; position++) {
+            if (!isIncluded(position, intervalSigns, rootsIncluded, operator)) {
+                continue;
+            }
+            if (runStart < 0) {
+                runStart = position;
+            }
+            if (position == 2 * k || !isIncluded(position + 1, intervalSigns, rootsIncluded, operator)) {
+                if (runStart == position && position % 2 == 1) {
+                    // A single root, e.g. (x-1)^2 ≤ 0
+                    solutions.add(new SinglePointInterval(variableName, new Point(roots.get(position / 2).component()), SinglePointInterval.Type.EQUALS));
+                } else {
+                    solutions.add(new DoublePointInterval(variableName, leftDelimiter(runStart, roots), rightDelimiter(position, roots)));
+                }
+                runStart = -1;
+            }
+        }
+
+        if (solutions.isEmpty()) {
+            solutions.add(new NoPointInterval(variableName));
+        }
+        return new Union(solutions);
+    }
+
+    private static boolean isIncluded(int position, int[] intervalSigns, boolean rootsIncluded, RelationalOperator operator) {
+        return position % 2 == 0 ? holds(intervalSigns[position / 2], operator) : rootsIncluded;
+    }
+
+    private static Delimiter leftDelimiter(int position, List<Root> roots) {
+        if (position == 0) {
+            return Delimiter.MINUS_INFINITY;
+        }
+        // An interval (r(i-1), r(i)) starts after r(i-1), excluded; a root is included
+        return position % 2 == 0
+                ? new Delimiter(Delimiter.Type.OPEN, roots.get(position / 2 - 1).component())
+                : new Delimiter(Delimiter.Type.CLOSED, roots.get(position / 2).component());
+    }
+
+    private static Delimiter rightDelimiter(int position, List<Root> roots) {
+        if (position == 2 * roots.size()) {
+            return Delimiter.PLUS_INFINITY;
+        }
+        return position % 2 == 0
+                ? new Delimiter(Delimiter.Type.OPEN, roots.get(position / 2).component())
+                : new Delimiter(Delimiter.Type.CLOSED, roots.get(position / 2).component());
+    }
+
+    private static boolean holds(int sign, RelationalOperator operator) {
+        return switch (operator) {
+            case EQ -> sign == 0;
+            case NEQ -> sign != 0;
+            case GT -> sign > 0;
+            case GTE -> sign >= 0;
+            case LT -> sign < 0;
+            case LTE -> sign <= 0;
+        };
+    }
+
+    private static GenericInterval forEach(String variableName) {
+        return new DoublePointInterval(variableName, Delimiter.MINUS_INFINITY, Delimiter.PLUS_INFINITY);
+    }
+
+    private record Root(BigDecimal value, Component component, int multiplicity) {
+
+        Root withMultiplicity(int multiplicity) {
+            return new Root(value, component, multiplicity);
+        }
+
+        @Override
+        public String toString() {
+            return component + (multiplicity > 1 ? " (multiplicity " + multiplicity + ")" : "");
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.nemesis.mathcore.expressionsolver.monomial.LiteralPart;
 import com.nemesis.mathcore.expressionsolver.monomial.Monomial;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.expressionsolver.utils.FactorSignInverter;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.math.BigDecimal;
@@ -72,7 +73,8 @@ public class QuadraticEquationResolver {
                 throw new UnsupportedOperationException("Multiple variable equations is not supported yet");
             }
 
-            List<Component> simplifiedSolutions = Stream.of(s1, s2).parallel().map(ExpressionUtils::simplify).collect(Collectors.toList());
+            final MathCoreContext context = MathCoreContext.current();
+            List<Component> simplifiedSolutions = Stream.of(s1, s2).parallel().map(s -> ExpressionUtils.simplify(s, context)).collect(Collectors.toList());
 
             Map<Constant, BigDecimal> solutionsMap = Map.of(
                     simplifiedSolutions.get(0).getValueAsConstant(), s1.getValue(),
@@ -97,8 +99,10 @@ public class QuadraticEquationResolver {
                     solutions.add(new SinglePointInterval(variableName, new Point(rightDelimiter), SinglePointInterval.Type.EQUALS));
                 }
                 case NEQ -> {
-                    solutions.add(new SinglePointInterval(variableName, new Point(leftDelimiter), SinglePointInterval.Type.NOT_EQUALS));
-                    solutions.add(new SinglePointInterval(variableName, new Point(rightDelimiter), SinglePointInterval.Type.NOT_EQUALS));
+                    // x ≠ s1 ∩ x ≠ s2, as a union of open intervals
+                    solutions.add(new DoublePointInterval(variableName, Delimiter.MINUS_INFINITY, new Delimiter(Delimiter.Type.OPEN, leftDelimiter)));
+                    solutions.add(new DoublePointInterval(variableName, DoublePointInterval.Type.STRICTLY_BETWEEN, leftDelimiter, rightDelimiter));
+                    solutions.add(new DoublePointInterval(variableName, new Delimiter(Delimiter.Type.OPEN, rightDelimiter), Delimiter.PLUS_INFINITY));
                 }
                 case GT -> {
                     solutions.add(new DoublePointInterval(variableName, Delimiter.MINUS_INFINITY, new Delimiter(Delimiter.Type.OPEN, leftDelimiter)));
@@ -206,9 +210,14 @@ public class QuadraticEquationResolver {
 
         final Term a = Term.buildTerm(aCoefficient.iterator(), MULTIPLY);
 
-        final Base b = bCoefficient.size() == 1 ?
-                new ParenthesizedExpression(bCoefficient.stream().findFirst().orElse(new Constant(1))) :
-                new ParenthesizedExpression(Term.buildTerm(bCoefficient.iterator(), MULTIPLY));
+        final Base b;
+        if (bCoefficient.isEmpty()) {
+            b = new Constant(0);
+        } else if (bCoefficient.size() == 1) {
+            b = new ParenthesizedExpression(bCoefficient.iterator().next());
+        } else {
+            b = new ParenthesizedExpression(Term.buildTerm(bCoefficient.iterator(), MULTIPLY));
+        }
 
         final Component c = ComponentUtils.sumSimilarMonomialsAndConvertToExpression(cCoefficient);
 
@@ -228,9 +237,22 @@ public class QuadraticEquationResolver {
             throw new UnsupportedOperationException("Delta is not defined (contains variables)"); // TODO: manage this case
         }
 
-        final SolutionBuilder solutionBuilder = solutionBuilders.get(Pair.of(deltaType, operator));
+        // Solution builders assume a > 0: when a < 0, the inequality is resolved for -f(x), which has the same roots
+        final RelationalOperator directedOperator = a.isScalar() && a.getValue().signum() < 0 ? reverse(operator) : operator;
 
-        return solutionBuilder.getSolutions(a, b, c, variable, operator);
+        final SolutionBuilder solutionBuilder = solutionBuilders.get(Pair.of(deltaType, directedOperator));
+
+        return solutionBuilder.getSolutions(a, b, c, variable, directedOperator);
+    }
+
+    private static RelationalOperator reverse(RelationalOperator operator) {
+        return switch (operator) {
+            case GT -> LT;
+            case GTE -> LTE;
+            case LT -> GT;
+            case LTE -> GTE;
+            case EQ, NEQ -> operator;
+        };
     }
 
     private static Expression getDelta(Term a, Base b, Component c) {
@@ -0,0 +1,25 @@
+package com.nemesis.mathcore.expressionsolver.exception;
+
+import lombok.Getter;
+
+/*
+    Thrown when a computation exceeds its budget (see ComputationBudget) or its thread is interrupted
+ */
+@Getter
+public class ComputationAbortedException extends RuntimeException {
+
+    public enum Reason {
+        TIMEOUT,
+        CANCELLED,
+        REWRITE_ITERATIONS,
+        TREE_SIZE,
+        PRECISION
+    }
+
+    private final Reason reason;
+
+    public ComputationAbortedException(Reason reason, String msg) {
+        super(msg);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,47 @@
+package com.nemesis.mathcore.expressionsolver.functions;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Factor;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.models.Domain;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.function.BiFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/*
+    Definition of a named unary function f, as registered in UnaryFunctions:
+    - function: value of f(x) as BigDecimal
+    - doubleFunction: value of f(x) as double, used by compiled evaluators (null if the BigDecimal function must be used)
+    - derivative: f'(argument), the chain rule is applied by MathUnaryFunction (null if not supported)
+    - domain: domain of f(argument) with respect to a variable (null if not supported)
+ */
+@Getter
+@AllArgsConstructor
+public class UnaryFunctionDefinition {
+
+    private final String name;
+    private final UnaryOperator<BigDecimal> function;
+    private final DoubleUnaryOperator doubleFunction;
+    private final DerivativeBuilder derivative;
+    private final DomainBuilder domain;
+
+    public UnaryFunctionDefinition(String name, UnaryOperator<BigDecimal> function) {
+        this(name, function, null, null, null);
+    }
+
+    public interface DerivativeBuilder extends Function<Factor, Component> {
+    }
+
+    public interface DomainBuilder extends BiFunction<Factor, Variable, Domain> {
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
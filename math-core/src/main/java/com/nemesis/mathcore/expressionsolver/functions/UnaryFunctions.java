@@ -0,0 +1,206 @@
+package com.nemesis.mathcore.expressionsolver.functions;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.*;
+import com.nemesis.mathcore.expressionsolver.intervals.model.GenericInterval;
+import com.nemesis.mathcore.expressionsolver.models.Domain;
+import com.nemesis.mathcore.expressionsolver.models.RelationalOperator;
+import com.nemesis.mathcore.utils.TrigonometricFunctions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nemesis.mathcore.expressionsolver.models.RelationalOperator.*;
+import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.SUBTRACT;
+import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.SUM;
+import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
+import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.DIVIDE;
+import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.MULTIPLY;
+
+/*
+    Registry of the named unary functions recognized by the parser (e.g. sin, cos, tan).
+    Lookups are done once, when a MathUnaryFunction is built: evaluation, derivatives and domains use the resolved definition.
+    New functions can be registered at startup, before parsing any expression that uses them.
+ */
+@Slf4j
+public class UnaryFunctions {
+
+    private static final Map<String, UnaryFunctionDefinition> functionsByName = new ConcurrentHashMap<>();
+
+    static {
+        register(new UnaryFunctionDefinition("sin", TrigonometricFunctions::sin, Math::sin,
+                argument -> new MathUnaryFunction("cos", argument.getClone()),
+                UnaryFunctions::argumentDomain));
+
+        register(new UnaryFunctionDefinition("cos", TrigonometricFunctions::cos, Math::cos,
+                argument -> new MathUnaryFunction(MINUS, "sin", argument.getClone()),
+                UnaryFunctions::argumentDomain));
+
+        register(new UnaryFunctionDefinition("tan", TrigonometricFunctions::tan, Math::tan,
+                argument -> new Exponential(new MathUnaryFunction("sec", argument.getClone()), new Constant(2)),
+                UnaryFunctions::periodicDomain), "tg");
+
+        register(new UnaryFunctionDefinition("cot", TrigonometricFunctions::cot, x -> 1 / Math.tan(x),
+                argument -> new Term(new Constant(-1), MULTIPLY, new Exponential(new MathUnaryFunction("csc", argument.getClone()), new Constant(2))),
+                UnaryFunctions::periodicDomain), "cotan", "cotg", "ctg");
+
+        register(new UnaryFunctionDefinition("sec", TrigonometricFunctions::sec, x -> 1 / Math.cos(x),
+                argument -> new Term(new MathUnaryFunction("sec", argument.getClone()), MULTIPLY, new MathUnaryFunction("tan", argument.getClone())),
+                UnaryFunctions::periodicDomain));
+
+        register(new UnaryFunctionDefinition("csc", TrigonometricFunctions::csc, x -> 1 / Math.sin(x),
+                argument -> new Term(new MathUnaryFunction(MINUS, "csc", argument.getClone()), MULTIPLY, new MathUnaryFunction("cot", argument.getClone())),
+                UnaryFunctions::periodicDomain), "cosec");
+
+        // Recognized by the parser, not implemented yet
+        register(new UnaryFunctionDefinition("arcsin", TrigonometricFunctions::arcsin));
+        register(new UnaryFunctionDefinition("arccos", TrigonometricFunctions::arccos));
+        register(new UnaryFunctionDefinition("arcsec", TrigonometricFunctions::arcsec));
+        register(new UnaryFunctionDefinition("arctan", TrigonometricFunctions::arctan), "arctg");
+        register(new UnaryFunctionDefinition("arccot", TrigonometricFunctions::arccot), "arccotan", "arccotg", "arcctg");
+        register(new UnaryFunctionDefinition("arccsc", TrigonometricFunctions::arccsc), "arccosec");
+
+        register(new UnaryFunctionDefinition("sinh", TrigonometricFunctions::sinh, Math::sinh,
+                argument -> new MathUnaryFunction("cosh", argument.getClone()),
+                UnaryFunctions::argumentDomain));
+
+        register(new UnaryFunctionDefinition("cosh", TrigonometricFunctions::cosh, Math::cosh,
+                argument -> new MathUnaryFunction("sinh", argument.getClone()),
+                UnaryFunctions::argumentDomain));
+
+        register(new UnaryFunctionDefinition("tanh", TrigonometricFunctions::tanh, Math::tanh,
+                argument -> new Exponential(new MathUnaryFunction("sech", argument.getClone()), new Constant(2)),
+                UnaryFunctions::argumentDomain), "tgh");
+
+        register(new UnaryFunctionDefinition("coth", TrigonometricFunctions::coth, x -> 1 / Math.tanh(x),
+                argument -> new Term(new Constant(-1), MULTIPLY, new Exponential(new MathUnaryFunction("csch", argument.getClone()), new Constant(2))),
+                (argument, variable) -> restrictedDomain(argument, variable, argument, NEQ)), "cotanh", "cotgh", "ctgh");
+
+        register(new UnaryFunctionDefinition("sech", TrigonometricFunctions::sech, x -> 1 / Math.cosh(x),
+                argument -> new Term(new MathUnaryFunction(MINUS, "sech", argument.getClone()), MULTIPLY, new MathUnaryFunction("tanh", argument.getClone())),
+                UnaryFunctions::argumentDomain));
+
+        register(new UnaryFunctionDefinition("csch", TrigonometricFunctions::csch, x -> 1 / Math.sinh(x),
+                argument -> new Term(new MathUnaryFunction(MINUS, "csch", argument.getClone()), MULTIPLY, new MathUnaryFunction("coth", argument.getClone())),
+                (argument, variable) -> restrictedDomain(argument, variable, argument, NEQ)), "cosech");
+
+        // D[arsinh(x)] = 1/√(x^2+1)
+        register(new UnaryFunctionDefinition("arsinh", TrigonometricFunctions::arsinh, x -> Math.log(x + Math.sqrt(x * x + 1)),
+                argument -> new Term(new Constant(1), DIVIDE, new RootFunction(2, new ParenthesizedExpression(new Term(squared(argument)), SUM, new Term(new Constant(1))))),
+                UnaryFunctions::argumentDomain));
+
+        // D[arcosh(x)] = 1/√(x^2-1), x ≥ 1
+        register(new UnaryFunctionDefinition("arcosh", TrigonometricFunctions::arcosh, x -> Math.log(x + Math.sqrt(x * x - 1)),
+                argument -> new Term(new Constant(1), DIVIDE, new RootFunction(2, new ParenthesizedExpression(new Term(squared(argument)), SUBTRACT, new Term(new Constant(1))))),
+                (argument, variable) -> restrictedDomain(argument, variable, new ParenthesizedExpression(new Term(argument.getClone()), SUBTRACT, new Term(new Constant(1))), GTE)));
+
+        // D[arsech(x)] = -1/(x√(1-x^2)), 0 < x ≤ 1
+        register(new UnaryFunctionDefinition("arsech", TrigonometricFunctions::arsech, x -> Math.log((1 + Math.sqrt(1 - x * x)) / x),
+                argument -> new Term(new Constant(-1), DIVIDE, new Term(argument.getClone(), MULTIPLY, new RootFunction(2, new ParenthesizedExpression(new Term(new Constant(1)), SUBTRACT, new Term(squared(argument)))))),
+                (argument, variable) -> {
+                    final Domain domain = restrictedDomain(argument, variable, argument, GT);
+                    domain.intersectWith(restrictedDomain(argument, variable, new ParenthesizedExpression(new Term(new Constant(1)), SUBTRACT, new Term(argument.getClone())), GTE));
+                    return domain;
+                }));
+
+        // D[artanh(x)] = 1/(1-x^2), -1 < x < 1
+        register(new UnaryFunctionDefinition("artanh", TrigonometricFunctions::artanh, x -> 0.5 * Math.log((1 + x) / (1 - x)),
+                argument -> new Term(new Constant(1), DIVIDE, new ParenthesizedExpression(new Term(new Constant(1)), SUBTRACT, new Term(squared(argument)))),
+                (argument, variable) -> {
+                    final Domain domain = restrictedDomain(argument, variable, new ParenthesizedExpression(new Term(argument.getClone()), SUM, new Term(new Constant(1))), GT);
+                    domain.intersectWith(restrictedDomain(argument, variable, new ParenthesizedExpression(new Term(new Constant(1)), SUBTRACT, new Term(argument.getClone())), GT));
+                    return domain;
+                }), "artgh");
+
+        // D[arcoth(x)] = 1/(1-x^2), x < -1 ∪ x > 1
+        register(new UnaryFunctionDefinition("arcoth", TrigonometricFunctions::arcoth, x -> 0.5 * Math.log((x + 1) / (x - 1)),
+                argument -> new Term(new Constant(1), DIVIDE, new ParenthesizedExpression(new Term(new Constant(1)), SUBTRACT, new Term(squared(argument)))),
+                (argument, variable) -> {
+                    final Domain domain = restrictedDomain(argument, variable, new ParenthesizedExpression(new Term(argument.getClone()), SUM, new Term(new Constant(1))), LT);
+                    domain.unionWith(restrictedDomain(argument, variable, new ParenthesizedExpression(new Term(argument.getClone()), SUBTRACT, new Term(new Constant(1))), GT));
+                    return domain;
+                }), "arcotanh", "arcotgh", "arctgh");
+
+        // D[arcsch(x)] = -1/(|x|√(1+x^2)), x ≠ 0
+        register(new UnaryFunctionDefinition("arcsch", TrigonometricFunctions::arcsch, x -> Math.log(1 / x + Math.sqrt(1 / (x * x) + 1)),
+                argument -> new Term(new Constant(-1), DIVIDE, new Term(new AbsExpression(argument.getClone()), MULTIPLY, new RootFunction(2, new ParenthesizedExpression(new Term(new Constant(1)), SUM, new Term(squared(argument)))))),
+                (argument, variable) -> restrictedDomain(argument, variable, argument, NEQ)), "arcosech");
+    }
+
+    /*
+        Registers the given definition under its name and the given aliases, replacing any previous definition
+     */
+    public static void register(UnaryFunctionDefinition definition, String... aliases) {
+        functionsByName.put(checkName(definition.getName()), definition);
+        for (String alias : aliases) {
+            functionsByName.put(checkName(alias), definition);
+        }
+        log.debug("Registered unary function [{}] with aliases {}", definition.getName(), aliases);
+    }
+
+    /*
+        Returns the definition registered under the given name or alias, null if there is none
+     */
+    public static UnaryFunctionDefinition get(String name) {
+        return functionsByName.get(name);
+    }
+
+    public static boolean isRegistered(String name) {
+        return functionsByName.containsKey(name);
+    }
+
+    public static Set<String> getNames() {
+        return Collections.unmodifiableSet(functionsByName.keySet());
+    }
+
+    /*
+        Function names are made of letters, digits and underscores, the parser reads them up to the opening parenthesis
+     */
+    public static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static String checkName(String name) {
+        if (name == null || name.isEmpty() || !name.chars().allMatch(c -> isNameChar((char) c))) {
+            throw new IllegalArgumentException("Invalid function name [" + name + "]");
+        }
+        return name;
+    }
+
+    /*
+        Domain of functions defined on R: the domain of the argument
+     */
+    private static Domain argumentDomain(Factor argument, Variable variable) {
+        return argument.contains(variable) ? argument.getDomain(variable) : new Domain();
+    }
+
+    /*
+        Domain of functions defined where a condition on their argument holds (e.g. arcosh, defined for argument - 1 ≥ 0)
+     */
+    private static Domain restrictedDomain(Factor argument, Variable variable, Component condition, RelationalOperator operator) {
+        final Domain domain = argumentDomain(argument, variable);
+        if (argument.contains(variable)) {
+            // The condition is built on the argument as written: simplify it to get a polynomial in normal form
+            final Set<GenericInterval> definitionSets = ExpressionUtils.resolve(ExpressionUtils.simplify(condition), operator, new Constant(0), variable);
+            domain.intersectWith(definitionSets);
+        }
+        return domain;
+    }
+
+    private static Exponential squared(Factor argument) {
+        return new Exponential(new ParenthesizedExpression(argument.getClone()), new Constant(2));
+    }
+
+    /*
+        Functions like tan are undefined on a periodic set of points, which can't be represented by a finite union of intervals
+     */
+    private static Domain periodicDomain(Factor argument, Variable variable) {
+        if (!argument.contains(variable)) {
+            return new Domain();
+        }
+        throw new UnsupportedOperationException("Domains with periodic exclusions are not supported yet");
+    }
+}
@@ -0,0 +1,312 @@
+package com.nemesis.mathcore.expressionsolver.intervals.model;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Infinity;
+import com.nemesis.mathcore.expressionsolver.exception.VariablesMismatchException;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Point;
+import com.nemesis.mathcore.expressionsolver.operators.Sign;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.Type.CLOSED;
+import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.Type.OPEN;
+
+/*
+    Immutable subset of ℝ in normal form: a sorted array of non-empty intervals, where consecutive intervals are
+    separated by at least one point (they neither overlap nor touch, so (0,1] ∪ (1,2) is stored as (0,2)).
+    Since the form is unique, union and intersection are linear merges of the two arrays and membership is a binary
+    search, instead of the pairwise comparisons needed by a Union of GenericIntervals.
+    Each delimiter keeps its decimal value, so that delimiters like √12/2 are compared by value; delimiters without a
+    value (e.g. depending on another variable) fall back to the ordering of components.
+        x = a   is stored as [a, a]
+        x ≠ a   is stored as (-∞, a) ∪ (a, +∞)
+ */
+public final class IntervalSet {
+
+    private final String variable;
+
+    // lowers[i] and uppers[i] are the delimiters of the i-th interval
+    private final Bound[] lowers;
+    private final Bound[] uppers;
+
+    private IntervalSet(String variable, Bound[] lowers, Bound[] uppers) {
+        this.variable = variable;
+        this.lowers = lowers;
+        this.uppers = uppers;
+    }
+
+    public static IntervalSet empty(String variable) {
+        return new IntervalSet(variable, new Bound[0], new Bound[0]);
+    }
+
+    public static IntervalSet forEach(String variable) {
+        return new IntervalSet(variable, new Bound[]{Bound.of(Delimiter.MINUS_INFINITY)}, new Bound[]{Bound.of(Delimiter.PLUS_INFINITY)});
+    }
+
+    public static IntervalSet of(GenericInterval interval) {
+        return of(interval.getVariable(), Set.of(interval));
+    }
+
+    /*
+        Normal form of the union of the given intervals, on the variable of the intervals if the given one is null
+     */
+    public static IntervalSet of(String variable, Set<? extends GenericInterval> intervals) {
+        final List<Bound[]> pieces = new ArrayList<>();
+        for (GenericInterval interval : intervals) {
+            if (variable == null) {
+                variable = interval.getVariable();
+            } else if (interval.getVariable() != null && !variable.equals(interval.getVariable())) {
+                throw new VariablesMismatchException(variable, interval.getVariable());
+            }
+            addPieces(interval, pieces);
+        }
+        pieces.sort((a, b) -> compareLowers(a[0], b[0]));
+        final Builder builder = new Builder(pieces.size());
+        pieces.forEach(piece -> builder.append(piece[0], piece[1]));
+        return builder.build(variable);
+    }
+
+    private static void addPieces(GenericInterval interval, List<Bound[]> pieces) {
+        switch (interval) {
+            case DoublePointInterval dpi -> {
+                final Bound lower = Bound.of(dpi.getLeftDelimiter());
+                final Bound upper = Bound.of(dpi.getRightDelimiter());
+                if (isNotEmpty(lower, upper)) {
+                    pieces.add(new Bound[]{lower, upper});
+                }
+            }
+            case SinglePointInterval spi -> {
+                final Component point = spi.getPoint().getComponent();
+                switch (spi.getType()) {
+                    case EQUALS -> pieces.add(new Bound[]{Bound.of(CLOSED, point), Bound.of(CLOSED, point)});
+                    case NOT_EQUALS -> {
+                        pieces.add(new Bound[]{Bound.of(Delimiter.MINUS_INFINITY), Bound.of(OPEN, point)});
+                        pieces.add(new Bound[]{Bound.of(OPEN, point), Bound.of(Delimiter.PLUS_INFINITY)});
+                    }
+                }
+            }
+            case NoPointInterval ignored -> {
+            }
+            case Union union -> union.forEach(i -> addPieces(i, pieces));
+            default -> throw new UnsupportedOperationException("Interval of type [" + interval.getClass().getSimpleName() + "] is not supported");
+        }
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+
+    public boolean isEmpty() {
+        return lowers.length == 0;
+    }
+
+    public int size() {
+        return lowers.length;
+    }
+
+    public IntervalSet union(IntervalSet other) {
+        final String variable = checkVariable(other);
+        final Builder builder = new Builder(this.size() + other.size());
+        int i = 0, j = 0;
+        while (i < this.size() || j < other.size()) {
+            // Append the interval starting first, merging it with the last one if they overlap or touch
+            if (j == other.size() || (i < this.size() && compareLowers(this.lowers[i], other.lowers[j]) <= 0)) {
+                builder.append(this.lowers[i], this.uppers[i]);
+                i++;
+            } else {
+                builder.append(other.lowers[j], other.uppers[j]);
+                j++;
+            }
+        }
+        return builder.build(variable);
+    }
+
+    public IntervalSet intersect(IntervalSet other) {
+        final String variable = checkVariable(other);
+        final Builder builder = new Builder(Math.max(this.size(), other.size()));
+        int i = 0, j = 0;
+        while (i < this.size() && j < other.size()) {
+            final Bound lower = compareLowers(this.lowers[i], other.lowers[j]) >= 0 ? this.lowers[i] : other.lowers[j];
+            final Bound upper = compareUppers(this.uppers[i], other.uppers[j]) <= 0 ? this.uppers[i] : other.uppers[j];
+            if (isNotEmpty(lower, upper)) {
+                builder.append(lower, upper);
+            }
+            // The interval ending first can't intersect the following ones of the other set
+            if (compareUppers(this.uppers[i], other.uppers[j]) <= 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return builder.build(variable);
+    }
+
+    public boolean contains(Component c) {
+        final Bound point = Bound.of(CLOSED, c);
+        // Last interval starting at or before the point: the previous ones end before it
+        int low = 0, high = lowers.length - 1, index = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (Bound.compareValues(lowers[middle], point) <= 0) {
+                index = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return index >= 0 && compareLowers(lowers[index], point) <= 0 && compareUppers(point, uppers[index]) <= 0;
+    }
+
+    /*
+        The intervals as a Union of DoublePointIntervals and SinglePointIntervals (x = a), or x ∈ ∅ if empty, in the order of
+    the arrays: sorting them again could compare incomparable delimiters, or merge intervals with equal lower delimiters
+     */
+    public Union toUnion() {
+        if (isEmpty()) {
+            return new Union(new NoPointInterval(variable));
+        }
+        final List<GenericInterval> intervals = new ArrayList<>(lowers.length);
+        for (int i = 0; i < lowers.length; i++) {
+            if (Bound.compareValues(lowers[i], uppers[i]) == 0) {
+                intervals.add(new SinglePointInterval(variable, new Point(lowers[i].component()), SinglePointInterval.Type.EQUALS));
+            } else {
+                intervals.add(new DoublePointInterval(variable, lowers[i].toDelimiter(), uppers[i].toDelimiter()));
+            }
+        }
+        return Union.ofOrdered(variable, intervals);
+    }
+
+    private String checkVariable(IntervalSet other) {
+        if (this.variable != null && other.variable != null && !this.variable.equals(other.variable)) {
+            throw new VariablesMismatchException(this.variable, other.variable);
+        }
+        return this.variable != null ? this.variable : other.variable;
+    }
+
+    /*
+        Order of lower delimiters: on the same value a closed delimiter starts before an open one
+     */
+    private static int compareLowers(Bound a, Bound b) {
+        final int comparison = Bound.compareValues(a, b);
+        return comparison != 0 ? comparison : Boolean.compare(a.isOpen(), b.isOpen());
+    }
+
+    /*
+        Order of upper delimiters: on the same value an open delimiter ends before a closed one
+     */
+    private static int compareUppers(Bound a, Bound b) {
+        final int comparison = Bound.compareValues(a, b);
+        return comparison != 0 ? comparison : Boolean.compare(b.isOpen(), a.isOpen());
+    }
+
+    private static boolean isNotEmpty(Bound lower, Bound upper) {
+        final int comparison = Bound.compareValues(lower, upper);
+        return comparison < 0 || (comparison == 0 && !lower.isOpen() && !upper.isOpen());
+    }
+
+    /*
+        Two intervals, the second not starting before the first, can be merged if there is no point between them
+     */
+    private static boolean areConnected(Bound upper, Bound nextLower) {
+        final int comparison = Bound.compareValues(nextLower, upper);
+        return comparison < 0 || (comparison == 0 && !(upper.isOpen() && nextLower.isOpen()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IntervalSet other = (IntervalSet) o;
+        if (!Objects.equals(variable, other.variable) || this.size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < lowers.length; i++) {
+            if (compareLowers(this.lowers[i], other.lowers[i]) != 0 || compareUppers(this.uppers[i], other.uppers[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(variable, lowers.length);
+    }
+
+    @Override
+    public String toString() {
+        return toUnion().toString();
+    }
+
+    /*
+        Appends intervals sorted by lower delimiter, merging each one with the last if they are connected
+     */
+    private static class Builder {
+
+        private final List<Bound> lowers;
+        private final List<Bound> uppers;
+
+        private Builder(int capacity) {
+            this.lowers = new ArrayList<>(capacity);
+            this.uppers = new ArrayList<>(capacity);
+        }
+
+        private void append(Bound lower, Bound upper) {
+            final int last = uppers.size() - 1;
+            if (last >= 0 && areConnected(uppers.get(last), lower)) {
+                if (compareUppers(upper, uppers.get(last)) > 0) {
+                    uppers.set(last, upper);
+                }
+            } else {
+                lowers.add(lower);
+                uppers.add(upper);
+            }
+        }
+
+        private IntervalSet build(String variable) {
+            return new IntervalSet(variable, lowers.toArray(Bound[]::new), uppers.toArray(Bound[]::new));
+        }
+    }
+
+    /*
+        Delimiter with its value computed once: infinity is -1 or 1 for infinite delimiters, then value is null
+     */
+    private record Bound(Delimiter.Type type, Component component, int infinity, BigDecimal value) {
+
+        static Bound of(Delimiter delimiter) {
+            return of(delimiter.getType(), delimiter.getComponent());
+        }
+
+        static Bound of(Delimiter.Type type, Component component) {
+            if (component instanceof Infinity infinity) {
+                // Infinite delimiters are always open
+                return new Bound(OPEN, component, infinity.getSign() == Sign.PLUS ? 1 : -1, null);
+            }
+            return new Bound(type, component, 0, component.isScalar() ? component.getValue() : null);
+        }
+
+        static int compareValues(Bound a, Bound b) {
+            final int comparison = Integer.compare(a.infinity, b.infinity);
+            if (comparison != 0 || a.infinity != 0) {
+                return comparison;
+            }
+            if (a.value != null && b.value != null) {
+                return a.value.compareTo(b.value);
+            }
+            return a.component.compareTo(b.component);
+        }
+
+        boolean isOpen() {
+            return type == OPEN;
+        }
+
+        Delimiter toDelimiter() {
+            return new Delimiter(type, component);
+        }
+    }
+}
@@ -4,8 +4,11 @@ import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.exception.VariablesMismatchException;
 import com.nemesis.mathcore.expressionsolver.models.Stringable;
 
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -39,6 +42,27 @@ public class Union extends TreeSet<GenericInterval> implements GenericInterval {
         this.variable = variables.stream().findFirst().orElse(null);
     }
 
+    private Union(String variable, Comparator<GenericInterval> order) {
+        super(order);
+        this.variable = variable;
+    }
+
+    /*
+        Union keeping the intervals in the given order, e.g. the sorted disjoint intervals of an IntervalSet: their
+        delimiters aren't compared again, since components like the roots of a cubic may not be comparable to each other.
+        Intervals added later go after the existing ones.
+     */
+    public static Union ofOrdered(String variable, List<? extends GenericInterval> intervals) {
+        final Union union = new Union(variable, insertionOrder());
+        union.addAll(intervals);
+        return union;
+    }
+
+    private static Comparator<GenericInterval> insertionOrder() {
+        final Map<GenericInterval, Integer> positions = new IdentityHashMap<>();
+        return (a, b) -> Integer.compare(positions.computeIfAbsent(a, i -> positions.size()), positions.computeIfAbsent(b, i -> positions.size()));
+    }
+
     @Override
     public String getVariable() {
         return variable;
@@ -51,6 +75,9 @@ public class Union extends TreeSet<GenericInterval> implements GenericInterval {
 
     @Override
     public GenericInterval getClone() {
+        if (this.comparator() != null) {
+            return ofOrdered(variable, this.stream().map(GenericInterval::getClone).toList());
+        }
         Set<GenericInterval> intervals = this.stream().map(GenericInterval::getClone).collect(Collectors.toSet());
         return new Union(intervals);
     }
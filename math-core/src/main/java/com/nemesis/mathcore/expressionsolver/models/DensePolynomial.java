@@ -0,0 +1,529 @@
+package com.nemesis.mathcore.expressionsolver.models;
+
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+
+/*
+    Immutable univariate polynomial with rational coefficients, stored as an array of integer numerators
+    (the i-th element is the coefficient of the i-th power) over a common denominator.
+    The representation is normalized: the highest coefficient isn't zero, the denominator is positive and coprime
+    with the numerators, so that equal polynomials have equal representations.
+    Products of long polynomials use the Karatsuba algorithm.
+ */
+public final class DensePolynomial {
+
+    // Below this length (of the shorter operand) schoolbook multiplication is faster than Karatsuba
+    static final int KARATSUBA_THRESHOLD = 32;
+
+    private static final BigInteger[] NO_COEFFICIENTS = new BigInteger[0];
+
+    public static final DensePolynomial ZERO_POLYNOMIAL = new DensePolynomial(NO_COEFFICIENTS, ONE);
+    public static final DensePolynomial ONE_POLYNOMIAL = new DensePolynomial(new BigInteger[]{ONE}, ONE);
+
+    private final BigInteger[] numerators;
+    private final BigInteger denominator;
+
+    private DensePolynomial(BigInteger[] numerators, BigInteger denominator) {
+        this.numerators = numerators;
+        this.denominator = denominator;
+    }
+
+    /*
+        Polynomial with the given numerators (from the constant term to the highest power) over the given denominator
+     */
+    public static DensePolynomial of(BigInteger[] numerators, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Polynomial with zero denominator");
+        }
+        return normalize(numerators.clone(), denominator);
+    }
+
+    public static DensePolynomial of(long... coefficients) {
+        final BigInteger[] numerators = new BigInteger[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            numerators[i] = BigInteger.valueOf(coefficients[i]);
+        }
+        return normalize(numerators, ONE);
+    }
+
+    public static DensePolynomial constant(BigInteger numerator, BigInteger denominator) {
+        return of(new BigInteger[]{numerator}, denominator);
+    }
+
+    /*
+        Returns numerator/denominator * x^degree
+     */
+    public static DensePolynomial monomial(BigInteger numerator, BigInteger denominator, int degree) {
+        final BigInteger[] numerators = new BigInteger[degree + 1];
+        Arrays.fill(numerators, ZERO);
+        numerators[degree] = numerator;
+        return of(numerators, denominator);
+    }
+
+    /*
+        Degree of the polynomial, -1 for the zero polynomial
+     */
+    public int getDegree() {
+        return numerators.length - 1;
+    }
+
+    public boolean isZero() {
+        return numerators.length == 0;
+    }
+
+    /*
+        Numerator of the coefficient of x^degree: the coefficient is getNumerator(degree)/getDenominator()
+     */
+    public BigInteger getNumerator(int degree) {
+        return degree >= 0 && degree < numerators.length ? numerators[degree] : ZERO;
+    }
+
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    public DensePolynomial negate() {
+        final BigInteger[] negated = new BigInteger[numerators.length];
+        for (int i = 0; i < numerators.length; i++) {
+            negated[i] = numerators[i].negate();
+        }
+        return new DensePolynomial(negated, denominator);
+    }
+
+    public DensePolynomial add(DensePolynomial other) {
+        if (this.isZero()) {
+            return other;
+        }
+        if (other.isZero()) {
+            return this;
+        }
+        // a/b + c/d = (a*(l/b) + c*(l/d))/l, where l = lcm(b, d)
+        final BigInteger gcd = this.denominator.gcd(other.denominator);
+        final BigInteger thisFactor = other.denominator.divide(gcd);
+        final BigInteger otherFactor = this.denominator.divide(gcd);
+        final BigInteger[] sum = new BigInteger[Math.max(this.numerators.length, other.numerators.length)];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = this.getNumerator(i).multiply(thisFactor).add(other.getNumerator(i).multiply(otherFactor));
+        }
+        return normalize(sum, this.denominator.multiply(thisFactor));
+    }
+
+    public DensePolynomial subtract(DensePolynomial other) {
+        return this.add(other.negate());
+    }
+
+    public DensePolynomial multiply(DensePolynomial other) {
+        if (this.isZero() || other.isZero()) {
+            return ZERO_POLYNOMIAL;
+        }
+        ComputationBudget.current().checkDeadline();
+        return normalize(multiply(this.numerators, other.numerators), this.denominator.multiply(other.denominator));
+    }
+
+    public DensePolynomial pow(int exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Negative exponent [" + exponent + "]");
+        }
+        // Square-and-multiply: the squares are the longest products, that's where Karatsuba pays off
+        DensePolynomial result = ONE_POLYNOMIAL;
+        DensePolynomial square = this;
+        for (int e = exponent; e > 0; e >>= 1) {
+            if ((e & 1) == 1) {
+                result = result.multiply(square);
+            }
+            if (e > 1) {
+                square = square.multiply(square);
+            }
+        }
+        return result;
+    }
+
+    /*
+        Sign of the value at the given point, computed exactly
+     */
+    public int signumAt(BigDecimal x) {
+        return evaluateNumerators(x).signum();
+    }
+
+    public BigDecimal evaluate(BigDecimal x, MathContext mathContext) {
+        return evaluateNumerators(x).divide(new BigDecimal(denominator), mathContext);
+    }
+
+    /*
+        Horner's rule without rounding: the value at x multiplied by the denominator
+     */
+    private BigDecimal evaluateNumerators(BigDecimal x) {
+        BigDecimal value = BigDecimal.ZERO;
+        for (int i = numerators.length - 1; i >= 0; i--) {
+            value = value.multiply(x).add(new BigDecimal(numerators[i]));
+        }
+        return value;
+    }
+
+    public DensePolynomial derivative() {
+        if (numerators.length <= 1) {
+            return ZERO_POLYNOMIAL;
+        }
+        final BigInteger[] derivative = new BigInteger[numerators.length - 1];
+        for (int i = 1; i < numerators.length; i++) {
+            derivative[i - 1] = numerators[i].multiply(BigInteger.valueOf(i));
+        }
+        return normalize(derivative, denominator);
+    }
+
+    /*
+        Returns {quotient, remainder} of the division by the given polynomial, with deg(remainder) < deg(divisor).
+        Let a = A/da and b = B/db, the pseudo-division of the integer numerators gives lc(B)^k * A = Q*B + R, then
+            quotient = Q*db / (lc(B)^k * da),  remainder = R / (lc(B)^k * da)
+     */
+    public DensePolynomial[] divideAndRemainder(DensePolynomial divisor) {
+        if (divisor.isZero()) {
+            throw new ArithmeticException("Division by zero polynomial");
+        }
+        if (this.getDegree() < divisor.getDegree()) {
+            return new DensePolynomial[]{ZERO_POLYNOMIAL, this};
+        }
+        final BigInteger[] remainder = this.numerators.clone();
+        final BigInteger[] quotient = pseudoDivide(remainder, divisor.numerators);
+        final BigInteger scale = divisor.numerators[divisor.getDegree()].pow(this.getDegree() - divisor.getDegree() + 1).multiply(this.denominator);
+        return new DensePolynomial[]{
+                normalize(multiplyAll(quotient, divisor.denominator), scale),
+                normalize(remainder, scale)
+        };
+    }
+
+    /*
+        Quotient of a division that is known to be exact (e.g. by a divisor of the polynomial)
+     */
+    public DensePolynomial divide(DensePolynomial divisor) {
+        return divideAndRemainder(divisor)[0];
+    }
+
+    /*
+        Monic greatest common divisor (the zero polynomial only if both are zero).
+        Computed on the primitive integer numerators with the subresultant remainder sequence, which keeps the
+        coefficients growth polynomial without computing the content of every remainder.
+     */
+    public DensePolynomial gcd(DensePolynomial other) {
+
+        if (this.isZero()) {
+            return other.monic();
+        }
+        if (other.isZero()) {
+            return this.monic();
+        }
+
+        BigInteger[] a = primitivePart(this.getDegree() >= other.getDegree() ? this.numerators : other.numerators);
+        BigInteger[] b = primitivePart(this.getDegree() >= other.getDegree() ? other.numerators : this.numerators);
+        BigInteger g = ONE;
+        BigInteger h = ONE;
+
+        while (b.length > 1) {
+            ComputationBudget.current().checkDeadline();
+            final int delta = a.length - b.length;
+            final BigInteger[] remainder = a.clone();
+            pseudoDivide(remainder, b);
+            final BigInteger[] r = trim(remainder);
+            if (r.length == 0) {
+                break;
+            }
+            // r is divisible by g*h^delta, that's what bounds the growth of the coefficients
+            final BigInteger divisor = g.multiply(h.pow(delta));
+            a = b;
+            b = r;
+            for (int i = 0; i < b.length; i++) {
+                b[i] = b[i].divide(divisor);
+            }
+            g = a[a.length - 1];
+            h = delta == 0 ? h : g.pow(delta).divide(h.pow(delta - 1));
+        }
+
+        // A constant remainder means that the polynomials are coprime
+        return b.length == 1 ? ONE_POLYNOMIAL : new DensePolynomial(primitivePart(b), ONE).monic();
+    }
+
+    /*
+        Square-free factorization (Yun's algorithm): returns the monic, square-free and pairwise coprime f1, f2, ..., fk
+        such that this polynomial is c * f1 * f2^2 * ... * fk^k for a constant c. Some fi may be 1.
+     */
+    public List<DensePolynomial> squareFreeFactorization() {
+
+        final List<DensePolynomial> factors = new ArrayList<>();
+        if (this.getDegree() < 1) {
+            return factors;
+        }
+
+        final DensePolynomial derivative = this.derivative();
+        final DensePolynomial repeatedPart = this.gcd(derivative);
+        DensePolynomial b = this.divide(repeatedPart);
+        DensePolynomial d = derivative.divide(repeatedPart).subtract(b.derivative());
+
+        while (b.getDegree() > 0) {
+            final DensePolynomial factor = b.gcd(d);
+            factors.add(factor);
+            b = b.divide(factor);
+            d = d.divide(factor).subtract(b.derivative());
+        }
+        return factors;
+    }
+
+    /*
+        Positive constant c such that this polynomial is ±c * primitivePart()
+     */
+    public DensePolynomial content() {
+        if (isZero()) {
+            return ONE_POLYNOMIAL;
+        }
+        final BigInteger numeratorsGcd = numerators[getDegree()].abs().divide(primitivePart(numerators)[getDegree()]);
+        return constant(numeratorsGcd, denominator);
+    }
+
+    /*
+        The polynomial with coprime integer coefficients and positive highest coefficient that is a constant multiple of this
+     */
+    public DensePolynomial primitivePart() {
+        return isZero() ? this : new DensePolynomial(primitivePart(numerators), ONE);
+    }
+
+    /*
+        The polynomial divided by its highest coefficient
+     */
+    public DensePolynomial monic() {
+        if (isZero()) {
+            return this;
+        }
+        return normalize(numerators.clone(), numerators[getDegree()]);
+    }
+
+    /*
+        Pseudo-division of integer coefficients: replaces 'dividend' with the remainder R and returns the quotient Q,
+        such that lc(divisor)^k * dividend = Q*divisor + R, where k = deg(dividend) - deg(divisor) + 1
+     */
+    private static BigInteger[] pseudoDivide(BigInteger[] dividend, BigInteger[] divisor) {
+        final int divisorDegree = divisor.length - 1;
+        final BigInteger leadingCoefficient = divisor[divisorDegree];
+        final BigInteger[] quotient = new BigInteger[dividend.length - divisorDegree];
+        Arrays.fill(quotient, ZERO);
+        for (int i = dividend.length - 1; i >= divisorDegree; i--) {
+            final BigInteger coefficient = dividend[i];
+            // Every step multiplies everything by lc(divisor), so that all the divisions are exact
+            for (int j = 0; j < quotient.length; j++) {
+                quotient[j] = quotient[j].multiply(leadingCoefficient);
+            }
+            for (int j = 0; j < i; j++) {
+                dividend[j] = dividend[j].multiply(leadingCoefficient);
+            }
+            dividend[i] = ZERO;
+            quotient[i - divisorDegree] = coefficient;
+            for (int j = 0; j < divisorDegree; j++) {
+                dividend[i - divisorDegree + j] = dividend[i - divisorDegree + j].subtract(coefficient.multiply(divisor[j]));
+            }
+        }
+        return quotient;
+    }
+
+    /*
+        Integer coefficients divided by their gcd, with positive highest coefficient
+     */
+    private static BigInteger[] primitivePart(BigInteger[] coefficients) {
+        BigInteger content = ZERO;
+        for (BigInteger coefficient : coefficients) {
+            content = content.gcd(coefficient);
+            if (content.equals(ONE)) {
+                break;
+            }
+        }
+        if (coefficients[coefficients.length - 1].signum() < 0) {
+            content = content.negate();
+        }
+        final BigInteger[] primitive = new BigInteger[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            primitive[i] = coefficients[i].divide(content);
+        }
+        return primitive;
+    }
+
+    private static BigInteger[] multiplyAll(BigInteger[] coefficients, BigInteger factor) {
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = coefficients[i].multiply(factor);
+        }
+        return coefficients;
+    }
+
+    private static BigInteger[] trim(BigInteger[] coefficients) {
+        int length = coefficients.length;
+        while (length > 0 && coefficients[length - 1].signum() == 0) {
+            length--;
+        }
+        return length == coefficients.length ? coefficients : Arrays.copyOf(coefficients, length);
+    }
+
+    /*
+        Product of two arrays of integer coefficients
+     */
+    static BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return NO_COEFFICIENTS;
+        }
+        if (Math.min(a.length, b.length) < KARATSUBA_THRESHOLD) {
+            return schoolbook(a, b);
+        }
+        if (a.length >= 2 * b.length) {
+            return unbalanced(a, b);
+        }
+        if (b.length >= 2 * a.length) {
+            return unbalanced(b, a);
+        }
+        return karatsuba(a, b);
+    }
+
+    /*
+        Karatsuba splits both operands at half of the longer one, so a much shorter operand would be padded with zeros:
+        the longer operand is multiplied instead in blocks as long as the shorter one, and the partial products are added.
+     */
+    private static BigInteger[] unbalanced(BigInteger[] longer, BigInteger[] shorter) {
+        final BigInteger[] product = new BigInteger[longer.length + shorter.length - 1];
+        Arrays.fill(product, ZERO);
+        for (int offset = 0; offset < longer.length; offset += shorter.length) {
+            final BigInteger[] block = Arrays.copyOfRange(longer, offset, Math.min(offset + shorter.length, longer.length));
+            final BigInteger[] partial = multiply(block, shorter);
+            for (int i = 0; i < partial.length; i++) {
+                product[offset + i] = product[offset + i].add(partial[i]);
+            }
+        }
+        return product;
+    }
+
+    static BigInteger[] schoolbook(BigInteger[] a, BigInteger[] b) {
+        final BigInteger[] product = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(product, ZERO);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                product[i + j] = product[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return product;
+    }
+
+    /*
+        Let a = a0 + a1*x^h and b = b0 + b1*x^h, then a*b = z0 + z1*x^h + z2*x^2h, where
+            z0 = a0*b0,  z2 = a1*b1,  z1 = (a0+a1)*(b0+b1) - z0 - z2
+        i.e. three half-size products instead of four.
+     */
+    private static BigInteger[] karatsuba(BigInteger[] a, BigInteger[] b) {
+
+        ComputationBudget.current().checkDeadline();
+
+        final int half = Math.max(a.length, b.length) / 2;
+        final BigInteger[] a0 = Arrays.copyOfRange(a, 0, Math.min(half, a.length));
+        final BigInteger[] a1 = half < a.length ? Arrays.copyOfRange(a, half, a.length) : NO_COEFFICIENTS;
+        final BigInteger[] b0 = Arrays.copyOfRange(b, 0, Math.min(half, b.length));
+        final BigInteger[] b1 = half < b.length ? Arrays.copyOfRange(b, half, b.length) : NO_COEFFICIENTS;
+
+        final BigInteger[] z0 = multiply(a0, b0);
+        final BigInteger[] z2 = multiply(a1, b1);
+        final BigInteger[] z1 = multiply(sum(a0, a1), sum(b0, b1));
+
+        final BigInteger[] product = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(product, ZERO);
+        for (int i = 0; i < z1.length; i++) {
+            product[half + i] = product[half + i].add(z1[i]);
+        }
+        for (int i = 0; i < z0.length; i++) {
+            product[i] = product[i].add(z0[i]);
+            product[half + i] = product[half + i].subtract(z0[i]);
+        }
+        for (int i = 0; i < z2.length; i++) {
+            product[2 * half + i] = product[2 * half + i].add(z2[i]);
+            product[half + i] = product[half + i].subtract(z2[i]);
+        }
+        return product;
+    }
+
+    private static BigInteger[] sum(BigInteger[] a, BigInteger[] b) {
+        final BigInteger[] sum = new BigInteger[Math.max(a.length, b.length)];
+        for (int i = 0; i < sum.length; i++) {
+            final BigInteger ai = i < a.length ? a[i] : ZERO;
+            final BigInteger bi = i < b.length ? b[i] : ZERO;
+            sum[i] = ai.add(bi);
+        }
+        return sum;
+    }
+
+    /*
+        Removes the leading zeros and reduces numerators and denominator by their gcd. The array is reused if possible.
+     */
+    private static DensePolynomial normalize(BigInteger[] numerators, BigInteger denominator) {
+
+        int length = numerators.length;
+        while (length > 0 && numerators[length - 1].signum() == 0) {
+            length--;
+        }
+        if (length == 0) {
+            return ZERO_POLYNOMIAL;
+        }
+
+        BigInteger gcd = denominator;
+        for (int i = 0; i < length && !gcd.equals(ONE); i++) {
+            gcd = gcd.gcd(numerators[i]);
+        }
+        if (denominator.signum() < 0) {
+            gcd = gcd.negate();
+        }
+
+        final BigInteger[] normalized = length == numerators.length ? numerators : Arrays.copyOf(numerators, length);
+        if (!gcd.equals(ONE)) {
+            for (int i = 0; i < length; i++) {
+                normalized[i] = normalized[i].divide(gcd);
+            }
+            denominator = denominator.divide(gcd);
+        }
+        return new DensePolynomial(normalized, denominator);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DensePolynomial other = (DensePolynomial) o;
+        return denominator.equals(other.denominator) && Arrays.equals(numerators, other.numerators);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(numerators) + denominator.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = numerators.length - 1; i >= 0; i--) {
+            if (numerators[i].signum() != 0) {
+                builder.append(numerators[i].signum() < 0 ? "-" : builder.length() > 0 ? "+" : "");
+                final BigInteger coefficient = numerators[i].abs();
+                if (!coefficient.equals(ONE) || i == 0) {
+                    builder.append(coefficient);
+                }
+                if (i > 0) {
+                    builder.append(i > 1 ? "x^" + i : "x");
+                }
+            }
+        }
+        if (builder.length() == 0) {
+            builder.append('0');
+        }
+        return denominator.equals(ONE) ? builder.toString() : "(" + builder + ")/" + denominator;
+    }
+}
@@ -1,99 +1,93 @@
 package com.nemesis.mathcore.expressionsolver.models;
 
 
-import com.nemesis.mathcore.expressionsolver.exception.DisjointIntervalsException;
+import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.intervals.model.GenericInterval;
+import com.nemesis.mathcore.expressionsolver.intervals.model.IntervalSet;
 import com.nemesis.mathcore.expressionsolver.intervals.model.Union;
-import com.nemesis.mathcore.expressionsolver.intervals.utils.IntervalsUtils;
 
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Set;
 import java.util.TreeSet;
 
-// TODO: check variables (must be the same for all intervals)
-
-
+/*
+    Set of values where a function is defined, kept as an IntervalSet in normal form: union and intersection are linear
+    in the number of intervals and membership is a binary search.
+    A new domain has no constraints: the first intersection sets it, as well as the first union.
+ */
 public class Domain {
 
-    private final Union intervals = new Union(new TreeSet<>(new HashSet<>()));
+    // null until the first constraint
+    private IntervalSet intervals;
+
+    // Union view of the intervals, built on demand
+    private Union union;
 
     public Domain() {}
 
     public Domain(GenericInterval interval) {
-        this.intervals.add(interval);
+        this.intervals = IntervalSet.of(interval);
     }
 
     public Domain(Union intervals) {
-        this.intervals.addAll(intervals);
+        if (!intervals.isEmpty()) {
+            this.intervals = IntervalSet.of(intervals.getVariable(), intervals);
+        }
     }
 
     public Set<GenericInterval> getIntervals() {
-        return intervals;
+        if (union == null) {
+            union = intervals != null ? intervals.toUnion() : new Union(new TreeSet<>());
+        }
+        return union;
+    }
+
+    public boolean contains(Component c) {
+        return intervals == null || intervals.contains(c);
     }
 
     public void unionWith(GenericInterval interval) {
-        if (intervals.isEmpty()) {
-            intervals.add(interval);
-            return;
-        }
+        final IntervalSet other = IntervalSet.of(interval);
+        update(intervals == null ? other : intervals.union(other));
+    }
 
-        Set<GenericInterval> intervalsToAdd = new TreeSet<>();
-
-        for (Iterator<GenericInterval> iterator = this.intervals.iterator(); iterator.hasNext(); ) {
-            GenericInterval thisInterval = iterator.next();
-            if (IntervalsUtils.areDisjoint(thisInterval, interval)) {
-                intervalsToAdd.add(interval);
-            } else {
-                try {
-                    GenericInterval newInterval = IntervalsUtils.merge(thisInterval, interval);
-                    intervalsToAdd.add(newInterval);
-                } catch (DisjointIntervalsException e) {
-                    // should never happen
-                    throw new RuntimeException(e);
-                }
-                iterator.remove();
-            }
+    /*
+        Union and intersection with another domain merge the two IntervalSets: a domain without constraints is ignored
+     */
+    public void unionWith(Domain other) {
+        if (other.intervals != null) {
+            update(intervals == null ? other.intervals : intervals.union(other.intervals));
         }
-        intervals.addAll(intervalsToAdd);
     }
 
-    public void intersectWith(GenericInterval interval) {
-
-        if (intervals.isEmpty()) {
-            intervals.add(interval);
-            return;
+    public void intersectWith(Domain other) {
+        if (other.intervals != null) {
+            update(intervals == null ? other.intervals : intervals.intersect(other.intervals));
         }
+    }
 
-        Set<GenericInterval> intervalsToAdd = new TreeSet<>();
-
-        for (Iterator<GenericInterval> iterator = this.intervals.iterator(); iterator.hasNext(); ) {
-            GenericInterval thisInterval = iterator.next();
-            final GenericInterval newInterval;
-            if (!IntervalsUtils.areDisjoint(thisInterval, interval)) {
-                newInterval = IntervalsUtils.intersect(thisInterval, interval);
-                intervalsToAdd.add(newInterval);
-            }
-            iterator.remove();
-        }
-        intervals.addAll(intervalsToAdd);
+    public void intersectWith(GenericInterval interval) {
+        final IntervalSet other = IntervalSet.of(interval);
+        update(intervals == null ? other : intervals.intersect(other));
     }
 
+    /*
+        Intersection with a union of intervals: A ∩ (B1 ∪ B2 ∪ ...) = (A ∩ B1) ∪ (A ∩ B2) ∪ ...
+     */
     public void intersectWith(Set<GenericInterval> intervals) {
-        intervals.forEach(this::intersectWith);
+        final IntervalSet other = IntervalSet.of(this.intervals != null ? this.intervals.getVariable() : null, intervals);
+        update(this.intervals == null ? other : this.intervals.intersect(other));
+    }
+
+    private void update(IntervalSet intervals) {
+        this.intervals = intervals;
+        this.union = null;
     }
 
     public String toLatex() {
-        return intervals.toLatex();
+        return ((Union) getIntervals()).toLatex();
     }
 
     public String toString() {
-        return intervals.toString();
+        return getIntervals().toString();
     }
 }
-
-
-
-
-
-
@@ -60,7 +60,7 @@ public class Polynomial {
 
     private static Polynomial getPolynomial(Term term) {
         if (term.getOperator() == TermOperator.NONE) {
-            return getPolynomial(term.getFactor());    // Call this method again so that will be executed one of the other cases (see above)
+            return getPolynomial((Component) term.getFactor());    // Call this method again so that will be executed one of the other cases (see above)
         } else {
             final Monomial monomial = Monomial.getMonomial(term);
             if (monomial != null) {
@@ -124,6 +124,15 @@ public class Polynomial {
         this.monomials = monomials;
     }
 
+    /*
+        True if each literal part is a product of powers of variables, false for products of powers of polynomials (e.g. (x-1)^2)
+     */
+    public boolean isExpanded() {
+        return this.monomials.stream()
+                .flatMap(monomial -> monomial.getLiteralPart().stream())
+                .allMatch(exponential -> exponential.getBase() instanceof Variable);
+    }
+
     public Integer getDegree(Variable variable) {
         return this.monomials.stream()
                 .flatMap(monomial -> monomial.getLiteralPart().stream())
@@ -138,6 +147,15 @@ public class Polynomial {
 
     public Polynomial multiply(Polynomial other) {
 
+        // Polynomials with rational coefficients and integer exponents are multiplied without building any tree
+        final SparsePolynomial thisPolynomial = SparsePolynomial.of(this);
+        final SparsePolynomial otherPolynomial = thisPolynomial != null ? SparsePolynomial.of(other) : null;
+        if (otherPolynomial != null) {
+            final Polynomial polynomial = new Polynomial(new TreeSet<>(thisPolynomial.multiply(otherPolynomial).toMonomials()));
+            log.debug("Multiplied [{}] and [{}] with result [{}]", this, other, polynomial);
+            return polynomial;
+        }
+
         final SortedSet<Monomial> thisMonomials = this.getMonomials();
         final SortedSet<Monomial> otherMonomials = other.getMonomials();
 
@@ -0,0 +1,565 @@
+package com.nemesis.mathcore.expressionsolver.models;
+
+import com.nemesis.mathcore.expressionsolver.components.*;
+import com.nemesis.mathcore.expressionsolver.monomial.LiteralPart;
+import com.nemesis.mathcore.expressionsolver.monomial.Monomial;
+import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
+import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
+import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import com.nemesis.mathcore.utils.MathUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+
+/*
+    Immutable multivariate polynomial with rational coefficients: a map from the exponents of the variables to the
+    integer numerators of the non-zero coefficients, over a common denominator (normalized as in DensePolynomial).
+    It's the arithmetic behind Polynomial and PolynomialMultiplication: components are converted once, multiplied
+    here without building any intermediate tree, and converted back to monomials.
+    Products of univariate polynomials are computed on DensePolynomial, unless the result would be too sparse.
+ */
+public final class SparsePolynomial {
+
+    // Powers are expanded only up to this degree of the result (or this exponent, for scalar powers)
+    public static final int MAX_EXPANSION_DEGREE = 4096;
+
+    /*
+        Powers are expanded only if the result can't have more terms than this: beyond it the expanded form is longer
+        than the factored one, and much slower to convert back and simplify, e.g. (x+1)^100 has 101 terms
+     */
+    public static final int MAX_EXPANSION_TERMS = 32;
+
+    // Univariate products are computed as dense if the result has at least one term every DENSITY powers
+    private static final int DENSITY = 4;
+
+    private static final char[] NO_VARIABLES = new char[0];
+
+    public static final SparsePolynomial ZERO_POLYNOMIAL = new SparsePolynomial(NO_VARIABLES, Map.of(), ONE);
+    public static final SparsePolynomial ONE_POLYNOMIAL = new SparsePolynomial(NO_VARIABLES, Map.of(new Exponents(new int[0]), ONE), ONE);
+
+    // Names of the variables, sorted
+    private final char[] variables;
+    private final Map<Exponents, BigInteger> numerators;
+    private final BigInteger denominator;
+
+    private SparsePolynomial(char[] variables, Map<Exponents, BigInteger> numerators, BigInteger denominator) {
+        this.variables = variables;
+        this.numerators = numerators;
+        this.denominator = denominator;
+    }
+
+    public static SparsePolynomial constant(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Polynomial with zero denominator");
+        }
+        final Map<Exponents, BigInteger> numerators = new HashMap<>();
+        numerators.put(new Exponents(new int[0]), numerator);
+        return normalize(NO_VARIABLES, numerators, denominator);
+    }
+
+    public static SparsePolynomial variable(char name) {
+        return new SparsePolynomial(new char[]{name}, Map.of(new Exponents(new int[]{1}), ONE), ONE);
+    }
+
+    public static SparsePolynomial of(DensePolynomial polynomial, char variable) {
+        final Map<Exponents, BigInteger> numerators = new HashMap<>();
+        for (int degree = 0; degree <= polynomial.getDegree(); degree++) {
+            final BigInteger numerator = polynomial.getNumerator(degree);
+            if (numerator.signum() != 0) {
+                numerators.put(new Exponents(new int[]{degree}), numerator);
+            }
+        }
+        return normalize(new char[]{variable}, numerators, polynomial.getDenominator());
+    }
+
+    /*
+        Converts the component, returning null if it isn't a polynomial with rational coefficients
+        (integers or fractions of integers) and non-negative integer exponents, e.g. if it contains functions,
+        absolute values or variables at denominator.
+     */
+    public static SparsePolynomial of(Component component) {
+        if (component instanceof Expression expression) {
+            return of(expression, false);
+        }
+        if (component instanceof Term term) {
+            return of(term);
+        }
+        if (component instanceof Factor factor) {
+            return of(factor);
+        }
+        return null;
+    }
+
+    /*
+        Converts the polynomial, returning null if any of its monomials can't be converted (see above)
+     */
+    public static SparsePolynomial of(Polynomial polynomial) {
+        SparsePolynomial result = ZERO_POLYNOMIAL;
+        for (Monomial monomial : polynomial.getMonomials()) {
+            SparsePolynomial product = of(monomial.getCoefficient());
+            for (Exponential exponential : monomial.getLiteralPart()) {
+                if (product == null) {
+                    return null;
+                }
+                final SparsePolynomial factor = of(exponential);
+                product = factor != null ? product.multiply(factor) : null;
+            }
+            if (product == null) {
+                return null;
+            }
+            result = result.add(product);
+        }
+        return result;
+    }
+
+    /*
+        SUBTRACT changes the sign of the first term of the sub-expression only (as SumSimilarMonomials does)
+     */
+    private static SparsePolynomial of(Expression expression, boolean negateTerm) {
+        SparsePolynomial result = of(expression.getTerm());
+        if (result == null) {
+            return null;
+        }
+        if (negateTerm) {
+            result = result.negate();
+        }
+        if (expression.getOperator() != ExpressionOperator.NONE) {
+            final SparsePolynomial subExpression = of(expression.getSubExpression(), expression.getOperator() == ExpressionOperator.SUBTRACT);
+            return subExpression != null ? result.add(subExpression) : null;
+        }
+        return result;
+    }
+
+    private static SparsePolynomial of(Term term) {
+        final SparsePolynomial factor = of(term.getFactor());
+        if (factor == null) {
+            return null;
+        }
+        final Term subTerm = term.getSubTerm();
+        return switch (term.getOperator()) {
+            case NONE -> factor;
+            case MULTIPLY -> {
+                final SparsePolynomial subPolynomial = of(subTerm);
+                yield subPolynomial != null ? factor.multiply(subPolynomial) : null;
+            }
+            case DIVIDE -> {
+                // Only scalar divisors are allowed. As in Term.getValue, a/b/c is (a/b)/c
+                if (subTerm.getOperator() == TermOperator.DIVIDE) {
+                    final SparsePolynomial quotient = divide(factor, of(subTerm.getFactor()));
+                    yield quotient != null ? divide(quotient, of(subTerm.getSubTerm())) : null;
+                }
+                yield divide(factor, of(subTerm));
+            }
+        };
+    }
+
+    private static SparsePolynomial of(Factor factor) {
+
+        SparsePolynomial result;
+
+        if (factor instanceof Fraction fraction) {
+            result = divide(of(fraction.getNumerator()), of(fraction.getDenominator()));
+        } else if (factor.getClass() == Constant.class) {
+            // Decimal constants are left to the tree, since they may be approximations of irrational numbers (e.g. 'e')
+            final BigDecimal value = ((Constant) factor).getValue();
+            return ComponentUtils.isInteger(value) ? constant(value.toBigIntegerExact(), ONE) : null;    // The sign is already in the value
+        } else if (factor instanceof Variable variable) {
+            result = variable(variable.getName());
+        } else if (factor instanceof ParenthesizedExpression parExpression) {
+            result = of(parExpression.getExpression(), false);
+        } else if (factor instanceof Exponential exponential) {
+            result = power(exponential);
+        } else {
+            return null;
+        }
+
+        return result != null && factor.getSign() == MINUS ? result.negate() : result;
+    }
+
+    private static SparsePolynomial power(Exponential exponential) {
+
+        final Factor exponent = exponential.getExponent();
+        if (!exponent.isScalar() || !ComponentUtils.isInteger(exponent) || exponent.getValue().signum() < 0) {
+            return null;
+        }
+        final SparsePolynomial base = of(exponential.getBase());
+        if (base == null) {
+            return null;
+        }
+
+        final BigInteger exponentValue = exponent.getValue().toBigIntegerExact();
+        final int baseDegree = base.getTotalDegree();
+        if (baseDegree > 0 && exponentValue.compareTo(BigInteger.valueOf(MAX_EXPANSION_DEGREE / baseDegree)) > 0) {
+            return null;
+        }
+        if (baseDegree > 0 && !hasBoundedPower(base, exponentValue.intValueExact())) {
+            return null;
+        }
+        if (baseDegree <= 0 && exponentValue.compareTo(BigInteger.valueOf(MAX_EXPANSION_DEGREE)) > 0) {
+            // Scalar powers with large exponents are left to the scalar evaluation
+            return null;
+        }
+        return base.pow(exponentValue.intValueExact());
+    }
+
+    /*
+        Whether base^exponent has at most MAX_EXPANSION_TERMS terms. They are at most as many as the ways of choosing
+        exponent terms of the base with repetition, that is binomial(exponent + size - 1, size - 1), and, if the base
+        is univariate, at most degree * exponent + 1.
+     */
+    private static boolean hasBoundedPower(SparsePolynomial base, int exponent) {
+        if (base.variables.length == 1 && (long) base.getTotalDegree() * exponent + 1 <= MAX_EXPANSION_TERMS) {
+            return true;
+        }
+        final int k = base.size() - 1;
+        BigInteger combinations = ONE;
+        for (int i = 1; i <= k; i++) {
+            combinations = combinations.multiply(BigInteger.valueOf(exponent + i)).divide(BigInteger.valueOf(i));
+            if (combinations.compareTo(BigInteger.valueOf(MAX_EXPANSION_TERMS)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static SparsePolynomial divide(SparsePolynomial dividend, SparsePolynomial divisor) {
+        if (dividend == null || divisor == null || !divisor.isConstant() || divisor.isZero()) {
+            return null;
+        }
+        final BigInteger numerator = divisor.numerators.values().iterator().next();
+        return dividend.multiply(constant(divisor.denominator, numerator));
+    }
+
+    public boolean isZero() {
+        return numerators.isEmpty();
+    }
+
+    public boolean isConstant() {
+        return variables.length == 0;
+    }
+
+    /*
+        Names of the variables with positive degree, sorted
+     */
+    public char[] getVariables() {
+        return variables.clone();
+    }
+
+    public int getDegree(char variable) {
+        final int index = Arrays.binarySearch(variables, variable);
+        if (isZero()) {
+            return -1;
+        }
+        if (index < 0) {
+            return 0;
+        }
+        return numerators.keySet().stream().mapToInt(exponents -> exponents.values[index]).max().orElse(0);
+    }
+
+    /*
+        Highest sum of the exponents of a term, -1 for the zero polynomial
+     */
+    public int getTotalDegree() {
+        return numerators.keySet().stream().mapToInt(Exponents::sum).max().orElse(-1);
+    }
+
+    public int size() {
+        return numerators.size();
+    }
+
+    /*
+        The polynomial as univariate in the given variable. Throws IllegalStateException if it has other variables.
+     */
+    public DensePolynomial toDense(char variable) {
+        if (variables.length > 1 || (variables.length == 1 && variables[0] != variable)) {
+            throw new IllegalStateException("Polynomial [" + this + "] isn't univariate in [" + variable + "]");
+        }
+        final BigInteger[] dense = new BigInteger[Math.max(getTotalDegree() + 1, 0)];
+        Arrays.fill(dense, ZERO);
+        numerators.forEach((exponents, numerator) -> dense[exponents.sum()] = numerator);
+        return DensePolynomial.of(dense, denominator);
+    }
+
+    public SparsePolynomial negate() {
+        final Map<Exponents, BigInteger> negated = new HashMap<>(numerators.size() * 2);
+        numerators.forEach((exponents, numerator) -> negated.put(exponents, numerator.negate()));
+        return new SparsePolynomial(variables, negated, denominator);
+    }
+
+    public SparsePolynomial add(SparsePolynomial other) {
+        if (this.isZero()) {
+            return other;
+        }
+        if (other.isZero()) {
+            return this;
+        }
+        final char[] union = union(this.variables, other.variables);
+        final BigInteger gcd = this.denominator.gcd(other.denominator);
+        final BigInteger thisFactor = other.denominator.divide(gcd);
+        final BigInteger otherFactor = this.denominator.divide(gcd);
+
+        final Map<Exponents, BigInteger> sum = new HashMap<>((this.size() + other.size()) * 2);
+        this.forEachTerm(union, (exponents, numerator) -> sum.merge(exponents, numerator.multiply(thisFactor), BigInteger::add));
+        other.forEachTerm(union, (exponents, numerator) -> sum.merge(exponents, numerator.multiply(otherFactor), BigInteger::add));
+        return normalize(union, sum, this.denominator.multiply(thisFactor));
+    }
+
+    public SparsePolynomial subtract(SparsePolynomial other) {
+        return this.add(other.negate());
+    }
+
+    public SparsePolynomial multiply(SparsePolynomial other) {
+
+        if (this.isZero() || other.isZero()) {
+            return ZERO_POLYNOMIAL;
+        }
+
+        final ComputationBudget budget = ComputationBudget.current();
+        budget.checkDeadline();
+
+        final char[] union = union(this.variables, other.variables);
+        final BigInteger denominator = this.denominator.multiply(other.denominator);
+
+        final SparsePolynomial product;
+        final int degree = this.getTotalDegree() + other.getTotalDegree();
+        if (union.length == 1 && degree < (long) DENSITY * this.size() * other.size()) {
+            final char variable = union[0];
+            product = of(this.toDense(variable).multiply(other.toDense(variable)), variable);
+        } else {
+            final List<Map.Entry<Exponents, BigInteger>> otherTerms = new ArrayList<>(other.size());
+            other.forEachTerm(union, (exponents, numerator) -> otherTerms.add(Map.entry(exponents, numerator)));
+            final Map<Exponents, BigInteger> numerators = new HashMap<>(this.size() * other.size() * 2);
+            this.forEachTerm(union, (exponents, numerator) -> {
+                for (Map.Entry<Exponents, BigInteger> otherTerm : otherTerms) {
+                    numerators.merge(exponents.add(otherTerm.getKey()), numerator.multiply(otherTerm.getValue()), BigInteger::add);
+                }
+            });
+            product = normalize(union, numerators, denominator);
+        }
+
+        // Each term is at least one character of the rendered result
+        budget.checkTreeSize(product.size());
+        return product;
+    }
+
+    public SparsePolynomial pow(int exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Negative exponent [" + exponent + "]");
+        }
+        SparsePolynomial result = ONE_POLYNOMIAL;
+        SparsePolynomial square = this;
+        for (int e = exponent; e > 0; e >>= 1) {
+            if ((e & 1) == 1) {
+                result = result.multiply(square);
+            }
+            if (e > 1) {
+                square = square.multiply(square);
+            }
+        }
+        return result;
+    }
+
+    /*
+        Monomials of the polynomial, with integer (or, in fractional mode, fraction) coefficients and sorted as in Polynomial
+     */
+    public List<Monomial> toMonomials() {
+        final List<Monomial> monomials = new ArrayList<>(numerators.size());
+        numerators.forEach((exponents, numerator) -> {
+            final TreeSet<Exponential> exponentials = new TreeSet<>();
+            for (int i = 0; i < variables.length; i++) {
+                final int exponent = exponents.values[i];
+                if (exponent > 0) {
+                    final Variable variable = new Variable(variables[i]);
+                    exponentials.add(exponent == 1 ? Exponential.getExponential(variable) : new Exponential(variable, new Constant(exponent)));
+                }
+            }
+            monomials.add(new Monomial(toConstant(numerator, denominator), new LiteralPart(exponentials)));
+        });
+        Collections.sort(monomials);
+        return monomials;
+    }
+
+    /*
+        The polynomial as sum of monomials, "0" for the zero polynomial
+     */
+    public Expression toExpression() {
+        return ComponentUtils.monomialsToExpression(this.toMonomials().iterator());
+    }
+
+    private static Constant toConstant(BigInteger numerator, BigInteger denominator) {
+        // The common denominator may have factors in common with the numerator of a single coefficient
+        final BigInteger gcd = numerator.gcd(denominator);
+        if (gcd.equals(denominator)) {
+            return new Constant(numerator.divide(gcd));
+        }
+        if (MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL) {
+            return new Fraction(numerator.divide(gcd), denominator.divide(gcd));
+        }
+        return new Constant(MathUtils.divide(new BigDecimal(numerator), new BigDecimal(denominator)));
+    }
+
+    /*
+        Iterates over the terms, with the exponents extended to the given variables (a superset of the own ones)
+     */
+    private void forEachTerm(char[] variables, BiConsumer<Exponents, BigInteger> action) {
+        if (Arrays.equals(variables, this.variables)) {
+            numerators.forEach(action);
+            return;
+        }
+        final int[] positions = new int[this.variables.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = Arrays.binarySearch(variables, this.variables[i]);
+        }
+        numerators.forEach((exponents, numerator) -> {
+            final int[] values = new int[variables.length];
+            for (int i = 0; i < positions.length; i++) {
+                values[positions[i]] = exponents.values[i];
+            }
+            action.accept(new Exponents(values), numerator);
+        });
+    }
+
+    private static char[] union(char[] a, char[] b) {
+        if (Arrays.equals(a, b) || b.length == 0) {
+            return a;
+        }
+        if (a.length == 0) {
+            return b;
+        }
+        final TreeSet<Character> union = new TreeSet<>();
+        for (char c : a) {
+            union.add(c);
+        }
+        for (char c : b) {
+            union.add(c);
+        }
+        final char[] result = new char[union.size()];
+        int i = 0;
+        for (Character c : union) {
+            result[i++] = c;
+        }
+        return result;
+    }
+
+    /*
+        Removes the zero terms and the variables not appearing in any term, then reduces numerators and denominator by their gcd
+     */
+    private static SparsePolynomial normalize(char[] variables, Map<Exponents, BigInteger> numerators, BigInteger denominator) {
+
+        numerators.values().removeIf(numerator -> numerator.signum() == 0);
+        if (numerators.isEmpty()) {
+            return ZERO_POLYNOMIAL;
+        }
+
+        final boolean[] used = new boolean[variables.length];
+        int usedCount = 0;
+        for (Exponents exponents : numerators.keySet()) {
+            for (int i = 0; i < variables.length; i++) {
+                if (!used[i] && exponents.values[i] > 0) {
+                    used[i] = true;
+                    usedCount++;
+                }
+            }
+        }
+        Map<Exponents, BigInteger> result = numerators;
+        if (usedCount < variables.length) {
+            final char[] usedVariables = new char[usedCount];
+            final int[] positions = new int[usedCount];
+            for (int i = 0, j = 0; i < variables.length; i++) {
+                if (used[i]) {
+                    usedVariables[j] = variables[i];
+                    positions[j++] = i;
+                }
+            }
+            result = new HashMap<>(numerators.size() * 2);
+            for (Map.Entry<Exponents, BigInteger> term : numerators.entrySet()) {
+                final int[] values = new int[usedCount];
+                for (int j = 0; j < usedCount; j++) {
+                    values[j] = term.getKey().values[positions[j]];
+                }
+                result.put(new Exponents(values), term.getValue());
+            }
+            variables = usedVariables;
+        }
+
+        BigInteger gcd = denominator;
+        for (Iterator<BigInteger> iterator = result.values().iterator(); iterator.hasNext() && !gcd.equals(ONE); ) {
+            gcd = gcd.gcd(iterator.next());
+        }
+        if (denominator.signum() < 0) {
+            gcd = gcd.negate();
+        }
+        if (!gcd.equals(ONE)) {
+            final BigInteger divisor = gcd;
+            result.replaceAll((exponents, numerator) -> numerator.divide(divisor));
+            denominator = denominator.divide(divisor);
+        }
+        return new SparsePolynomial(variables, result, denominator);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SparsePolynomial other = (SparsePolynomial) o;
+        return Arrays.equals(variables, other.variables) && numerators.equals(other.numerators) && denominator.equals(other.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(variables), numerators, denominator);
+    }
+
+    @Override
+    public String toString() {
+        return this.toExpression().toString();
+    }
+
+    /*
+        Exponents of the variables of a term, in the order of the variables of the polynomial
+     */
+    private static final class Exponents {
+
+        private final int[] values;
+        private final int hash;
+
+        private Exponents(int[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        private Exponents add(Exponents other) {
+            final int[] sum = new int[values.length];
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] = values[i] + other.values[i];
+            }
+            return new Exponents(sum);
+        }
+
+        private int sum() {
+            int sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Exponents other && Arrays.equals(values, other.values));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -198,6 +198,15 @@ public class Monomial extends Component {
         return new Monomial(coefficient.getClone(), this.literalPart.getClone());
     }
 
+    @Override
+    public long structuralHash() {
+        long hash = combineHash(classHash(), structuralHashOf(coefficient));
+        for (Exponential exponential : literalPart) {
+            hash = combineHash(hash, exponential.structuralHash());
+        }
+        return hash;
+    }
+
     @Override
     public Domain getDomain(Variable variable) {
         throw new UnsupportedOperationException();
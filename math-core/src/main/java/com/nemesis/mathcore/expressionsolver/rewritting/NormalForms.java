@@ -0,0 +1,66 @@
+package com.nemesis.mathcore.expressionsolver.rewritting;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.utils.ComponentInterner;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+    Memo of the subtrees already brought to normal form during one simplification.
+    Rules are context free (their outcome depends only on the node they are applied to and on the context),
+    so a subtree structurally equal to one already normalized with the same context has the same normal form.
+    Keys and values are private snapshots: callers always receive a clone, because components are rewritten in place.
+    Many subtrees share the same normal form (e.g. x+x and 2x): normal forms are interned, so equal ones are stored once.
+    Not thread-safe: an instance is owned by a single top-level simplification.
+ */
+public class NormalForms {
+
+    private final MathCoreContext context;
+    private final Map<Component, Component> normalFormBySubtree = new HashMap<>();
+    private final ComponentInterner normalForms = new ComponentInterner();
+    private int hits = 0;
+
+    public NormalForms(MathCoreContext context) {
+        this.context = context;
+    }
+
+    public boolean isValidFor(MathCoreContext context) {
+        return this.context == context;
+    }
+
+    /*
+        Returns a copy of the normal form of the given subtree, or null if it hasn't been normalized yet
+     */
+    public Component lookup(Component subtree) {
+        final Component normalForm = normalFormBySubtree.get(subtree);
+        if (normalForm == null) {
+            return null;
+        }
+        hits++;
+        return normalForm.getClone();
+    }
+
+    /*
+        The subtree must be a snapshot taken before the rewriting started
+     */
+    public void record(Component subtreeSnapshot, Component normalForm) {
+        normalFormBySubtree.put(subtreeSnapshot, normalForms.intern(normalForm));
+    }
+
+    public int size() {
+        return normalFormBySubtree.size();
+    }
+
+    /*
+        Number of distinct normal forms: the subtrees normalized to the same form share it
+     */
+    public int distinctNormalForms() {
+        return normalForms.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+}
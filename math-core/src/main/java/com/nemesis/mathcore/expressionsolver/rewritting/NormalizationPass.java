@@ -0,0 +1,136 @@
+package com.nemesis.mathcore.expressionsolver.rewritting;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+    Bottom-up rewriting of a tree with the rules of a simplification, which remembers the subtrees each rule already
+    left untouched: since rules are context free, the following passes of the rule skip them as long as they keep
+    the same structure.
+    Rules rewrite components in place, so each mark holds the structural hash of the subtree when it was marked:
+    a simplification that reaches a fixpoint after skipping some subtrees must confirm it without marks
+    (see forgetNormalizedSubtrees), so that a hash collision is never taken for a fixpoint.
+    It's a Rule so that the traversal is the one of Component#rewrite, which offers each child to rewriteSubtree.
+    Not thread-safe: an instance is owned by a single simplification, across all its iterations.
+ */
+public final class NormalizationPass implements Rule {
+
+    private final List<Rule> rules;
+
+    // Dispatch table: for each concrete component type, the indexes of the rules that can match it (see Rules#rulesFor)
+    private final Map<Class<? extends Component>, BitSet> rulesByComponentType = new HashMap<>();
+
+    // Subtrees left untouched by some rules, with their structural hash when they were marked
+    private final Map<Component, Mark> normalizedSubtrees = new IdentityHashMap<>();
+
+    private Rule rule;
+    private int ruleIndex;
+    private int skippedSubtrees = 0;
+
+    public NormalizationPass(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /*
+        Applies the rule to the tree bottom-up, skipping the subtrees it already left untouched
+     */
+    public Component rewrite(Rule rule, Component tree) {
+        this.ruleIndex = rules.indexOf(rule);
+        if (ruleIndex < 0) {
+            throw new IllegalArgumentException("Rule " + rule.getClass().getSimpleName() + " is not part of the simplification");
+        }
+        this.rule = rule;
+        try {
+            return rewriteSubtree(tree);
+        } finally {
+            this.rule = null;
+        }
+    }
+
+    /*
+        Number of subtrees skipped so far because they were marked as normalized
+     */
+    public int getSkippedSubtrees() {
+        return skippedSubtrees;
+    }
+
+    public void forgetNormalizedSubtrees() {
+        normalizedSubtrees.clear();
+    }
+
+    @Override
+    public Component rewriteSubtree(Component subtree) {
+        final Mark mark = normalizedSubtrees.get(subtree);
+        final long hash = subtree.structuralHash();
+        if (mark != null && mark.hash == hash && mark.rules.get(ruleIndex)) {
+            skippedSubtrees++;
+            return subtree;
+        }
+
+        // Rules often return an equal copy of the subtree: the copy is marked in its place
+        final Component result = subtree.rewrite(this);
+        if (result.structuralHash() == hash) {
+            normalizedSubtrees.computeIfAbsent(result, component -> new Mark(hash)).add(hash, ruleIndex);
+        }
+        return result;
+    }
+
+    /*
+        Applies the rule to a node whose children have already been rewritten, if the rule can match the node type
+     */
+    @Override
+    public Component applyTo(Component node) {
+        final BitSet nodeRules = rulesByComponentType.computeIfAbsent(node.getClass(), this::ruleIndexes);
+        return nodeRules.get(ruleIndex) ? rule.applyTo(node) : node;
+    }
+
+    private BitSet ruleIndexes(Class<? extends Component> componentType) {
+        final BitSet indexes = new BitSet(rules.size());
+        for (Rule matchingRule : Rules.rulesFor(componentType, rules)) {
+            indexes.set(rules.indexOf(matchingRule));
+        }
+        return indexes;
+    }
+
+    @Override
+    public Predicate<Component> precondition() {
+        return rule.precondition();
+    }
+
+    @Override
+    public Function<Component, ? extends Component> transformer() {
+        return rule.transformer();
+    }
+
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return rule.componentTypes();
+    }
+
+    private static class Mark {
+        private long hash;
+        // Indexes of the rules that left the subtree untouched
+        private final BitSet rules = new BitSet();
+
+        private Mark(long hash) {
+            this.hash = hash;
+        }
+
+        private void add(long hash, int ruleIndex) {
+            if (this.hash != hash) {
+                // The subtree changed in place since it was marked: the previous marks are stale
+                this.hash = hash;
+                rules.clear();
+            }
+            rules.set(ruleIndex);
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.nemesis.mathcore.expressionsolver.rewritting;
 
 import com.nemesis.mathcore.expressionsolver.components.Component;
-import com.nemesis.mathcore.expressionsolver.components.Term;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -15,15 +15,35 @@ public interface Rule {
 
     Function<Component, ? extends Component> transformer();
 
+    /*
+        Component types this rule can match: nodes of other types are never offered to the rule (see Rules#rulesFor).
+        The precondition is still evaluated on the nodes of the declared types.
+     */
+    default Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Component.class);
+    }
+
+    /*
+        Called by Component#rewrite on each child of the node, before applying the rule to the node itself.
+        By default the rule is applied to the whole subtree; a rule can override it to skip subtrees (see NormalizationPass).
+     */
+    default Component rewriteSubtree(Component subtree) {
+        return subtree.rewrite(this);
+    }
+
     default Component applyTo(Component component) {
+        if (!this.precondition().test(component)) {
+            return component;
+        }
         Logger log = LoggerFactory.getLogger(this.getClass());
-        Predicate<Component> condition = this.precondition();
-        if (condition.test(component)) {
-            Component originalComponent = component.getClone();
-            component = this.transformer().apply(component);
-            if (!Objects.equals(originalComponent, component)) {
-                log.debug("Applied rule [{}] to expression [{}], result: [{}]", this.getClass().getSimpleName(), originalComponent, component);
-            }
+        if (!log.isDebugEnabled()) {
+            return this.transformer().apply(component);
+        }
+        // The transformer may modify the component in place: keep a copy only to log the difference
+        Component originalComponent = component.getClone();
+        component = this.transformer().apply(component);
+        if (!Objects.equals(originalComponent, component)) {
+            log.debug("Applied rule [{}] to expression [{}], result: [{}]", this.getClass().getSimpleName(), originalComponent, component);
         }
         return component;
     }
@@ -0,0 +1,16 @@
+package com.nemesis.mathcore.expressionsolver.rewritting;
+
+/*
+    Notified of each pass of a rule over a tree being simplified, e.g. to measure the cost of the rules.
+    Listeners are called by the simplifying thread and must be thread-safe if shared by concurrent simplifications.
+ */
+@FunctionalInterface
+public interface RuleListener {
+
+    // Default listener: rules are not timed at all
+    RuleListener NONE = (rule, elapsedNanos, changed) -> {
+    };
+
+    void onRewrite(Rule rule, long elapsedNanos, boolean changed);
+
+}
@@ -1,14 +1,21 @@
 package com.nemesis.mathcore.expressionsolver.rewritting;
 
+import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.rewritting.rules.*;
 
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Rules {
 
     public static final Collection<Rule> rules = new LinkedList<>();
 
+    // Dispatch table of the default set: for each concrete component type, the rules that can match it (filled on first use)
+    private static final Map<Class<? extends Component>, List<Rule>> rulesByComponentType = new ConcurrentHashMap<>();
+
     static {
         rules.add(new NestingParenthesizedExpressionCompactor());
         rules.add(new ExponentialSimplifier());
@@ -25,4 +32,22 @@ public class Rules {
         rules.add(new FractionSimplifier());
         rules.add(new SimplifyRationalFunction());
     }
+
+    /*
+        Rules of the default set that can match the given component type, in application order
+     */
+    public static List<Rule> rulesFor(Class<? extends Component> componentType) {
+        return rulesByComponentType.computeIfAbsent(componentType, type -> rulesFor(type, rules));
+    }
+
+    /*
+        Rules of the given set that can match the given component type, in application order
+     */
+    public static List<Rule> rulesFor(Class<? extends Component> componentType, Collection<Rule> ruleSet) {
+        return ruleSet.stream().filter(rule -> matches(rule, componentType)).toList();
+    }
+
+    private static boolean matches(Rule rule, Class<? extends Component> componentType) {
+        return rule.componentTypes().stream().anyMatch(type -> type.isAssignableFrom(componentType));
+    }
 }
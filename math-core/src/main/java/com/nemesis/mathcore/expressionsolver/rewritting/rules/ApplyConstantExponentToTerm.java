@@ -6,6 +6,7 @@ import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -30,6 +31,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.*;
 */
 public class ApplyConstantExponentToTerm implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Exponential.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return component -> {
@@ -8,6 +8,7 @@ import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -15,6 +16,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
 import static com.nemesis.mathcore.expressionsolver.operators.Sign.PLUS;
 
 public class ApplyMinusSign implements Rule {
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(ParenthesizedExpression.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return ParenthesizedExpression.class::isInstance;
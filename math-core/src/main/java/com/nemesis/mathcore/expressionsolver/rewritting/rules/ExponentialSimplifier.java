@@ -7,12 +7,18 @@ import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 
 import java.math.BigDecimal;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.MULTIPLY;
 
 public class ExponentialSimplifier implements Rule {
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Exponential.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return Exponential.class::isInstance;
@@ -2,18 +2,25 @@ package com.nemesis.mathcore.expressionsolver.rewritting.rules;
 
 import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.components.Constant;
+import com.nemesis.mathcore.expressionsolver.components.Expression;
 import com.nemesis.mathcore.expressionsolver.components.Factor;
 import com.nemesis.mathcore.expressionsolver.components.Fraction;
+import com.nemesis.mathcore.expressionsolver.components.ParenthesizedExpression;
+import com.nemesis.mathcore.expressionsolver.components.Term;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
-import com.nemesis.mathcore.utils.MathUtils;
+import com.nemesis.mathcore.utils.Rational;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class FractionSimplifier implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Fraction.class, ParenthesizedExpression.class, Expression.class, Term.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return component -> {
@@ -28,14 +35,13 @@ public class FractionSimplifier implements Rule {
         return component -> {
             Fraction f = Factor.getFactorOfSubtype(component, Fraction.class);
             assert f != null; // See precondition
-            BigDecimal numeratorValue = f.getNumerator().getValue();
-            BigDecimal denominatorValue = f.getDenominator().getValue();
-            if (MathUtils.isIntegerValue(numeratorValue) && MathUtils.isIntegerValue(denominatorValue)) {
-                BigInteger intNumerator = numeratorValue.toBigIntegerExact();
-                BigInteger intDenominator = denominatorValue.toBigIntegerExact();
-                BigInteger gcd = intNumerator.gcd(intDenominator);
-                f.setNumerator(new Constant(intNumerator.divide(gcd)));
-                f.setDenominator(new Constant(intDenominator.divide(gcd)));
+            final Rational numeratorValue = f.getNumerator().getRationalValue();
+            final Rational denominatorValue = f.getDenominator().getRationalValue();
+            if (numeratorValue != null && denominatorValue != null && denominatorValue.signum() != 0) {
+                // Also decimal terms are reduced, e.g. 0.5/3 is 1/6
+                final Rational value = numeratorValue.divide(denominatorValue);
+                f.setNumerator(new Constant(value.getNumerator()));
+                f.setDenominator(new Constant(value.getDenominator()));
             }
             return f;
         };
@@ -9,6 +9,7 @@ import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.expressionsolver.utils.FactorSignInverter;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -18,6 +19,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.NONE;
 
 public class LeftDistributiveProperty implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Term.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return component -> {
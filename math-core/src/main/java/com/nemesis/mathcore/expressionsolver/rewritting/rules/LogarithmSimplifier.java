@@ -5,12 +5,18 @@ import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 
 import java.math.BigDecimal;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.MULTIPLY;
 
 public class LogarithmSimplifier implements Rule {
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Logarithm.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return Logarithm.class::isInstance;
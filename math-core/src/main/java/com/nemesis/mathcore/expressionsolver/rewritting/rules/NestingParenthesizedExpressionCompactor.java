@@ -6,6 +6,7 @@ import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
 import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -14,6 +15,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.Sign.PLUS;
 
 public class NestingParenthesizedExpressionCompactor implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(ParenthesizedExpression.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return component -> {
@@ -3,9 +3,11 @@ package com.nemesis.mathcore.expressionsolver.rewritting.rules;
 
 import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.components.Expression;
+import com.nemesis.mathcore.expressionsolver.components.Factor;
 import com.nemesis.mathcore.expressionsolver.components.Term;
 import com.nemesis.mathcore.expressionsolver.exception.IncompatibleMonomialsException;
 import com.nemesis.mathcore.expressionsolver.models.Polynomial;
+import com.nemesis.mathcore.expressionsolver.models.SparsePolynomial;
 import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
@@ -13,12 +15,18 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 
 public class PolynomialMultiplication implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Term.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return Term.class::isInstance;
@@ -30,7 +38,17 @@ public class PolynomialMultiplication implements Rule {
 
             Term term = (Term) component;
 
-            final Pair<LinkedList<Polynomial>, Term> polynomialsAndSubTerm = this.toPolynomials(term);
+            // Fast path: all the factors are polynomials with rational coefficients and integer exponents
+            final Pair<LinkedList<SparsePolynomial>, Term> sparsePolynomialsAndSubTerm = toPolynomials(term, SparsePolynomial::of);
+            if (sparsePolynomialsAndSubTerm != null) {
+                if (sparsePolynomialsAndSubTerm.getLeft().size() <= 1) {
+                    return component;
+                }
+                final SparsePolynomial result = sparsePolynomialsAndSubTerm.getLeft().stream().reduce(SparsePolynomial.ONE_POLYNOMIAL, SparsePolynomial::multiply);
+                return withSubTerm(result.toExpression(), sparsePolynomialsAndSubTerm.getRight());
+            }
+
+            final Pair<LinkedList<Polynomial>, Term> polynomialsAndSubTerm = toPolynomials(term, Polynomial::getPolynomial);
 
             // Component does not contain only polynomial (except optional subTerm)
             if (polynomialsAndSubTerm == null) {
@@ -55,26 +73,29 @@ public class PolynomialMultiplication implements Rule {
             }
 
             final Expression product = ComponentUtils.monomialsToExpression(result.getMonomials().iterator());
-
-            if (subTerm == null) {
-                return product;
-            } else {
-                return new Term(product, TermOperator.DIVIDE, subTerm);
-            }
+            return withSubTerm(product, subTerm);
         };
     }
 
-    private Pair<LinkedList<Polynomial>, Term> toPolynomials(Term term) {
+    private static Component withSubTerm(Expression product, Term subTerm) {
+        if (subTerm == null) {
+            return product;
+        } else {
+            return new Term(product, TermOperator.DIVIDE, subTerm);
+        }
+    }
+
+    private static <P> Pair<LinkedList<P>, Term> toPolynomials(Term term, Function<Factor, P> converter) {
         final Term subTerm = term.getSubTerm();
-        Pair<LinkedList<Polynomial>, Term> factorsAndSubTerm = switch (term.getOperator()) {
-            case MULTIPLY -> this.toPolynomials(subTerm);
+        Pair<LinkedList<P>, Term> factorsAndSubTerm = switch (term.getOperator()) {
+            case MULTIPLY -> toPolynomials(subTerm, converter);
             case NONE -> Pair.of(new LinkedList<>(), null);
             case DIVIDE -> Pair.of(new LinkedList<>(), subTerm);
         };
         if (factorsAndSubTerm == null) {
             return null;
         }
-        final Polynomial polynomial = Polynomial.getPolynomial(term.getFactor());
+        final P polynomial = converter.apply(term.getFactor());
         if (polynomial == null) {
             return null;
         }
@@ -6,6 +6,7 @@ import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.expressionsolver.utils.FactorSignInverter;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -15,6 +16,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.NONE;
 
 public class RightDistributiveProperty implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Term.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return component -> {
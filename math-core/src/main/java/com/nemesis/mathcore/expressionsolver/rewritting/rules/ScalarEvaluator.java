@@ -4,6 +4,8 @@ import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.components.Constant;
 import com.nemesis.mathcore.expressionsolver.components.ConstantFunction;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import com.nemesis.mathcore.utils.Rational;
 
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -17,6 +19,13 @@ public class ScalarEvaluator implements Rule {
     @Override
     public Function<Component, Component> transformer() {
         return component -> {
+            // In fractional mode rational values are computed exactly, without wrapping the component in a ConstantFunction
+            if (MathCoreContext.getNumericMode() == MathCoreContext.Mode.FRACTIONAL && (!(component instanceof Constant) || component instanceof ConstantFunction)) {
+                final Rational rationalValue = component.getRationalValue();
+                if (rationalValue != null) {
+                    return Constant.getConstant(rationalValue);
+                }
+            }
             final Constant valueAsConstant = component.getValueAsConstant();
             if (valueAsConstant instanceof ConstantFunction function && function.getComponent() == component) {
                 return component; // if no scalar evaluation was possible, function.getComponent() is exactly the same component given as input
@@ -6,6 +6,7 @@ import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.FactorSignInverter;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
@@ -14,6 +15,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.NONE;
 
 public class SignTermSimplifier implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Term.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return component -> {
@@ -2,12 +2,16 @@ package com.nemesis.mathcore.expressionsolver.rewritting.rules;
 
 
 import com.nemesis.mathcore.expressionsolver.components.*;
+import com.nemesis.mathcore.expressionsolver.models.DensePolynomial;
 import com.nemesis.mathcore.expressionsolver.models.RationalFunction;
+import com.nemesis.mathcore.expressionsolver.models.SparsePolynomial;
 import com.nemesis.mathcore.expressionsolver.operators.TermOperator;
 import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
 import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 
+import java.math.BigInteger;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
@@ -17,14 +21,20 @@ import java.util.stream.Collectors;
 
 import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.NONE;
 import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.DIVIDE;
+import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.MULTIPLY;
 import static java.math.BigDecimal.ONE;
 
 public class SimplifyRationalFunction implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Term.class, Expression.class, ParenthesizedExpression.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return c ->
-                (c instanceof Term term && canApply(term) ||
+                (c instanceof Term term && (canApply(term) || isPolynomialQuotient(term)) ||
                         (c instanceof Expression expression) && canApply(expression.getTerm()) ||
                         (c instanceof ParenthesizedExpression parenthesizedExpression) && canApply(parenthesizedExpression.getTerm())
                 );
@@ -36,6 +46,15 @@ public class SimplifyRationalFunction implements Rule {
                 && term.getOperator() == DIVIDE;
     }
 
+    /*
+        Cheap check for a quotient that may be reduced as polynomials (see reducePolynomialQuotient)
+     */
+    private static boolean isPolynomialQuotient(Term term) {
+        return term.getOperator() == DIVIDE
+                && term.getSubTerm().getOperator() != DIVIDE
+                && !term.getSubTerm().isScalar();
+    }
+
     @Override
     public Function<Component, ? extends Component> transformer() {
 
@@ -43,6 +62,17 @@ public class SimplifyRationalFunction implements Rule {
 
             final Term term = Term.getTerm(component);
 
+            if (component instanceof Term && isPolynomialQuotient(term)) {
+                final Component reduced = reducePolynomialQuotient(term);
+                if (reduced != null) {
+                    return reduced;
+                }
+            }
+
+            if (!canApply(term)) {
+                return component;
+            }
+
             final Set<Factor> originalNumeratorFactors = getFactors(((ParenthesizedExpression) term.getFactor()).getTerm());
             final Set<Factor> originalDenominatorFactors = getFactors(term.getSubTerm());
 
@@ -67,6 +97,70 @@ public class SimplifyRationalFunction implements Rule {
         };
     }
 
+    /*
+        If numerator and denominator are polynomials in the same variable, divides both by their gcd and scales them to
+        integer coefficients without common factors (with positive highest coefficient of the denominator),
+        e.g. (x^2-1)/(2x-2) -> (x+1)/2 and 2/(4x^2) -> 1/(2x^2).
+        If the reduced denominator is a power of a single polynomial, as in derivatives of quotients, it's kept as a power.
+        Returns null if the quotient isn't a polynomial one or if it's already in lowest terms.
+     */
+    private static Component reducePolynomialQuotient(Term term) {
+
+        final SparsePolynomial numerator = SparsePolynomial.of(term.getFactor());
+        final SparsePolynomial denominator = numerator != null ? SparsePolynomial.of(term.getSubTerm()) : null;
+        if (denominator == null || denominator.getVariables().length != 1) {
+            return null;
+        }
+        final char variable = denominator.getVariables()[0];
+        final char[] numeratorVariables = numerator.getVariables();
+        if (numeratorVariables.length > 1 || (numeratorVariables.length == 1 && numeratorVariables[0] != variable)) {
+            return null;
+        }
+
+        final DensePolynomial denseNumerator = numerator.toDense(variable);
+        final DensePolynomial denseDenominator = denominator.toDense(variable);
+        final DensePolynomial gcd = denseNumerator.gcd(denseDenominator);
+        final DensePolynomial reducedNumerator = denseNumerator.divide(gcd);
+        final DensePolynomial reducedDenominator = denseDenominator.divide(gcd);
+
+        // Scales both to integer coefficients without common factors: if their contents are cn and cd with cn/cd = p/q,
+        // multiplying by q/cd leaves p and q as contents
+        final DensePolynomial contentsRatio = reducedNumerator.content().divide(reducedDenominator.content());
+        DensePolynomial scale = DensePolynomial.constant(contentsRatio.getDenominator(), BigInteger.ONE).divide(reducedDenominator.content());
+        if (reducedDenominator.getNumerator(reducedDenominator.getDegree()).signum() < 0) {
+            scale = scale.negate();
+        }
+        final DensePolynomial newNumerator = reducedNumerator.multiply(scale);
+        final DensePolynomial newDenominator = reducedDenominator.multiply(scale);
+
+        // Just moving the sign isn't a simplification
+        if (gcd.equals(DensePolynomial.ONE_POLYNOMIAL) && (scale.equals(DensePolynomial.ONE_POLYNOMIAL) || scale.negate().equals(DensePolynomial.ONE_POLYNOMIAL))) {
+            return null;
+        }
+        if (newDenominator.getDegree() == 0) {
+            return SparsePolynomial.of(newNumerator.divide(newDenominator), variable).toExpression();
+        }
+        return new Term(SparsePolynomial.of(newNumerator, variable).toExpression(), DIVIDE, toTerm(newDenominator, variable));
+    }
+
+    /*
+        The polynomial, that has coprime integer coefficients, as c*f^k if it's a constant multiple of a power of a
+        polynomial f
+     */
+    private static Term toTerm(DensePolynomial polynomial, char variable) {
+        final List<DensePolynomial> squareFreeFactors = polynomial.squareFreeFactorization();
+        final int multiplicity = squareFreeFactors.size();
+        if (multiplicity > 1 && squareFreeFactors.stream().limit(multiplicity - 1).allMatch(DensePolynomial.ONE_POLYNOMIAL::equals)) {
+            final Expression factor = SparsePolynomial.of(squareFreeFactors.get(multiplicity - 1).primitivePart(), variable).toExpression();
+            final Base base = Factor.getFactor(factor) instanceof Base b ? b : new ParenthesizedExpression(factor);
+            final Exponential power = new Exponential(base, new Constant(multiplicity));
+            // By Gauss's lemma the constant is the content of the polynomial
+            final BigInteger content = polynomial.content().getNumerator(0);
+            return content.equals(BigInteger.ONE) ? new Term(power) : new Term(new Constant(content), MULTIPLY, new Term(power));
+        }
+        return Term.getTerm(SparsePolynomial.of(polynomial, variable).toExpression());
+    }
+
     /*
        See case DIVIDE in method 'getFactors'
     */
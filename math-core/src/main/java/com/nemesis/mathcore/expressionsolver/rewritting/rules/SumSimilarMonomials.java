@@ -11,6 +11,7 @@ import com.nemesis.mathcore.expressionsolver.utils.FactorSignInverter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -18,6 +19,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator
 
 public class SumSimilarMonomials implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Expression.class, WrappedExpression.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return c -> (c instanceof Expression || c instanceof WrappedExpression);
@@ -12,6 +12,7 @@ import com.nemesis.mathcore.expressionsolver.utils.FactorMultiplier;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -20,6 +21,11 @@ import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.*;
 
 public class TermSimplifier implements Rule {
 
+    @Override
+    public Set<Class<? extends Component>> componentTypes() {
+        return Set.of(Term.class);
+    }
+
     @Override
     public Predicate<Component> precondition() {
         return Term.class::isInstance;
@@ -0,0 +1,50 @@
+package com.nemesis.mathcore.expressionsolver.utils;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    Interning table for component trees, keyed by structural hash and confirmed with structural equals.
+    Interned instances are private snapshots shared by every caller: they must be treated as read-only.
+    Not thread-safe: an instance is meant to live inside a single evaluation (e.g. the normal forms of a simplification, see NormalForms).
+ */
+public class ComponentInterner {
+
+    private final Map<Long, List<Component>> componentsByHash = new HashMap<>();
+
+    /*
+        Returns the interned instance structurally equal to the given component, interning a snapshot of it if none exists
+     */
+    public Component intern(Component component) {
+        return intern(component, component.structuralHash());
+    }
+
+    public Component intern(Component component, long structuralHash) {
+        final List<Component> candidates = componentsByHash.computeIfAbsent(structuralHash, h -> new ArrayList<>(1));
+        for (Component candidate : candidates) {
+            if (candidate.equals(component)) {
+                return candidate;
+            }
+        }
+        final Component snapshot = component.getClone();
+        candidates.add(snapshot);
+        return snapshot;
+    }
+
+    public boolean contains(Component component) {
+        return contains(component, component.structuralHash());
+    }
+
+    public boolean contains(Component component, long structuralHash) {
+        final List<Component> candidates = componentsByHash.get(structuralHash);
+        return candidates != null && candidates.stream().anyMatch(candidate -> candidate.equals(component));
+    }
+
+    public int size() {
+        return componentsByHash.values().stream().mapToInt(List::size).sum();
+    }
+}
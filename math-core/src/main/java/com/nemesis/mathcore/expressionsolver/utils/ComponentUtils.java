@@ -213,6 +213,12 @@ public class ComponentUtils {
 
 
     private static Constant getProduct(Constant a, Constant b) {
+        // Multiplying by one keeps e and π as they are rather than as their decimal approximations
+        if (a.getValue().compareTo(ONE) == 0) {
+            return b.getClone();
+        } else if (b.getValue().compareTo(ONE) == 0) {
+            return a.getClone();
+        }
         return new Constant(a.getValue().multiply(b.getValue()));
     }
 
@@ -289,7 +295,9 @@ public class ComponentUtils {
         }
 
         similarMonomialsGroups.forEach((exponentialSet, similarMonomials) -> {
-            Monomial sum = similarMonomials.stream().reduce(Monomial.getZero(exponentialSet), monomialAccumulator);
+            // Reduced from the first monomial rather than from a zero with a cloned literal part: clones of exponentials with
+            // nested expressions may compare as different from the original, then the sum wouldn't find them similar
+            Monomial sum = similarMonomials.stream().reduce(monomialAccumulator).orElseThrow();
             heterogeneousMonomials.add(sum);
         });
 
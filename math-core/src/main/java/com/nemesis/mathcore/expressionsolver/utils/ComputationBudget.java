@@ -0,0 +1,79 @@
+package com.nemesis.mathcore.expressionsolver.utils;
+
+import com.nemesis.mathcore.expressionsolver.exception.ComputationAbortedException;
+import com.nemesis.mathcore.expressionsolver.exception.ComputationAbortedException.Reason;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.time.Duration;
+
+/*
+    Limits of a computation, carried by its MathCoreContext and checked cooperatively by the long-running loops
+    (simplification, series expansions, parsing), which throw ComputationAbortedException when a limit is exceeded.
+    The deadline is an instant: a budget with a timeout is meant for a single request, and is created when the request starts.
+    The size of a tree is measured by the length of its rendered form, which the simplification already computes.
+    An interrupted thread aborts its computation at the next check, as if its deadline had expired.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ComputationBudget {
+
+    public static final ComputationBudget UNLIMITED = new ComputationBudget(false, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final boolean deadlineSet;
+    private final long deadline; // System.nanoTime() at which the computation expires, if deadlineSet
+    // Iterations of the rewrite loop, summed over the nested simplifications of a simplify() call
+    @With
+    private final int maxRewriteIterations;
+    @With
+    private final int maxTreeSize;
+    // Digits of the numbers computed by the elementary functions, working digits included
+    @With
+    private final int maxPrecision;
+
+    public static ComputationBudget current() {
+        return MathCoreContext.current().getBudget();
+    }
+
+    /*
+        Budget expiring after the given time from now
+     */
+    public ComputationBudget withTimeout(Duration timeout) {
+        return new ComputationBudget(true, System.nanoTime() + timeout.toNanos(), maxRewriteIterations, maxTreeSize, maxPrecision);
+    }
+
+    public void checkDeadline() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ComputationAbortedException(Reason.CANCELLED, "Computation cancelled");
+        }
+        if (deadlineSet && System.nanoTime() - deadline > 0) {
+            throw new ComputationAbortedException(Reason.TIMEOUT, "Computation timed out");
+        }
+    }
+
+    public void checkRewriteIterations(int iterations) {
+        if (iterations > maxRewriteIterations) {
+            throw new ComputationAbortedException(Reason.REWRITE_ITERATIONS, "Simplification exceeded [" + maxRewriteIterations + "] rewrite iterations");
+        }
+    }
+
+    public void checkTreeSize(int size) {
+        if (size > maxTreeSize) {
+            throw new ComputationAbortedException(Reason.TREE_SIZE, "Expression exceeded the maximum size of [" + maxTreeSize + "] characters");
+        }
+    }
+
+    public void checkPrecision(int precision) {
+        if (precision > maxPrecision) {
+            throw new ComputationAbortedException(Reason.PRECISION, "Computation exceeded the maximum precision of [" + maxPrecision + "] digits");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ComputationBudget[" + (deadlineSet ? "remaining=" + Duration.ofNanos(deadline - System.nanoTime()) + ", " : "")
+                + "maxRewriteIterations=" + maxRewriteIterations + ", maxTreeSize=" + maxTreeSize + ", maxPrecision=" + maxPrecision + "]";
+    }
+}
@@ -41,7 +41,13 @@ public class FactorMultiplier {
 
     static {
         multiplierByType.put(Constant.class, constants -> {
-            BinaryOperator<Factor> constantMultiplier = (c1, c2) -> new Constant(MathUtils.multiply(c1.getValue(), c2.getValue()));
+            // The identity is skipped, so that a single e or π is kept as it is rather than as its decimal approximation
+            BinaryOperator<Factor> constantMultiplier = (c1, c2) -> {
+                if (c1.getValue().compareTo(ONE) == 0) {
+                    return c2.getClone();
+                }
+                return new Constant(MathUtils.multiply(c1.getValue(), c2.getValue()));
+            };
             Constant identity = new Constant(ONE);
             return constants.stream().reduce(identity, constantMultiplier);
         });
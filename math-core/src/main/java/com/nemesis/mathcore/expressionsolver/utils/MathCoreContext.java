@@ -1,23 +1,93 @@
 package com.nemesis.mathcore.expressionsolver.utils;
 
+import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
+import com.nemesis.mathcore.expressionsolver.rewritting.RuleListener;
+import com.nemesis.mathcore.expressionsolver.rewritting.Rules;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.MathContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+    Immutable evaluation settings (numeric mode, precision, rule set, computation budget, listener of the rules).
+    A context is bound to the current thread only for the duration of a call (see call(Supplier)),
+    so concurrent evaluations with different settings never see each other's values.
+ */
 @Slf4j
-public class MathCoreContext {
+@Getter
+@With
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MathCoreContext {
+
+    public static final MathCoreContext DEFAULT = new MathCoreContext(Mode.DECIMAL, Constants.MATH_CONTEXT, Constants.SCALE, List.copyOf(Rules.rules), ComputationBudget.UNLIMITED, RuleListener.NONE);
+
+    private static final ThreadLocal<MathCoreContext> boundContext = new ThreadLocal<>();
 
-    private static Mode numericMode = Mode.DECIMAL;
+    private final Mode mode;
+    private final MathContext mathContext;
+    private final int scale;
+    private final Collection<Rule> rules;
+    private final ComputationBudget budget;
+    private final RuleListener ruleListener;
 
     public enum Mode {
         FRACTIONAL,
         DECIMAL
     }
 
+    public static MathCoreContext of(Mode mode) {
+        return DEFAULT.withMode(mode);
+    }
+
+    public static MathCoreContext current() {
+        final MathCoreContext context = boundContext.get();
+        return context != null ? context : DEFAULT;
+    }
+
+    /*
+        Runs the given action with this context bound to the current thread, then restores the previous one.
+        Nested calls with the same context are allowed.
+     */
+    public <T> T call(Supplier<T> action) {
+        final MathCoreContext previous = boundContext.get();
+        if (previous == this) {
+            return action.get();
+        }
+        boundContext.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                boundContext.remove();
+            } else {
+                boundContext.set(previous);
+            }
+        }
+    }
+
     public static Mode getNumericMode() {
-        return numericMode;
+        return current().getMode();
     }
 
+    /*
+        Kept for compatibility: binds a new context to the current thread until the next call, so the mode leaks into
+        every later evaluation on the same (possibly pooled) thread.
+        Use MathCoreContext.of(mode) with call(Supplier) or the context-aware overloads of ExpressionParser and ExpressionUtils.
+     */
+    @Deprecated
     public static void setNumericMode(Mode numericMode) {
-        log.info("\nSetting mode to [" + numericMode.name() + "]");
-        MathCoreContext.numericMode = numericMode;
+        log.info("\nSetting mode to [" + numericMode.name() + "] for thread [" + Thread.currentThread().getName() + "]");
+        boundContext.set(current().withMode(numericMode));
+    }
+
+    @Override
+    public String toString() {
+        return "MathCoreContext[mode=" + mode + ", mathContext=" + mathContext + ", scale=" + scale + ", rules=" + rules.size() + ", budget=" + budget + "]";
     }
 }
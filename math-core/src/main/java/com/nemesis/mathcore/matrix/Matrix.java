@@ -33,9 +33,9 @@ public class Matrix {
 
     Matrix(Component[][] data, int row_offset, int column_offset, int rows, int columns) {
         this.data = new Component[rows][columns];
-        for (int i = row_offset; i < rows; i++) {
-            for (int j = column_offset; j < columns; j++) {
-                this.data[i][j] = data[i][j].getClone();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                this.data[i][j] = data[row_offset + i][column_offset + j].getClone();
             }
         }
     }
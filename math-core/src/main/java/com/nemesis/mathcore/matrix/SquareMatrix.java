@@ -3,6 +3,7 @@ package com.nemesis.mathcore.matrix;
 
 import com.nemesis.mathcore.expressionsolver.components.Component;
 import com.nemesis.mathcore.expressionsolver.components.Term;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -94,8 +95,9 @@ public class SquareMatrix extends Matrix {
 
         Map<Integer, Matrix> matrices = new ConcurrentHashMap<>();
 
+        final MathCoreContext context = MathCoreContext.current();
         new ArrayList<>(matrixSuppliers.entrySet()).parallelStream().forEach(
-                entry -> matrices.put(entry.getKey(), entry.getValue().get())
+                entry -> matrices.put(entry.getKey(), context.call(entry.getValue()))
         );
 
         Matrix c11 = matrices.get(1).add(matrices.get(4)).subtract(matrices.get(5)).add(matrices.get(7));
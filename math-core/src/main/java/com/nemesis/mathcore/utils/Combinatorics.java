@@ -0,0 +1,165 @@
+package com.nemesis.mathcore.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+
+/*
+    Factorials, binomial coefficients and Bernoulli numbers, computed exactly and memoized.
+    Factorials up to CACHED_FACTORIALS and Bernoulli numbers up to the highest requested index are kept in tables
+    that grow on demand: reads are lock-free on the published table, growth is serialized.
+    Factorials beyond the table are the last cached one times the remaining range, multiplied by binary splitting.
+ */
+public class Combinatorics {
+
+    private static final int CACHED_FACTORIALS = 4096;
+    private static final int MIN_FACTORIALS_GROWTH = 64;
+
+    private static volatile BigInteger[] factorials = {BigInteger.ONE, BigInteger.ONE};
+
+    // Bernoulli numbers, with B(1) = -1/2
+    private static volatile Rational[] bernoulliNumbers = {Rational.ONE};
+
+    // n!
+    public static BigInteger factorial(int n) {
+
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial must be a positive integer");
+        }
+
+        BigInteger[] table = factorials;
+        if (n < table.length) {
+            return table[n];
+        }
+        if (n < CACHED_FACTORIALS) {
+            table = growFactorials(n);
+            return table[n];
+        }
+
+        table = growFactorials(CACHED_FACTORIALS - 1);
+        return table[CACHED_FACTORIALS - 1].multiply(product(CACHED_FACTORIALS, n));
+    }
+
+    /*
+        n!/(k!(n-k)!) by the multiplicative formula: (n-k+1)(n-k+2)...n / k!, with k ≤ n-k
+     */
+    public static BigInteger binomial(int n, int k) {
+
+        if (n < 0) {
+            throw new IllegalArgumentException("Binomial coefficient requires n ≥ 0");
+        }
+        if (k < 0 || k > n) {
+            return BigInteger.ZERO;
+        }
+
+        k = Math.min(k, n - k);
+        if (k == 0) {
+            return BigInteger.ONE;
+        }
+
+        return product(n - k + 1, n).divide(factorial(k));
+    }
+
+    /*
+        Bernoulli number B(m) (with B(1) = -1/2) rounded to the given MathContext
+     */
+    public static BigDecimal bernoulliNumber(int m, MathContext mc) {
+        return bernoulliFraction(m).toBigDecimal(mc);
+    }
+
+    public static BigInteger bernoulliNumerator(int m) {
+        return bernoulliFraction(m).getNumerator();
+    }
+
+    public static BigInteger bernoulliDenominator(int m) {
+        return bernoulliFraction(m).getDenominator();
+    }
+
+    private static Rational bernoulliFraction(int m) {
+
+        if (m < 0) {
+            throw new IllegalArgumentException("Input must be positive");
+        }
+
+        Rational[] table = bernoulliNumbers;
+        if (m >= table.length) {
+            table = growBernoulliNumbers(m);
+        }
+        return table[m];
+    }
+
+    private static synchronized BigInteger[] growFactorials(int n) {
+
+        BigInteger[] table = factorials;
+        if (n < table.length) {
+            return table;
+        }
+
+        // Grow geometrically, so that scanning n = 1, 2, 3, ... copies the table a logarithmic number of times
+        final int length = Math.min(CACHED_FACTORIALS, Math.max(n + 1, Math.max(table.length * 2, MIN_FACTORIALS_GROWTH)));
+        final BigInteger[] grown = Arrays.copyOf(table, length);
+        for (int i = table.length; i < length; i++) {
+            grown[i] = grown[i - 1].multiply(BigInteger.valueOf(i));
+        }
+
+        factorials = grown;
+        return grown;
+    }
+
+    /*
+        B(m) = -1/(m+1) * Σ_{j=0}^{m-1} C(m+1, j) B(j), on exact fractions. Odd indexes greater than 1 are zero.
+     */
+    private static synchronized Rational[] growBernoulliNumbers(int m) {
+
+        Rational[] table = bernoulliNumbers;
+        if (m < table.length) {
+            return table;
+        }
+
+        final Rational[] grown = Arrays.copyOf(table, m + 1);
+        for (int i = table.length; i <= m; i++) {
+            if (i > 1 && i % 2 == 1) {
+                grown[i] = Rational.ZERO;
+                continue;
+            }
+            Rational sum = Rational.ZERO;
+            for (int j = 0; j < i; j++) {
+                if (grown[j].signum() != 0) {
+                    sum = sum.add(grown[j].multiply(Rational.of(binomial(i + 1, j))));
+                }
+            }
+            grown[i] = sum.divide(Rational.of(-(i + 1)));
+        }
+
+        bernoulliNumbers = grown;
+        return grown;
+    }
+
+    /*
+        from * (from+1) * ... * to, by binary splitting: the operands of each multiplication have similar sizes
+     */
+    private static BigInteger product(int from, int to) {
+
+        if (from > to) {
+            return BigInteger.ONE;
+        }
+
+        final int length = to - from + 1;
+        if (length <= 16) {
+            long partial = 1;
+            BigInteger result = BigInteger.ONE;
+            for (int i = from; i <= to; i++) {
+                if (Long.MAX_VALUE / i < partial) {
+                    result = result.multiply(BigInteger.valueOf(partial));
+                    partial = 1;
+                }
+                partial *= i;
+            }
+            return result.multiply(BigInteger.valueOf(partial));
+        }
+
+        final int middle = from + length / 2;
+        return product(from, middle - 1).multiply(product(middle, to));
+    }
+}
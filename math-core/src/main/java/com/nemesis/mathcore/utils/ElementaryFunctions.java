@@ -0,0 +1,501 @@
+package com.nemesis.mathcore.utils;
+
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.ZERO;
+
+/*
+    Elementary functions computed to the precision of the given MathContext (up to a few units in the last digit).
+    Arguments are reduced before summing the series (powers of ten and two for exp and ln, multiples of π/2 for sin and cos)
+    and each term of a series is computed from the previous one.
+    The constants π, e, ln(2) and ln(10) are computed by binary splitting and cached at the highest precision requested so far.
+ */
+public class ElementaryFunctions {
+
+    private static final int GUARD_DIGITS = 10;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigInteger CHUDNOVSKY_C3_OVER_24 = BigInteger.valueOf(640320).pow(3).divide(BigInteger.valueOf(24));
+
+    private static final CachedConstant PI = new CachedConstant(ElementaryFunctions::computePi);
+    private static final CachedConstant E = new CachedConstant(ElementaryFunctions::computeE);
+    private static final CachedConstant LN2 = new CachedConstant(ElementaryFunctions::computeLn2);
+    private static final CachedConstant LN10 = new CachedConstant(ElementaryFunctions::computeLn10);
+
+    public static BigDecimal pi(MathContext mc) {
+        return pi(precisionOf(mc)).round(mc);
+    }
+
+    public static BigDecimal e(MathContext mc) {
+        return E.get(precisionOf(mc)).round(mc);
+    }
+
+    public static BigDecimal ln2(MathContext mc) {
+        return ln2(precisionOf(mc)).round(mc);
+    }
+
+    // ⅇ^x
+    public static BigDecimal exp(BigDecimal x, MathContext mc) {
+
+        final int precision = precisionOf(mc);
+        if (x.signum() == 0) {
+            return ONE.round(mc);
+        }
+
+        // x = k*ln(10) + r, with |r| ≤ ln(10)/2, so that e^x = e^r * 10^k
+        final double kEstimate = Math.rint(x.doubleValue() / Math.log(10));
+        if (Math.abs(kEstimate) > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Exponent is too large: " + x);
+        }
+        final int k = (int) kEstimate;
+
+        // e^r = (e^(r/2^s))^2^s: the series converges faster on the halved argument, each squaring loses a few bits
+        final int halvings = (int) Math.sqrt(precision) / 2;
+        final MathContext wmc = new MathContext(precision + GUARD_DIGITS + halvings / 3, RoundingMode.HALF_EVEN);
+
+        BigDecimal r = x;
+        if (k != 0) {
+            final BigDecimal ln10 = ln10(wmc.getPrecision() + integerDigits(x));
+            r = x.subtract(ln10.multiply(BigDecimal.valueOf(k)), wmc);
+        }
+        r = r.divide(TWO.pow(halvings), wmc);
+
+        // Σ r^n/n!, on fixed point numbers: r is small, so all the terms are below 1
+        final int scale = wmc.getPrecision();
+        r = r.setScale(scale, RoundingMode.HALF_EVEN);
+        BigDecimal sum = ONE;
+        BigDecimal term = ONE;
+        int n = 1;
+        final ComputationBudget budget = ComputationBudget.current();
+        do {
+            budget.checkDeadline();
+            term = term.multiply(r).divide(BigDecimal.valueOf(n++), scale, RoundingMode.HALF_EVEN);
+            sum = sum.add(term);
+        } while (term.signum() != 0);
+
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum).setScale(scale, RoundingMode.HALF_EVEN);
+        }
+
+        return sum.scaleByPowerOfTen(k).round(mc);
+    }
+
+    public static BigDecimal ln(BigDecimal x, MathContext mc) {
+
+        final int precision = precisionOf(mc);
+        if (x.signum() <= 0) {
+            throw new IllegalArgumentException("x ≤ 0");
+        }
+        if (x.compareTo(ONE) == 0) {
+            return ZERO;
+        }
+
+        final MathContext wmc = new MathContext(precision + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+
+        /*
+            x = m * 10^j * 2^i, with m in [0.7, 1.5], so that ln(x) = ln(m) + j*ln(10) + i*ln(2).
+            Near 1 the argument is left as is, as the reduction would subtract close values.
+         */
+        BigDecimal m = x;
+        int j = 0;
+        int i = 0;
+        if (x.compareTo(BigDecimal.valueOf(0.5)) < 0 || x.compareTo(TWO) > 0) {
+            j = magnitude(x) - 1;
+            m = x.scaleByPowerOfTen(-j);
+            i = (int) Math.round(Math.log(m.doubleValue()) / Math.log(2));
+            m = m.divide(TWO.pow(i));
+        }
+
+        // ln(m) = 2^s * ln(m^(1/2^s)): square roots bring the argument closer to 1, where the series converges faster
+        final int squareRoots = (int) Math.sqrt(precision) / 4;
+        for (int s = 0; s < squareRoots; s++) {
+            m = m.sqrt(wmc);
+        }
+
+        // ln(m) = 2*artanh(z), with z = (m-1)/(m+1)
+        final BigDecimal z = m.subtract(ONE).divide(m.add(ONE), wmc);
+        BigDecimal result = artanhSeries(z, wmc).multiply(TWO.pow(squareRoots + 1), wmc);
+
+        if (j != 0) {
+            result = result.add(ln10(wmc.getPrecision() + integerDigits(BigDecimal.valueOf(j))).multiply(BigDecimal.valueOf(j)), wmc);
+        }
+        if (i != 0) {
+            result = result.add(ln2(wmc.getPrecision()).multiply(BigDecimal.valueOf(i)), wmc);
+        }
+
+        return result.round(mc);
+    }
+
+    public static BigDecimal sin(BigDecimal x, MathContext mc) {
+        final ReducedAngle angle = ReducedAngle.of(x, precisionOf(mc));
+        final BigDecimal result = switch (angle.quadrant) {
+            case 0 -> sinSeries(angle.remainder, angle.mathContext);
+            case 1 -> cosSeries(angle.remainder, angle.mathContext);
+            case 2 -> sinSeries(angle.remainder, angle.mathContext).negate();
+            default -> cosSeries(angle.remainder, angle.mathContext).negate();
+        };
+        return result.round(mc);
+    }
+
+    public static BigDecimal cos(BigDecimal x, MathContext mc) {
+        final ReducedAngle angle = ReducedAngle.of(x, precisionOf(mc));
+        final BigDecimal result = switch (angle.quadrant) {
+            case 0 -> cosSeries(angle.remainder, angle.mathContext);
+            case 1 -> sinSeries(angle.remainder, angle.mathContext).negate();
+            case 2 -> cosSeries(angle.remainder, angle.mathContext).negate();
+            default -> sinSeries(angle.remainder, angle.mathContext);
+        };
+        return result.round(mc);
+    }
+
+    public static BigDecimal tan(BigDecimal x, MathContext mc) {
+        final ReducedAngle angle = ReducedAngle.of(x, precisionOf(mc));
+        final BigDecimal sin = sinSeries(angle.remainder, angle.mathContext);
+        final BigDecimal cos = cosSeries(angle.remainder, angle.mathContext);
+        if (angle.quadrant % 2 == 0 && sin.signum() == 0) {
+            return ZERO;
+        }
+        // tan has period π: in odd quadrants tan(r + π/2) = -cos(r)/sin(r)
+        final BigDecimal result = angle.quadrant % 2 == 0 ? sin.divide(cos, angle.mathContext) : cos.divide(sin, angle.mathContext).negate();
+        return result.round(mc);
+    }
+
+    /*
+        Hyperbolic functions take one evaluation of exp each. Close to 0 the differences of exponentials cancel
+        the leading digits, which are recovered working with as many more digits.
+     */
+
+    public static BigDecimal sinh(BigDecimal x, MathContext mc) {
+        final MathContext wmc = cancellationContext(mc, x);
+        final BigDecimal expX = exp(x, wmc);
+        return expX.subtract(ONE.divide(expX, wmc), wmc).divide(TWO, mc);
+    }
+
+    public static BigDecimal cosh(BigDecimal x, MathContext mc) {
+        final MathContext wmc = new MathContext(precisionOf(mc) + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        final BigDecimal expX = exp(x, wmc);
+        return expX.add(ONE.divide(expX, wmc), wmc).divide(TWO, mc);
+    }
+
+    // (e^2x - 1)/(e^2x + 1)
+    public static BigDecimal tanh(BigDecimal x, MathContext mc) {
+        final MathContext wmc = cancellationContext(mc, x);
+        final BigDecimal exp2X = exp(x.multiply(TWO), wmc);
+        return exp2X.subtract(ONE, wmc).divide(exp2X.add(ONE, wmc), mc);
+    }
+
+    // ln(x + √(x^2+1)), on |x| so that the sum doesn't cancel
+    public static BigDecimal arsinh(BigDecimal x, MathContext mc) {
+        if (x.signum() == 0) {
+            return ZERO;
+        }
+        final MathContext wmc = cancellationContext(mc, x);
+        final BigDecimal absX = x.abs();
+        final BigDecimal result = ln(absX.add(absX.multiply(absX).add(ONE).sqrt(wmc)), wmc);
+        return (x.signum() < 0 ? result.negate() : result).round(mc);
+    }
+
+    // ln(x + √(x^2-1)), for x ≥ 1
+    public static BigDecimal arcosh(BigDecimal x, MathContext mc) {
+        if (x.compareTo(ONE) < 0) {
+            throw new IllegalArgumentException("x < 1");
+        }
+        final MathContext wmc = cancellationContext(mc, x.subtract(ONE));
+        return ln(x.add(x.multiply(x).subtract(ONE).sqrt(wmc)), wmc).round(mc);
+    }
+
+    // ln((1+x)/(1-x))/2, for |x| < 1
+    public static BigDecimal artanh(BigDecimal x, MathContext mc) {
+        if (x.abs().compareTo(ONE) >= 0) {
+            throw new IllegalArgumentException("|x| ≥ 1");
+        }
+        final MathContext wmc = new MathContext(precisionOf(mc) + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        if (x.abs().compareTo(BigDecimal.valueOf(0.5)) <= 0) {
+            return artanhSeries(x, wmc).round(mc);
+        }
+        return ln(ONE.add(x).divide(ONE.subtract(x), wmc), wmc).divide(TWO, mc);
+    }
+
+    /*
+        Series are summed on fixed point numbers, with the scale giving the requested precision on the result
+     */
+
+    // Σ (-1)^n r^(2n+1)/(2n+1)!, for |r| ≤ π/4
+    private static BigDecimal sinSeries(BigDecimal r, MathContext mc) {
+        if (r.signum() == 0) {
+            return ZERO;
+        }
+        final int scale = mc.getPrecision() - magnitude(r);
+        final BigDecimal rSquared = r.multiply(r).setScale(scale, RoundingMode.HALF_EVEN);
+        BigDecimal sum = r.setScale(scale, RoundingMode.HALF_EVEN);
+        BigDecimal term = sum;
+        int n = 1;
+        final ComputationBudget budget = ComputationBudget.current();
+        do {
+            budget.checkDeadline();
+            term = term.multiply(rSquared).divide(BigDecimal.valueOf((long) (2 * n) * (2 * n + 1)), scale, RoundingMode.HALF_EVEN).negate();
+            sum = sum.add(term);
+            n++;
+        } while (term.signum() != 0);
+        return sum;
+    }
+
+    // Σ (-1)^n r^(2n)/(2n)!, for |r| ≤ π/4
+    private static BigDecimal cosSeries(BigDecimal r, MathContext mc) {
+        final int scale = mc.getPrecision();
+        final BigDecimal rSquared = r.multiply(r).setScale(scale, RoundingMode.HALF_EVEN);
+        BigDecimal sum = ONE;
+        BigDecimal term = ONE;
+        int n = 1;
+        final ComputationBudget budget = ComputationBudget.current();
+        do {
+            budget.checkDeadline();
+            term = term.multiply(rSquared).divide(BigDecimal.valueOf((long) (2 * n - 1) * (2 * n)), scale, RoundingMode.HALF_EVEN).negate();
+            sum = sum.add(term);
+            n++;
+        } while (term.signum() != 0);
+        return sum;
+    }
+
+    // Σ z^(2n+1)/(2n+1), for |z| < 1
+    private static BigDecimal artanhSeries(BigDecimal z, MathContext mc) {
+        if (z.signum() == 0) {
+            return ZERO;
+        }
+        final int scale = mc.getPrecision() - magnitude(z);
+        final BigDecimal zSquared = z.multiply(z).setScale(scale, RoundingMode.HALF_EVEN);
+        BigDecimal power = z.setScale(scale, RoundingMode.HALF_EVEN);
+        BigDecimal sum = power;
+        BigDecimal term;
+        int n = 1;
+        final ComputationBudget budget = ComputationBudget.current();
+        do {
+            budget.checkDeadline();
+            power = power.multiply(zSquared).setScale(scale, RoundingMode.HALF_EVEN);
+            term = power.divide(BigDecimal.valueOf(2L * n + 1), scale, RoundingMode.HALF_EVEN);
+            sum = sum.add(term);
+            n++;
+        } while (term.signum() != 0);
+        return sum;
+    }
+
+    private static BigDecimal pi(int precision) {
+        return PI.get(precision);
+    }
+
+    private static BigDecimal ln2(int precision) {
+        return LN2.get(precision);
+    }
+
+    private static BigDecimal ln10(int precision) {
+        return LN10.get(precision);
+    }
+
+    /*
+        Constant cached at the highest precision computed so far (plus the guard digits): smaller precisions are obtained
+        by rounding it, so the cache holds a single value however many precisions are requested
+     */
+    private static final class CachedConstant {
+
+        private final IntFunction<BigDecimal> calculator;
+        private final AtomicReference<Cached> cached = new AtomicReference<>();
+
+        private CachedConstant(IntFunction<BigDecimal> calculator) {
+            this.calculator = calculator;
+        }
+
+        private BigDecimal get(int precision) {
+            ComputationBudget.current().checkPrecision(precision);
+            final int workingPrecision = precision + GUARD_DIGITS;
+            Cached current = cached.get();
+            if (current == null || current.precision < workingPrecision) {
+                final Cached computed = new Cached(workingPrecision, calculator.apply(workingPrecision));
+                // Another thread may have stored a more precise value in the meantime
+                current = cached.accumulateAndGet(computed, (stored, candidate) -> stored == null || stored.precision < candidate.precision ? candidate : stored);
+            }
+            return current.value.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+        }
+
+        private record Cached(int precision, BigDecimal value) {
+        }
+    }
+
+    /*
+        Chudnovsky series: 1/π = 12 Σ (-1)^k (6k)! (545140134k + 13591409) / ((3k)! (k!)^3 640320^(3k+3/2)).
+        Each term adds about 14 digits.
+     */
+    private static BigDecimal computePi(int precision) {
+        final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+        final ChudnovskySplit split = ChudnovskySplit.of(0, precision / 14 + 2);
+        final BigDecimal sqrt10005 = BigDecimal.valueOf(10005).sqrt(mc);
+        return new BigDecimal(split.q.multiply(BigInteger.valueOf(426880))).multiply(sqrt10005, mc).divide(new BigDecimal(split.t), mc);
+    }
+
+    // e = Σ 1/n!
+    private static BigDecimal computeE(int precision) {
+        final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+        int terms = 1;
+        double log10Factorial = 0;
+        while (log10Factorial <= precision) {
+            log10Factorial += Math.log10(++terms);
+        }
+        final Split split = Split.of(0, terms + 1, n -> n == 0 ? BigInteger.ONE : BigInteger.valueOf(n), n -> BigInteger.ONE);
+        return new BigDecimal(split.t).divide(new BigDecimal(split.q), mc);
+    }
+
+    // ln(2) = 18*artanh(1/26) - 2*artanh(1/4801) + 8*artanh(1/8749)
+    private static BigDecimal computeLn2(int precision) {
+        final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+        return inverseArtanh(26, mc).multiply(BigDecimal.valueOf(18))
+                .subtract(inverseArtanh(4801, mc).multiply(TWO))
+                .add(inverseArtanh(8749, mc).multiply(BigDecimal.valueOf(8)), mc);
+    }
+
+    // ln(10) = 3*ln(2) + ln(5/4) = 3*ln(2) + 2*artanh(1/9)
+    private static BigDecimal computeLn10(int precision) {
+        final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+        return computeLn2(precision).multiply(BigDecimal.valueOf(3)).add(inverseArtanh(9, mc).multiply(TWO), mc);
+    }
+
+    // artanh(1/k) = Σ 1/((2n+1) k^(2n+1))
+    private static BigDecimal inverseArtanh(int k, MathContext mc) {
+        final BigInteger kSquared = BigInteger.valueOf(k).pow(2);
+        final int terms = (int) (mc.getPrecision() / (2 * Math.log10(k))) + 2;
+        final Split split = Split.of(0, terms, n -> n == 0 ? BigInteger.ONE : kSquared, n -> BigInteger.valueOf(2L * n + 1));
+        return new BigDecimal(split.t).divide(new BigDecimal(split.b.multiply(split.q).multiply(BigInteger.valueOf(k))), mc);
+    }
+
+    private static int precisionOf(MathContext mc) {
+        if (mc.getPrecision() == 0) {
+            throw new IllegalArgumentException("Unlimited precision is not supported");
+        }
+        ComputationBudget.current().checkPrecision(mc.getPrecision());
+        return mc.getPrecision();
+    }
+
+    /*
+        Working precision for differences of values close to 1 + x: the leading digits of x cancel when x is small
+     */
+    private static MathContext cancellationContext(MathContext mc, BigDecimal x) {
+        final int lostDigits = x.signum() == 0 ? 0 : Math.max(0, -magnitude(x));
+        return new MathContext(precisionOf(mc) + GUARD_DIGITS + lostDigits, RoundingMode.HALF_EVEN);
+    }
+
+    private static int integerDigits(BigDecimal x) {
+        return Math.max(0, magnitude(x));
+    }
+
+    // Position of the first significant digit: 1 for 1.5, 0 for 0.5, -2 for 0.005
+    private static int magnitude(BigDecimal x) {
+        return x.precision() - x.scale();
+    }
+
+    /*
+        Binary splitting of Σ 1/b(n) * 1/(q(0)*...*q(n)) over [from, to): the sum is t/(b*q).
+        Products are built on integers of balanced size, so the sum costs a few big multiplications instead of one division per term.
+     */
+    private static class Split {
+
+        private final BigInteger q;
+        private final BigInteger b;
+        private final BigInteger t;
+
+        private Split(BigInteger q, BigInteger b, BigInteger t) {
+            this.q = q;
+            this.b = b;
+            this.t = t;
+        }
+
+        private static Split of(int from, int to, IntFunction<BigInteger> q, IntFunction<BigInteger> b) {
+            if (to - from == 1) {
+                return new Split(q.apply(from), b.apply(from), BigInteger.ONE);
+            }
+            final int middle = (from + to) >>> 1;
+            final Split left = of(from, middle, q, b);
+            final Split right = of(middle, to, q, b);
+            return new Split(
+                    left.q.multiply(right.q),
+                    left.b.multiply(right.b),
+                    right.b.multiply(right.q).multiply(left.t).add(left.b.multiply(right.t))
+            );
+        }
+    }
+
+    private static class ChudnovskySplit {
+
+        private final BigInteger p;
+        private final BigInteger q;
+        private final BigInteger t;
+
+        private ChudnovskySplit(BigInteger p, BigInteger q, BigInteger t) {
+            this.p = p;
+            this.q = q;
+            this.t = t;
+        }
+
+        private static ChudnovskySplit of(int from, int to) {
+            if (to - from == 1) {
+                final BigInteger p;
+                final BigInteger q;
+                if (from == 0) {
+                    p = BigInteger.ONE;
+                    q = BigInteger.ONE;
+                } else {
+                    final long k = from;
+                    p = BigInteger.valueOf(6 * k - 5).multiply(BigInteger.valueOf(2 * k - 1)).multiply(BigInteger.valueOf(6 * k - 1));
+                    q = BigInteger.valueOf(k).pow(3).multiply(CHUDNOVSKY_C3_OVER_24);
+                }
+                final BigInteger t = p.multiply(BigInteger.valueOf(13591409 + 545140134L * from));
+                return new ChudnovskySplit(p, q, from % 2 == 0 ? t : t.negate());
+            }
+            final int middle = (from + to) >>> 1;
+            final ChudnovskySplit left = of(from, middle);
+            final ChudnovskySplit right = of(middle, to);
+            return new ChudnovskySplit(
+                    left.p.multiply(right.p),
+                    left.q.multiply(right.q),
+                    left.t.multiply(right.q).add(left.p.multiply(right.t))
+            );
+        }
+    }
+
+    /*
+        x = k*π/2 + r, with |r| ≤ π/4: the quadrant is k mod 4.
+        π is taken with enough digits to keep the precision of r when x is large or close to a multiple of π/2.
+     */
+    private static class ReducedAngle {
+
+        private final BigDecimal remainder;
+        private final int quadrant;
+        private final MathContext mathContext;
+
+        private ReducedAngle(BigDecimal remainder, int quadrant, MathContext mathContext) {
+            this.remainder = remainder;
+            this.quadrant = quadrant;
+            this.mathContext = mathContext;
+        }
+
+        private static ReducedAngle of(BigDecimal x, int precision) {
+            final MathContext mc = new MathContext(precision + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+            int lostDigits = 0;
+            while (true) {
+                final BigDecimal halfPi = pi(mc.getPrecision() + integerDigits(x) + lostDigits).divide(TWO);
+                final BigInteger k = x.divide(halfPi, 0, RoundingMode.HALF_EVEN).toBigInteger();
+                final BigDecimal remainder = x.subtract(halfPi.multiply(new BigDecimal(k)));
+                final int magnitude = magnitude(remainder);
+                if (remainder.signum() == 0 || -magnitude <= lostDigits) {
+                    return new ReducedAngle(remainder.round(mc), k.mod(BigInteger.valueOf(4)).intValue(), mc);
+                }
+                lostDigits = -magnitude + GUARD_DIGITS;
+            }
+        }
+    }
+}
@@ -1,18 +1,20 @@
 package com.nemesis.mathcore.utils;
 
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+
 import java.math.BigDecimal;
 import java.math.MathContext;
-
-import static com.nemesis.mathcore.expressionsolver.utils.Constants.MATH_CONTEXT;
+import java.math.RoundingMode;
 
 public class ExponentialFunctions {
 
-    private static final MathContext MC = MATH_CONTEXT;
     public static int ITERATIONS = 50;
 
     public static BigDecimal nthRoot(BigDecimal arg, Integer rootIndex, Integer iterations) {
 
-        BigDecimal x = new BigDecimal("1", MC);
+        final MathContext mc = MathCoreContext.current().getMathContext();
+        BigDecimal x = new BigDecimal("1", mc);
 
         // Search for the nth root via the Newton-Raphson loop. Output each // successive iteration's value.
 
@@ -22,10 +24,10 @@ public class ExponentialFunctions {
 
         for (int i = 0; i < iterations; i++) {
             x = x.subtract(
-                    x.pow(rootIndex, MC)
-                            .subtract(arg, MC)
-                            .divide(new BigDecimal(rootIndex, MC).multiply(
-                                    x.pow(2, MC), MC), MC), MC);
+                    x.pow(rootIndex, mc)
+                            .subtract(arg, mc)
+                            .divide(new BigDecimal(rootIndex, mc).multiply(
+                                    x.pow(2, mc), mc), mc), mc);
         }
         return x;
     }
@@ -37,130 +39,25 @@ public class ExponentialFunctions {
 
     /**
      * Compute e^x to a given scale.
-     * Break x into its whole and fraction parts and
-     * compute (e^(1 + fraction/whole))^whole using Taylor's formula.
      *
      * @param x     the value of x
      * @param scale the desired scale of the result
      * @return the result value
      */
     public static BigDecimal exp(BigDecimal x, int scale) {
-        // e^0 = 1
-        if (x.signum() == 0) {
-            return BigDecimal.valueOf(1);
-        }
-
-        // If x is negative, return 1/(e^-x).
-        else if (x.signum() == -1) {
-            return BigDecimal.valueOf(1).divide(exp(x.negate(), scale),
-                    scale, BigDecimal.ROUND_HALF_EVEN);
-        }
-
-        // Compute the whole part of x.
-        BigDecimal xWhole = x.setScale(0, BigDecimal.ROUND_DOWN);
-
-        // If there isn't a whole part, compute and return e^x.
-        if (xWhole.signum() == 0)
-            return expTaylor(x, scale);
-
-        // Compute the fraction part of x.
-        BigDecimal xFraction = x.subtract(xWhole);
-
-        // z = 1 + fraction/whole
-        BigDecimal z = BigDecimal.valueOf(1)
-                .add(xFraction.divide(xWhole, scale,
-                        BigDecimal.ROUND_HALF_EVEN));
-
-        // t = e^z
-        BigDecimal t = expTaylor(z, scale);
-
-        BigDecimal maxLong = BigDecimal.valueOf(Long.MAX_VALUE);
-        BigDecimal result = BigDecimal.valueOf(1);
-
-        // Compute and return t^whole using intPower().
-        // If whole > Long.MAX_VALUE, then first compute products
-        // of e^Long.MAX_VALUE.
-        while (xWhole.compareTo(maxLong) >= 0) {
-            result = result.multiply(intPower(t, Long.MAX_VALUE, scale))
-                    .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
-            xWhole = xWhole.subtract(maxLong);
-
-            Thread.yield();
-        }
-        return result.multiply(intPower(t, xWhole.longValue(), scale))
-                .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
+        // Digits to the left of the decimal point: e^x < 10^(x/ln(10) + 1)
+        final int magnitude = Math.max(0, (int) Math.ceil(x.doubleValue() / Math.log(10)) + 1);
+        final BigDecimal result = ElementaryFunctions.exp(x, new MathContext(magnitude + Math.max(scale, 1), RoundingMode.HALF_EVEN));
+        return result.setScale(scale, RoundingMode.HALF_EVEN);
     }
 
     /**
      * Compute the natural logarithm of x to a given scale, x > 0.
      */
     public static BigDecimal ln(BigDecimal x, int scale) {
-        // Check that x > 0.
-        if (x.signum() <= 0) {
-            throw new IllegalArgumentException("x ≤ 0");
-        }
-
-        // The number of digits to the left of the decimal point.
-        int magnitude = x.toString().length() - x.scale() - 1;
-
-        if (magnitude < 3) {
-            return lnNewton(x, scale);
-        }
-
-        // Compute magnitude*ln(x^(1/magnitude)).
-        else {
-
-            // x^(1/magnitude)
-            BigDecimal root = intRoot(x, magnitude, scale);
-
-            // ln(x^(1/magnitude))
-            BigDecimal lnRoot = lnNewton(root, scale);
-
-            // magnitude*ln(x^(1/magnitude))
-            return BigDecimal.valueOf(magnitude).multiply(lnRoot)
-                    .setScale(scale, BigDecimal.ROUND_HALF_EVEN);
-        }
-    }
-
-    /**
-     * Compute e^x to a given scale by the Taylor series.
-     *
-     * @param x     the value of x
-     * @param scale the desired scale of the result
-     * @return the result value
-     */
-    private static BigDecimal expTaylor(BigDecimal x, int scale) {
-        BigDecimal factorial = BigDecimal.valueOf(1);
-        BigDecimal xPower = x;
-        BigDecimal sumPrev;
-
-        // 1 + x
-        BigDecimal sum = x.add(BigDecimal.valueOf(1));
-
-        // Loop until the sums converge
-        // (two successive sums are equal after rounding).
-        int i = 2;
-        do {
-            // x^i
-            xPower = xPower.multiply(x).setScale(scale,
-                    BigDecimal.ROUND_HALF_EVEN);
-
-            // i!
-            factorial = factorial.multiply(BigDecimal.valueOf(i));
-
-            // x^i/i!
-            BigDecimal term = xPower.divide(factorial, scale,
-                    BigDecimal.ROUND_HALF_EVEN);
-
-            // sum = sum + x^i/i!
-            sumPrev = sum;
-            sum = sum.add(term);
-
-            ++i;
-            Thread.yield();
-        } while (sum.compareTo(sumPrev) != 0);
-
-        return sum;
+        // |ln(x)| < 10^10 for any BigDecimal, so 10 more digits cover the integer part
+        final BigDecimal result = ElementaryFunctions.ln(x, new MathContext(scale + 10, RoundingMode.HALF_EVEN));
+        return result.setScale(scale, RoundingMode.HALF_EVEN);
     }
 
     /**
@@ -201,38 +98,6 @@ public class ExponentialFunctions {
         return power;
     }
 
-    /**
-     * Compute the natural logarithm of x to a given scale, x > 0.
-     * Use Newton's algorithm.
-     */
-    private static BigDecimal lnNewton(BigDecimal x, int scale) {
-        int sp1 = scale + 1;
-        BigDecimal n = x;
-        BigDecimal term;
-
-        // Convergence tolerance = 5*(10^-(scale+1))
-        BigDecimal tolerance = BigDecimal.valueOf(5).movePointLeft(sp1);
-
-        // Loop until the approximations converge
-        // (two successive approximations are within the tolerance).
-        do {
-
-            // e^x
-            BigDecimal eToX = exp(x, sp1);
-
-            // (e^x - n)/e^x
-            term = eToX.subtract(n)
-                    .divide(eToX, sp1, BigDecimal.ROUND_DOWN);
-
-            // x - (e^x - n)/e^x
-            x = x.subtract(term);
-
-            Thread.yield();
-        } while (term.compareTo(tolerance) > 0);
-
-        return x.setScale(scale, BigDecimal.ROUND_HALF_EVEN);
-    }
-
     /**
      * Compute the integral root of x to a given scale, x ≥ 0.
      * Use Newton's algorithm.
@@ -260,7 +125,9 @@ public class ExponentialFunctions {
 
         // Loop until the approximations converge
         // (two successive approximations are equal after rounding).
+        final ComputationBudget budget = ComputationBudget.current();
         do {
+            budget.checkDeadline();
             // x^(index-1)
             BigDecimal xToIm1 = intPower(x, index - 1, sp1);
 
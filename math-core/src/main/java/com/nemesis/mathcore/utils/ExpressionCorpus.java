@@ -0,0 +1,70 @@
+package com.nemesis.mathcore.utils;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    Corpus files: UTF-8 text with one expression per line, as rendered by toString() and accepted by the parser.
+    Lines starting with '#' are comments (e.g. the settings of the generator) and blank lines are ignored.
+    Files whose name ends with ".gz" are gzip-compressed.
+ */
+public class ExpressionCorpus {
+
+    private static final String COMMENT = "#";
+
+    public static void write(Path file, List<? extends Component> expressions, String description) throws IOException {
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = new OutputStreamWriter(open(file), StandardCharsets.UTF_8)) {
+            if (description != null && !description.isEmpty()) {
+                for (String line : description.split("\n")) {
+                    writer.write(COMMENT + " " + line + "\n");
+                }
+            }
+            for (Component expression : expressions) {
+                writer.write(expression + "\n");
+            }
+        }
+    }
+
+    public static List<String> read(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return read(input, isCompressed(file.getFileName().toString()));
+        }
+    }
+
+    /*
+        Reads a corpus from a stream (e.g. a classpath resource), which is not closed
+     */
+    public static List<String> read(InputStream input, boolean compressed) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(compressed ? new GZIPInputStream(input) : input, StandardCharsets.UTF_8));
+        List<String> expressions = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (!line.isEmpty() && !line.startsWith(COMMENT)) {
+                expressions.add(line);
+            }
+        }
+        return expressions;
+    }
+
+    public static boolean isCompressed(String fileName) {
+        return fileName.endsWith(".gz");
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        final OutputStream output = new BufferedOutputStream(Files.newOutputStream(file));
+        return isCompressed(file.getFileName().toString()) ? new GZIPOutputStream(output) : output;
+    }
+}
@@ -1,27 +1,20 @@
 package com.nemesis.mathcore.utils;
 
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
 import com.nemesis.mathcore.expressionsolver.components.*;
-import com.nemesis.mathcore.expressionsolver.intervals.model.*;
-import com.nemesis.mathcore.expressionsolver.intervals.utils.IntervalsUtils;
-import com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter;
-import com.nemesis.mathcore.expressionsolver.models.delimiters.Point;
 import com.nemesis.mathcore.expressionsolver.operators.Sign;
-import com.nemesis.mathcore.expressionsolver.utils.ComponentUtils;
 import com.nemesis.mathcore.expressionsolver.utils.Constants;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
-import java.util.function.UnaryOperator;
 
-import static com.nemesis.mathcore.expressionsolver.intervals.model.SinglePointInterval.Type.EQUALS;
 import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.SUBTRACT;
 import static com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator.SUM;
 import static com.nemesis.mathcore.expressionsolver.operators.Sign.MINUS;
@@ -29,467 +22,232 @@ import static com.nemesis.mathcore.expressionsolver.operators.Sign.PLUS;
 import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.DIVIDE;
 import static com.nemesis.mathcore.expressionsolver.operators.TermOperator.MULTIPLY;
 
-public class ExpressionGenerator {
+/*
+    Immutable generator of random expressions, for tests, load tests and benchmarks.
+    Generation is deterministic: the same settings (seed included) always give the same sequence of expressions.
+    Each expression has a target depth, drawn uniformly in [minDepth, maxDepth]: wrapped expressions and function
+    arguments open a new level, and no factor is nested deeper than the target.
+    Factor types are drawn with the given weights; expressions rejected by the filter are replaced by new ones.
+ */
+@Getter
+@With
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ExpressionGenerator {
 
-    private static final Random r = new Random();
     public static final int MAX_RAND_VALUE = 1000;
 
-    public static void main(String[] args) throws IOException {
-        PrintWriter writer = new PrintWriter("C:\\development\\tests.txt", StandardCharsets.UTF_8);
-        int i = 0;
-        final int tests = 100;
-        while (i < tests) {
-            try {
-                Expression expression = generateExpression(0);
-                if (!expression.toString().contains("null")) {
-                    writer.println("Generated test (" + ++i + "/" + tests + "): " + expression);
-                    System.out.println("Generated test (" + ++i + "/" + tests + "): " + expression);
-                }
-            } catch (Exception e) {
-            }
-        }
-        writer.close();
-    }
-
-
-    public static Expression generateExpression(int depth) {
-
-        Term t = generateTerm(depth, Domain.NOT_ZERO.getInterval());
+    private static final int MAX_EXPONENT = 4;
+    private static final int MAX_FACTORIAL_ARGUMENT = 10;
+    private static final int MAX_ATTEMPTS = 10000;
 
-        depth++;
-
-        switch (r.nextInt(3 * depth)) {
-            case 0 -> {
-                return new Expression(t, SUBTRACT, generateExpression(depth));
-            }
-            case 1 -> {
-                return new Expression(t, SUM, generateExpression(depth));
-            }
-            default -> {
-                return new Expression(t);
-            }
-        }
+    public enum FactorType {
+        CONSTANT,
+        DECIMAL,
+        VARIABLE,
+        EXPONENTIAL,
+        PARENTHESIZED,
+        ABS,
+        FUNCTION,
+        LOGARITHM,
+        ROOT,
+        FACTORIAL
     }
 
-    private static Term generateTerm(int depth, GenericInterval domain) {
+    private static final Map<FactorType, Integer> DEFAULT_WEIGHTS = Map.of(
+            FactorType.CONSTANT, 6,
+            FactorType.DECIMAL, 1,
+            FactorType.VARIABLE, 6,
+            FactorType.EXPONENTIAL, 2,
+            FactorType.PARENTHESIZED, 2,
+            FactorType.ABS, 1,
+            FactorType.FUNCTION, 2,
+            FactorType.LOGARITHM, 1,
+            FactorType.ROOT, 1,
+            FactorType.FACTORIAL, 1
+    );
 
-        Factor f = null;
-        do {
-            try {
-                f = generateFactor(depth, Domain.R_DOMAIN.getInterval());
-            } catch (ArithmeticException e) {
-            }
-        } while (f == null);
+    public static final ExpressionGenerator DEFAULT = new ExpressionGenerator(0L, 0, 2, 3, List.of(),
+            DEFAULT_WEIGHTS, List.of("sin", "cos", "tan", "sec", "cot", "csc", "tanh"), ExpressionGenerator::isValid);
 
-        depth++;
+    private final long seed;
+    private final int minDepth;
+    private final int maxDepth;
+    // Terms of an expression and factors of a term are between 1 and maxTerms
+    private final int maxTerms;
+    // Without variables the expressions are scalar
+    private final List<Character> variables;
+    private final Map<FactorType, Integer> weights;
+    private final List<String> functions;
+    private final Predicate<Expression> filter;
 
-        switch (r.nextInt(3 * depth)) {
-            case 0 -> { // DIVIDE (divisor cannot be zero)
-                int finalDepth = depth;
-                Supplier<Term> termGenerator = () -> {
-                    final GenericInterval intersectionDomain = IntervalsUtils.intersect(domain, Domain.NOT_ZERO.getInterval());
-                    return generateTerm(finalDepth, intersectionDomain);
-                };
-//                Predicate<Term> loopCondition = tern -> tern.isScalar() && tern.getValue().compareTo(BigDecimal.ZERO) == 0;
-                Term subTerm = generateParallel(termGenerator, null);
-                return new Term(f, DIVIDE, subTerm);
-            }
-            case 1 -> { // MULTIPLY
-                return new Term(f, MULTIPLY, generateTerm(depth, domain));
-            }
-            default -> { // No operator, this term will be a leaf
-                return new Term(f);
-            }
-        }
+    public ExpressionGenerator withDepth(int depth) {
+        return this.withMinDepth(depth).withMaxDepth(depth);
     }
 
-    private static Factor generateFactor(int depth, GenericInterval domain) {
-
-        depth++;
-        Sign sign = generateSign();
-
-        switch (r.nextInt(4 * depth)) {
-            case 0, 1 -> {
-                return generateExponential(depth, sign, domain);
-            }
-            default -> {
-                return generateBase(depth, sign, domain);
-            }
-        }
+    public ExpressionGenerator withVariables(List<Character> variables) {
+        return new ExpressionGenerator(seed, minDepth, maxDepth, maxTerms, List.copyOf(variables), weights, functions, filter);
     }
 
-    private static Exponential generateExponential(int depth, Sign sign, GenericInterval domain) {
-
-        depth++;
-        Sign baseSign = generateSign();
-        int finalDepth = depth;
-
-        Supplier<Base> baseGenerator = () -> {
-            final GenericInterval intersectionDomain = IntervalsUtils.intersect(domain, Domain.STRICTLY_POSITIVE.getInterval());
-            return generateBase(finalDepth, baseSign, intersectionDomain);
-        };
-//        Predicate<Base> baseLoopCondition = base -> base.isScalar() && base.getValue().compareTo(BigDecimal.ZERO) <= 0;
-        Base base = generateParallel(baseGenerator, null);
-
-        Supplier<Factor> exponentGenerator = () -> {
-            final GenericInterval intersectionDomain = IntervalsUtils.intersect(domain, Domain.Z_DOMAIN.getInterval());
-            return generateFactor(finalDepth, intersectionDomain);
-        };
-        Predicate<Factor> loopCondition = exponent -> exponent.isScalar() && exponent.getValue().compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) >= 0;
-        Factor exponent = generateParallel(exponentGenerator, loopCondition);
-
-        return new Exponential(sign, base, exponent); // TODO: check domain, given as parameter
+    public ExpressionGenerator withVariables(Character... variables) {
+        return this.withVariables(List.of(variables));
     }
 
-
-    private static Base generateBase(int depth, Sign sign, GenericInterval domain) {
-
-        switch (r.nextInt(10 * depth)) {
-            case 0 -> {
-                return generateWrappedExpression(depth, sign, domain);
-            }
-            case 1, 2 -> {
-                return generateMathFunction(depth, sign, domain);
-            }
-//            case 3, 4, 5, 6, 7 -> {
-//                return generateVariable(depth, sign);
-//            }
-            case 8, 9 -> {
-                return generateFactorial(depth, sign, domain);
-            }
-            default -> {
-                return generateConstant(depth, sign, domain);
-            }
-        }
+    public ExpressionGenerator withWeight(FactorType factorType, int weight) {
+        final Map<FactorType, Integer> weights = new EnumMap<>(FactorType.class);
+        weights.putAll(this.weights);
+        weights.put(factorType, weight);
+        return this.withWeights(weights);
     }
 
-    private static Constant generateConstant(int depth, Sign sign, GenericInterval domain) {
-
-        if (domain instanceof Z) {
-            return new Constant(r.nextInt(2 * MAX_RAND_VALUE) - MAX_RAND_VALUE);
-        } else if (domain instanceof N) {
-            return new Constant(r.nextInt(MAX_RAND_VALUE));
-        } else if (domain instanceof SinglePointInterval s) {
-            final BigDecimal pointValue = s.getPoint().getComponent().getValue();
-            switch (s.getType()) {
-                case EQUALS -> {
-                    return new Constant(pointValue);
-                }
-                case NOT_EQUALS -> {
-                    int randomInt;
-                    BigDecimal randomBigDecimal;
-                    do {
-                        randomInt = r.nextInt(2 * MAX_RAND_VALUE) - MAX_RAND_VALUE;
-                        randomBigDecimal = new BigDecimal(randomInt);
-                    } while (randomBigDecimal.compareTo(pointValue) == 0);
-                    return new Constant(randomBigDecimal);
-                }
-                default -> throw new IllegalStateException("Unexpected value: " + s.getType());
-            }
-        } else if (domain instanceof DoublePointInterval d) {
-            BigDecimal value;
-            switch (r.nextInt(3)) {
-                case 0 -> {
-                    value = generateRandomRealConstant(d);
-                }
-                case 1, 2 -> {
-                    value = generateRandomIntegerConstant(d);
-                }
-                default -> throw new RuntimeException("Unexpected random value");
-            }
-            return new Constant(sign, value);
-        } else {
-            throw new RuntimeException("Unexpected domain " + domain); // TODO: manage null domain
+    public List<Expression> generate(int count) {
+        if (minDepth < 0 || maxDepth < minDepth || maxTerms < 1) {
+            throw new IllegalArgumentException("Invalid depth [" + minDepth + ", " + maxDepth + "] or terms [" + maxTerms + "]");
         }
+        final Random random = new Random(seed);
+        List<Expression> expressions = new ArrayList<>(count);
+        while (expressions.size() < count) {
+            expressions.add(next(random));
+        }
+        return expressions;
     }
 
     /*
-    if (MathUtils.isIntegerValue(pointValue)) {
-                    return new Constant(pointValue);
-                } else {
-                    throw new RuntimeException("No value can be generated for specified domain");
-                }
+        Default filter: the rendered expression can be parsed and, if scalar, has a value
      */
-
-    private static BigDecimal generateRandomIntegerConstant(DoublePointInterval domain) {
-
-        final Constant minRandValue = new Constant(MINUS, MAX_RAND_VALUE);
-        final Constant maxRandValue = new Constant(MAX_RAND_VALUE);
-
-        final Component leftValue = domain.getLeftDelimiter().getComponent();
-        final Component rightValue = domain.getRightDelimiter().getComponent();
-
-        /*
-            Add 1 to min value to avoid to generate left delimiters values (calling "r.nextInt", min value is inclusive
-            and this is wrong for OPEN intervals)
-        */
-        int min = leftValue.compareTo(minRandValue) < 0 ?
-                minRandValue.getValue().intValueExact() : leftValue.getValue().intValueExact() + 1;
-
-        int max = rightValue.compareTo(maxRandValue) < 0 ?
-                rightValue.getValue().intValueExact() : maxRandValue.getValue().intValueExact();
-
-        final int randomInt = r.nextInt(max - min) + min;
-        return BigDecimal.valueOf(randomInt);
-    }
-
-    private static BigDecimal generateRandomRealConstant(DoublePointInterval domain) {
-
-        final Constant minRandValue = new Constant(MINUS, MAX_RAND_VALUE);
-        final Constant maxRandValue = new Constant(MAX_RAND_VALUE);
-
-        final Component leftComponent = domain.getLeftDelimiter().getComponent();
-        final Component rightComponent = domain.getRightDelimiter().getComponent();
-
-        final Component leftValue = leftComponent.equals(new Infinity(MINUS)) ? new Constant(Integer.MIN_VALUE) : leftComponent;
-        final Component rightValue = rightComponent.equals(new Infinity(PLUS)) ? new Constant(Integer.MAX_VALUE) : rightComponent;
-
-        /*
-            Add 1 to min value to avoid to generate left delimiters values (calling "Math.random", min value is inclusive
-            and this is wrong for OPEN intervals)
-        */
-        int min = leftValue.compareTo(minRandValue) < 0 ?
-                minRandValue.getValue().intValueExact() : leftValue.getValue().intValueExact() + 1;
-
-        int max = rightValue.compareTo(maxRandValue) < 0 ?
-                rightValue.getValue().intValueExact() : maxRandValue.getValue().intValueExact();
-
-        final double randomRealNumber = (Math.random() * (max - min)) + min;
-        return BigDecimal.valueOf(randomRealNumber);
-    }
-
-    private static Variable generateVariable(int depth, Sign sign) {
-//        return new Variable(sign, (char) (r.nextInt(26) + 97)); // a-z
-//        return new Variable(sign, (char) (r.nextInt(3) + 120)); // x,y,z
-        return new Variable(sign, 'x');
-    }
-
-    private static Factorial generateFactorial(int depth, Sign sign, GenericInterval domain) {
-        depth++;
-
-        int finalDepth = depth;
-        Supplier<Base> generator = () -> {
-            final GenericInterval intersectionDomain = IntervalsUtils.intersect(domain, Domain.N_DOMAIN.getInterval());
-            return generateBase(finalDepth, sign, intersectionDomain);
-        };
-
-//        Predicate<Factor> loopCondition = argument -> argument.isScalar() &&
-//                (!MathUtils.isIntegerValue(argument.getValue()) || argument.getValue().compareTo(BigDecimal.ZERO) < 0);
-
-        Base argument = generateParallel(generator, null);
-
-        return new Factorial(sign, argument);
-    }
-
-    private static MathFunction generateMathFunction(int depth, Sign sign, GenericInterval domain) {
-
-        depth++;
-
-        switch (r.nextInt(3)) {
-            case 0 -> {
-                return generateMathUnaryFunction(depth, sign);
-            }
-            case 1, 2 -> {
-                return generateLogarithm(depth, sign);
+    public static boolean isValid(Expression expression) {
+        try {
+            final Expression parsedExpression = ExpressionParser.parse(expression.toString());
+            if (parsedExpression == null) {
+                return false;
             }
-//            case 2 -> { // TODO
-//                return generateRootFunction(depth, sign);
-//            }
-            default -> {
-                throw new RuntimeException("Unexpected random value");
+            if (parsedExpression.isScalar()) {
+                parsedExpression.getValue();
             }
+            return true;
+        } catch (ArithmeticException | IllegalArgumentException | UnsupportedOperationException e) {
+            return false;
         }
     }
 
-    private static RootFunction generateRootFunction(int depth, Sign sign) {
-
-        depth++;
-        int index = r.nextInt(2) + 1; // TODO test greater index
-
-        int finalDepth = depth;
-        Supplier<Factor> generator = () -> generateFactor(finalDepth, Domain.POSITIVE.getInterval());
-
-        Predicate<Factor> loopCondition;
-        if (index % 2 == 0) {
-            loopCondition = ComponentUtils::isNegative;
-        } else {
-            loopCondition = null;
-        }
-
-        Factor argument = generateParallel(generator, loopCondition);
-        return new RootFunction(sign, index, argument);
-    }
-
-    private static MathFunction generateMathUnaryFunction(int depth, Sign sign) {
-
-        BigDecimal argument = BigDecimal.valueOf(Math.random() * 10 - 5);
-
-//        List<Method> methods = new ArrayList<>();
-//        Collections.addAll(methods, TrigonometricFunctions.class.getDeclaredMethods());
-//        Method method = methods.get(r.nextInt(methods.size()));
-
-        List<String> methods = new ArrayList<>();
-        methods.add("sin");
-        methods.add("cos");
-        methods.add("sec");
-        methods.add("tan");
-        methods.add("tg");
-        methods.add("cotan");
-        methods.add("cot");
-        methods.add("cotg");
-        methods.add("ctg");
-        methods.add("cosec");
-        methods.add("csc");
-
-        Method method;
-        try {
-            final String methodName = methods.get(r.nextInt(methods.size()));
-            method = TrigonometricFunctions.class.getDeclaredMethod(methodName, BigDecimal.class);
-        } catch (NoSuchMethodException e) {
-            System.out.println("Error occurred: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
-
-        final UnaryOperator<BigDecimal> mathUnaryFunction = n -> {
+    private Expression next(Random random) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final int targetDepth = minDepth + random.nextInt(maxDepth - minDepth + 1);
+            final Expression expression;
             try {
-                return (BigDecimal) method.invoke(null, n);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                System.out.println("Error occurred: " + e.getMessage());
-                throw new RuntimeException(e);
-            }
-        };
-
-        return new MathUnaryFunction(sign, mathUnaryFunction, method.getName(), new Constant(argument)); // TODO use factor as argument
-    }
-
-    private static Logarithm generateLogarithm(int depth, Sign sign) {
-        BigDecimal base;
-
-        switch (r.nextInt(2)) {
-            case 0 -> {
-                base = Constants.NEP_NUMBER;
-//                base = BigDecimal.TEN; // TODO
+                expression = generateExpression(random, 0, targetDepth);
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                // Components evaluate scalar divisors while being built: invalid ones (e.g. division by zero) are rejected here
+                continue;
             }
-            case 1 -> {
-                base = Constants.NEP_NUMBER;
-            }
-            default -> {
-                throw new RuntimeException("Unexpected random value");
+            if (filter.test(expression)) {
+                return expression;
             }
         }
-
-        Sign argumentSign = generateSign();
-
-        Supplier<WrappedExpression> generator = () -> generateWrappedExpression(depth, argumentSign, Domain.STRICTLY_POSITIVE.getInterval());
-        Predicate<WrappedExpression> loopCondition = argument -> argument.isScalar() &&
-                (argument.getValue().compareTo(new BigDecimal(Integer.MAX_VALUE)) > 0
-                        || argument.getValue().compareTo(BigDecimal.ZERO) <= 0);
-
-        WrappedExpression argument = generateParallel(generator, loopCondition);
-
-        return new Logarithm(sign, base, argument);
+        throw new IllegalStateException("No valid expression generated in " + MAX_ATTEMPTS + " attempts: check filter and weights");
     }
 
-    private static WrappedExpression generateWrappedExpression(int depth, Sign sign, GenericInterval domain) {
-
-        depth++;
-        Expression expr = generateExpression(depth);
-
-        switch (r.nextInt(4)) {
-            case 0, 1, 2 -> {
-                return new ParenthesizedExpression(sign, expr);
-            }
-            case 3 -> {
-                return new AbsExpression(sign, expr);
-            }
-            default -> {
-                throw new RuntimeException("Unexpected random value");
-            }
+    private Expression generateExpression(Random random, int depth, int targetDepth) {
+        final int terms = 1 + random.nextInt(maxTerms);
+        Expression expression = new Expression(generateTerm(random, depth, targetDepth));
+        for (int i = 1; i < terms; i++) {
+            expression = new Expression(generateTerm(random, depth, targetDepth), random.nextBoolean() ? SUM : SUBTRACT, expression);
         }
+        return expression;
     }
 
-    private static Sign generateSign() {
-        Sign sign;
-        if (r.nextInt(2) == 0) {
-            sign = MINUS;
-        } else {
-            sign = PLUS;
+    private Term generateTerm(Random random, int depth, int targetDepth) {
+        final int factors = 1 + random.nextInt(maxTerms);
+        Term term = new Term(generateFactor(random, depth, targetDepth, true));
+        for (int i = 1; i < factors; i++) {
+            term = new Term(generateFactor(random, depth, targetDepth, true), random.nextBoolean() ? MULTIPLY : DIVIDE, term);
         }
-        return sign;
+        return term;
     }
 
+    private Factor generateFactor(Random random, int depth, int targetDepth, boolean exponentialAllowed) {
 
-    private static <T extends Component> T generateParallel(final Supplier<T> generator, final Predicate<T> loopCondition) {
-
-        AtomicReference<T> componentRef = new AtomicReference<>();
-        final long end = System.currentTimeMillis() + 10000;
-
-        Runnable r = () -> {
-            T localComponent;
-            boolean checkTimeout, notGeneratedYet, isNotAcceptable;
-            do {
-                localComponent = generator.get();
-                checkTimeout = System.currentTimeMillis() < end;
-                notGeneratedYet = componentRef.get() == null;
-                isNotAcceptable = loopCondition != null && loopCondition.test(localComponent);
-            } while (checkTimeout && notGeneratedYet && isNotAcceptable);
-            if (System.currentTimeMillis() > end) {
-                System.out.println(Thread.currentThread().getName() + " - Timeout");
-                return;
-            }
-            final T component = componentRef.get();
-            if (component == null) {
-                componentRef.set(localComponent);
-            }
+        final Sign sign = random.nextInt(4) == 0 ? MINUS : PLUS;
+        final boolean nestingAllowed = depth < targetDepth;
 
+        return switch (pickFactorType(random, nestingAllowed, exponentialAllowed)) {
+            case CONSTANT -> new Constant(sign, BigDecimal.valueOf(random.nextInt(MAX_RAND_VALUE)));
+            case DECIMAL -> new Constant(sign, BigDecimal.valueOf(random.nextInt(100 * MAX_RAND_VALUE), 2));
+            case VARIABLE -> new Variable(sign, variables.get(random.nextInt(variables.size())));
+            case EXPONENTIAL -> new Exponential(sign, (Base) generateFactor(random, depth, targetDepth, false),
+                    new Constant(BigDecimal.valueOf(2 + random.nextInt(MAX_EXPONENT - 1))));
+            case PARENTHESIZED -> new ParenthesizedExpression(sign, generateExpression(random, depth + 1, targetDepth));
+            case ABS -> new AbsExpression(sign, generateExpression(random, depth + 1, targetDepth));
+            case FUNCTION -> new MathUnaryFunction(sign, functions.get(random.nextInt(functions.size())),
+                    new ParenthesizedExpression(generateExpression(random, depth + 1, targetDepth)));
+            case LOGARITHM -> new Logarithm(sign, Constants.NEP_NUMBER, new ParenthesizedExpression(generateExpression(random, depth + 1, targetDepth)));
+            case ROOT -> new RootFunction(sign, 2 + random.nextInt(2), new ParenthesizedExpression(generateExpression(random, depth + 1, targetDepth)));
+            case FACTORIAL -> new Factorial(sign, new Constant(random.nextInt(MAX_FACTORIAL_ARGUMENT + 1)));
         };
+    }
 
-        int cores = Runtime.getRuntime().availableProcessors();
+    private FactorType pickFactorType(Random random, boolean nestingAllowed, boolean exponentialAllowed) {
 
-        ThreadGroup tg = new ThreadGroup("generator");
-        Set<Thread> threads = new HashSet<>();
-        for (int i = 0; i < cores; i++) {
-            threads.add(new Thread(tg, r));
+        int totalWeight = 0;
+        final FactorType[] factorTypes = FactorType.values();
+        final int[] weights = new int[factorTypes.length];
+        for (FactorType factorType : factorTypes) {
+            final boolean allowed = switch (factorType) {
+                case VARIABLE -> !variables.isEmpty();
+                case EXPONENTIAL -> exponentialAllowed;
+                case PARENTHESIZED, ABS, FUNCTION, LOGARITHM, ROOT -> nestingAllowed && (factorType != FactorType.FUNCTION || !functions.isEmpty());
+                default -> true;
+            };
+            weights[factorType.ordinal()] = allowed ? this.weights.getOrDefault(factorType, 0) : 0;
+            totalWeight += weights[factorType.ordinal()];
         }
-        threads.forEach(Thread::start);
 
-        for (Thread thread : threads) {
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-            }
+        if (totalWeight == 0) {
+            return FactorType.CONSTANT;
         }
 
-//        List<Runnable> runners = new ArrayList<>();
-//        for (int i = 0; i < cores; i++) {
-//            runners.add(r);
-//        }
-//        runners.stream().forEach(Runnable::run);
-
-        final T component = componentRef.get();
-        return component;
+        int pick = random.nextInt(totalWeight);
+        for (FactorType factorType : factorTypes) {
+            pick -= weights[factorType.ordinal()];
+            if (pick < 0) {
+                return factorType;
+            }
+        }
+        throw new IllegalStateException("Unexpected weight");
     }
 
-    private enum Domain {
-        POSITIVE(new DoublePointInterval("x", Delimiter.CLOSED_ZERO, Delimiter.PLUS_INFINITY)),
-        STRICTLY_POSITIVE(new DoublePointInterval("x", Delimiter.OPEN_ZERO, Delimiter.PLUS_INFINITY)),
-        NEGATIVE(new DoublePointInterval("x", Delimiter.MINUS_INFINITY, Delimiter.CLOSED_ZERO)),
-        STRICTLY_NEGATIVE(new DoublePointInterval("x", Delimiter.MINUS_INFINITY, Delimiter.OPEN_ZERO)),
-        R_DOMAIN(new DoublePointInterval("x", Delimiter.MINUS_INFINITY, Delimiter.PLUS_INFINITY)),
-        Z_DOMAIN(Z.of("x")),
-        N_DOMAIN(N.of("x")),
-        ZERO(new SinglePointInterval("x", new Point(new Constant(0)), EQUALS)),
-        NOT_ZERO(new SinglePointInterval("x", new Point(new Constant(0)), SinglePointInterval.Type.NOT_EQUALS)),
-        VOID(new NoPointInterval("x"));
-
-        private GenericInterval interval;
+    /*
+        Writes a corpus: <output file> <count> [seed] [min depth] [max depth] [variables]
+     */
+    public static void main(String[] args) throws IOException {
 
-        Domain(GenericInterval interval) {
-            this.interval = interval;
+        if (args.length < 2) {
+            System.err.println("Usage: ExpressionGenerator <output file> <count> [seed] [min depth] [max depth] [variables]");
+            return;
         }
 
-        public GenericInterval getInterval() {
-            return interval;
+        final Path output = Path.of(args[0]);
+        final int count = Integer.parseInt(args[1]);
+        ExpressionGenerator generator = DEFAULT;
+        if (args.length > 2) {
+            generator = generator.withSeed(Long.parseLong(args[2]));
+        }
+        if (args.length > 3) {
+            generator = generator.withMinDepth(Integer.parseInt(args[3])).withMaxDepth(Integer.parseInt(args[3]));
+        }
+        if (args.length > 4) {
+            generator = generator.withMaxDepth(Integer.parseInt(args[4]));
+        }
+        if (args.length > 5) {
+            generator = generator.withVariables(args[5].chars().mapToObj(c -> (char) c).toList());
         }
+
+        ExpressionCorpus.write(output, generator.generate(count), generator.toString());
+        System.out.println("Written [" + count + "] expressions to [" + output.toAbsolutePath() + "]");
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", depth=[" + minDepth + ", " + maxDepth + "], maxTerms=" + maxTerms + ", variables=" + variables
+                + ", weights=" + new TreeMap<>(weights) + ", functions=" + functions;
     }
 }
@@ -0,0 +1,241 @@
+package com.nemesis.mathcore.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/*
+    Immutable exact rational number, always in lowest terms with positive denominator, so that equal numbers have
+    equal representations.
+    Numerator and denominator are kept in longs while they fit (that's the case of almost all the constants of an
+    expression): operations on longs fall back to BigInteger as soon as an intermediate result overflows.
+ */
+public final class Rational implements Comparable<Rational> {
+
+    public static final Rational ZERO = new Rational(0, 1);
+    public static final Rational ONE = new Rational(1, 1);
+    public static final Rational MINUS_ONE = new Rational(-1, 1);
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    // Used while the number fits in longs, then bigNumerator and bigDenominator are null
+    private final long numerator;
+    private final long denominator;
+
+    private final BigInteger bigNumerator;
+    private final BigInteger bigDenominator;
+
+    private Rational(long numerator, long denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    private Rational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = 0;
+        this.denominator = 0;
+        this.bigNumerator = numerator;
+        this.bigDenominator = denominator;
+    }
+
+    public static Rational of(long value) {
+        return of(value, 1);
+    }
+
+    public static Rational of(BigInteger value) {
+        return of(value, BigInteger.ONE);
+    }
+
+    public static Rational of(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        // Negating Long.MIN_VALUE overflows
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        final long gcd = gcd(Math.abs(numerator), denominator);
+        return new Rational(numerator / gcd, denominator / gcd);
+    }
+
+    public static Rational of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        final BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        if (fitsInLong(numerator) && fitsInLong(denominator)) {
+            return new Rational(numerator.longValue(), denominator.longValue());
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /*
+        Exact value of the decimal, e.g. 0.25 is 1/4
+     */
+    public static Rational of(BigDecimal value) {
+        if (value.scale() <= 0) {
+            return of(value.toBigIntegerExact());
+        }
+        return of(value.unscaledValue(), BigInteger.TEN.pow(value.scale()));
+    }
+
+    public BigInteger getNumerator() {
+        return isSmall() ? BigInteger.valueOf(numerator) : bigNumerator;
+    }
+
+    public BigInteger getDenominator() {
+        return isSmall() ? BigInteger.valueOf(denominator) : bigDenominator;
+    }
+
+    public boolean isInteger() {
+        return isSmall() ? denominator == 1 : bigDenominator.equals(BigInteger.ONE);
+    }
+
+    public int signum() {
+        return isSmall() ? Long.signum(numerator) : bigNumerator.signum();
+    }
+
+    public Rational negate() {
+        if (isSmall() && numerator != Long.MIN_VALUE) {
+            return new Rational(-numerator, denominator);
+        }
+        return of(getNumerator().negate(), getDenominator());
+    }
+
+    public Rational abs() {
+        return signum() < 0 ? negate() : this;
+    }
+
+    public Rational reciprocal() {
+        if (isSmall()) {
+            return of(denominator, numerator);
+        }
+        return of(bigDenominator, bigNumerator);
+    }
+
+    public Rational add(Rational other) {
+        if (this.isSmall() && other.isSmall()) {
+            try {
+                // a/b + c/d = (a*(d/g) + c*(b/g)) / (b*(d/g)), where g = gcd(b, d)
+                final long gcd = gcd(this.denominator, other.denominator);
+                final long thisFactor = other.denominator / gcd;
+                final long otherFactor = this.denominator / gcd;
+                final long numerator = Math.addExact(Math.multiplyExact(this.numerator, thisFactor), Math.multiplyExact(other.numerator, otherFactor));
+                return of(numerator, Math.multiplyExact(this.denominator, thisFactor));
+            } catch (ArithmeticException e) {
+                // Overflow, computed on BigInteger
+            }
+        }
+        return of(this.getNumerator().multiply(other.getDenominator()).add(other.getNumerator().multiply(this.getDenominator())),
+                this.getDenominator().multiply(other.getDenominator()));
+    }
+
+    public Rational subtract(Rational other) {
+        return this.add(other.negate());
+    }
+
+    public Rational multiply(Rational other) {
+        if (this.isSmall() && other.isSmall()) {
+            try {
+                // Cross-reducing first keeps the products small: a/b * c/d = (a/g1 * c/g2) / (b/g2 * d/g1)
+                final long g1 = gcd(Math.abs(this.numerator), other.denominator);
+                final long g2 = gcd(Math.abs(other.numerator), this.denominator);
+                return of(Math.multiplyExact(this.numerator / g1, other.numerator / g2),
+                        Math.multiplyExact(this.denominator / g2, other.denominator / g1));
+            } catch (ArithmeticException e) {
+                // Overflow, computed on BigInteger
+            }
+        }
+        return of(this.getNumerator().multiply(other.getNumerator()), this.getDenominator().multiply(other.getDenominator()));
+    }
+
+    public Rational divide(Rational divisor) {
+        return this.multiply(divisor.reciprocal());
+    }
+
+    public Rational pow(int exponent) {
+        if (exponent < 0) {
+            return this.reciprocal().pow(-exponent);
+        }
+        return of(getNumerator().pow(exponent), getDenominator().pow(exponent));
+    }
+
+    /*
+        The value as decimal: exact if possible, otherwise rounded with the scale of MathUtils.divide
+     */
+    public BigDecimal toBigDecimal() {
+        if (isInteger()) {
+            return new BigDecimal(getNumerator());
+        }
+        return MathUtils.divide(new BigDecimal(getNumerator()), new BigDecimal(getDenominator()));
+    }
+
+    public BigDecimal toBigDecimal(MathContext mc) {
+        return new BigDecimal(getNumerator()).divide(new BigDecimal(getDenominator()), mc);
+    }
+
+    @Override
+    public int compareTo(Rational other) {
+        if (this.isSmall() && other.isSmall()) {
+            try {
+                return Long.compare(Math.multiplyExact(this.numerator, other.denominator), Math.multiplyExact(other.numerator, this.denominator));
+            } catch (ArithmeticException e) {
+                // Overflow, compared on BigInteger
+            }
+        }
+        return this.getNumerator().multiply(other.getDenominator()).compareTo(other.getNumerator().multiply(this.getDenominator()));
+    }
+
+    private boolean isSmall() {
+        return bigNumerator == null;
+    }
+
+    private static boolean fitsInLong(BigInteger value) {
+        return value.compareTo(LONG_MIN) > 0 && value.compareTo(LONG_MAX) <= 0;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            final long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a == 0 ? 1 : a;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Rational other = (Rational) o;
+        // Both are normalized, and a number is small whenever it fits in longs
+        if (this.isSmall() && other.isSmall()) {
+            return this.numerator == other.numerator && this.denominator == other.denominator;
+        }
+        return this.getNumerator().equals(other.getNumerator()) && this.getDenominator().equals(other.getDenominator());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getNumerator().hashCode() + getDenominator().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isInteger() ? getNumerator().toString() : getNumerator() + "/" + getDenominator();
+    }
+}
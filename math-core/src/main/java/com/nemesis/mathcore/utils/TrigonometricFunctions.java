@@ -1,27 +1,29 @@
 package com.nemesis.mathcore.utils;
 
-import java.math.BigDecimal;
-
-import static com.nemesis.mathcore.expressionsolver.utils.Constants.MATH_CONTEXT;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 
-// TODO calculate functions as BigDecimal (not as "double")
+import java.math.BigDecimal;
+import java.math.MathContext;
 
+/*
+    Functions are computed to the precision of the current MathCoreContext
+ */
 public class TrigonometricFunctions {
 
     public static BigDecimal sin(BigDecimal arg) {
-        return BigDecimal.valueOf(Math.sin(arg.doubleValue()));
+        return ElementaryFunctions.sin(arg, mathContext());
     }
 
     public static BigDecimal cos(BigDecimal arg) {
-        return BigDecimal.valueOf(Math.cos(arg.doubleValue()));
+        return ElementaryFunctions.cos(arg, mathContext());
     }
 
     public static BigDecimal sec(BigDecimal arg) {
-        return BigDecimal.ONE.divide(cos(arg), MATH_CONTEXT);
+        return BigDecimal.ONE.divide(cos(arg), mathContext());
     }
 
     public static BigDecimal tan(BigDecimal arg) {
-        return sin(arg).divide(cos(arg), MATH_CONTEXT);
+        return ElementaryFunctions.tan(arg, mathContext());
     }
 
     public static BigDecimal tg(BigDecimal arg) {
@@ -29,7 +31,7 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal cotan(BigDecimal arg) {
-        return cos(arg).divide(sin(arg), MATH_CONTEXT);
+        return BigDecimal.ONE.divide(tan(arg), mathContext());
     }
 
     public static BigDecimal cot(BigDecimal arg) {
@@ -45,7 +47,7 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal cosec(BigDecimal arg) {
-        return BigDecimal.ONE.divide(sin(arg), MATH_CONTEXT);
+        return BigDecimal.ONE.divide(sin(arg), mathContext());
     }
 
     public static BigDecimal csc(BigDecimal arg) {
@@ -97,19 +99,19 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal sinh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return ElementaryFunctions.sinh(arg, mathContext());
     }
 
     public static BigDecimal cosh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return ElementaryFunctions.cosh(arg, mathContext());
     }
 
     public static BigDecimal sech(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return BigDecimal.ONE.divide(cosh(arg), mathContext());
     }
 
     public static BigDecimal tanh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return ElementaryFunctions.tanh(arg, mathContext());
     }
 
     public static BigDecimal tgh(BigDecimal arg) {
@@ -117,7 +119,7 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal cotanh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return BigDecimal.ONE.divide(tanh(arg), mathContext());
     }
 
     public static BigDecimal coth(BigDecimal arg) {
@@ -133,7 +135,7 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal cosech(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return BigDecimal.ONE.divide(sinh(arg), mathContext());
     }
 
     public static BigDecimal csch(BigDecimal arg) {
@@ -141,19 +143,19 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal arsinh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return ElementaryFunctions.arsinh(arg, mathContext());
     }
 
     public static BigDecimal arcosh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return ElementaryFunctions.arcosh(arg, mathContext());
     }
 
     public static BigDecimal arsech(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return arcosh(BigDecimal.ONE.divide(arg, mathContext()));
     }
 
     public static BigDecimal artanh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return ElementaryFunctions.artanh(arg, mathContext());
     }
 
     public static BigDecimal artgh(BigDecimal arg) {
@@ -161,7 +163,7 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal arcotanh(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return artanh(BigDecimal.ONE.divide(arg, mathContext()));
     }
 
     public static BigDecimal arcoth(BigDecimal arg) {
@@ -177,12 +179,14 @@ public class TrigonometricFunctions {
     }
 
     public static BigDecimal arcosech(BigDecimal arg) {
-        throw new UnsupportedOperationException("Not Implemented");
+        return arsinh(BigDecimal.ONE.divide(arg, mathContext()));
     }
 
     public static BigDecimal arcsch(BigDecimal arg) {
         return arcosech(arg);
     }
 
-
+    private static MathContext mathContext() {
+        return MathCoreContext.current().getMathContext();
+    }
 }
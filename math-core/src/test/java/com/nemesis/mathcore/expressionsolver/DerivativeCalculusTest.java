@@ -46,12 +46,10 @@ public class DerivativeCalculusTest {
 ////        tests.put(new DerivativeRequest("(x+3)(5/x)", 'x'), "5/x+(x+3)(-5/(x)^2)"); // TODO: verify
 ////        tests.put("((x+3)+(5/x))2x", "((1)+(-5/x^2))2x+((x+3)+(5/x))2"); // 4x+6   TODO: verify
 
-        this.doTestDerivative(tests);
+        this.doTestDerivative(tests, MathCoreContext.of(MathCoreContext.Mode.DECIMAL));
 
         tests.remove(new DerivativeRequest("x^" + Constants.NEP_NUMBER, 'x'));
 
-        MathCoreContext.setNumericMode(MathCoreContext.Mode.FRACTIONAL);
-
         tests.put(new DerivativeRequest("x/2", 'x'), "1/2");
         tests.put(new DerivativeRequest("(x+1)/2", 'x'), "1/2");
         tests.put(new DerivativeRequest("(x+1)/(2x)", 'x'), "-1/(2x^2)");
@@ -70,17 +68,18 @@ public class DerivativeCalculusTest {
 ////        tests.put(new DerivativeRequest("2log(10,x)^2", 'x'), ""); // TODO
 ////        tests.put(new DerivativeRequest("(-y)^-671/628", 'y'), ""); // TODO
 
-        this.doTestDerivative(tests);
+        this.doTestDerivative(tests, MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL));
     }
 
-    private void doTestDerivative(Map<DerivativeRequest, String> tests) {
+    private void doTestDerivative(Map<DerivativeRequest, String> tests, MathCoreContext context) {
         tests.keySet().forEach(req -> {
             String errorMessage = "ERROR ON FUNCTION: " + req.getFunction();
             String result = null;
             try {
                 System.out.println("\nTesting D[" + req.getFunction() + ", " + req.getVar() + "]");
                 long start = System.nanoTime();
-                result = ExpressionUtils.getDerivative(req.getFunction(), new Variable(req.getVar())).toString();
+                // Constants like e are rendered according to the mode
+                result = context.call(() -> ExpressionUtils.getDerivative(req.getFunction(), new Variable(req.getVar()), context).toString());
                 long stop = System.nanoTime();
                 System.out.println("Elapsed time: " + (stop - start) / 1000000d + " ms");
                 System.out.println("D[" + req.getFunction() + ", " + req.getVar() + "] -> " + result);
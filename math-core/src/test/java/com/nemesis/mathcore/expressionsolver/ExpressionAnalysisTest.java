@@ -0,0 +1,71 @@
+package com.nemesis.mathcore.expressionsolver;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ExpressionAnalysisTest {
+
+    private static final Variable X = new Variable('x');
+
+    @Test
+    public void testSameResultsAsSingleOperations() {
+
+        List<String> tests = List.of("x^2+2x+1", "(x+1)/(2x)", "x^(3x)", "ln(x)+x", "3x^2*x", "√(x-1)", "(x^2-1)/(x-1)");
+
+        for (MathCoreContext.Mode mode : MathCoreContext.Mode.values()) {
+            final MathCoreContext context = MathCoreContext.of(mode);
+            for (String expression : tests) {
+                final ExpressionAnalysis analysis = ExpressionUtils.analyze(expression, context);
+                final Component simplifiedForm = ExpressionUtils.simplify(expression, context);
+                Assert.assertEquals(simplifiedForm.toString(), analysis.getSimplifiedForm().toString());
+                // The session derives the simplified form
+                Assert.assertEquals(ExpressionUtils.getDerivative(simplifiedForm, X, context).toString(), analysis.getDerivative(X).toString());
+                Assert.assertEquals(ExpressionUtils.getDomain(expression, X, context).toString(), analysis.getDomain(X).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testDomainOfCancelledFactors() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        final ExpressionAnalysis analysis = ExpressionUtils.analyze("(x^2-1)/(x-1)", context);
+        Assert.assertEquals("x+1", analysis.getSimplifiedForm().toString());
+        // x = 1 is a zero of the cancelled factor
+        Assert.assertEquals("x < 1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ", analysis.getDomain(X).toString());
+        Assert.assertEquals("x < -1 , x ∈ ℝ ∪ -1 < x < 0 , x ∈ ℝ ∪ x > 0 , x ∈ ℝ", ExpressionUtils.getDomain("(x^3-x)/(x^2+x)", X, context).toString());
+    }
+
+    @Test
+    public void testResultsAreComputedOnce() {
+        final ExpressionAnalysis analysis = ExpressionUtils.analyze("x^2+3x", MathCoreContext.of(MathCoreContext.Mode.DECIMAL));
+        final Component simplifiedForm = analysis.getSimplifiedForm();
+        final Component derivative = analysis.getDerivative(X);
+        Assert.assertSame(simplifiedForm, analysis.getSimplifiedForm());
+        Assert.assertSame(derivative, analysis.getDerivative(X));
+        Assert.assertSame(analysis.getDomain(X), analysis.getDomain(X));
+        Assert.assertEquals("2x+3", derivative.toString());
+    }
+
+    @Test
+    public void testParsedExpressionIsNotModified() {
+        final ExpressionAnalysis analysis = ExpressionUtils.analyze("2*3+x*x", MathCoreContext.of(MathCoreContext.Mode.DECIMAL));
+        final String parsedExpression = analysis.getExpression().toString();
+        analysis.getSimplifiedForm();
+        analysis.getDerivative(X);
+        analysis.getDomain(X);
+        Assert.assertEquals(parsedExpression, analysis.getExpression().toString());
+        Assert.assertFalse(analysis.isScalar());
+    }
+
+    @Test
+    public void testValue() {
+        final ExpressionAnalysis analysis = ExpressionUtils.analyze("2^3+4/8", MathCoreContext.of(MathCoreContext.Mode.DECIMAL));
+        Assert.assertTrue(analysis.isScalar());
+        Assert.assertEquals(0, ExpressionUtils.evaluate("2^3+4/8").compareTo(analysis.getValue()));
+    }
+}
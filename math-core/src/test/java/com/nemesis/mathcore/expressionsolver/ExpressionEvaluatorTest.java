@@ -144,8 +144,7 @@ public class ExpressionEvaluatorTest {
         // TODO: test complex logarithms
         // TODO: test all operations with decimal numbers
 
-        MathCoreContext.setNumericMode(MathCoreContext.Mode.DECIMAL);
-        this.doTestEvaluate(tests);
+        this.doTestEvaluate(tests, MathCoreContext.of(MathCoreContext.Mode.DECIMAL));
 
         // TODO
 //        tests.put("1/2", "1/2");
@@ -153,19 +152,18 @@ public class ExpressionEvaluatorTest {
 //        tests.put("4*x/2*x", "2");
 //        tests.put("4*x/(2*y)", "???");
 
-//        MathCoreContext.setNumericMode(MathCoreContext.Mode.FRACTIONAL);
-//        this.doTestEvaluate(tests);
+//        this.doTestEvaluate(tests, MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL));
 
     }
 
-    private void doTestEvaluate(Map<String, String> tests) {
+    private void doTestEvaluate(Map<String, String> tests, MathCoreContext context) {
         for (String expression : tests.keySet()) {
             String errorMessage = "ERROR ON EXPRESSION: " + expression;
             BigDecimal result = null;
             try {
                 System.out.println("Testing [" + expression + "]");
                 long start = System.nanoTime();
-                result = ExpressionUtils.evaluate(expression);
+                result = ExpressionUtils.evaluate(expression, context);
                 long stop = System.nanoTime();
                 System.out.println("Elapsed time: " + (stop - start) / 1000 + " µs\n");
 
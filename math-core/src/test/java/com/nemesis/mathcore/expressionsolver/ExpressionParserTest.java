@@ -0,0 +1,44 @@
+package com.nemesis.mathcore.expressionsolver;
+
+import com.nemesis.mathcore.expressionsolver.components.Expression;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+public class ExpressionParserTest {
+
+    @Test
+    public void testLongInputs() {
+
+        Map<String, String> tests = new LinkedHashMap<>();
+
+        tests.put("1" + "+1".repeat(999), "1000");
+        tests.put("2" + "*1".repeat(999), "2");
+        tests.put("(".repeat(300) + "1" + "+1)".repeat(300), "301");
+        tests.put("|".repeat(100) + "-1" + "|".repeat(100), "1");
+        tests.put("3!" + "+3!".repeat(499), "3000");
+
+        for (Map.Entry<String, String> test : tests.entrySet()) {
+            final Expression expression = ExpressionParser.parse(test.getKey());
+            Assert.assertNotNull(expression);
+            Assert.assertEquals(0, new BigDecimal(test.getValue()).compareTo(expression.getValue()));
+        }
+    }
+
+    @Test
+    public void testUnparsedInput() {
+        for (String input : new String[]{"ln((2)ln(3^!)-π/2/√3!)", "2)", "x+1)*3"}) {
+            try {
+                ExpressionParser.parse(input);
+                Assert.fail("Parsed invalid input [" + input + "]");
+            } catch (IllegalArgumentException e) {
+                log.debug("Invalid input [{}]: {}", input, e.getMessage());
+            }
+        }
+    }
+}
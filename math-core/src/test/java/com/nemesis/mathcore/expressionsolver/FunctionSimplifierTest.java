@@ -185,8 +185,7 @@ public class FunctionSimplifierTest {
 //        tests.put("19.71391539656542^(-y)/-280^750.618190292821", "");
 
 
-        MathCoreContext.setNumericMode(MathCoreContext.Mode.DECIMAL);
-        this.doTestSimplify(tests);
+        this.doTestSimplify(tests, MathCoreContext.of(MathCoreContext.Mode.DECIMAL));
 //
         tests.put("1/2", "1/2");
         tests.put("2/4", "1/2");
@@ -194,19 +193,18 @@ public class FunctionSimplifierTest {
         tests.put("4x/2x", "2");
 ////        tests.put("4x/(2y)", "???");
 
-        MathCoreContext.setNumericMode(MathCoreContext.Mode.FRACTIONAL);
-        this.doTestSimplify(tests);
+        this.doTestSimplify(tests, MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL));
 
     }
 
-    private void doTestSimplify(Map<String, String> tests) {
+    private void doTestSimplify(Map<String, String> tests, MathCoreContext context) {
         for (String function : tests.keySet()) {
             String errorMessage = "ERROR ON FUNCTION: " + function;
             String result = null;
             try {
                 System.out.println("\nTesting [" + function + "]");
                 long start = System.nanoTime();
-                result = ExpressionUtils.simplify(function).toString();
+                result = context.call(() -> ExpressionUtils.simplify(function, context).toString());
                 long stop = System.nanoTime();
                 System.out.println("Elapsed time: " + (stop - start) / 1000000d + " ms");
                 System.out.println(function + " -> " + result);
@@ -0,0 +1,103 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Expression;
+import com.nemesis.mathcore.expressionsolver.components.Term;
+import com.nemesis.mathcore.expressionsolver.operators.ExpressionOperator;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class EvaluatorGeneratorTest {
+
+    private static final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+
+    @Test
+    public void testGeneratedEvaluatorMatchesInterpreter() {
+
+        List<String> expressions = List.of(
+                "3",
+                "-x",
+                "2x^2+3x-1",
+                "60/x/3",
+                "(x+1)/(x-1)",
+                "-(x+2)^3",
+                "ln(x)+log(x+1)",
+                "√x+∛(x-5)+root(5-th,x)",
+                "|x-3|",
+                "(x+1)!",
+                "sin(x)+cos(x)-tan(x)",
+                "3ln(2)x+e^x"
+        );
+
+        for (String expression : expressions) {
+            final CompiledExpression interpreted = ExpressionCompiler.compile(ExpressionParser.parse(expression, context));
+            final DoubleEvaluator generated = EvaluatorGenerator.generate(interpreted);
+            for (double x = -2.5; x <= 5; x += 0.5) {
+                Assert.assertEquals(expression + " at " + x, interpreted.applyAsDouble(x), generated.applyAsDouble(x), 0);
+                Assert.assertEquals(expression + " at " + x, interpreted.applyAsDouble(x), generated.evaluate(x), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testMultivariable() {
+        final Component component = ExpressionParser.parse("y^2+2x-z/sin(x)", context);
+        final DoubleEvaluator evaluator = ExpressionCompiler.compileToBytecode(component);
+
+        Assert.assertEquals(9 + 2 - 4 / Math.sin(1), evaluator.evaluate(1, 3, 4), 1e-12);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> evaluator.applyAsDouble(1));
+    }
+
+    @Test
+    public void testClassesAreSharedByCanonicalForm() {
+        final DoubleEvaluator first = ExpressionCompiler.compileToBytecode(ExpressionParser.parse("x^2+(1+1)x", context));
+        final DoubleEvaluator second = ExpressionCompiler.compileToBytecode(ExpressionParser.parse("x^2+2x", context));
+        final DoubleEvaluator other = ExpressionCompiler.compileToBytecode(ExpressionParser.parse("x^2+3x", context));
+
+        Assert.assertSame(first.getClass(), second.getClass());
+        Assert.assertNotSame(first.getClass(), other.getClass());
+        Assert.assertTrue(first.getClass().isHidden());
+    }
+
+    @Test
+    public void testLargeProgramsAreInterpreted() {
+        // sin(x*2)+sin(x*2)+... with 3000 terms, built without parsing the whole string
+        final Component term = ExpressionParser.parse("sin(x*2)", context);
+        Expression expression = new Expression(new Term(term.getClone()));
+        for (int i = 1; i < 3000; i++) {
+            expression = new Expression(new Term(term.getClone()), ExpressionOperator.SUM, expression);
+        }
+        final CompiledExpression interpreted = ExpressionCompiler.compile(expression);
+        final DoubleEvaluator evaluator = EvaluatorGenerator.generate(interpreted);
+
+        Assert.assertSame(interpreted, evaluator);
+        Assert.assertEquals(interpreted.applyAsDouble(0.5), evaluator.applyAsDouble(0.5), 0);
+    }
+
+    @Test
+    public void testConcurrentGeneration() throws Exception {
+        final CompiledExpression interpreted = ExpressionCompiler.compile(ExpressionParser.parse("x^3+17x-5", context));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<DoubleEvaluator>> evaluators = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                evaluators.add(executor.submit(() -> EvaluatorGenerator.generate(interpreted)));
+            }
+            final Class<?> generatedClass = evaluators.get(0).get().getClass();
+            for (Future<DoubleEvaluator> evaluator : evaluators) {
+                Assert.assertSame(generatedClass, evaluator.get().getClass());
+                Assert.assertEquals(interpreted.applyAsDouble(2), evaluator.get().applyAsDouble(2), 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.nemesis.mathcore.expressionsolver.compiler;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ExpressionCompilerTest {
+
+    private static final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+
+    @Test
+    public void testCompiledValueMatchesBigDecimalValue() {
+
+        List<String> expressions = List.of(
+                "x",
+                "-x",
+                "2x^2+3x-1",
+                "60/x/3",
+                "x/2*3",
+                "(x+1)/(x-1)",
+                "-(x+2)^3",
+                "x^(1/2)",
+                "2^x",
+                "ln(x)",
+                "log(x+1)",
+                "√x",
+                "∛(x-5)",
+                "|x-3|",
+                "(x+1)!",
+                "3ln(2)x+e^x"
+        );
+
+        double[] points = {0.5, 1.5, 2, 2.75, 4.25};
+
+        for (String expression : expressions) {
+            final CompiledExpression compiled = ExpressionCompiler.compile(ExpressionParser.parse(expression, context));
+            final double[] vectorized = compiled.evaluateAll(points);
+            for (int i = 0; i < points.length; i++) {
+                final double point = points[i];
+                if (expression.contains("!") && point != Math.rint(point)) {
+                    Assert.assertTrue(expression, Double.isNaN(compiled.evaluate(point)));
+                    continue;
+                }
+                final String substituted = expression.replace("x", "(" + BigDecimal.valueOf(point).stripTrailingZeros().toPlainString() + ")");
+                final double expected = ExpressionParser.parse(substituted, context).getValue(context).doubleValue();
+                Assert.assertEquals(expression + " at " + point, expected, compiled.evaluate(point), 1e-9 * Math.max(1, Math.abs(expected)));
+                Assert.assertEquals(expression + " at " + point, compiled.evaluate(point), vectorized[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testTrigonometricFunctions() {
+        final CompiledExpression compiled = ExpressionCompiler.compile(ExpressionParser.parse("sin(x)+cos(x)-tan(x)/x", context));
+        for (double x = 0.25; x < 3; x += 0.25) {
+            Assert.assertEquals(Math.sin(x) + Math.cos(x) - Math.tan(x) / x, compiled.evaluate(x), 1e-12);
+        }
+    }
+
+    @Test
+    public void testVariableSlots() {
+        final Component component = ExpressionParser.parse("y^2+2x-z", context);
+
+        final CompiledExpression compiled = ExpressionCompiler.compile(component);
+        Assert.assertEquals(List.of('x', 'y', 'z'), compiled.getVariables());
+        Assert.assertEquals(1, compiled.slotOf('y'));
+        Assert.assertEquals(9 + 2 - 4, compiled.evaluate(1, 3, 4), 0);
+
+        final CompiledExpression reordered = ExpressionCompiler.compile(component, 'z', 'y', 'x');
+        Assert.assertEquals(9 + 2 - 4, reordered.evaluate(4, 3, 1), 0);
+
+        double[] results = new double[2];
+        compiled.evaluate(new double[][]{{1, 2}, {3, 0}, {4, 1}}, results);
+        Assert.assertArrayEquals(new double[]{7, 3}, results, 0);
+    }
+
+    @Test
+    public void testScalarSubtreesAreFolded() {
+        final CompiledExpression compiled = ExpressionCompiler.compile(ExpressionParser.parse("(2+3)*4", context));
+        Assert.assertTrue(compiled.getVariables().isEmpty());
+        Assert.assertEquals(20, compiled.evaluate(), 0);
+        Assert.assertTrue(Double.isNaN(ExpressionCompiler.compile(ExpressionParser.parse("ln(x)", context)).evaluate(-1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSlot() {
+        ExpressionCompiler.compile(ExpressionParser.parse("x+y", context), 'x');
+    }
+}
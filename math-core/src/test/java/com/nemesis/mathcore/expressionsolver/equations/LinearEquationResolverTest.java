@@ -47,20 +47,20 @@ public class LinearEquationResolverTest {
         tests.put(new ResolutionInput("x-3+5", LTE), new ResolutionOutput("x ≤ -2 , x ∈ ℝ", "x \\leq -2 , x \\in \\R"));
         tests.put(new ResolutionInput("x-3+5", GTE), new ResolutionOutput("x ≥ -2 , x ∈ ℝ", "x \\geq -2 , x \\in \\R"));
         tests.put(new ResolutionInput("3*x-2", GT), new ResolutionOutput("x > 2/3 , x ∈ ℝ", "x > \\frac{2}{3} , x \\in \\R"));
-        tests.put(new ResolutionInput("-3*x-2", GT), new ResolutionOutput("x < 2/-3 , x ∈ ℝ", "x < \\frac{2}{-3} , x \\in \\R"));
-        tests.put(new ResolutionInput("-3*x-2", LT), new ResolutionOutput("x > 2/-3 , x ∈ ℝ", "x > \\frac{2}{-3} , x \\in \\R"));
+        tests.put(new ResolutionInput("-3*x-2", GT), new ResolutionOutput("x < -2/3 , x ∈ ℝ", "x < \\frac{-2}{3} , x \\in \\R"));
+        tests.put(new ResolutionInput("-3*x-2", LT), new ResolutionOutput("x > -2/3 , x ∈ ℝ", "x > \\frac{-2}{3} , x \\in \\R"));
         tests.put(new ResolutionInput("-3*x+2-5", LTE), new ResolutionOutput("x ≥ -1 , x ∈ ℝ", "x \\geq -1 , x \\in \\R"));
 
 
-        MathCoreContext.setNumericMode(MathCoreContext.Mode.FRACTIONAL);
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
 
         for (ResolutionInput test : tests.keySet()) {
             System.out.println("\n");
             log.info("Testing [{} {} 0]", test.function(), test.operator().toString());
-            final Component component = ExpressionUtils.simplify(test.function());
+            final Component component = ExpressionUtils.simplify(test.function(), context);
             Polynomial polynomial = Polynomial.getPolynomial(component);
             assertNotNull(polynomial);
-            final Union intervals = LinearEquationResolver.resolve(polynomial, test.operator(), new Variable('x')); // TODO: test with all found variables
+            final Union intervals = context.call(() -> LinearEquationResolver.resolve(polynomial, test.operator(), new Variable('x'))); // TODO: test with all found variables
             assertNotNull(intervals);
             assertEquals(1, intervals.size());
             final ResolutionOutput expectedSolution = tests.get(test);
@@ -0,0 +1,139 @@
+package com.nemesis.mathcore.expressionsolver.equations;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Constant;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.intervals.model.Union;
+import com.nemesis.mathcore.expressionsolver.models.Polynomial;
+import com.nemesis.mathcore.expressionsolver.models.RelationalOperator;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@Slf4j
+public class PolynomialEquationResolverTest {
+
+    @Test
+    public void resolve() {
+
+        Map<ResolutionInput, ResolutionOutput> tests = new LinkedHashMap<>();
+
+        tests.put(new ResolutionInput("5", RelationalOperator.EQ),
+                new ResolutionOutput("x ∈ ∅", "x \\in \\emptyset"));
+
+        tests.put(new ResolutionInput("5", RelationalOperator.GTE),
+                new ResolutionOutput("∀ x ∈ ℝ", "\\forall x \\in \\R"));
+
+        tests.put(new ResolutionInput("x^3-6x^2+11x-6", RelationalOperator.EQ),
+                new ResolutionOutput("x = 1 ∪ x = 2 ∪ x = 3", "x = 1 \\cup x = 2 \\cup x = 3"));
+
+        tests.put(new ResolutionInput("x^3-6x^2+11x-6", RelationalOperator.GT),
+                new ResolutionOutput("1 < x < 2 , x ∈ ℝ ∪ x > 3 , x ∈ ℝ", "1 < x < 2 , x \\in \\R \\cup x > 3 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("x^3-x", RelationalOperator.LTE),
+                new ResolutionOutput("x ≤ -1 , x ∈ ℝ ∪ 0 ≤ x ≤ 1 , x ∈ ℝ", "x \\leq -1 , x \\in \\R \\cup 0 \\leq x \\leq 1 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("2x^3-3x^2-2x+3", RelationalOperator.EQ),
+                new ResolutionOutput("x = -1 ∪ x = 1 ∪ x = 3/2", "x = -1 \\cup x = 1 \\cup x = \\frac{3}{2}"));
+
+        // Roots near other rational candidates: ±1/2 rounds to 0, which is a root too
+        tests.put(new ResolutionInput("4x^3-x", RelationalOperator.EQ),
+                new ResolutionOutput("x = -1/2 ∪ x = 0 ∪ x = 1/2", "x = \\frac{-1}{2} \\cup x = 0 \\cup x = \\frac{1}{2}"));
+
+        tests.put(new ResolutionInput("4x^3-x", RelationalOperator.GT),
+                new ResolutionOutput("-1/2 < x < 0 , x ∈ ℝ ∪ x > 1/2 , x ∈ ℝ", "\\frac{-1}{2} < x < 0 , x \\in \\R \\cup x > \\frac{1}{2} , x \\in \\R"));
+
+        tests.put(new ResolutionInput("x^3-4x^2+x", RelationalOperator.EQ),
+                new ResolutionOutput("x = 0 ∪ x = (4-√12)/2 ∪ x = (4+√12)/2", "x = 0 \\cup x = \\frac{(4-\\sqrt{12})}{2} \\cup x = \\frac{(4+\\sqrt{12})}{2}"));
+
+        // Powers of polynomials are expanded
+        tests.put(new ResolutionInput("(x-1)^3*(x+2)^2", RelationalOperator.GTE),
+                new ResolutionOutput("x = -2 ∪ x ≥ 1 , x ∈ ℝ", "x = -2 \\cup x \\geq 1 , x \\in \\R"));
+
+        // Double root: the sign doesn't change at x = 1
+        tests.put(new ResolutionInput("(x-1)^2(x+2)", RelationalOperator.GTE),
+                new ResolutionOutput("x ≥ -2 , x ∈ ℝ", "x \\geq -2 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("(x-1)^2(x+2)", RelationalOperator.LT),
+                new ResolutionOutput("x < -2 , x ∈ ℝ", "x < -2 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("(x-1)^2*(x^2+1)", RelationalOperator.GT),
+                new ResolutionOutput("x ≠ 1", "x \\neq 1"));
+
+        tests.put(new ResolutionInput("(x-1)^2*(x^2+1)", RelationalOperator.LTE),
+                new ResolutionOutput("x = 1", "x = 1"));
+
+        tests.put(new ResolutionInput("x^3-x^2-x+1", RelationalOperator.NEQ),
+                new ResolutionOutput("x < -1 , x ∈ ℝ ∪ -1 < x < 1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ", "x < -1 , x \\in \\R \\cup -1 < x < 1 , x \\in \\R \\cup x > 1 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("x^4+1", RelationalOperator.EQ),
+                new ResolutionOutput("x ∈ ∅", "x \\in \\emptyset"));
+
+        tests.put(new ResolutionInput("x^4+1", RelationalOperator.GT),
+                new ResolutionOutput("∀ x ∈ ℝ", "\\forall x \\in \\R"));
+
+        // The quadratic factor left after dividing out x = 0 is resolved exactly
+        tests.put(new ResolutionInput("x^3-3x", RelationalOperator.EQ),
+                new ResolutionOutput("x = -√12/2 ∪ x = 0 ∪ x = √12/2", "x = \\frac{-\\sqrt{12}}{2} \\cup x = 0 \\cup x = \\frac{\\sqrt{12}}{2}"));
+
+        // Irrational roots are refined up to the scale of the context
+        tests.put(new ResolutionInput("x^3-2", RelationalOperator.EQ),
+                new ResolutionOutput("x = 1.2599210498948732", "x = 1.2599210498948732"));
+
+        tests.put(new ResolutionInput("x^5-x-1", RelationalOperator.GT),
+                new ResolutionOutput("x > 1.1673039782614187 , x ∈ ℝ", "x > 1.1673039782614187 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("x^4-5x^2+6", RelationalOperator.EQ),
+                new ResolutionOutput("x = -1.7320508075688773 ∪ x = -1.414213562373095 ∪ x = 1.414213562373095 ∪ x = 1.7320508075688773",
+                        "x = -1.7320508075688773 \\cup x = -1.414213562373095 \\cup x = 1.414213562373095 \\cup x = 1.7320508075688773"));
+
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+
+        for (ResolutionInput test : tests.keySet()) {
+            log.info("");
+            log.info("Testing [{} {} 0]", test.getFunction(), test.getOperator().toString());
+            final Component component = ExpressionUtils.simplify(test.getFunction(), context);
+            Polynomial polynomial = Polynomial.getPolynomial(component);
+            assertNotNull(polynomial);
+            final Union intervals = context.call(() -> PolynomialEquationResolver.resolve(polynomial, test.getOperator(), new Variable('x')));
+            assertNotNull(intervals);
+            final ResolutionOutput expectedSolution = tests.get(test);
+            assertEquals("Error resolving [" + test + "]", expectedSolution.getPlainString(), intervals.toString());
+            assertEquals("Error resolving [" + test + "]", expectedSolution.getLatexString(), intervals.toLatex());
+        }
+
+    }
+
+    @Test
+    public void resolveFromExpressionUtils() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        final Union intervals = ExpressionUtils.resolve(ExpressionUtils.simplify("x^3-8", context), RelationalOperator.LT, new Constant(0), new Variable('x'), context);
+        assertEquals("x < 2 , x ∈ ℝ", intervals.toString());
+    }
+
+
+    @Data
+    @AllArgsConstructor
+    private static class ResolutionOutput {
+        private final String plainString;
+        private final String latexString;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    private class ResolutionInput {
+        private final String function;
+        private final RelationalOperator operator;
+    }
+
+}
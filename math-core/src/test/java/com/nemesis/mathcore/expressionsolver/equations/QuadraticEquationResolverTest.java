@@ -62,6 +62,15 @@ public class QuadraticEquationResolverTest {
         tests.put(new ResolutionInput("9x^2-6x+1", RelationalOperator.GT),
                 new ResolutionOutput("x ≠ 1/3", "x \\neq \\frac{1}{3}"));
 
+        tests.put(new ResolutionInput("x^2-1", RelationalOperator.GT),
+                new ResolutionOutput("x < -1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ", "x < -1 , x \\in \\R \\cup x > 1 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("x^2-1", RelationalOperator.NEQ),
+                new ResolutionOutput("x < -1 , x ∈ ℝ ∪ -1 < x < 1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ", "x < -1 , x \\in \\R \\cup -1 < x < 1 , x \\in \\R \\cup x > 1 , x \\in \\R"));
+
+        tests.put(new ResolutionInput("1-x^2", RelationalOperator.GT),
+                new ResolutionOutput("-1 < x < 1 , x ∈ ℝ", "-1 < x < 1 , x \\in \\R"));
+
         // TODO: transform to quadratic functions
 //        tests.put(new ResolutionInput("x-1", RelationalOperator.EQUALS), new ResolutionOutput("x = 1", "x = 1"));
 //        tests.put(new ResolutionInput("x+2", RelationalOperator.EQUALS), new ResolutionOutput("x = -2", "x = -2"));
@@ -88,15 +97,15 @@ public class QuadraticEquationResolverTest {
 //        tests.put(new ResolutionInput("-3*x+2-5", RelationalOperator.LESS_THAN_OR_EQUALS), new ResolutionOutput("x ≥ -1", "x \\geq -1"));
 
 
-        MathCoreContext.setNumericMode(MathCoreContext.Mode.FRACTIONAL);
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
 
         for (ResolutionInput test : tests.keySet()) {
             log.info("");
             log.info("Testing [{} {} 0]", test.getFunction(), test.getOperator().toString());
-            final Component component = ExpressionUtils.simplify(test.getFunction());
+            final Component component = ExpressionUtils.simplify(test.getFunction(), context);
             Polynomial polynomial = Polynomial.getPolynomial(component);
             assertNotNull(polynomial);
-            final Union intervals = QuadraticEquationResolver.resolve(polynomial, test.getOperator(), new Variable('x')); // TODO: test with all found variables
+            final Union intervals = context.call(() -> QuadraticEquationResolver.resolve(polynomial, test.getOperator(), new Variable('x'))); // TODO: test with all found variables
             assertNotNull(intervals);
             final ResolutionOutput expectedSolution = tests.get(test);
             assertEquals("Error resolving [" + test + "]", expectedSolution.getPlainString(), intervals.toString());
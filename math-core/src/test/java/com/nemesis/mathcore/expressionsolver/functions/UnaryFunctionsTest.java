@@ -0,0 +1,126 @@
+package com.nemesis.mathcore.expressionsolver.functions;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Expression;
+import com.nemesis.mathcore.expressionsolver.components.MathUnaryFunction;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class UnaryFunctionsTest {
+
+    private static final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+
+    @Test
+    public void testEvaluation() {
+        Map<String, Double> tests = Map.of(
+                "sin(2)", Math.sin(2),
+                "cos(2)", Math.cos(2),
+                "tg(2)", Math.tan(2),
+                "-cotan(2)", -1 / Math.tan(2),
+                "sec(2)+csc(2)", 1 / Math.cos(2) + 1 / Math.sin(2)
+        );
+
+        for (Map.Entry<String, Double> test : tests.entrySet()) {
+            final BigDecimal value = ExpressionParser.parse(test.getKey(), context).getValue(context);
+            Assert.assertEquals(test.getKey(), test.getValue(), value.doubleValue(), 1e-12);
+        }
+    }
+
+    @Test
+    public void testParsedFunctionsShareDefinition() {
+        final Component first = ExpressionParser.parse("sin(x)", context);
+        final Component second = ExpressionParser.parse("sin(x)", context);
+        Assert.assertEquals(first, second);
+        Assert.assertSame(UnaryFunctions.get("sin").getFunction(), ((MathUnaryFunction) ((Expression) first).getTerm().getFactor()).getFunction());
+    }
+
+    @Test
+    public void testDerivative() {
+        final Variable x = new Variable('x');
+        Map<String, Double> tests = Map.of(
+                "sin(x)", Math.cos(0.5),
+                "-cos(x)", Math.sin(0.5),
+                "tan(x)", 1 / Math.pow(Math.cos(0.5), 2),
+                "sin(2x)", 2 * Math.cos(1)
+        );
+
+        for (Map.Entry<String, Double> test : tests.entrySet()) {
+            final Component derivative = ExpressionParser.parse(test.getKey(), context).getDerivative(x);
+            final String atPoint = derivative.toString().replace("x", "(0.5)");
+            final BigDecimal value = ExpressionParser.parse(atPoint, context).getValue(context);
+            Assert.assertEquals(test.getKey() + "' = " + derivative, test.getValue(), value.doubleValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testHyperbolicEvaluation() {
+        Map<String, Double> tests = Map.of(
+                "sinh(2)", Math.sinh(2),
+                "cosh(-2)", Math.cosh(2),
+                "tanh(0.5)+coth(0.5)", Math.tanh(0.5) + 1 / Math.tanh(0.5),
+                "sech(2)*csch(2)", 1 / (Math.cosh(2) * Math.sinh(2)),
+                "arsinh(sinh(1.5))", 1.5,
+                "arcosh(cosh(1.5))", 1.5,
+                "artanh(tanh(0.3))+arcoth(2)", 0.3 + 0.5 * Math.log(3),
+                "arsech(0.5)+arcsch(0.5)", Math.log(2 + Math.sqrt(3)) + Math.log(2 + Math.sqrt(5))
+        );
+
+        for (Map.Entry<String, Double> test : tests.entrySet()) {
+            final BigDecimal value = ExpressionParser.parse(test.getKey(), context).getValue(context);
+            Assert.assertEquals(test.getKey(), test.getValue(), value.doubleValue(), 1e-12);
+        }
+    }
+
+    @Test
+    public void testHyperbolicDerivative() {
+        final Variable x = new Variable('x');
+        Map<String, Double> tests = Map.of(
+                "sinh(x)", Math.cosh(0.5),
+                "cosh(x)", Math.sinh(0.5),
+                "tanh(x)", 1 / Math.pow(Math.cosh(0.5), 2),
+                "coth(x)", -1 / Math.pow(Math.sinh(0.5), 2),
+                "arsinh(x)", 1 / Math.sqrt(1.25),
+                "artanh(x)", 1 / 0.75,
+                "arsech(x)", -1 / (0.5 * Math.sqrt(0.75)),
+                "cosh(2x)", 2 * Math.sinh(1)
+        );
+
+        for (Map.Entry<String, Double> test : tests.entrySet()) {
+            final Component derivative = ExpressionParser.parse(test.getKey(), context).getDerivative(x);
+            final String atPoint = derivative.toString().replace("x", "(0.5)");
+            final BigDecimal value = ExpressionParser.parse(atPoint, context).getValue(context);
+            Assert.assertEquals(test.getKey() + "' = " + derivative, test.getValue(), value.doubleValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testHyperbolicDomain() {
+        final Variable x = new Variable('x');
+        Map<String, String> tests = Map.of(
+                "sinh(x)", "∀ x ∈ ℝ",
+                "coth(x)", "x < 0 , x ∈ ℝ ∪ x > 0 , x ∈ ℝ",
+                "arcosh(2x+1)", "x ≥ 0 , x ∈ ℝ",
+                "arsech(x)", "0 < x ≤ 1 , x ∈ ℝ",
+                "artanh(x-1)", "0 < x < 2 , x ∈ ℝ",
+                "arcoth(x)", "x < -1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ"
+        );
+
+        for (Map.Entry<String, String> test : tests.entrySet()) {
+            Assert.assertEquals(test.getKey(), test.getValue(), ExpressionUtils.getDomain(test.getKey(), x, context).toString());
+        }
+    }
+
+    @Test
+    public void testRegister() {
+        Assert.assertFalse(UnaryFunctions.isRegistered("twice"));
+        UnaryFunctions.register(new UnaryFunctionDefinition("twice", arg -> arg.multiply(BigDecimal.valueOf(2))));
+        Assert.assertEquals(0, BigDecimal.valueOf(6).compareTo(ExpressionParser.parse("twice(3)", context).getValue(context)));
+    }
+}
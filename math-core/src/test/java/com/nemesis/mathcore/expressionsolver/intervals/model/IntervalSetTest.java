@@ -0,0 +1,101 @@
+package com.nemesis.mathcore.expressionsolver.intervals.model;
+
+import com.nemesis.mathcore.expressionsolver.components.Constant;
+import com.nemesis.mathcore.expressionsolver.exception.VariablesMismatchException;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Point;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.MINUS_INFINITY;
+import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.PLUS_INFINITY;
+import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.Type.CLOSED;
+import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.Type.OPEN;
+
+public class IntervalSetTest {
+
+    private static final String VAR = "x";
+
+    @Test
+    public void testNormalization() {
+        // (0,1] ∪ (1,2) ∪ [5,6] ∪ [4,5)
+        final IntervalSet set = IntervalSet.of(VAR, Set.of(
+                interval(OPEN, 0, CLOSED, 1),
+                interval(OPEN, 1, OPEN, 2),
+                interval(CLOSED, 5, CLOSED, 6),
+                interval(CLOSED, 4, OPEN, 5)
+        ));
+        Assert.assertEquals(2, set.size());
+        Assert.assertEquals("0 < x < 2 , x ∈ ℝ ∪ 4 ≤ x ≤ 6 , x ∈ ℝ", set.toString());
+
+        // Intervals touching on an excluded point are kept apart
+        final IntervalSet holed = IntervalSet.of(VAR, Set.of(interval(OPEN, 0, OPEN, 1), interval(OPEN, 1, OPEN, 2)));
+        Assert.assertEquals(2, holed.size());
+
+        Assert.assertTrue(IntervalSet.of(VAR, Set.of(interval(OPEN, 1, OPEN, 1), new NoPointInterval(VAR))).isEmpty());
+        Assert.assertEquals("x ∈ ∅", IntervalSet.empty(VAR).toString());
+    }
+
+    @Test
+    public void testUnion() {
+        final IntervalSet a = IntervalSet.of(VAR, Set.of(interval(CLOSED, 0, OPEN, 1), interval(CLOSED, 3, CLOSED, 4)));
+        final IntervalSet b = IntervalSet.of(VAR, Set.of(interval(CLOSED, 1, OPEN, 2), point(4), interval(OPEN, 4, OPEN, 5), point(7)));
+        final IntervalSet union = a.union(b);
+        Assert.assertEquals("0 ≤ x < 2 , x ∈ ℝ ∪ 3 ≤ x < 5 , x ∈ ℝ ∪ x = 7", union.toString());
+        Assert.assertEquals(union, b.union(a));
+        Assert.assertEquals(IntervalSet.forEach(VAR), union.union(IntervalSet.forEach(VAR)));
+        Assert.assertEquals(a, a.union(IntervalSet.empty(VAR)));
+    }
+
+    @Test
+    public void testIntersection() {
+        // x ≠ 0 ∩ x ≠ 1 ∩ x ≥ -1
+        final IntervalSet set = IntervalSet.of(new SinglePointInterval(VAR, new Point(new Constant(0)), SinglePointInterval.Type.NOT_EQUALS))
+                .intersect(IntervalSet.of(new SinglePointInterval(VAR, new Point(new Constant(1)), SinglePointInterval.Type.NOT_EQUALS)))
+                .intersect(IntervalSet.of(new DoublePointInterval(VAR, new Delimiter(CLOSED, -1), PLUS_INFINITY)));
+        Assert.assertEquals("-1 ≤ x < 0 , x ∈ ℝ ∪ 0 < x < 1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ", set.toString());
+
+        // Closed delimiters meeting in a single point
+        final IntervalSet a = IntervalSet.of(new DoublePointInterval(VAR, MINUS_INFINITY, new Delimiter(CLOSED, 2)));
+        final IntervalSet b = IntervalSet.of(new DoublePointInterval(VAR, new Delimiter(CLOSED, 2), PLUS_INFINITY));
+        Assert.assertEquals("x = 2", a.intersect(b).toString());
+        Assert.assertTrue(a.intersect(IntervalSet.of(new DoublePointInterval(VAR, new Delimiter(OPEN, 2), PLUS_INFINITY))).isEmpty());
+        Assert.assertEquals(set, set.intersect(IntervalSet.forEach(VAR)));
+    }
+
+    @Test
+    public void testContains() {
+        final IntervalSet set = IntervalSet.of(VAR, Set.of(
+                new DoublePointInterval(VAR, MINUS_INFINITY, new Delimiter(OPEN, -10)),
+                interval(CLOSED, 0, OPEN, 1),
+                point(3),
+                interval(OPEN, 5, CLOSED, 8)
+        ));
+        Assert.assertTrue(set.contains(new Constant(-100)));
+        Assert.assertFalse(set.contains(new Constant(-10)));
+        Assert.assertTrue(set.contains(new Constant(0)));
+        Assert.assertTrue(set.contains(new Constant(0.5)));
+        Assert.assertFalse(set.contains(new Constant(1)));
+        Assert.assertTrue(set.contains(new Constant(3)));
+        Assert.assertFalse(set.contains(new Constant(4)));
+        Assert.assertFalse(set.contains(new Constant(5)));
+        Assert.assertTrue(set.contains(new Constant(8)));
+        Assert.assertFalse(set.contains(new Constant(9)));
+        Assert.assertFalse(IntervalSet.empty(VAR).contains(new Constant(0)));
+    }
+
+    @Test(expected = VariablesMismatchException.class)
+    public void testVariablesMismatch() {
+        IntervalSet.forEach("x").union(IntervalSet.forEach("y"));
+    }
+
+    private static DoublePointInterval interval(Delimiter.Type leftType, int left, Delimiter.Type rightType, int right) {
+        return new DoublePointInterval(VAR, new Delimiter(leftType, left), new Delimiter(rightType, right));
+    }
+
+    private static SinglePointInterval point(int value) {
+        return new SinglePointInterval(VAR, new Point(new Constant(value)), SinglePointInterval.Type.EQUALS);
+    }
+}
@@ -0,0 +1,111 @@
+package com.nemesis.mathcore.expressionsolver.models;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Random;
+
+public class DensePolynomialTest {
+
+    @Test
+    public void testNormalization() {
+        Assert.assertEquals(DensePolynomial.of(1, 2), DensePolynomial.of(new BigInteger[]{BigInteger.TWO, BigInteger.valueOf(4), BigInteger.ZERO}, BigInteger.TWO));
+        Assert.assertEquals(DensePolynomial.of(-1, -2), DensePolynomial.of(new BigInteger[]{BigInteger.ONE, BigInteger.TWO}, BigInteger.ONE.negate()));
+        Assert.assertEquals(-1, DensePolynomial.of(0, 0).getDegree());
+        Assert.assertTrue(DensePolynomial.of(1, -1).add(DensePolynomial.of(-1, 1)).isZero());
+        Assert.assertEquals("(x+2)/3", DensePolynomial.of(new BigInteger[]{BigInteger.TWO, BigInteger.ONE}, BigInteger.valueOf(3)).toString());
+    }
+
+    @Test
+    public void testArithmetic() {
+        final DensePolynomial a = DensePolynomial.of(-3, 8);   // 8x-3
+        final DensePolynomial b = DensePolynomial.of(1, 1);    // x+1
+        Assert.assertEquals("8x^2+5x-3", a.multiply(b).toString());
+        Assert.assertEquals("9x-2", a.add(b).toString());
+        Assert.assertEquals("7x-4", a.subtract(b).toString());
+        Assert.assertEquals("(x^2+3x+2)/2", DensePolynomial.of(new BigInteger[]{BigInteger.ONE, BigInteger.ONE}, BigInteger.TWO).multiply(DensePolynomial.of(2, 1)).toString());
+        Assert.assertEquals(DensePolynomial.ONE_POLYNOMIAL, b.pow(0));
+    }
+
+    @Test
+    public void testBinomial() {
+        final DensePolynomial power = DensePolynomial.of(1, 1).pow(100);
+        Assert.assertEquals(100, power.getDegree());
+        BigInteger binomial = BigInteger.ONE;
+        for (int k = 0; k <= 100; k++) {
+            Assert.assertEquals(binomial, power.getNumerator(k));
+            binomial = binomial.multiply(BigInteger.valueOf(100 - k)).divide(BigInteger.valueOf(k + 1));
+        }
+    }
+
+    @Test
+    public void testKaratsuba() {
+        final Random random = new Random(42);
+        for (int[] lengths : new int[][]{{40, 40}, {100, 33}, {257, 64}, {33, 500}, {129, 128}, {1000, 40}}) {
+            final BigInteger[] a = randomCoefficients(random, lengths[0]);
+            final BigInteger[] b = randomCoefficients(random, lengths[1]);
+            Assert.assertArrayEquals(DensePolynomial.schoolbook(a, b), DensePolynomial.multiply(a, b));
+        }
+    }
+
+    @Test
+    public void testDivision() {
+        final DensePolynomial[] quotientAndRemainder = DensePolynomial.of(1, 0, 0, 2).divideAndRemainder(DensePolynomial.of(1, 2));    // (2x^3+1)/(2x+1)
+        Assert.assertEquals("(4x^2-2x+1)/4", quotientAndRemainder[0].toString());
+        Assert.assertEquals(DensePolynomial.constant(BigInteger.valueOf(3), BigInteger.valueOf(4)), quotientAndRemainder[1]);
+        Assert.assertEquals(DensePolynomial.of(1, 0, 0, 2), quotientAndRemainder[0].multiply(DensePolynomial.of(1, 2)).add(quotientAndRemainder[1]));
+        Assert.assertEquals(DensePolynomial.of(1, 1), DensePolynomial.of(-1, 0, 1).divide(DensePolynomial.of(-1, 1)));
+    }
+
+    @Test
+    public void testGcd() {
+        final DensePolynomial a = DensePolynomial.of(-1, 0, 1);     // x^2-1
+        final DensePolynomial b = DensePolynomial.of(2, -2);        // -2x+2
+        Assert.assertEquals(DensePolynomial.of(-1, 1), a.gcd(b));
+        Assert.assertEquals(DensePolynomial.ONE_POLYNOMIAL, DensePolynomial.of(1, 1).gcd(DensePolynomial.of(2, 1)));
+        Assert.assertEquals(DensePolynomial.of(-1, 1), DensePolynomial.ZERO_POLYNOMIAL.gcd(b));
+
+        // Knuth's example, coprime polynomials with large remainders
+        final DensePolynomial p = DensePolynomial.of(-5, 2, 8, -3, -3, 0, 1, 0, 1);
+        final DensePolynomial q = DensePolynomial.of(21, -9, -4, 0, 5, 0, 3);
+        Assert.assertEquals(DensePolynomial.ONE_POLYNOMIAL, p.gcd(q));
+
+        final DensePolynomial common = DensePolynomial.of(3, -1, 7).pow(2);
+        Assert.assertEquals(common.monic(), p.multiply(common).gcd(q.multiply(common)));
+    }
+
+    @Test
+    public void testSquareFreeFactorization() {
+        // 3(x+1)(x-2)^3
+        final DensePolynomial polynomial = DensePolynomial.of(1, 1).multiply(DensePolynomial.of(-2, 1).pow(3)).multiply(DensePolynomial.of(3));
+        final List<DensePolynomial> factors = polynomial.squareFreeFactorization();
+        Assert.assertEquals(List.of(DensePolynomial.of(1, 1), DensePolynomial.ONE_POLYNOMIAL, DensePolynomial.of(-2, 1)), factors);
+        Assert.assertEquals(List.of(DensePolynomial.of(1, 0, 1)), DensePolynomial.of(1, 0, 1).squareFreeFactorization());
+        Assert.assertTrue(DensePolynomial.of(5).squareFreeFactorization().isEmpty());
+
+        Assert.assertEquals(DensePolynomial.of(3), polynomial.content());
+        Assert.assertEquals(DensePolynomial.of(1, 2), DensePolynomial.of(new BigInteger[]{BigInteger.TWO, BigInteger.valueOf(4)}, BigInteger.valueOf(3)).primitivePart());
+    }
+
+    private static BigInteger[] randomCoefficients(Random random, int length) {
+        final BigInteger[] coefficients = new BigInteger[length];
+        for (int i = 0; i < length; i++) {
+            coefficients[i] = new BigInteger(80, random).subtract(BigInteger.ONE.shiftLeft(79));
+        }
+        return coefficients;
+    }
+
+    @Test
+    public void testEvaluation() {
+        // (x^2-2)/3
+        final DensePolynomial polynomial = DensePolynomial.of(new BigInteger[]{BigInteger.valueOf(-2), BigInteger.ZERO, BigInteger.ONE}, BigInteger.valueOf(3));
+        Assert.assertEquals(0, new BigDecimal("0.75").compareTo(polynomial.evaluate(new BigDecimal("2.0615528128088303"), new MathContext(4))));
+        Assert.assertEquals(-1, polynomial.signumAt(new BigDecimal("1.4142135623730950")));
+        Assert.assertEquals(1, polynomial.signumAt(new BigDecimal("1.4142135623730951")));
+        Assert.assertEquals(0, DensePolynomial.of(-1, 1).signumAt(BigDecimal.ONE));
+    }
+}
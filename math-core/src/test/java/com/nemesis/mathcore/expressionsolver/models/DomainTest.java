@@ -1,7 +1,14 @@
 package com.nemesis.mathcore.expressionsolver.models;
 
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Constant;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
 import com.nemesis.mathcore.expressionsolver.intervals.model.DoublePointInterval;
+import com.nemesis.mathcore.expressionsolver.intervals.model.NoPointInterval;
+import com.nemesis.mathcore.expressionsolver.intervals.model.SinglePointInterval;
 import com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter;
+import com.nemesis.mathcore.expressionsolver.models.delimiters.Point;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
 import junit.framework.TestCase;
 
 import static com.nemesis.mathcore.expressionsolver.models.delimiters.Delimiter.MINUS_INFINITY;
@@ -54,4 +61,32 @@ public class DomainTest extends TestCase {
 
     }
 
+    public void testExcludedPoints() {
+        Domain domain = new Domain();
+        domain.intersectWith(new SinglePointInterval(VAR, new Point(new Constant(0)), SinglePointInterval.Type.NOT_EQUALS));
+        domain.intersectWith(new SinglePointInterval(VAR, new Point(new Constant(1)), SinglePointInterval.Type.NOT_EQUALS));
+        assertEquals("x < 0 , x ∈ ℝ ∪ 0 < x < 1 , x ∈ ℝ ∪ x > 1 , x ∈ ℝ", domain.toString());
+        assertFalse(domain.contains(new Constant(1)));
+        assertTrue(domain.contains(new Constant(2)));
+
+        domain.unionWith(new DoublePointInterval(VAR, new Delimiter(Delimiter.Type.CLOSED, 0), new Delimiter(Delimiter.Type.CLOSED, 1)));
+        assertEquals("∀ x ∈ ℝ", domain.toString());
+
+        domain.intersectWith(new NoPointInterval(VAR));
+        assertEquals("x ∈ ∅", domain.toString());
+    }
+
+    /*
+        The delimiters of the roots of x^3-x aren't comparable as components to the ones of x+1/2: the intervals are
+        emitted in the order of the normal form, without being sorted again
+     */
+    public void testIncomparableDelimiters() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+        final Domain domain = ExpressionUtils.getDomain("√(x^3-x)+1/(x+1/2)", new Variable('x'), context);
+        assertEquals(3, domain.getIntervals().size());
+        assertEquals("-1 ≤ x < -0.5 , x ∈ ℝ ∪ -0.5 < x ≤ 0 , x ∈ ℝ ∪ x ≥ 1 , x ∈ ℝ", context.call(domain::toString));
+        assertFalse(domain.contains(new Constant(-0.5)));
+        assertTrue(domain.contains(new Constant(2)));
+    }
+
 }
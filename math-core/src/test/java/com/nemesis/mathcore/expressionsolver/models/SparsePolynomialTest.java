@@ -0,0 +1,82 @@
+package com.nemesis.mathcore.expressionsolver.models;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Expression;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SparsePolynomialTest {
+
+    @Test
+    public void testConversion() {
+
+        Map<String, String> tests = new LinkedHashMap<>();
+        tests.put("x^2", "x^2");
+        tests.put("2x(x+1)-x", "2x^2+x");
+        tests.put("-(x-1)(x+1)", "-x^2+1");
+        tests.put("(x+y)(x-y)", "x^2-y^2");
+        tests.put("(-x)^3+x^3+3", "3");
+        tests.put("(x+1)^2/2", "1/2x^2+x+1/2");
+        tests.put("x-x", "0");
+
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        for (Map.Entry<String, String> test : tests.entrySet()) {
+            context.call(() -> {
+                final SparsePolynomial polynomial = SparsePolynomial.of(ExpressionParser.parse(test.getKey()));
+                Assert.assertNotNull(test.getKey(), polynomial);
+                Assert.assertEquals(test.getKey(), test.getValue(), polynomial.toExpression().toString());
+                // Converting the result back gives the same polynomial
+                Assert.assertEquals(test.getKey(), polynomial, SparsePolynomial.of(polynomial.toExpression()));
+                return polynomial;
+            });
+        }
+    }
+
+    @Test
+    public void testNotPolynomial() {
+        for (String expression : new String[]{"sin(x)", "1/x", "|x|+1", "x^(1/2)", "x^y", "ln(x)*x", "2.5x"}) {
+            Assert.assertNull(expression, SparsePolynomial.of(ExpressionParser.parse(expression)));
+        }
+    }
+
+    @Test
+    public void testDegree() {
+        final SparsePolynomial polynomial = SparsePolynomial.of(ExpressionParser.parse("x^3*y+y^2+1"));
+        Assert.assertEquals(3, polynomial.getDegree('x'));
+        Assert.assertEquals(2, polynomial.getDegree('y'));
+        Assert.assertEquals(0, polynomial.getDegree('z'));
+        Assert.assertEquals(4, polynomial.getTotalDegree());
+        Assert.assertArrayEquals(new char[]{'x', 'y'}, polynomial.getVariables());
+    }
+
+    @Test
+    public void testPower() {
+        final SparsePolynomial power = SparsePolynomial.of(ExpressionParser.parse("(x+1)^20"));
+        final DensePolynomial dense = power.toDense('x');
+        Assert.assertEquals(20, dense.getDegree());
+        Assert.assertEquals(BigInteger.valueOf(184756), dense.getNumerator(10));
+        Assert.assertEquals(dense, DensePolynomial.of(1, 1).pow(20));
+
+        Assert.assertEquals(SparsePolynomial.of(ExpressionParser.parse("x^2+2x*y+y^2")), SparsePolynomial.of(ExpressionParser.parse("(x+y)^2")));
+        // Sparse univariate products aren't stored as dense arrays
+        Assert.assertEquals(4, SparsePolynomial.of(ExpressionParser.parse("(x^1000+1)(x^2000+1)")).size());
+        // Too large to be expanded
+        Assert.assertNull(SparsePolynomial.of(ExpressionParser.parse("(x+1)^5000")));
+        Assert.assertNull(SparsePolynomial.of(ExpressionParser.parse("(x+1)^100")));
+        Assert.assertNull(SparsePolynomial.of(ExpressionParser.parse("(x+y+z)^10")));
+        Assert.assertEquals(1, SparsePolynomial.of(ExpressionParser.parse("(2x^3y)^100")).size());
+    }
+
+    @Test
+    public void testPolynomial() {
+        final Expression expression = ExpressionParser.parse("x^4+y^2*x^5+2+z");
+        final Polynomial polynomial = Polynomial.getPolynomial(expression);
+        Assert.assertEquals(SparsePolynomial.of(expression), SparsePolynomial.of(polynomial));
+        Assert.assertNull(SparsePolynomial.of(Polynomial.getPolynomial(ExpressionParser.parse("ln(x)+x"))));
+    }
+}
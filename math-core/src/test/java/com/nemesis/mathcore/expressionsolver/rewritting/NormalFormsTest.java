@@ -0,0 +1,33 @@
+package com.nemesis.mathcore.expressionsolver.rewritting;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NormalFormsTest {
+
+    @Test
+    public void testLookup() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+        NormalForms normalForms = new NormalForms(context);
+
+        final Component subtree = ExpressionParser.parse("x+x", context);
+        final Component normalForm = ExpressionParser.parse("2x", context);
+        normalForms.record(subtree.getClone(), normalForm);
+
+        final Component found = normalForms.lookup(ExpressionParser.parse("x+x", context));
+        Assert.assertEquals(normalForm, found);
+        Assert.assertNotSame(found, normalForms.lookup(subtree)); // Every lookup returns a private copy
+        Assert.assertNull(normalForms.lookup(ExpressionParser.parse("x+y", context)));
+        Assert.assertEquals(2, normalForms.getHits());
+
+        normalForms.record(ExpressionParser.parse("2x", context), ExpressionParser.parse("2x", context));
+        Assert.assertEquals(2, normalForms.size());
+        Assert.assertEquals(1, normalForms.distinctNormalForms());
+
+        Assert.assertTrue(normalForms.isValidFor(context));
+        Assert.assertFalse(normalForms.isValidFor(MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.nemesis.mathcore.expressionsolver.rewritting;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Logarithm;
+import com.nemesis.mathcore.expressionsolver.rewritting.rules.ScalarEvaluator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class NormalizationPassTest {
+
+    @Test
+    public void testNormalizedSubtreesAreSkipped() {
+        final AtomicInteger visitedNodes = new AtomicInteger();
+        final Rule rule = new Rule() {
+            @Override
+            public Predicate<Component> precondition() {
+                return component -> visitedNodes.incrementAndGet() < 0;
+            }
+
+            @Override
+            public Function<Component, ? extends Component> transformer() {
+                return Function.identity();
+            }
+        };
+        final NormalizationPass pass = new NormalizationPass(List.of(rule));
+        Component tree = ExpressionParser.parse("sin(x+1)+2y^3");
+
+        tree = pass.rewrite(rule, tree);
+        final int nodes = visitedNodes.get();
+        Assert.assertTrue(nodes > 0);
+        Assert.assertEquals(0, pass.getSkippedSubtrees());
+
+        tree = pass.rewrite(rule, tree);
+        Assert.assertEquals(nodes, visitedNodes.get());
+        Assert.assertEquals(1, pass.getSkippedSubtrees());
+
+        pass.forgetNormalizedSubtrees();
+        pass.rewrite(rule, tree);
+        Assert.assertEquals(2 * nodes, visitedNodes.get());
+    }
+
+    @Test
+    public void testRulesAreOfferedTheNodesOfTheirTypes() {
+        final AtomicInteger visitedNodes = new AtomicInteger();
+        final Rule rule = new Rule() {
+            @Override
+            public Set<Class<? extends Component>> componentTypes() {
+                return Set.of(Logarithm.class);
+            }
+
+            @Override
+            public Predicate<Component> precondition() {
+                return component -> visitedNodes.incrementAndGet() < 0;
+            }
+
+            @Override
+            public Function<Component, ? extends Component> transformer() {
+                return Function.identity();
+            }
+        };
+        new NormalizationPass(List.of(rule)).rewrite(rule, ExpressionParser.parse("ln(x+1)+2log(2,y)"));
+        Assert.assertEquals(2, visitedNodes.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRuleOutsideTheSimplification() {
+        new NormalizationPass(List.of()).rewrite(new ScalarEvaluator(), ExpressionParser.parse("1+1"));
+    }
+}
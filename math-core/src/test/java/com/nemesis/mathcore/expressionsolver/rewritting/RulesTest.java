@@ -0,0 +1,25 @@
+package com.nemesis.mathcore.expressionsolver.rewritting;
+
+import com.nemesis.mathcore.expressionsolver.components.Logarithm;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.rewritting.rules.LogarithmSimplifier;
+import com.nemesis.mathcore.expressionsolver.rewritting.rules.ScalarEvaluator;
+import com.nemesis.mathcore.expressionsolver.rewritting.rules.TermSimplifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class RulesTest {
+
+    @Test
+    public void testRulesFor() {
+        final List<Class<?>> logarithmRules = Rules.rulesFor(Logarithm.class).stream().<Class<?>>map(Object::getClass).toList();
+        Assert.assertEquals(List.of(LogarithmSimplifier.class, ScalarEvaluator.class), logarithmRules);
+
+        final List<Class<?>> variableRules = Rules.rulesFor(Variable.class).stream().<Class<?>>map(Object::getClass).toList();
+        Assert.assertEquals(List.of(ScalarEvaluator.class), variableRules);
+
+        Assert.assertTrue(Rules.rulesFor(Variable.class, List.of(new TermSimplifier())).isEmpty());
+    }
+}
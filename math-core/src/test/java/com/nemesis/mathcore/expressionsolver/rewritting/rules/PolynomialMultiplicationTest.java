@@ -34,6 +34,25 @@ public class PolynomialMultiplicationTest extends TestCase {
         result = multiplier.transformer().apply(term);
         assertEquals("16x^2+10x-6", result.toString());
 
+        expression = "(x+1)^2(x-1)";
+        log.info("Testing [{}]", expression);
+        term = Term.getTerm(ExpressionParser.parse(expression));
+        result = multiplier.transformer().apply(term);
+        assertEquals("x^3+x^2-x-1", result.toString());
+
+        expression = "(x+y)(x-y)/2";
+        log.info("Testing [{}]", expression);
+        term = Term.getTerm(ExpressionParser.parse(expression));
+        result = multiplier.transformer().apply(term);
+        assertEquals("(x^2-y^2)/2", result.toString());
+
+        // Powers with too many terms once expanded are kept factored
+        expression = "2(x+1)^100";
+        log.info("Testing [{}]", expression);
+        term = Term.getTerm(ExpressionParser.parse(expression));
+        result = multiplier.transformer().apply(term);
+        assertEquals("2(x+1)^100", result.toString());
+
     }
 
 }
\ No newline at end of file
@@ -36,6 +36,31 @@ public class SimplifyRationalFunctionTest {
 
     }
 
+    @Test
+    public void reducePolynomials() {
+        Rule rule = new SimplifyRationalFunction();
+
+        Map<String, String> tests = new LinkedHashMap<>();
+        tests.put("(x^2-1)/(x-1)", "x+1");
+        tests.put("(x-1)/(x^2-1)", "1/(x+1)");
+        tests.put("(x^2-4)/(x^2+4x+4)", "(x-2)/(x+2)");
+        tests.put("(x+1)/(x^3+3x^2+3x+1)", "1/(x+1)^2");
+        tests.put("(2x+2)/(4x^2+4x)", "1/(2x)");
+        tests.put("(1-x^2)/(1-x)", "x+1");
+
+        tests.forEach((input, expectedOutput) -> {
+            log.info("Testing [{}]", input);
+            final Component actualOutput = rule.applyTo(parseToTerm(input));
+            Assert.assertEquals(input, expectedOutput, actualOutput.toString());
+        });
+
+        // Already in lowest terms (up to the sign), or not univariate
+        for (String input : new String[]{"x/(1-x)", "(x^2-y^2)/(x-y)"}) {
+            final Term term = parseToTerm(input);
+            Assert.assertEquals(input, term, rule.applyTo(term.getClone()));
+        }
+    }
+
     private static Term parseToTerm(String expression) {
         final Expression parsed = ExpressionParser.parse(expression);
         return Term.getTerm(parsed);
@@ -0,0 +1,36 @@
+package com.nemesis.mathcore.expressionsolver.utils;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComponentInternerTest {
+
+    @Test
+    public void testStructuralHash() {
+        final Component a = ExpressionParser.parse("2x^2+ln(x)/3");
+        final Component b = ExpressionParser.parse("2x^2+ln(x)/3");
+        final Component c = ExpressionParser.parse("2x^2+ln(x)/4");
+
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(a.structuralHash(), b.structuralHash());
+        Assert.assertEquals(a.structuralHash(), a.getClone().structuralHash());
+        Assert.assertNotEquals(a.structuralHash(), c.structuralHash());
+    }
+
+    @Test
+    public void testIntern() {
+        ComponentInterner interner = new ComponentInterner();
+
+        final Component first = interner.intern(ExpressionParser.parse("x+1"));
+        final Component second = interner.intern(ExpressionParser.parse("x+1"));
+        final Component other = interner.intern(ExpressionParser.parse("x+2"));
+
+        Assert.assertSame(first, second);
+        Assert.assertNotSame(first, other);
+        Assert.assertTrue(interner.contains(ExpressionParser.parse("x+2")));
+        Assert.assertFalse(interner.contains(ExpressionParser.parse("x+3")));
+        Assert.assertEquals(2, interner.size());
+    }
+}
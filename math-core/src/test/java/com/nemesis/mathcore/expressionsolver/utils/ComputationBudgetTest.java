@@ -0,0 +1,78 @@
+package com.nemesis.mathcore.expressionsolver.utils;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionParser;
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.exception.ComputationAbortedException;
+import com.nemesis.mathcore.expressionsolver.exception.ComputationAbortedException.Reason;
+import com.nemesis.mathcore.utils.ElementaryFunctions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+
+public class ComputationBudgetTest {
+
+    private static final String EXPRESSION = "(x+1)(x+2)(x+3)+2x^2/x-3(x-1)";
+
+    @Test
+    public void testWithinBudget() {
+        final ComputationBudget budget = ComputationBudget.UNLIMITED.withTimeout(Duration.ofMinutes(1))
+                .withMaxRewriteIterations(10000).withMaxTreeSize(10000).withMaxPrecision(1000);
+        final MathCoreContext context = MathCoreContext.DEFAULT.withBudget(budget);
+        Assert.assertEquals(ExpressionUtils.simplify(EXPRESSION).toString(), ExpressionUtils.simplify(EXPRESSION, context).toString());
+        Assert.assertNotNull(context.call(() -> ElementaryFunctions.exp(BigDecimal.ONE, new MathContext(100))));
+    }
+
+    @Test
+    public void testTimeout() {
+        final MathCoreContext context = MathCoreContext.DEFAULT.withBudget(ComputationBudget.UNLIMITED.withTimeout(Duration.ofNanos(-1)));
+        assertAborted(Reason.TIMEOUT, () -> ExpressionUtils.simplify(EXPRESSION, context));
+        assertAborted(Reason.TIMEOUT, () -> ExpressionParser.parse(EXPRESSION, context));
+        assertAborted(Reason.TIMEOUT, () -> context.call(() -> ElementaryFunctions.sin(BigDecimal.ONE, new MathContext(50))));
+    }
+
+    @Test
+    public void testRewriteIterations() {
+        final MathCoreContext context = MathCoreContext.DEFAULT.withBudget(ComputationBudget.UNLIMITED.withMaxRewriteIterations(1));
+        assertAborted(Reason.REWRITE_ITERATIONS, () -> ExpressionUtils.simplify(EXPRESSION, context));
+    }
+
+    @Test
+    public void testTreeSize() {
+        final MathCoreContext context = MathCoreContext.DEFAULT.withBudget(ComputationBudget.UNLIMITED.withMaxTreeSize(EXPRESSION.length() - 1));
+        assertAborted(Reason.TREE_SIZE, () -> ExpressionParser.parse(EXPRESSION, context));
+        // The product expands to a tree larger than the input
+        final String product = "(x+1)(x+2)(x+3)(x+4)";
+        final MathCoreContext expansionContext = MathCoreContext.DEFAULT.withBudget(ComputationBudget.UNLIMITED.withMaxTreeSize(product.length()));
+        assertAborted(Reason.TREE_SIZE, () -> ExpressionUtils.simplify(product, expansionContext));
+    }
+
+    @Test
+    public void testPrecision() {
+        final MathCoreContext context = MathCoreContext.DEFAULT.withBudget(ComputationBudget.UNLIMITED.withMaxPrecision(100));
+        assertAborted(Reason.PRECISION, () -> context.call(() -> ElementaryFunctions.ln(BigDecimal.TEN, new MathContext(500))));
+        // Working digits count as well: 1e-200 is close to 0, where sinh needs 200 more digits
+        assertAborted(Reason.PRECISION, () -> context.call(() -> ElementaryFunctions.sinh(new BigDecimal("1e-200"), new MathContext(20))));
+    }
+
+    @Test
+    public void testInterruption() {
+        Thread.currentThread().interrupt();
+        try {
+            assertAborted(Reason.CANCELLED, () -> ExpressionUtils.simplify(EXPRESSION));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static void assertAborted(Reason reason, Runnable computation) {
+        try {
+            computation.run();
+            Assert.fail("Computation not aborted");
+        } catch (ComputationAbortedException e) {
+            Assert.assertEquals(reason, e.getReason());
+        }
+    }
+}
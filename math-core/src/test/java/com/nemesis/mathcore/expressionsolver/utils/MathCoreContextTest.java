@@ -0,0 +1,74 @@
+package com.nemesis.mathcore.expressionsolver.utils;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.utils.MathUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MathCoreContextTest {
+
+    @Test
+    public void testConcurrentEvaluationsWithDifferentModes() throws Exception {
+
+        final MathCoreContext fractional = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        final MathCoreContext decimal = MathCoreContext.of(MathCoreContext.Mode.DECIMAL);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> fractionalResults = new ArrayList<>();
+            List<Future<String>> decimalResults = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                fractionalResults.add(executor.submit(() -> ExpressionUtils.simplify("1/2+x", fractional).toString()));
+                decimalResults.add(executor.submit(() -> ExpressionUtils.simplify("1/2+x", decimal).toString()));
+            }
+            for (Future<String> result : fractionalResults) {
+                Assert.assertEquals("x+1/2", result.get());
+            }
+            for (Future<String> result : decimalResults) {
+                Assert.assertEquals("x+0.5", result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testContextIsUnboundAfterCall() {
+        final MathCoreContext fractional = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        final MathCoreContext before = MathCoreContext.current();
+        Assert.assertEquals(MathCoreContext.Mode.FRACTIONAL, fractional.call(MathCoreContext::getNumericMode));
+        Assert.assertSame(before, MathCoreContext.current());
+    }
+
+    @Test
+    public void testPrecision() {
+        final MathCoreContext precise = MathCoreContext.DEFAULT.withMathContext(new MathContext(30, RoundingMode.HALF_EVEN)).withScale(30);
+        Assert.assertEquals("0.333333333333333333333333333333", precise.call(() -> MathUtils.divide(BigDecimal.ONE, BigDecimal.valueOf(3))).toPlainString());
+        Assert.assertEquals("0.3333333333333333", MathUtils.divide(BigDecimal.ONE, BigDecimal.valueOf(3)).toPlainString());
+        Assert.assertEquals(0, new BigDecimal("0.333333333333333333333333333333").compareTo(ExpressionUtils.evaluate("1/3", precise)));
+    }
+
+    @Test
+    public void testRuleListener() {
+        final Map<String, Integer> passes = new HashMap<>();
+        final Set<String> changingRules = new HashSet<>();
+        final MathCoreContext context = MathCoreContext.DEFAULT.withRuleListener((rule, elapsedNanos, changed) -> {
+            Assert.assertTrue(elapsedNanos >= 0);
+            passes.merge(rule.getClass().getSimpleName(), 1, Integer::sum);
+            if (changed) {
+                changingRules.add(rule.getClass().getSimpleName());
+            }
+        });
+        Assert.assertEquals("x^2+3x+2", ExpressionUtils.simplify("(x+1)(x+2)", context).toString());
+        Assert.assertFalse(passes.isEmpty());
+        Assert.assertTrue(changingRules.contains("PolynomialMultiplication"));
+    }
+}
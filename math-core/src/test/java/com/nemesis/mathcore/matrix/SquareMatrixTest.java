@@ -0,0 +1,55 @@
+package com.nemesis.mathcore.matrix;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Constant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SquareMatrixTest {
+
+    @Test
+    public void testMultiply() {
+        final Random random = new Random(42);
+        for (int size : new int[]{2, 4, 8}) {
+            int[][] a = new int[size][size];
+            int[][] b = new int[size][size];
+            Component[][] aComponents = new Component[size][size];
+            Component[][] bComponents = new Component[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    a[r][c] = random.nextInt(100) - 50;
+                    b[r][c] = random.nextInt(100) - 50;
+                    aComponents[r][c] = new Constant(a[r][c]);
+                    bComponents[r][c] = new Constant(b[r][c]);
+                }
+            }
+
+            final SquareMatrix product = new SquareMatrix(aComponents).multiply(new SquareMatrix(bComponents));
+
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    long expected = 0;
+                    for (int k = 0; k < size; k++) {
+                        expected += (long) a[r][k] * b[k][c];
+                    }
+                    Assert.assertEquals("size " + size + ", (" + r + ", " + c + ")", expected, product.get(r, c).getValue().longValueExact());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubMatrix() {
+        Component[][] data = new Component[4][4];
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                data[r][c] = new Constant(r * 4 + c);
+            }
+        }
+        final SquareMatrix subMatrix = new SquareMatrix(data).getSubMatrix(2, 1, 2);
+        Assert.assertEquals("9", subMatrix.get(0, 0).toString());
+        Assert.assertEquals("14", subMatrix.get(1, 1).toString());
+    }
+}
@@ -0,0 +1,93 @@
+package com.nemesis.mathcore.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CombinatoricsTest {
+
+    @Test
+    public void testFactorial() {
+        Assert.assertEquals(BigInteger.ONE, Combinatorics.factorial(0));
+        Assert.assertEquals(BigInteger.valueOf(120), Combinatorics.factorial(5));
+        Assert.assertEquals(new BigInteger("2432902008176640000"), Combinatorics.factorial(20));
+        // Beyond the cached table
+        for (int n : new int[]{100, 4095, 4096, 5000}) {
+            Assert.assertEquals("n = " + n, naiveFactorial(n), Combinatorics.factorial(n));
+        }
+        Assert.assertEquals(BigInteger.valueOf(3628800), MathUtils.factorial(BigInteger.TEN));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFactorial() {
+        Combinatorics.factorial(-1);
+    }
+
+    @Test
+    public void testBinomial() {
+        Assert.assertEquals(new BigInteger("126410606437752"), Combinatorics.binomial(50, 25));
+        Assert.assertEquals(BigInteger.ZERO, Combinatorics.binomial(5, 6));
+        Assert.assertEquals(BigInteger.ONE, Combinatorics.binomial(7, 0));
+        Assert.assertEquals(0, BigDecimal.valueOf(10).compareTo(MathUtils.binomialCoefficient(5, 2)));
+
+        // Pascal's rule
+        for (int n = 1; n < 60; n++) {
+            for (int k = 1; k < n; k++) {
+                Assert.assertEquals(Combinatorics.binomial(n - 1, k - 1).add(Combinatorics.binomial(n - 1, k)), Combinatorics.binomial(n, k));
+            }
+        }
+    }
+
+    @Test
+    public void testBernoulliNumbers() {
+        Assert.assertEquals(0, BigDecimal.ONE.compareTo(Combinatorics.bernoulliNumber(0, MathContext.DECIMAL64)));
+        Assert.assertEquals(0, BigDecimal.valueOf(-0.5).compareTo(Combinatorics.bernoulliNumber(1, MathContext.DECIMAL64)));
+        Assert.assertEquals(0, BigDecimal.ZERO.compareTo(Combinatorics.bernoulliNumber(7, MathContext.DECIMAL64)));
+        Assert.assertEquals("0.1666666666666667", MathUtils.bernoulliNumber(2).toString());
+        Assert.assertEquals(BigInteger.valueOf(-691), Combinatorics.bernoulliNumerator(12));
+        Assert.assertEquals(BigInteger.valueOf(2730), Combinatorics.bernoulliDenominator(12));
+        Assert.assertEquals(BigInteger.valueOf(-174611), Combinatorics.bernoulliNumerator(20));
+        Assert.assertEquals(BigInteger.valueOf(330), Combinatorics.bernoulliDenominator(20));
+        Assert.assertEquals(new BigInteger("-7709321041217"), Combinatorics.bernoulliNumerator(32));
+        Assert.assertEquals(BigInteger.valueOf(510), Combinatorics.bernoulliDenominator(32));
+    }
+
+    @Test
+    public void testConcurrentGrowth() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int n = offset; n < 1500; n += 4) {
+                        Assert.assertEquals(Combinatorics.factorial(n).multiply(BigInteger.valueOf(n + 1)), Combinatorics.factorial(n + 1));
+                    }
+                    Combinatorics.bernoulliNumber(60 + offset, MathContext.DECIMAL64);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(new BigInteger("-1215233140483755572040304994079820246041491"), Combinatorics.bernoulliNumerator(60));
+    }
+
+    private static BigInteger naiveFactorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+}
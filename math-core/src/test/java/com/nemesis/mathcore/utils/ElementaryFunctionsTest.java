@@ -0,0 +1,84 @@
+package com.nemesis.mathcore.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ElementaryFunctionsTest {
+
+    private static final MathContext MC_40 = new MathContext(40, RoundingMode.HALF_EVEN);
+    private static final MathContext MC_100 = new MathContext(100, RoundingMode.HALF_EVEN);
+
+    @Test
+    public void testConstants() {
+        Assert.assertEquals("3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117068", ElementaryFunctions.pi(MC_100).toString());
+        Assert.assertEquals("2.718281828459045235360287471352662497757247093699959574966967627724076630353547594571382178525166427", ElementaryFunctions.e(MC_100).toString());
+        Assert.assertEquals("0.6931471805599453094172321214581765680755001343602552541206800094933936219696947156058633269964186875", ElementaryFunctions.ln2(MC_100).toString());
+        // Smaller precisions are rounded from the cached value
+        Assert.assertEquals("3.141592653589793", ElementaryFunctions.pi(new MathContext(16)).toString());
+        Assert.assertEquals("2.718281828459045235360287471352662497757", ElementaryFunctions.e(MC_40).toString());
+        Assert.assertEquals("0.6931", ElementaryFunctions.ln2(new MathContext(4, RoundingMode.HALF_EVEN)).toString());
+    }
+
+    @Test
+    public void testFunctions() {
+
+        Map<String, String> tests = new LinkedHashMap<>();
+
+        tests.put("exp 1", "2.718281828459045235360287471352662497757");
+        tests.put("exp -10", "0.00004539992976248485153559151556055061023792");
+        tests.put("exp 123.456", "4.132944352778093449576854412273431466146E+53");
+        tests.put("exp 700", "1.014232054735004509455329595231267615205E+304");
+        tests.put("ln 0.5", "-0.6931471805599453094172321214581765680755");
+        tests.put("ln 123.456", "4.815884817283263883109232105166525577172");
+        tests.put("ln 1e-30", "-69.07755278982137052053974364053092622803");
+        tests.put("ln 1.0000001", "9.999999500000033333330833333533333316667E-8");
+        tests.put("sin 1", "0.8414709848078965066525023216302989996226");
+        tests.put("sin 100", "-0.5063656411097587936565576104597854320650");
+        tests.put("sin 1e10", "-0.4875060250875106915277942943481060416764");
+        tests.put("sin 355", "-0.00003014435335948844921433028000865009959026");
+        tests.put("cos 3", "-0.9899924966004454572715727947312613023937");
+        tests.put("cos 1.5707963267948966", "1.923132169163975144209858469968755172506E-17");
+        tests.put("tan 1", "1.557407724654902230506974807458360173087");
+        tests.put("tan -1", "-1.557407724654902230506974807458360173087");
+        tests.put("sinh 2", "3.626860407847018767668213982801261704886");
+        tests.put("sinh 1e-20", "1.000000000000000000000000000000000000000E-20");
+        tests.put("cosh -3", "10.06766199577776584195393603511588983681");
+        tests.put("tanh 0.5", "0.4621171572600097585023184836436725487303");
+        tests.put("arsinh 1", "0.8813735870195430252326093249797923090282");
+        tests.put("arcosh 2", "1.316957896924816708625046347307968444027");
+        tests.put("artanh 0.5", "0.5493061443340548456976226184612628523237");
+        tests.put("artanh -0.9", "-1.472219489583220230004513715943926768619");
+
+        for (Map.Entry<String, String> test : tests.entrySet()) {
+            final String[] function = test.getKey().split(" ");
+            final BigDecimal x = new BigDecimal(function[1]);
+            final BigDecimal result = switch (function[0]) {
+                case "exp" -> ElementaryFunctions.exp(x, MC_40);
+                case "ln" -> ElementaryFunctions.ln(x, MC_40);
+                case "sin" -> ElementaryFunctions.sin(x, MC_40);
+                case "cos" -> ElementaryFunctions.cos(x, MC_40);
+                case "tan" -> ElementaryFunctions.tan(x, MC_40);
+                case "sinh" -> ElementaryFunctions.sinh(x, MC_40);
+                case "cosh" -> ElementaryFunctions.cosh(x, MC_40);
+                case "tanh" -> ElementaryFunctions.tanh(x, MC_40);
+                case "arsinh" -> ElementaryFunctions.arsinh(x, MC_40);
+                case "arcosh" -> ElementaryFunctions.arcosh(x, MC_40);
+                default -> ElementaryFunctions.artanh(x, MC_40);
+            };
+            Assert.assertEquals(test.getKey(), test.getValue(), result.toString());
+        }
+    }
+
+    @Test
+    public void testScaleFunctions() {
+        Assert.assertEquals("7.38905609893065", ExponentialFunctions.exp(BigDecimal.valueOf(2), 14).toPlainString());
+        Assert.assertEquals("2.302585092994046", ExponentialFunctions.ln(BigDecimal.TEN, 15).toPlainString());
+        Assert.assertEquals("0.8414709848078965", TrigonometricFunctions.sin(BigDecimal.ONE).toPlainString());
+    }
+}
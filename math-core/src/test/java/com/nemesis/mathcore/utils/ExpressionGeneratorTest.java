@@ -0,0 +1,81 @@
+package com.nemesis.mathcore.utils;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Expression;
+import com.nemesis.mathcore.utils.ExpressionGenerator.FactorType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ExpressionGeneratorTest {
+
+    private static final ExpressionGenerator GENERATOR = ExpressionGenerator.DEFAULT.withSeed(7).withVariables('x', 'y');
+
+    @Test
+    public void testSameSeedSameExpressions() {
+        Assert.assertEquals(render(GENERATOR.generate(30)), render(GENERATOR.generate(30)));
+        Assert.assertEquals(render(GENERATOR.generate(10)), render(GENERATOR.generate(30)).subList(0, 10));
+        Assert.assertNotEquals(render(GENERATOR.generate(30)), render(GENERATOR.withSeed(8).generate(30)));
+    }
+
+    @Test
+    public void testValidity() {
+        for (Expression expression : GENERATOR.withMaxDepth(3).generate(50)) {
+            Assert.assertTrue(expression.toString(), ExpressionGenerator.isValid(expression));
+        }
+    }
+
+    @Test
+    public void testSettings() {
+
+        final ExpressionGenerator withoutFunctions = GENERATOR
+                .withWeight(FactorType.FUNCTION, 0)
+                .withWeight(FactorType.LOGARITHM, 0)
+                .withWeight(FactorType.FACTORIAL, 0);
+        for (String expression : render(withoutFunctions.generate(50))) {
+            Assert.assertFalse(expression, expression.matches(".*(sin|cos|tan|sec|cot|csc|log|ln|!).*"));
+        }
+
+        for (Expression expression : GENERATOR.withVariables(List.of()).generate(50)) {
+            Assert.assertTrue(expression.toString(), expression.isScalar());
+        }
+
+        final List<String> variables = render(GENERATOR.withVariables('z').withWeight(FactorType.VARIABLE, 100).generate(20));
+        Assert.assertTrue(variables.stream().allMatch(expression -> !expression.contains("x") && !expression.contains("y")));
+        Assert.assertTrue(variables.stream().anyMatch(expression -> expression.contains("z")));
+
+        final List<String> flat = render(GENERATOR.withDepth(0).generate(50));
+        Assert.assertTrue(flat.stream().noneMatch(expression -> expression.contains("|") || expression.contains("√")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDepth() {
+        GENERATOR.withMinDepth(2).withMaxDepth(1).generate(1);
+    }
+
+    @Test
+    public void testCorpusRoundTrip() throws IOException {
+        final List<Expression> expressions = GENERATOR.generate(20);
+        for (String fileName : List.of("corpus.txt", "corpus.txt.gz")) {
+            final Path file = Files.createTempDirectory("corpus").resolve(fileName);
+            ExpressionCorpus.write(file, expressions, GENERATOR.toString());
+            Assert.assertEquals(render(expressions), ExpressionCorpus.read(file));
+        }
+
+        final Path file = Files.createTempFile("corpus", ".txt");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# comment\n\n x+1 \n#x\n2x\n");
+        }
+        Assert.assertEquals(List.of("x+1", "2x"), ExpressionCorpus.read(file));
+    }
+
+    private static List<String> render(List<? extends Component> expressions) {
+        return expressions.stream().map(Component::toString).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.nemesis.mathcore.utils;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Constant;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.nemesis.mathcore.expressionsolver.utils.Constants.*;
+
+public class RationalTest {
+
+    @Test
+    public void testNormalization() {
+        Assert.assertEquals(Rational.of(1, 2), Rational.of(-3, -6));
+        Assert.assertEquals("-2/3", Rational.of(4, -6).toString());
+        Assert.assertEquals(Rational.ZERO, Rational.of(0, -5));
+        Assert.assertEquals(Rational.of(1, 4), Rational.of(new BigDecimal("0.25")));
+        Assert.assertEquals(Rational.of(1200), Rational.of(new BigDecimal("1.2E+3")));
+        Assert.assertEquals(Rational.of(BigInteger.valueOf(6), BigInteger.valueOf(4)), Rational.of(3, 2));
+    }
+
+    @Test
+    public void testArithmetic() {
+        Assert.assertEquals(Rational.of(1, 2), Rational.of(1, 3).add(Rational.of(1, 6)));
+        Assert.assertEquals(Rational.of(-1, 6), Rational.of(1, 6).subtract(Rational.of(1, 3)));
+        Assert.assertEquals(Rational.ONE, Rational.of(2, 3).multiply(Rational.of(3, 2)));
+        Assert.assertEquals(Rational.of(8), Rational.of(1, 2).pow(-3));
+        Assert.assertTrue(Rational.of(1, 3).compareTo(Rational.of(1, 2)) < 0);
+        Assert.assertEquals(0, new BigDecimal("0.75").compareTo(Rational.of(3, 4).toBigDecimal()));
+    }
+
+    @Test
+    public void testOverflow() {
+        final Rational big = Rational.of(Long.MAX_VALUE);
+        final Rational sum = big.add(big);
+        Assert.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), sum.getNumerator());
+        Assert.assertEquals(big, sum.divide(Rational.of(2)));
+        Assert.assertEquals(Rational.of(Long.MIN_VALUE), Rational.of(Long.MIN_VALUE, 1).negate().negate());
+        Assert.assertEquals(Rational.of(1, Long.MAX_VALUE).hashCode(), Rational.of(big.getDenominator(), big.getNumerator()).hashCode());
+    }
+
+    @Test
+    public void testFractionalMode() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        Assert.assertEquals("1/2", ExpressionUtils.simplify("1/3+1/6", context).toString());
+        Assert.assertEquals("1/2", ExpressionUtils.simplify("2/4", context).toString());
+        Assert.assertEquals("1", ExpressionUtils.simplify("(2/3)^2*9/4", context).toString());
+    }
+
+    @Test
+    public void testIrrationalConstants() {
+        final MathCoreContext context = MathCoreContext.of(MathCoreContext.Mode.FRACTIONAL);
+        Assert.assertNull(new Constant(E_CHAR).getRationalValue());
+        Assert.assertNull(new Constant(PI_CHAR).getRationalValue());
+        Assert.assertEquals("π", context.call(() -> new Constant(PI_CHAR).toString()));
+        // Numbers sharing the first digits of e or π are still rational
+        final Constant approximation = new Constant(new BigDecimal("3.14159265"));
+        Assert.assertEquals(Rational.of(new BigDecimal("3.14159265")), approximation.getRationalValue());
+        Assert.assertEquals("3.14159265", context.call(approximation::toString));
+        Assert.assertNotEquals(new Constant(PI), new Constant(PI_CHAR));
+    }
+}
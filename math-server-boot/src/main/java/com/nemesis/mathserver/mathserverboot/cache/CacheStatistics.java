@@ -0,0 +1,22 @@
+package com.nemesis.mathserver.mathserverboot.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheStatistics {
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private int size;
+    private int maximumSize;
+    private long timeToLiveSeconds;
+
+    public double getHitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nemesis.mathserver.mathserverboot.cache;
+
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.models.Domain;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/*
+    Everything computed for an expression in a given mode. Instances are shared by concurrent requests:
+    the components must be treated as read-only (e.g. cloned before being simplified or rewritten).
+    Fields that were not requested (see ExpressionCacheKey) are null.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedEvaluation {
+
+    private final Component parsedExpression;
+    private final Component simplifiedForm;
+    private final Component derivative;
+    private final Domain domain; // null if the domain of the expression is not supported yet
+    private final BigDecimal numericValue; // null if the expression is not scalar
+
+}
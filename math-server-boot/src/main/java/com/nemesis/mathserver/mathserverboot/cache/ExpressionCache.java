@@ -0,0 +1,139 @@
+package com.nemesis.mathserver.mathserverboot.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+    Evaluations of the most recently requested expressions, shared across requests.
+    Entries are evicted in least-recently-used order when the cache is full, and expire after a fixed time from their creation.
+    Concurrent requests for the same missing key wait for a single computation, failed computations are not cached.
+ */
+@Slf4j
+@Component
+public class ExpressionCache {
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+
+    // Access-ordered, guarded by itself
+    private final LinkedHashMap<ExpressionCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public ExpressionCache(@Value("${mathserver.cache.maximum-size:1000}") int maximumSize,
+                           @Value("${mathserver.cache.time-to-live:10m}") Duration timeToLive) {
+        if (maximumSize < 0 || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("Cache size and time to live must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /*
+        Returns the cached evaluation for the given key, computing it with the given loader if it's missing or expired
+     */
+    public CachedEvaluation get(ExpressionCacheKey key, Supplier<CachedEvaluation> loader) {
+
+        final long now = System.nanoTime();
+        final Entry entry;
+        final boolean isOwner;
+
+        synchronized (entries) {
+            final Entry cachedEntry = entries.get(key);
+            if (cachedEntry != null && now - cachedEntry.creationTime < timeToLiveNanos) {
+                entry = cachedEntry;
+                isOwner = false;
+            } else {
+                if (cachedEntry != null) {
+                    expirations.incrementAndGet();
+                }
+                entry = new Entry(now);
+                isOwner = true;
+                entries.put(key, entry);
+                evictExceedingEntries();
+            }
+        }
+
+        if (!isOwner) {
+            hits.incrementAndGet();
+            log.debug("Cache hit for [{}]", key);
+            return join(entry.value);
+        }
+
+        misses.incrementAndGet();
+        log.debug("Cache miss for [{}]", key);
+        try {
+            entry.value.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+        return entry.value.join();
+    }
+
+    public CacheStatistics getStatistics() {
+        final int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatistics(hits.get(), misses.get(), evictions.get(), expirations.get(), size, maximumSize, Duration.ofNanos(timeToLiveNanos).toSeconds());
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void evictExceedingEntries() {
+        final Iterator<Map.Entry<ExpressionCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /*
+        Requests waiting for another one's computation get its exception, as if they had computed it
+     */
+    private static CachedEvaluation join(CompletableFuture<CachedEvaluation> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry {
+
+        private final long creationTime;
+        private final CompletableFuture<CachedEvaluation> value = new CompletableFuture<>();
+
+        private Entry(long creationTime) {
+            this.creationTime = creationTime;
+        }
+    }
+}
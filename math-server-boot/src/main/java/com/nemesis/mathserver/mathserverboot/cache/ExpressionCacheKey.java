@@ -0,0 +1,34 @@
+package com.nemesis.mathserver.mathserverboot.cache;
+
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import com.nemesis.mathserver.mathserverboot.model.Computation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+public class ExpressionCacheKey {
+
+    private final String expression;
+    private final MathCoreContext.Mode mode;
+    // An evaluation only holds the requested fields, so it is cached for the requested ones
+    private final Set<Computation> computations;
+
+    public static ExpressionCacheKey of(String expression, MathCoreContext.Mode mode) {
+        return of(expression, mode, EnumSet.allOf(Computation.class));
+    }
+
+    /*
+        Whitespaces are ignored by the parser, so expressions differing only in spaces share the same entry
+     */
+    public static ExpressionCacheKey of(String expression, MathCoreContext.Mode mode, Collection<Computation> computations) {
+        final EnumSet<Computation> requested = EnumSet.noneOf(Computation.class);
+        requested.addAll(computations);
+        return new ExpressionCacheKey(expression.replaceAll("\\s+", ""), mode, Collections.unmodifiableSet(requested));
+    }
+}
@@ -0,0 +1,66 @@
+package com.nemesis.mathserver.mathserverboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    Evaluations run on dedicated pools, so that servlet threads are released while they're computed.
+    Pools have a thread per core by default (evaluations are CPU bound) and a bounded queue.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /*
+        Evaluations of single expressions that need the simplified form (simplification, derivative, domain).
+        When the queue is full new evaluations are rejected, and the server answers 503 instead of piling up requests.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService computeExecutor(@Value("${mathserver.executor.compute.threads:0}") int threads,
+                                           @Value("${mathserver.executor.compute.queue-capacity:200}") int queueCapacity) {
+        return boundedPool("compute-", threads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /*
+        Value-only evaluations, which are short: they have their own threads, so they are never queued behind long simplifications
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService valueExecutor(@Value("${mathserver.executor.value.threads:0}") int threads,
+                                         @Value("${mathserver.executor.value.queue-capacity:1000}") int queueCapacity) {
+        return boundedPool("value-", threads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /*
+        Evaluations of the expressions of batch requests, shared by all of them.
+        Expressions that don't fit in the queue are rejected like single evaluations, so that they never run on the request thread:
+        the whole batch is answered with 503.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchExecutor(@Value("${mathserver.batch.threads:0}") int threads,
+                                         @Value("${mathserver.batch.queue-capacity:1000}") int queueCapacity) {
+        return boundedPool("batch-evaluation-", threads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ExecutorService boundedPool(String threadNamePrefix, int threads, int queueCapacity, RejectedExecutionHandler rejectionHandler) {
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(threadNamePrefix), rejectionHandler);
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
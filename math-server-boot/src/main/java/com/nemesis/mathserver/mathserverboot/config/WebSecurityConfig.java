@@ -15,7 +15,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
-        http.cors();
+        // Stateless JSON API without sessions: CSRF tokens would only block POST requests (e.g. batches)
+        http.cors().and().csrf().disable();
     }
 
     @Bean
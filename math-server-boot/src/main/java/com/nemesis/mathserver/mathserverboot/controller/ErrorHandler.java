@@ -0,0 +1,47 @@
+package com.nemesis.mathserver.mathserverboot.controller;
+
+import com.nemesis.mathcore.expressionsolver.exception.ComputationAbortedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RestControllerAdvice
+public class ErrorHandler {
+
+    /*
+        Timeouts are reported as 503 (the same expression may succeed on a less loaded server),
+        the other exceeded limits as 422 (the expression is too complex for the configured budget)
+     */
+    @ExceptionHandler(ComputationAbortedException.class)
+    public ResponseEntity<Map<String, String>> handleComputationAborted(ComputationAbortedException e) {
+        log.warn("Computation aborted: {}", e.getMessage());
+        final HttpStatus status = switch (e.getReason()) {
+            case TIMEOUT, CANCELLED -> HttpStatus.SERVICE_UNAVAILABLE;
+            default -> HttpStatus.UNPROCESSABLE_ENTITY;
+        };
+        return error(status, e.getReason().name(), e.getMessage());
+    }
+
+    /*
+        The evaluation pools are saturated: clients should retry later
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedExecution(RejectedExecutionException e) {
+        log.warn("Evaluation rejected: {}", e.getMessage());
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "BUSY", "Too many evaluations in progress, retry later");
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String error, String message) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", error);
+        body.put("message", message);
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -1,20 +1,23 @@
 package com.nemesis.mathserver.mathserverboot.controller;
 
 
-import com.nemesis.mathcore.expressionsolver.ExpressionParser;
-import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
-import com.nemesis.mathcore.expressionsolver.components.Component;
-import com.nemesis.mathcore.expressionsolver.components.Expression;
-import com.nemesis.mathcore.expressionsolver.components.Variable;
 import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import com.nemesis.mathserver.mathserverboot.cache.CacheStatistics;
+import com.nemesis.mathserver.mathserverboot.cache.ExpressionCache;
+import com.nemesis.mathserver.mathserverboot.model.BatchEvaluationRequest;
+import com.nemesis.mathserver.mathserverboot.model.BatchItemResult;
+import com.nemesis.mathserver.mathserverboot.model.Computation;
 import com.nemesis.mathserver.mathserverboot.model.EvaluationResult;
+import com.nemesis.mathserver.mathserverboot.service.ExpressionEvaluator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -25,57 +28,46 @@ public class ExpressionController {
 //    private static final Pattern derivativePattern = Pattern.compile(Constants.DERIVATIVE_INPUT_REGEX);
 
 
-    @GetMapping("/compute")
-    public EvaluationResult evaluate(@RequestParam String expression, @RequestParam(required = false) MathCoreContext.Mode mode) {
-
-        if (mode == null) {
-            mode = MathCoreContext.Mode.FRACTIONAL;
-        }
-        MathCoreContext.setNumericMode(mode);
-
-        expression = expression.replace(" ", "");
-
-        final Expression parsedExpression = ExpressionParser.parse(expression);
+    private final ExpressionEvaluator evaluator;
+    private final ExpressionCache cache;
+    private final int maximumBatchSize;
 
-        EvaluationResult result = new EvaluationResult();
-
-        log.info("Simplifying function [" + expression + "]");
-        final Component simplifiedExpression = ExpressionUtils.simplify(expression);
-        result.setSimplifiedForm(simplifiedExpression.toLatex());
-
-        Set<Variable> variables = simplifiedExpression.getVariables();
-
-        if (variables.size() > 1) {
-            throw new UnsupportedOperationException("Multi variable is not supported yet");
-        }
-
-        Variable variable = variables.stream().findFirst().orElse(null);
+    public ExpressionController(ExpressionEvaluator evaluator, ExpressionCache cache,
+                                @Value("${mathserver.batch.maximum-size:500}") int maximumBatchSize) {
+        this.evaluator = evaluator;
+        this.cache = cache;
+        this.maximumBatchSize = maximumBatchSize;
+    }
 
-        if (variable != null) {
-            log.info("Evaluating derivative of [{}] for variable [{}]", expression, variable);
-            result.setDerivative(ExpressionUtils.getDerivative(expression, variable).toLatex());
+    /*
+        Evaluations run on dedicated pools (see ExecutorConfig): the servlet thread is released until the result is ready.
+        Computes only the given fields (e.g. computations=NUMERIC_VALUE), or all of them if none is given.
+        With timings=true the result has the time spent in each stage of the evaluation.
+     */
+    @GetMapping("/compute")
+    public CompletableFuture<EvaluationResult> evaluate(@RequestParam String expression, @RequestParam(required = false) MathCoreContext.Mode mode,
+                                                        @RequestParam(required = false) Set<Computation> computations,
+                                                        @RequestParam(defaultValue = "false") boolean timings) {
+        return evaluator.evaluateAsync(expression, mode, computations, timings);
+    }
 
-            log.info("Calculating domain of [{}] for variable [{}]", expression, variable);
-            try {
-                result.setDomain(ExpressionUtils.getDomain(expression, new Variable('x')).toLatex());
-            } catch (UnsupportedOperationException e) {
-                log.error(e.getMessage());
-                result.setDomain("[not\\ supported\\ yet]");
-            }
-        } else {
-            log.info("No variable found, using 'x'");
-            result.setDerivative(ExpressionUtils.getDerivative(expression, new Variable('x')).toLatex());
-            result.setDomain(ExpressionUtils.getDomain(expression, new Variable('x')).toLatex());
+    /*
+        Evaluates many expressions in a single round-trip, each one with its own mode and requested fields
+     */
+    @PostMapping(value = "/batch", consumes = "application/json")
+    public CompletableFuture<List<BatchItemResult>> evaluateBatch(@RequestBody BatchEvaluationRequest request) {
+        if (request.getExpressions() == null || request.getExpressions().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No expressions to evaluate");
         }
-
-
-        if (simplifiedExpression.isScalar()) {
-            log.info("Evaluating: [" + expression + "]");
-            result.setNumericValue(String.valueOf(parsedExpression.getValue()));
+        if (request.getExpressions().size() > maximumBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many expressions: the maximum is [" + maximumBatchSize + "]");
         }
+        log.info("Evaluating batch of [{}] expressions", request.getExpressions().size());
+        return evaluator.evaluateAll(request);
+    }
 
-        log.info("Result [" + result + "]");
-        return result;
+    @GetMapping("/cache/statistics")
+    public CacheStatistics getCacheStatistics() {
+        return cache.getStatistics();
     }
 }
-
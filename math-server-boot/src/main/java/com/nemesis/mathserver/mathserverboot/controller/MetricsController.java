@@ -0,0 +1,41 @@
+package com.nemesis.mathserver.mathserverboot.controller;
+
+import com.nemesis.mathserver.mathserverboot.metrics.EvaluationMetrics;
+import com.nemesis.mathserver.mathserverboot.metrics.MetricSnapshot;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Set;
+
+/*
+    Timers of the evaluations, in the style of the actuator metrics endpoint: the list of the names, and the statistics by name
+ */
+@RestController
+@RequestMapping(value = "/metrics", produces = "application/json")
+public class MetricsController {
+
+    private final EvaluationMetrics metrics;
+
+    public MetricsController(EvaluationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @GetMapping
+    public Map<String, Set<String>> getNames() {
+        return Map.of("names", metrics.getNames());
+    }
+
+    @GetMapping("/{name}")
+    public MetricSnapshot getMetric(@PathVariable String name) {
+        final MetricSnapshot snapshot = metrics.getSnapshot(name);
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown metric [" + name + "]");
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,93 @@
+package com.nemesis.mathserver.mathserverboot.metrics;
+
+import com.nemesis.mathcore.expressionsolver.rewritting.Rule;
+import com.nemesis.mathcore.expressionsolver.rewritting.RuleListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+    Timers of the evaluations since the server started, by name:
+    - stages of an evaluation (see Stage), e.g. "stage.simplify"
+    - passes of each rule over the simplified trees, e.g. "rule.ScalarEvaluator", with the number of passes that changed the tree
+ */
+@Component
+public class EvaluationMetrics implements RuleListener {
+
+    private static final String STAGE_PREFIX = "stage.";
+    private static final String RULE_PREFIX = "rule.";
+
+    public enum Stage {
+        QUEUE,          // waiting for a thread of the evaluation pools
+        EVALUATION,     // whole evaluation, cached or not
+        PARSE,
+        SIMPLIFY,
+        DERIVATIVE,
+        DOMAIN,
+        VALUE,
+        SERIALIZATION   // rendering of the results to LaTeX
+    }
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> ruleChanges = new ConcurrentHashMap<>();
+
+    /*
+        Runs the action, recording its duration into the timer of the stage and into the breakdown of the evaluation (if not null)
+     */
+    public <T> T time(Stage stage, Map<Stage, Long> breakdown, Supplier<T> action) {
+        final long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(stage, breakdown, System.nanoTime() - start);
+        }
+    }
+
+    public void record(Stage stage, Map<Stage, Long> breakdown, long nanos) {
+        timer(STAGE_PREFIX + stage.name().toLowerCase()).record(nanos);
+        if (breakdown != null) {
+            breakdown.merge(stage, nanos, Long::sum);
+        }
+    }
+
+    @Override
+    public void onRewrite(Rule rule, long elapsedNanos, boolean changed) {
+        final String name = RULE_PREFIX + rule.getClass().getSimpleName();
+        timer(name).record(elapsedNanos);
+        if (changed) {
+            ruleChanges.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public Set<String> getNames() {
+        return new TreeSet<>(timers.keySet());
+    }
+
+    /*
+        Statistics of the given timer, null if it doesn't exist
+     */
+    public MetricSnapshot getSnapshot(String name) {
+        final LatencyHistogram histogram = timers.get(name);
+        if (histogram == null) {
+            return null;
+        }
+        final long count = histogram.getCount();
+        final Long changes = name.startsWith(RULE_PREFIX) ? ruleChanges.getOrDefault(name, new AtomicLong()).get() : null;
+        return new MetricSnapshot(name, count, millis(histogram.getTotalNanos()), count == 0 ? 0 : millis(histogram.getTotalNanos()) / count,
+                millis(histogram.getMaxNanos()), millis(histogram.getQuantileNanos(0.5)), millis(histogram.getQuantileNanos(0.9)),
+                millis(histogram.getQuantileNanos(0.99)), changes);
+    }
+
+    public static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+}
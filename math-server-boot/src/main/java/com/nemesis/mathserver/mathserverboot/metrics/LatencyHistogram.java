@@ -0,0 +1,60 @@
+package com.nemesis.mathserver.mathserverboot.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+    Lock-free histogram of durations, with buckets of exponentially growing width: bucket i counts the durations
+    in [2^i, 2^(i+1)) microseconds (the first one includes 0, the last one everything above).
+    Percentiles are the upper bound of the bucket containing them, so they are overestimated by at most a factor of 2.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        final int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /*
+        Upper bound of the given quantile (between 0 and 1) of the recorded durations, 0 if nothing was recorded
+     */
+    public long getQuantileNanos(double quantile) {
+        final long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(quantile * total);
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulativeCount += buckets.get(i);
+            if (cumulativeCount >= rank) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << (i + 1)), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+}
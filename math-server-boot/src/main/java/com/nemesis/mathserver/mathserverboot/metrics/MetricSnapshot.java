@@ -0,0 +1,25 @@
+package com.nemesis.mathserver.mathserverboot.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/*
+    Statistics of a timer, with durations in milliseconds
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MetricSnapshot {
+
+    private String name;
+    private long count;
+    private double totalTime;
+    private double mean;
+    private double max;
+    private double p50;
+    private double p90;
+    private double p99;
+    private Long changes; // rule timers only: passes of the rule that changed the tree
+
+}
@@ -0,0 +1,22 @@
+package com.nemesis.mathserver.mathserverboot.model;
+
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/*
+    Expressions evaluated in a single request. Mode and computations apply to the expressions that don't specify them:
+    if missing, expressions are evaluated in fractional mode and every field is computed.
+ */
+@Data
+public class BatchEvaluationRequest {
+
+    private MathCoreContext.Mode mode;
+    private Set<Computation> computations;
+    private List<EvaluationRequest> expressions = new ArrayList<>();
+    private boolean timings; // adds the time spent in each stage to the results
+
+}
@@ -0,0 +1,24 @@
+package com.nemesis.mathserver.mathserverboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/*
+    Outcome of an expression of a batch: either its result or the reason it could not be evaluated
+ */
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private String expression;
+    private EvaluationResult result;
+    private String error;
+
+    public static BatchItemResult success(String expression, EvaluationResult result) {
+        return new BatchItemResult(expression, result, null);
+    }
+
+    public static BatchItemResult failure(String expression, String error) {
+        return new BatchItemResult(expression, null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.nemesis.mathserver.mathserverboot.model;
+
+/*
+    Fields of EvaluationResult that can be requested: the ones that are not requested are not computed
+ */
+public enum Computation {
+    SIMPLIFIED_FORM,
+    DERIVATIVE,
+    DOMAIN,
+    NUMERIC_VALUE
+}
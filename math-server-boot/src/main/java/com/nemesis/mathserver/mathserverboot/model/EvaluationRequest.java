@@ -0,0 +1,18 @@
+package com.nemesis.mathserver.mathserverboot.model;
+
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import lombok.Data;
+
+import java.util.Set;
+
+/*
+    A single expression of a batch. Mode and computations default to the ones of the batch.
+ */
+@Data
+public class EvaluationRequest {
+
+    private String expression;
+    private MathCoreContext.Mode mode;
+    private Set<Computation> computations;
+
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.nemesis.mathserver.mathserverboot.serializer.EvaluationResultSerializer;
 import lombok.Data;
 
+import java.util.Map;
 import java.util.TreeSet;
 
 @Data
@@ -16,5 +17,6 @@ public class EvaluationResult {
     private String derivative;
     private TreeSet<String> roots = new TreeSet<>();
     private String domain;
+    private Map<String, Double> timings; // milliseconds by stage, only if requested
 
 }
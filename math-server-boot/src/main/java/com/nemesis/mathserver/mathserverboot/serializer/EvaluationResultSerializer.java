@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.nemesis.mathserver.mathserverboot.model.EvaluationResult;
 
 import java.io.IOException;
+import java.util.Map;
 
 public class EvaluationResultSerializer extends StdSerializer<EvaluationResult> {
 
@@ -25,6 +26,13 @@ public class EvaluationResultSerializer extends StdSerializer<EvaluationResult>
         jGen.writeStringField("derivative", evaluationResult.getDerivative());
         jGen.writeStringField("roots", evaluationResult.getRoots().stream().reduce("", (r1, r2) -> r1 + ", " + r2));
         jGen.writeStringField("domain", evaluationResult.getDomain());
+        if (evaluationResult.getTimings() != null) {
+            jGen.writeObjectFieldStart("timings");
+            for (Map.Entry<String, Double> timing : evaluationResult.getTimings().entrySet()) {
+                jGen.writeNumberField(timing.getKey(), timing.getValue());
+            }
+            jGen.writeEndObject();
+        }
         jGen.writeEndObject();
     }
 
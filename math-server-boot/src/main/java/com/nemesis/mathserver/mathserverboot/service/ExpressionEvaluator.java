@@ -0,0 +1,222 @@
+package com.nemesis.mathserver.mathserverboot.service;
+
+import com.nemesis.mathcore.expressionsolver.ExpressionAnalysis;
+import com.nemesis.mathcore.expressionsolver.ExpressionUtils;
+import com.nemesis.mathcore.expressionsolver.components.Component;
+import com.nemesis.mathcore.expressionsolver.components.Variable;
+import com.nemesis.mathcore.expressionsolver.models.Domain;
+import com.nemesis.mathcore.expressionsolver.utils.ComputationBudget;
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import com.nemesis.mathserver.mathserverboot.cache.CachedEvaluation;
+import com.nemesis.mathserver.mathserverboot.cache.ExpressionCache;
+import com.nemesis.mathserver.mathserverboot.cache.ExpressionCacheKey;
+import com.nemesis.mathserver.mathserverboot.metrics.EvaluationMetrics;
+import com.nemesis.mathserver.mathserverboot.metrics.EvaluationMetrics.Stage;
+import com.nemesis.mathserver.mathserverboot.model.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.nemesis.mathserver.mathserverboot.model.Computation.*;
+
+/*
+    Evaluates expressions through the evaluations cache, computing only the requested fields of the result.
+    Each evaluation has its own computation budget: when it's exceeded, the evaluation fails with ComputationAbortedException.
+ */
+@Slf4j
+@Service
+public class ExpressionEvaluator {
+
+    private static final MathCoreContext.Mode DEFAULT_MODE = MathCoreContext.Mode.FRACTIONAL;
+
+    private final ExpressionCache cache;
+    private final EvaluationMetrics metrics;
+    private final ExecutorService computeExecutor;
+    private final ExecutorService valueExecutor;
+    private final ExecutorService batchExecutor;
+    // Limits of each evaluation: the deadline is set when the evaluation starts
+    private final ComputationBudget budget;
+    private final Duration timeout;
+
+    public ExpressionEvaluator(ExpressionCache cache, EvaluationMetrics metrics,
+                               @Qualifier("computeExecutor") ExecutorService computeExecutor,
+                               @Qualifier("valueExecutor") ExecutorService valueExecutor,
+                               @Qualifier("batchExecutor") ExecutorService batchExecutor,
+                               @Value("${mathserver.budget.timeout:10s}") Duration timeout,
+                               @Value("${mathserver.budget.max-rewrite-iterations:10000}") int maxRewriteIterations,
+                               @Value("${mathserver.budget.max-tree-size:100000}") int maxTreeSize,
+                               @Value("${mathserver.budget.max-precision:10000}") int maxPrecision) {
+        this.cache = cache;
+        this.metrics = metrics;
+        this.computeExecutor = computeExecutor;
+        this.valueExecutor = valueExecutor;
+        this.batchExecutor = batchExecutor;
+        this.timeout = timeout;
+        this.budget = ComputationBudget.UNLIMITED
+                .withMaxRewriteIterations(maxRewriteIterations)
+                .withMaxTreeSize(maxTreeSize)
+                .withMaxPrecision(maxPrecision);
+    }
+
+    /*
+        Evaluates the expression on the pool of its kind: value-only evaluations don't wait for simplifications.
+        Throws RejectedExecutionException if the pool is saturated.
+     */
+    public CompletableFuture<EvaluationResult> evaluateAsync(String expression, MathCoreContext.Mode mode, Set<Computation> computations, boolean withTimings) {
+        final ExecutorService executor = computations != null && computations.equals(EnumSet.of(NUMERIC_VALUE)) ? valueExecutor : computeExecutor;
+        final long submissionTime = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            final Map<Stage, Long> breakdown = new EnumMap<>(Stage.class);
+            metrics.record(Stage.QUEUE, breakdown, System.nanoTime() - submissionTime);
+            return evaluate(expression, mode, computations, breakdown, withTimings);
+        }, executor);
+    }
+
+    /*
+        Null mode and computations stand for fractional mode and all the fields.
+        With timings, the result has the time spent in each stage: stages of the computation are missing if it was cached.
+     */
+    public EvaluationResult evaluate(String expression, MathCoreContext.Mode mode, Set<Computation> computations, boolean withTimings) {
+        return evaluate(expression, mode, computations, new EnumMap<>(Stage.class), withTimings);
+    }
+
+    private EvaluationResult evaluate(String expression, MathCoreContext.Mode mode, Set<Computation> computations, Map<Stage, Long> breakdown, boolean withTimings) {
+
+        final MathCoreContext.Mode evaluationMode = mode != null ? mode : DEFAULT_MODE;
+        final MathCoreContext context = MathCoreContext.of(evaluationMode).withBudget(budget.withTimeout(timeout)).withRuleListener(metrics);
+        final ExpressionCacheKey key = computations == null ? ExpressionCacheKey.of(expression, evaluationMode) : ExpressionCacheKey.of(expression, evaluationMode, computations);
+
+        final CachedEvaluation evaluation = metrics.time(Stage.EVALUATION, breakdown,
+                () -> cache.get(key, () -> compute(key.getExpression(), context, key.getComputations(), breakdown)));
+
+        final EvaluationResult result = metrics.time(Stage.SERIALIZATION, breakdown, () -> toResult(evaluation, key.getComputations()));
+        if (withTimings) {
+            Map<String, Double> timings = new LinkedHashMap<>();
+            breakdown.forEach((stage, nanos) -> timings.put(stage.name().toLowerCase(), EvaluationMetrics.millis(nanos)));
+            result.setTimings(timings);
+        }
+
+        log.info("Result [" + result + "]");
+        return result;
+    }
+
+    /*
+        Evaluates the expressions of the batch in parallel, returning their outcomes in the same order.
+        The failure of an expression is reported in its outcome and doesn't affect the other ones.
+        Throws RejectedExecutionException if the pool is saturated: the expressions already queued are cancelled.
+     */
+    public CompletableFuture<List<BatchItemResult>> evaluateAll(BatchEvaluationRequest request) {
+
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>(request.getExpressions().size());
+        try {
+            for (EvaluationRequest item : request.getExpressions()) {
+                final MathCoreContext.Mode mode = item.getMode() != null ? item.getMode() : request.getMode();
+                final Set<Computation> computations = item.getComputations() != null ? item.getComputations() : request.getComputations();
+                futures.add(CompletableFuture.supplyAsync(() -> evaluateItem(item.getExpression(), mode, computations, request.isTimings()), batchExecutor));
+            }
+        } catch (RejectedExecutionException e) {
+            // Cancelled expressions that are still queued are skipped by the pool
+            futures.forEach(future -> future.cancel(false));
+            throw e;
+        }
+
+        // Items never complete exceptionally, so joining them after allOf doesn't block
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(completed -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private BatchItemResult evaluateItem(String expression, MathCoreContext.Mode mode, Set<Computation> computations, boolean withTimings) {
+        if (expression == null || expression.isBlank()) {
+            return BatchItemResult.failure(expression, "Missing expression");
+        }
+        try {
+            return BatchItemResult.success(expression, evaluate(expression, mode, computations, withTimings));
+        } catch (RuntimeException e) {
+            log.warn("Evaluation of [{}] failed: {}", expression, e.toString());
+            return BatchItemResult.failure(expression, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private static EvaluationResult toResult(CachedEvaluation evaluation, Set<Computation> computations) {
+        EvaluationResult result = new EvaluationResult();
+        if (computations.contains(SIMPLIFIED_FORM)) {
+            result.setSimplifiedForm(evaluation.getSimplifiedForm().toLatex());
+        }
+        if (computations.contains(DERIVATIVE)) {
+            result.setDerivative(evaluation.getDerivative().toLatex());
+        }
+        if (computations.contains(DOMAIN)) {
+            result.setDomain(evaluation.getDomain() != null ? evaluation.getDomain().toLatex() : "[not\\ supported\\ yet]");
+        }
+        if (evaluation.getNumericValue() != null) {
+            result.setNumericValue(String.valueOf(evaluation.getNumericValue()));
+        }
+        return result;
+    }
+
+    private CachedEvaluation compute(String expression, MathCoreContext context, Set<Computation> computations, Map<Stage, Long> breakdown) {
+
+        final ExpressionAnalysis analysis = metrics.time(Stage.PARSE, breakdown, () -> ExpressionUtils.analyze(expression, context));
+        if (analysis.getExpression() == null) {
+            throw new IllegalArgumentException("Invalid expression [" + expression + "]");
+        }
+
+        Component simplifiedExpression = null;
+        if (computations.contains(SIMPLIFIED_FORM) || computations.contains(DERIVATIVE) || computations.contains(DOMAIN)) {
+            log.info("Simplifying function [" + expression + "]");
+            // Derivative and domain are computed on the simplified form
+            final Component simplifiedForm = metrics.time(Stage.SIMPLIFY, breakdown, analysis::getSimplifiedForm);
+            if (computations.contains(SIMPLIFIED_FORM)) {
+                simplifiedExpression = simplifiedForm;
+            }
+        }
+
+        Component derivative = null;
+        Domain domain = null;
+
+        if (computations.contains(DERIVATIVE) || computations.contains(DOMAIN)) {
+
+            Set<Variable> variables = analysis.getVariables();
+
+            if (variables.size() > 1) {
+                throw new UnsupportedOperationException("Multi variable is not supported yet");
+            }
+
+            final Variable variable = variables.stream().findFirst().orElseGet(() -> {
+                log.info("No variable found, using 'x'");
+                return new Variable('x');
+            });
+
+            if (computations.contains(DERIVATIVE)) {
+                log.info("Evaluating derivative of [{}] for variable [{}]", expression, variable);
+                derivative = metrics.time(Stage.DERIVATIVE, breakdown, () -> analysis.getDerivative(variable));
+            }
+
+            if (computations.contains(DOMAIN)) {
+                log.info("Calculating domain of [{}] for variable [{}]", expression, variable);
+                try {
+                    domain = metrics.time(Stage.DOMAIN, breakdown, () -> analysis.getDomain(variable));
+                } catch (UnsupportedOperationException e) {
+                    log.error(e.getMessage());
+                }
+            }
+        }
+
+        BigDecimal numericValue = null;
+        // The value is computed on the parsed expression, so it doesn't need the simplified form
+        if (computations.contains(NUMERIC_VALUE) && analysis.getExpression().isScalar()) {
+            log.info("Evaluating: [" + expression + "]");
+            numericValue = metrics.time(Stage.VALUE, breakdown, analysis::getValue);
+        }
+
+        return new CachedEvaluation(analysis.getExpression(), simplifiedExpression, derivative, domain, numericValue);
+    }
+}
@@ -0,0 +1,153 @@
+package com.nemesis.mathserver.mathserverboot.cache;
+
+import com.nemesis.mathcore.expressionsolver.utils.MathCoreContext;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCacheTest {
+
+    private static final ExpressionCacheKey KEY = ExpressionCacheKey.of("x+1", MathCoreContext.Mode.DECIMAL);
+
+    @Test
+    void testSingleFlight() throws Exception {
+        final ExpressionCache cache = new ExpressionCache(10, Duration.ofMinutes(1));
+        final CountDownLatch loaderStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLoader = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        final CachedEvaluation evaluation = evaluation(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<CachedEvaluation> owner = executor.submit(() -> cache.get(KEY, () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return evaluation;
+            }));
+            assertTrue(loaderStarted.await(10, TimeUnit.SECONDS));
+
+            // Requests for the same key arriving during the computation wait for it
+            final List<Future<CachedEvaluation>> waiters = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiters.add(executor.submit(() -> cache.get(KEY, () -> {
+                    loads.incrementAndGet();
+                    return evaluation(2);
+                })));
+            }
+            releaseLoader.countDown();
+
+            assertSame(evaluation, owner.get(10, TimeUnit.SECONDS));
+            for (Future<CachedEvaluation> waiter : waiters) {
+                assertSame(evaluation, waiter.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getStatistics().getMisses());
+            assertEquals(3, cache.getStatistics().getHits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWaitersRethrowTheOwnerException() throws Exception {
+        final ExpressionCache cache = new ExpressionCache(10, Duration.ofMinutes(1));
+        final CountDownLatch loaderStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLoader = new CountDownLatch(1);
+        final IllegalArgumentException failure = new IllegalArgumentException("Invalid expression");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<CachedEvaluation> owner = executor.submit(() -> cache.get(KEY, () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                throw failure;
+            }));
+            assertTrue(loaderStarted.await(10, TimeUnit.SECONDS));
+            final Future<CachedEvaluation> waiter = executor.submit(() -> cache.get(KEY, () -> fail("The waiter must not compute the evaluation")));
+            // The waiter finds the entry of the owner before it fails
+            while (cache.getStatistics().getHits() == 0) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertSame(failure, assertThrows(ExecutionException.class, () -> owner.get(10, TimeUnit.SECONDS)).getCause());
+            assertSame(failure, assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS)).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        final ExpressionCache cache = new ExpressionCache(10, Duration.ofMinutes(1));
+        assertThrows(IllegalStateException.class, () -> cache.get(KEY, () -> {
+            throw new IllegalStateException("Evaluation failed");
+        }));
+        assertEquals(0, cache.getStatistics().getSize());
+
+        final CachedEvaluation evaluation = evaluation(1);
+        assertSame(evaluation, cache.get(KEY, () -> evaluation));
+        assertEquals(2, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    void testExpiration() throws InterruptedException {
+        final ExpressionCache cache = new ExpressionCache(10, Duration.ofMillis(50));
+        final CachedEvaluation first = evaluation(1);
+        assertSame(first, cache.get(KEY, () -> first));
+        assertSame(first, cache.get(KEY, () -> evaluation(2)));
+
+        Thread.sleep(100);
+        final CachedEvaluation second = evaluation(2);
+        assertSame(second, cache.get(KEY, () -> second));
+        assertEquals(1, cache.getStatistics().getExpirations());
+        assertEquals(1, cache.getStatistics().getSize());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        final ExpressionCache cache = new ExpressionCache(2, Duration.ofMinutes(1));
+        final ExpressionCacheKey a = ExpressionCacheKey.of("a", MathCoreContext.Mode.DECIMAL);
+        final ExpressionCacheKey b = ExpressionCacheKey.of("b", MathCoreContext.Mode.DECIMAL);
+        final ExpressionCacheKey c = ExpressionCacheKey.of("c", MathCoreContext.Mode.DECIMAL);
+        final CachedEvaluation evaluationOfA = evaluation(1);
+        final CachedEvaluation evaluationOfB = evaluation(2);
+
+        cache.get(a, () -> evaluationOfA);
+        cache.get(b, () -> evaluationOfB);
+        // a is used after b, so b is the least recently used entry
+        cache.get(a, () -> evaluation(3));
+        cache.get(c, () -> evaluation(4));
+
+        assertEquals(1, cache.getStatistics().getEvictions());
+        assertEquals(2, cache.getStatistics().getSize());
+        assertSame(evaluationOfA, cache.get(a, () -> evaluation(5)));
+        assertNotSame(evaluationOfB, cache.get(b, () -> evaluation(6)));
+    }
+
+    private static CachedEvaluation evaluation(int value) {
+        return new CachedEvaluation(null, null, null, null, BigDecimal.valueOf(value));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.nemesis.mathserver.mathserverboot.controller;
+
+import com.nemesis.mathserver.mathserverboot.cache.ExpressionCache;
+import com.nemesis.mathserver.mathserverboot.metrics.EvaluationMetrics;
+import com.nemesis.mathserver.mathserverboot.service.ExpressionEvaluator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ExpressionControllerTest {
+
+    private static final int MAXIMUM_BATCH_SIZE = 3;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Set<String> valueThreads = ConcurrentHashMap.newKeySet(); // threads that ran value-only evaluations
+    private ExecutorService computeExecutor;
+    private ExecutorService valueExecutor;
+    private ExecutorService batchExecutor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // A single thread and a single slot in the queue, both taken by blocked tasks
+        computeExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+        computeExecutor.submit(this::awaitRelease);
+        computeExecutor.submit(this::awaitRelease);
+        valueExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> new Thread(runnable, "value-1"), new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable task) {
+                valueThreads.add(thread.getName());
+            }
+        };
+        batchExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAXIMUM_BATCH_SIZE), new ThreadPoolExecutor.AbortPolicy());
+
+        final ExpressionCache cache = new ExpressionCache(10, Duration.ofMinutes(1));
+        final ExpressionEvaluator evaluator = new ExpressionEvaluator(cache, new EvaluationMetrics(), computeExecutor, valueExecutor, batchExecutor,
+                Duration.ofSeconds(10), 10000, 100000, 10000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ExpressionController(evaluator, cache, MAXIMUM_BATCH_SIZE))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        computeExecutor.shutdownNow();
+        valueExecutor.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    @Test
+    void testSaturatedPoolIsReportedAsUnavailable() throws Exception {
+        mockMvc.perform(get("/expression/compute").param("expression", "x+1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("BUSY"));
+    }
+
+    @Test
+    void testValueOnlyEvaluationsUseTheirOwnPool() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/expression/compute").param("expression", "2+3").param("computations", "NUMERIC_VALUE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numericValue").value("5"))
+                .andExpect(jsonPath("$.simplifiedForm").value(nullValue()))
+                .andExpect(jsonPath("$.derivative").value(nullValue()))
+                .andExpect(jsonPath("$.domain").value(nullValue()));
+        // The compute pool is saturated: the evaluation ran on the value-only pool
+        Assertions.assertEquals(Set.of("value-1"), valueThreads);
+    }
+
+    @Test
+    void testBatchItemFailureDoesNotAffectOtherItems() throws Exception {
+        final String batch = """
+                {"computations": ["SIMPLIFIED_FORM", "NUMERIC_VALUE"],
+                 "expressions": [{"expression": "2+3"}, {"expression": "2+*3"}, {"expression": "x+x"}]}""";
+        mockMvc.perform(asyncDispatch(performBatch(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].result.numericValue").value("5"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].expression").value("2+*3"))
+                .andExpect(jsonPath("$[1].result").doesNotExist())
+                .andExpect(jsonPath("$[1].error").isNotEmpty())
+                .andExpect(jsonPath("$[2].result.simplifiedForm").value("2x"))
+                .andExpect(jsonPath("$[2].error").doesNotExist());
+    }
+
+    @Test
+    void testOversizedBatchIsRejected() throws Exception {
+        final String batch = """
+                {"expressions": [{"expression": "1"}, {"expression": "2"}, {"expression": "3"}, {"expression": "4"}]}""";
+        mockMvc.perform(post("/expression/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBatchItemsHonorTheirModeAndComputations() throws Exception {
+        final String batch = """
+                {"mode": "FRACTIONAL", "computations": ["SIMPLIFIED_FORM"],
+                 "expressions": [{"expression": "1/4+1/4"},
+                                 {"expression": "1/4+1/4", "mode": "DECIMAL"},
+                                 {"expression": "√(y)", "computations": ["DERIVATIVE", "DOMAIN"]}]}""";
+        mockMvc.perform(asyncDispatch(performBatch(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].result.simplifiedForm").value("\\frac{1}{2}"))
+                .andExpect(jsonPath("$[1].result.simplifiedForm").value("0.5"))
+                .andExpect(jsonPath("$[2].result.simplifiedForm").doesNotExist())
+                .andExpect(jsonPath("$[2].result.derivative").value("\\frac{1}{(2\\cdot \\sqrt{y})}"))
+                .andExpect(jsonPath("$[2].result.domain").value("y \\geq 0 , y \\in \\R"));
+    }
+
+    @Test
+    void testSaturatedBatchPoolIsReportedAsUnavailable() throws Exception {
+        // Both threads and all the slots in the queue taken by blocked tasks
+        for (int i = 0; i < 2 + MAXIMUM_BATCH_SIZE; i++) {
+            batchExecutor.submit(this::awaitRelease);
+        }
+        final String batch = """
+                {"expressions": [{"expression": "1+1"}]}""";
+        mockMvc.perform(post("/expression/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("BUSY"));
+    }
+
+    private MvcResult performBatch(String batch) throws Exception {
+        final MvcResult result = mockMvc.perform(post("/expression/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000);
+        return result;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nemesis.mathserver.mathserverboot.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        assertEquals(0, new LatencyHistogram().getQuantileNanos(0.5));
+    }
+
+    @Test
+    void testQuantiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        assertEquals(100, histogram.getCount());
+        // The 50th duration (50 µs) is in the bucket [32, 64) µs
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(64), histogram.getQuantileNanos(0.5));
+        // The bucket [64, 128) µs is bounded by the maximum recorded duration
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(100), histogram.getQuantileNanos(0.99));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(100), histogram.getQuantileNanos(1));
+    }
+
+    @Test
+    void testQuantilesAreOverestimatedByAtMostTwice() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Random random = new Random(42);
+        final long[] durations = new long[10_000];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = TimeUnit.MICROSECONDS.toNanos(1 + random.nextInt(1_000_000));
+            histogram.record(durations[i]);
+        }
+        Arrays.sort(durations);
+        for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            final long exact = durations[(int) Math.ceil(quantile * durations.length) - 1];
+            final long estimate = histogram.getQuantileNanos(quantile);
+            assertTrue(estimate >= exact, "Quantile " + quantile + " underestimated: " + estimate + " < " + exact);
+            assertTrue(estimate <= 2 * exact, "Quantile " + quantile + " overestimated: " + estimate + " > 2 * " + exact);
+        }
+    }
+}